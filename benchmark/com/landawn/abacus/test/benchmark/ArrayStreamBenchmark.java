@@ -0,0 +1,82 @@
+package com.landawn.abacus.test.benchmark;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.landawn.abacus.util.Profiler;
+import com.landawn.abacus.util.function.Consumer;
+import com.landawn.abacus.util.function.Function;
+import com.landawn.abacus.util.function.Predicate;
+import com.landawn.abacus.util.stream.Stream;
+
+/**
+ * Times the <code>ArrayStream</code> pipelines affected by the lazy peek, and the sorted one. Every stream is consumed by a terminal operation.
+ * To compare with an older version, run it against a build of that version.
+ * 
+ * @author HaiYang Li
+ *
+ */
+public class ArrayStreamBenchmark {
+    static final int ARRAY_SIZE = 1_000_000;
+    static final Integer[] a = new Integer[ARRAY_SIZE];
+
+    static {
+        final Random rand = new Random(17);
+
+        for (int i = 0; i < ARRAY_SIZE; i++) {
+            a[i] = rand.nextInt(ARRAY_SIZE);
+        }
+    }
+
+    static final Predicate<Integer> isEven = new Predicate<Integer>() {
+        @Override
+        public boolean test(Integer t) {
+            return t % 2 == 0;
+        }
+    };
+
+    static final Function<Integer, String> toStr = new Function<Integer, String>() {
+        @Override
+        public String apply(Integer t) {
+            return String.valueOf(t);
+        }
+    };
+
+    static final Consumer<Integer> noOp = new Consumer<Integer>() {
+        @Override
+        public void accept(Integer t) {
+            // do nothing.
+        }
+    };
+
+    @Test
+    public void test_filter_map_limit() {
+        Profiler.run(1, 10, 3, new Runnable() {
+            @Override
+            public void run() {
+                Stream.of(a).filter(isEven).map(toStr).limit(10).toArray();
+            }
+        }).printResult();
+    }
+
+    @Test
+    public void test_peek_anyMatch() {
+        Profiler.run(1, 10, 3, new Runnable() {
+            @Override
+            public void run() {
+                Stream.of(a).peek(noOp).anyMatch(isEven);
+            }
+        }).printResult();
+    }
+
+    @Test
+    public void test_sorted_limit() {
+        Profiler.run(1, 10, 3, new Runnable() {
+            @Override
+            public void run() {
+                Stream.of(a).sorted().limit(10).toArray();
+            }
+        }).printResult();
+    }
+}
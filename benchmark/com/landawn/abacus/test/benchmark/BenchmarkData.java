@@ -0,0 +1,154 @@
+package com.landawn.abacus.test.benchmark;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import com.landawn.abacus.util.Profiler;
+
+/**
+ * Input arrays of different sizes and distributions for the benchmarks, generated with a fixed seed so the runs can be compared.
+ *
+ * @author HaiYang Li
+ *
+ */
+final class BenchmarkData {
+    static final int[] SIZES = { 1_000, 100_000, 1_000_000 };
+    static final String[] DISTRIBUTIONS = { "random", "sorted", "reversed", "fewUnique" };
+
+    private BenchmarkData() {
+        // utility class.
+    }
+
+    static int[] ints(final String distribution, final int size) {
+        final Random rand = new Random(17);
+        final int[] a = new int[size];
+
+        for (int i = 0; i < size; i++) {
+            switch (distribution) {
+                case "random":
+                    a[i] = rand.nextInt();
+                    break;
+
+                case "sorted":
+                    a[i] = i;
+                    break;
+
+                case "reversed":
+                    a[i] = size - i;
+                    break;
+
+                case "fewUnique":
+                    a[i] = rand.nextInt(16);
+                    break;
+
+                default:
+                    throw new IllegalArgumentException("Unknown distribution: " + distribution);
+            }
+        }
+
+        return a;
+    }
+
+    static long[] longs(final String distribution, final int size) {
+        final Random rand = new Random(17);
+        final long[] a = new long[size];
+
+        for (int i = 0; i < size; i++) {
+            switch (distribution) {
+                case "random":
+                    a[i] = rand.nextLong();
+                    break;
+
+                case "sorted":
+                    a[i] = i;
+                    break;
+
+                case "reversed":
+                    a[i] = size - i;
+                    break;
+
+                case "fewUnique":
+                    a[i] = rand.nextInt(16);
+                    break;
+
+                default:
+                    throw new IllegalArgumentException("Unknown distribution: " + distribution);
+            }
+        }
+
+        return a;
+    }
+
+    static double[] doubles(final String distribution, final int size) {
+        final Random rand = new Random(17);
+        final double[] a = new double[size];
+
+        for (int i = 0; i < size; i++) {
+            switch (distribution) {
+                case "random":
+                    a[i] = rand.nextGaussian();
+                    break;
+
+                case "sorted":
+                    a[i] = i;
+                    break;
+
+                case "reversed":
+                    a[i] = size - i;
+                    break;
+
+                case "fewUnique":
+                    a[i] = rand.nextInt(16);
+                    break;
+
+                default:
+                    throw new IllegalArgumentException("Unknown distribution: " + distribution);
+            }
+        }
+
+        return a;
+    }
+
+    static Integer[] integers(final String distribution, final int size) {
+        final int[] a = ints(distribution, size);
+        final Integer[] result = new Integer[size];
+
+        for (int i = 0; i < size; i++) {
+            result[i] = a[i];
+        }
+
+        return result;
+    }
+
+    /**
+     * Enough loops to run about 10 million elements for each method, at least 3.
+     */
+    static int loopNum(final int size) {
+        return Math.max(3, 100_000_000 / size / 10);
+    }
+
+    /**
+     * Runs the specified public methods of the instance one after another in each loop, by {@code Profiler.benchmark}.
+     *
+     * @param title
+     * @param size the size of the input, to decide the loops.
+     * @param instance
+     * @param methodNames
+     */
+    static void benchmark(final String title, final int size, final Object instance, final String... methodNames) {
+        final List<Method> methods = new ArrayList<>();
+
+        try {
+            for (String methodName : methodNames) {
+                methods.add(instance.getClass().getMethod(methodName));
+            }
+        } catch (NoSuchMethodException e) {
+            throw new IllegalArgumentException(e);
+        }
+
+        System.out.println(title);
+        Profiler.benchmark(instance, methods, null, 1, loopNum(size), loopNum(size)).printResult();
+    }
+}
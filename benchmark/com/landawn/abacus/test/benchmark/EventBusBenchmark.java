@@ -0,0 +1,54 @@
+package com.landawn.abacus.test.benchmark;
+
+import org.junit.Test;
+
+import com.landawn.abacus.eventBus.EventBus;
+import com.landawn.abacus.eventBus.Subscribe;
+import com.landawn.abacus.util.N;
+import com.landawn.abacus.util.Profiler;
+
+/**
+ * Throughput of <code>EventBus.post</code> with 1/2/4/8 publishers and one subscriber.
+ * Each thread count is run once to warm up the JIT before it's measured: without it, the later runs look faster only because they're compiled.
+ * 
+ * @author HaiYang Li
+ *
+ */
+public class EventBusBenchmark {
+    static final int EVENTS_PER_CALL = 1000;
+    static final int LOOP_NUM = 1000;
+
+    public static class Counter {
+        long count;
+
+        @Subscribe
+        public void on(final String event) {
+            count++;
+        }
+    }
+
+    @Test
+    public void test_post() {
+        final EventBus eventBus = new EventBus();
+        eventBus.register(new Counter());
+
+        final Runnable command = new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < EVENTS_PER_CALL; i++) {
+                    eventBus.post("event");
+                }
+            }
+        };
+
+        for (int threadNum : new int[] { 1, 2, 4, 8 }) {
+            // warm up.
+            Profiler.run(threadNum, LOOP_NUM, 1, command);
+
+            final long elapsedTime = N.max(1, Profiler.run(threadNum, LOOP_NUM, 1, command).getElapsedTime());
+            final long events = (long) threadNum * LOOP_NUM * EVENTS_PER_CALL;
+
+            N.println(threadNum + " publishers: " + (events * 1000 / elapsedTime) + " events/s");
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.landawn.abacus.test.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.landawn.abacus.util.ByteLine;
+import com.landawn.abacus.util.IOUtil;
+import com.landawn.abacus.util.Profiler;
+import com.landawn.abacus.util.function.Consumer;
+
+/**
+ * Counts the lines which contain "ERROR" in a generated log file, by <code>IOUtil.parse(File, readThreadNumber, processThreadNumber, ...)</code>
+ * and by <code>IOUtil.parseByteLines(File, threadNumber, ...)</code>.
+ *
+ * @author HaiYang Li
+ *
+ */
+public class MappedLineReaderBenchmark {
+    static final int LINE_NUM = 1000000;
+    static final int THREAD_NUM = 4;
+    static final byte[] ERROR = "ERROR".getBytes();
+
+    static File file;
+
+    @BeforeClass
+    public static void setUp() throws IOException {
+        file = File.createTempFile("benchmark", ".log");
+        final Random rand = new Random(17);
+        final String[] levels = { "DEBUG", "INFO", "WARN", "ERROR" };
+        Writer writer = null;
+
+        try {
+            writer = IOUtil.createBufferedWriter(file);
+
+            for (int i = 0; i < LINE_NUM; i++) {
+                writer.write("2016-09-01 18:30:" + (i % 60) + " [" + levels[rand.nextInt(levels.length)] + "] com.landawn.abacus.Service - request "
+                        + rand.nextLong() + " finished in " + rand.nextInt(1000) + " ms\n");
+            }
+        } finally {
+            IOUtil.close(writer);
+        }
+    }
+
+    @AfterClass
+    public static void tearDown() {
+        file.delete();
+    }
+
+    @Test
+    public void test_parse() {
+        Profiler.run(1, 10, 3, new Runnable() {
+            @Override
+            public void run() {
+                final AtomicLong count = new AtomicLong();
+
+                IOUtil.parse(file, 1, THREAD_NUM, 1024, new Consumer<String>() {
+                    @Override
+                    public void accept(String line) {
+                        if (line != null && line.contains("ERROR")) {
+                            count.incrementAndGet();
+                        }
+                    }
+                });
+            }
+        }).printResult();
+    }
+
+    @Test
+    public void test_parseByteLines() {
+        Profiler.run(1, 10, 3, new Runnable() {
+            @Override
+            public void run() {
+                final AtomicLong count = new AtomicLong();
+
+                IOUtil.parseByteLines(file, THREAD_NUM, new Consumer<ByteLine>() {
+                    @Override
+                    public void accept(ByteLine line) {
+                        if (line != null && contains(line, ERROR)) {
+                            count.incrementAndGet();
+                        }
+                    }
+                });
+            }
+        }).printResult();
+    }
+
+    static boolean contains(final ByteLine line, final byte[] target) {
+        for (int i = line.indexOf(target[0], 0); i >= 0 && i <= line.length() - target.length; i = line.indexOf(target[0], i + 1)) {
+            int j = 1;
+
+            while (j < target.length && line.byteAt(i + j) == target[j]) {
+                j++;
+            }
+
+            if (j == target.length) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
@@ -0,0 +1,63 @@
+package com.landawn.abacus.test.benchmark;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.landawn.abacus.util.Profiler;
+import com.landawn.abacus.util.function.BiFunction;
+import com.landawn.abacus.util.stream.Stream;
+
+/**
+ * Latency of <code>parallelZip/parallelConcat</code> on small inputs, where the cost is dominated by the hand-off between the reading threads and the consumer.
+ * 
+ * @author HaiYang Li
+ *
+ */
+public class ParallelZipBenchmark {
+    static final Integer[] a = { 1, 2, 3, 4, 5, 6, 7, 8 };
+    static final Integer[] b = { 8, 7, 6, 5, 4, 3, 2, 1 };
+
+    static final BiFunction<Integer, Integer, Integer> sum = new BiFunction<Integer, Integer, Integer>() {
+        @Override
+        public Integer apply(Integer t, Integer u) {
+            return t + u;
+        }
+    };
+
+    @Test
+    public void test_parallelZip_small() {
+        Profiler.run(1, 1000, 3, new Runnable() {
+            @Override
+            public void run() {
+                Stream.parallelZip(Stream.of(a).iterator(), Stream.of(b).iterator(), sum).toArray();
+            }
+        }).printResult();
+    }
+
+    @Test
+    public void test_parallelZip_small_multiThreads() {
+        Profiler.run(8, 1000, 3, new Runnable() {
+            @Override
+            public void run() {
+                Stream.parallelZip(Stream.of(a).iterator(), Stream.of(b).iterator(), sum).toArray();
+            }
+        }).printResult();
+    }
+
+    @Test
+    public void test_parallelConcat_small() {
+        Profiler.run(1, 1000, 3, new Runnable() {
+            @Override
+            public void run() {
+                final List<Iterator<Integer>> iterators = new ArrayList<>(2);
+                iterators.add(Stream.of(a).iterator());
+                iterators.add(Stream.of(b).iterator());
+
+                Stream.parallelConcat(iterators).toArray();
+            }
+        }).printResult();
+    }
+}
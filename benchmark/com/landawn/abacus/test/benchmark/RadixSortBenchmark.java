@@ -0,0 +1,109 @@
+package com.landawn.abacus.test.benchmark;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import com.landawn.abacus.util.N;
+
+/**
+ * Compares <code>N.bucketSort</code> (radix sort) with <code>Arrays.sort</code> and <code>N.parallelSort</code>, to find the size where radix sort
+ * starts to be faster: about 2048 for <code>int</code> and 4096 for <code>long/double</code> on random input.
+ * <code>N.bucketSort</code> calls <code>Arrays.sort</code> below that size, so the smallest size here only shows the fallback costs nothing.
+ *
+ * @author HaiYang Li
+ *
+ */
+public class RadixSortBenchmark {
+    static final int[] SIZES = { 1_024, 2_048, 4_096, 16_384, 100_000, 1_000_000, 10_000_000 };
+
+    @Test
+    public void test_int() {
+        for (int size : SIZES) {
+            for (String distribution : BenchmarkData.DISTRIBUTIONS) {
+                BenchmarkData.benchmark("int[]: size=" + size + ", distribution=" + distribution, size, new IntSort(BenchmarkData.ints(distribution, size)),
+                        "arraysSort", "bucketSort", "parallelSort");
+            }
+        }
+    }
+
+    @Test
+    public void test_long() {
+        for (int size : SIZES) {
+            for (String distribution : BenchmarkData.DISTRIBUTIONS) {
+                BenchmarkData.benchmark("long[]: size=" + size + ", distribution=" + distribution, size,
+                        new LongSort(BenchmarkData.longs(distribution, size)), "arraysSort", "bucketSort", "parallelSort");
+            }
+        }
+    }
+
+    @Test
+    public void test_double() {
+        for (int size : SIZES) {
+            for (String distribution : BenchmarkData.DISTRIBUTIONS) {
+                BenchmarkData.benchmark("double[]: size=" + size + ", distribution=" + distribution, size,
+                        new DoubleSort(BenchmarkData.doubles(distribution, size)), "arraysSort", "bucketSort", "parallelSort");
+            }
+        }
+    }
+
+    public static final class IntSort {
+        private final int[] source;
+
+        IntSort(final int[] source) {
+            this.source = source;
+        }
+
+        public void arraysSort() {
+            Arrays.sort(source.clone());
+        }
+
+        public void bucketSort() {
+            N.bucketSort(source.clone());
+        }
+
+        public void parallelSort() {
+            N.parallelSort(source.clone());
+        }
+    }
+
+    public static final class LongSort {
+        private final long[] source;
+
+        LongSort(final long[] source) {
+            this.source = source;
+        }
+
+        public void arraysSort() {
+            Arrays.sort(source.clone());
+        }
+
+        public void bucketSort() {
+            N.bucketSort(source.clone());
+        }
+
+        public void parallelSort() {
+            N.parallelSort(source.clone());
+        }
+    }
+
+    public static final class DoubleSort {
+        private final double[] source;
+
+        DoubleSort(final double[] source) {
+            this.source = source;
+        }
+
+        public void arraysSort() {
+            Arrays.sort(source.clone());
+        }
+
+        public void bucketSort() {
+            N.bucketSort(source.clone());
+        }
+
+        public void parallelSort() {
+            N.parallelSort(source.clone());
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.landawn.abacus.test.benchmark;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+import org.junit.Test;
+
+import com.landawn.abacus.util.N;
+
+/**
+ * Compares <code>N.kthLargest/N.top/N.median/N.removeDuplicates</code> with the straightforward ways by the JDK:
+ * sorting a copy, a {@code PriorityQueue} and a {@code LinkedHashSet}.
+ *
+ * @author HaiYang Li
+ *
+ */
+public class SelectionBenchmark {
+    static final int K = 100;
+
+    @Test
+    public void test_kthLargest_top() {
+        for (int size : BenchmarkData.SIZES) {
+            for (String distribution : BenchmarkData.DISTRIBUTIONS) {
+                BenchmarkData.benchmark("k=" + K + ", size=" + size + ", distribution=" + distribution, size,
+                        new Selection(BenchmarkData.ints(distribution, size)), "nKthLargest", "sortKthLargest", "nTop", "priorityQueueTop");
+            }
+        }
+    }
+
+    @Test
+    public void test_median() {
+        for (int size : BenchmarkData.SIZES) {
+            for (String distribution : BenchmarkData.DISTRIBUTIONS) {
+                BenchmarkData.benchmark("size=" + size + ", distribution=" + distribution, size, new Selection(BenchmarkData.ints(distribution, size)),
+                        "nMedian", "sortMedian");
+            }
+        }
+    }
+
+    @Test
+    public void test_removeDuplicates() {
+        for (int size : BenchmarkData.SIZES) {
+            for (String distribution : BenchmarkData.DISTRIBUTIONS) {
+                BenchmarkData.benchmark("size=" + size + ", distribution=" + distribution, size, new Selection(BenchmarkData.ints(distribution, size)),
+                        "nRemoveDuplicates", "linkedHashSetRemoveDuplicates", "jdkStreamDistinct");
+            }
+        }
+    }
+
+    public static final class Selection {
+        private final int[] source;
+
+        Selection(final int[] source) {
+            this.source = source;
+        }
+
+        public int nKthLargest() {
+            return N.kthLargest(source, K);
+        }
+
+        public int sortKthLargest() {
+            final int[] a = source.clone();
+            Arrays.sort(a);
+            return a[a.length - K];
+        }
+
+        public int nMedian() {
+            return N.median(source);
+        }
+
+        public int sortMedian() {
+            final int[] a = source.clone();
+            Arrays.sort(a);
+            return a[a.length - (a.length / 2 + 1)];
+        }
+
+        public int[] nTop() {
+            return N.top(source, K);
+        }
+
+        public int[] priorityQueueTop() {
+            final PriorityQueue<Integer> queue = new PriorityQueue<>(K);
+
+            for (int e : source) {
+                if (queue.size() < K) {
+                    queue.add(e);
+                } else if (e > queue.peek()) {
+                    queue.poll();
+                    queue.add(e);
+                }
+            }
+
+            final int[] result = new int[queue.size()];
+            int idx = 0;
+
+            for (Integer e : queue) {
+                result[idx++] = e;
+            }
+
+            return result;
+        }
+
+        public int[] nRemoveDuplicates() {
+            return N.removeDuplicates(source);
+        }
+
+        public int[] linkedHashSetRemoveDuplicates() {
+            final Set<Integer> set = new LinkedHashSet<>();
+
+            for (int e : source) {
+                set.add(e);
+            }
+
+            final int[] result = new int[set.size()];
+            int idx = 0;
+
+            for (Integer e : set) {
+                result[idx++] = e;
+            }
+
+            return result;
+        }
+
+        public int[] jdkStreamDistinct() {
+            return java.util.stream.IntStream.of(source).distinct().toArray();
+        }
+    }
+}
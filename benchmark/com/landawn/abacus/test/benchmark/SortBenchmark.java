@@ -0,0 +1,82 @@
+package com.landawn.abacus.test.benchmark;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import com.landawn.abacus.util.IntList;
+import com.landawn.abacus.util.N;
+
+/**
+ * Compares <code>N.sort/N.bucketSort/IntList.sort</code> with <code>Arrays.sort</code>, for the sizes and distributions in {@link BenchmarkData}.
+ * The input is copied in every invocation, which is the same cost for all the methods.
+ *
+ * @author HaiYang Li
+ *
+ */
+public class SortBenchmark {
+
+    @Test
+    public void test_sort_int() {
+        for (int size : BenchmarkData.SIZES) {
+            for (String distribution : BenchmarkData.DISTRIBUTIONS) {
+                BenchmarkData.benchmark("int[]: size=" + size + ", distribution=" + distribution, size, new IntSort(BenchmarkData.ints(distribution, size)),
+                        "arraysSort", "nSort", "nBucketSort", "intListSort");
+            }
+        }
+    }
+
+    @Test
+    public void test_sort_Integer() {
+        for (int size : BenchmarkData.SIZES) {
+            for (String distribution : BenchmarkData.DISTRIBUTIONS) {
+                BenchmarkData.benchmark("Integer[]: size=" + size + ", distribution=" + distribution, size,
+                        new ObjectSort(BenchmarkData.integers(distribution, size)), "arraysSort", "nSort", "nBucketSort");
+            }
+        }
+    }
+
+    public static final class IntSort {
+        private final int[] source;
+
+        IntSort(final int[] source) {
+            this.source = source;
+        }
+
+        public void arraysSort() {
+            Arrays.sort(source.clone());
+        }
+
+        public void nSort() {
+            N.sort(source.clone());
+        }
+
+        public void nBucketSort() {
+            N.bucketSort(source.clone());
+        }
+
+        public void intListSort() {
+            IntList.of(source.clone()).sort();
+        }
+    }
+
+    public static final class ObjectSort {
+        private final Integer[] source;
+
+        ObjectSort(final Integer[] source) {
+            this.source = source;
+        }
+
+        public void arraysSort() {
+            Arrays.sort(source.clone());
+        }
+
+        public void nSort() {
+            N.sort(source.clone());
+        }
+
+        public void nBucketSort() {
+            N.bucketSort(source.clone());
+        }
+    }
+}
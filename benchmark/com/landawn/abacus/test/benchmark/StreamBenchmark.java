@@ -0,0 +1,156 @@
+package com.landawn.abacus.test.benchmark;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import com.landawn.abacus.util.function.IntPredicate;
+import com.landawn.abacus.util.function.IntUnaryOperator;
+import com.landawn.abacus.util.stream.IntStream;
+import com.landawn.abacus.util.stream.Stream;
+
+/**
+ * Compares the array based and the iterator based <code>Stream/IntStream</code> with <code>java.util.stream</code>,
+ * for filter/map/sum, sorted and distinct.
+ *
+ * @author HaiYang Li
+ *
+ */
+public class StreamBenchmark {
+
+    @Test
+    public void test_filter_map_sum() {
+        for (int size : BenchmarkData.SIZES) {
+            for (String distribution : BenchmarkData.DISTRIBUTIONS) {
+                BenchmarkData.benchmark("filter/map/sum: size=" + size + ", distribution=" + distribution, size,
+                        new Pipeline(BenchmarkData.ints(distribution, size)), "arrayIntStream", "jdkIntStream", "arrayStream", "iteratorStream",
+                        "jdkStream");
+            }
+        }
+    }
+
+    @Test
+    public void test_sorted_distinct() {
+        for (int size : BenchmarkData.SIZES) {
+            for (String distribution : BenchmarkData.DISTRIBUTIONS) {
+                BenchmarkData.benchmark("sorted/distinct: size=" + size + ", distribution=" + distribution, size,
+                        new Pipeline(BenchmarkData.ints(distribution, size)), "arrayIntStreamSorted", "jdkIntStreamSorted", "arrayIntStreamDistinct",
+                        "jdkIntStreamDistinct", "arrayStreamSorted", "jdkStreamSorted");
+            }
+        }
+    }
+
+    static final IntPredicate isEven = new IntPredicate() {
+        @Override
+        public boolean test(int t) {
+            return t % 2 == 0;
+        }
+    };
+
+    static final IntUnaryOperator half = new IntUnaryOperator() {
+        @Override
+        public int applyAsInt(int t) {
+            return t / 2;
+        }
+    };
+
+    static final java.util.function.IntPredicate jdkIsEven = new java.util.function.IntPredicate() {
+        @Override
+        public boolean test(int t) {
+            return t % 2 == 0;
+        }
+    };
+
+    static final java.util.function.IntUnaryOperator jdkHalf = new java.util.function.IntUnaryOperator() {
+        @Override
+        public int applyAsInt(int t) {
+            return t / 2;
+        }
+    };
+
+    static final com.landawn.abacus.util.function.Predicate<Integer> isEvenObj = new com.landawn.abacus.util.function.Predicate<Integer>() {
+        @Override
+        public boolean test(Integer t) {
+            return t % 2 == 0;
+        }
+    };
+
+    static final com.landawn.abacus.util.function.ToIntFunction<Integer> halfObj = new com.landawn.abacus.util.function.ToIntFunction<Integer>() {
+        @Override
+        public int applyAsInt(Integer t) {
+            return t / 2;
+        }
+    };
+
+    static final java.util.function.Predicate<Integer> jdkIsEvenObj = new java.util.function.Predicate<Integer>() {
+        @Override
+        public boolean test(Integer t) {
+            return t % 2 == 0;
+        }
+    };
+
+    static final java.util.function.ToIntFunction<Integer> jdkHalfObj = new java.util.function.ToIntFunction<Integer>() {
+        @Override
+        public int applyAsInt(Integer t) {
+            return t / 2;
+        }
+    };
+
+    public static final class Pipeline {
+        private final int[] ints;
+        private final Integer[] integers;
+
+        Pipeline(final int[] ints) {
+            this.ints = ints;
+            this.integers = new Integer[ints.length];
+
+            for (int i = 0; i < ints.length; i++) {
+                integers[i] = ints[i];
+            }
+        }
+
+        public long arrayIntStream() {
+            return IntStream.of(ints).filter(isEven).map(half).sum();
+        }
+
+        public long jdkIntStream() {
+            return java.util.stream.IntStream.of(ints).filter(jdkIsEven).map(jdkHalf).asLongStream().sum();
+        }
+
+        public long arrayStream() {
+            return Stream.of(integers).filter(isEvenObj).mapToInt(halfObj).sum();
+        }
+
+        public long iteratorStream() {
+            return Stream.of(Arrays.asList(integers).iterator()).filter(isEvenObj).mapToInt(halfObj).sum();
+        }
+
+        public long jdkStream() {
+            return Arrays.stream(integers).filter(jdkIsEvenObj).mapToInt(jdkHalfObj).asLongStream().sum();
+        }
+
+        public int[] arrayIntStreamSorted() {
+            return IntStream.of(ints).sorted().toArray();
+        }
+
+        public int[] jdkIntStreamSorted() {
+            return java.util.stream.IntStream.of(ints).sorted().toArray();
+        }
+
+        public int[] arrayIntStreamDistinct() {
+            return IntStream.of(ints).distinct().toArray();
+        }
+
+        public int[] jdkIntStreamDistinct() {
+            return java.util.stream.IntStream.of(ints).distinct().toArray();
+        }
+
+        public Object[] arrayStreamSorted() {
+            return Stream.of(integers).sorted().toArray();
+        }
+
+        public Object[] jdkStreamSorted() {
+            return Arrays.stream(integers).sorted().toArray();
+        }
+    }
+}
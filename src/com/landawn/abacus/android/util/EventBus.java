@@ -27,6 +27,15 @@ public class EventBus extends com.landawn.abacus.eventBus.EventBus {
         super();
     }
 
+    /**
+     *
+     * @param replayBufferSize
+     * @see com.landawn.abacus.eventBus.EventBus#EventBus(int)
+     */
+    public EventBus(final int replayBufferSize) {
+        super(replayBufferSize);
+    }
+
     public static EventBus getDefault() {
         return INSTANCE;
     }
@@ -45,16 +54,6 @@ public class EventBus extends com.landawn.abacus.eventBus.EventBus {
 
                 return;
 
-            case SERIAL_EXECUTOR:
-                AsyncExecutor.execute(new Runnable() {
-                    @Override
-                    public void run() {
-                        invokeMethod(obj, method, event);
-                    }
-                });
-
-                return;
-
             case THREAD_POOL_EXECUTOR:
                 AsyncExecutor.executeInParallel(new Runnable() {
                     @Override
@@ -79,4 +78,26 @@ public class EventBus extends com.landawn.abacus.eventBus.EventBus {
                 throw new RuntimeException("Unsupported thread mode");
         }
     }
+
+    /**
+     * The queued events of a {@code ThreadMode.UI_THREAD} subscriber method (annotated with {@code Subscribe.batchSize() > 0}) are delivered in the UI thread.
+     * Don't post the events from the UI thread with {@code OverflowPolicy.BLOCK} if the queue can be full.
+     */
+    @Override
+    protected void executeQueuedEvents(final Runnable task, final ThreadMode threadMode) {
+        switch (threadMode) {
+            case SERIAL_EXECUTOR:
+                AsyncExecutor.execute(task);
+
+                return;
+
+            case UI_THREAD:
+                AsyncExecutor.executeOnUiThread(task);
+
+                return;
+
+            default:
+                AsyncExecutor.executeInParallel(task);
+        }
+    }
 }
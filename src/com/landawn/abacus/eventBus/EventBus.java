@@ -18,8 +18,10 @@ package com.landawn.abacus.eventBus;
 
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -39,11 +41,41 @@ public class EventBus {
 
     private static final Multimap<Class<?>, Method, List<Method>> classSubscriberMethodMap = new Multimap<>(ConcurrentHashMap.class, ArrayList.class);
 
-    private final Multimap<Object, MethodIdentifier, Set<MethodIdentifier>> subscriberMethodMap = new Multimap<>(LinkedHashMap.class, HashSet.class);
+    private static final MethodIdentifier[] EMPTY_IDENTIFIERS = new MethodIdentifier[0];
+
+    private static final int DEFAULT_QUEUE_SIZE = 1024;
+
+    /**
+     * Replaced by a new instance (copy on write) when a subscriber is registered/unregistered, so {@code post} can read it without lock.
+     */
+    private volatile Registry registry = new Registry(new LinkedHashMap<Object, List<MethodIdentifier>>());
+
+    private final Map<Class<?>, Object> stickyEvents = new ConcurrentHashMap<>();
+
+    private final ConcurrentHashMap<String, Map<Class<?>, Object>> stickyEventIdMap = new ConcurrentHashMap<>();
+
+    /**
+     * <code>null</code> if the recent events are not kept for replay.
+     */
+    private final ReplayBuffer replayBuffer;
 
     private static final EventBus INSTANCE = new EventBus();
 
     public EventBus() {
+        this(0);
+    }
+
+    /**
+     * 
+     * @param replayBufferSize the number of the most recent events kept for the subscribers registered by {@code register(..., replay = true)}.
+     * 0 to keep nothing. The buffer is allocated once here and {@code post} doesn't create any object for it.
+     */
+    public EventBus(final int replayBufferSize) {
+        if (replayBufferSize < 0) {
+            throw new IllegalArgumentException("'replayBufferSize' can't be negative: " + replayBufferSize);
+        }
+
+        this.replayBuffer = replayBufferSize == 0 ? null : new ReplayBuffer(replayBufferSize);
     }
 
     public static EventBus getDefault() {
@@ -63,6 +95,26 @@ public class EventBus {
     }
 
     public EventBus register(final Object subscriber, final String eventId, ThreadMode threadMode) {
+        return register(subscriber, eventId, threadMode, false);
+    }
+
+    /**
+     * The latest sticky events posted before the registration are delivered to the subscriber methods annotated with {@code Subscribe.sticky() = true}.
+     * If <code>replay</code> is true, the recent events kept in the replay buffer are delivered to all the subscriber methods, in the order they were posted.
+     * <br />
+     * An event posted while the subscriber is being registered may be delivered twice: by replay and by the post.
+     * 
+     * @param subscriber
+     * @param eventId
+     * @param threadMode
+     * @param replay deliver the recent events kept by the replay buffer. See {@link #EventBus(int)}.
+     * @return
+     */
+    public EventBus register(final Object subscriber, final String eventId, ThreadMode threadMode, final boolean replay) {
+        if (replay && replayBuffer == null) {
+            throw new IllegalStateException("No replay buffer. The EventBus must be created by EventBus(replayBufferSize) with replayBufferSize > 0");
+        }
+
         if (threadMode == null) {
             threadMode = ThreadMode.DEFAULT;
         }
@@ -71,7 +123,9 @@ public class EventBus {
             throw new RuntimeException("Unsupported thread mode");
         }
 
-        synchronized (subscriberMethodMap) {
+        List<MethodIdentifier> newIdentifiers = null;
+
+        synchronized (this) {
             final Class<?> cls = subscriber.getClass();
             List<Method> methods = classSubscriberMethodMap.get(cls);
 
@@ -86,6 +140,7 @@ public class EventBus {
                             }
 
                             if (!methods.contains(method)) {
+                                method.setAccessible(true);
                                 methods.add(method);
                             }
 
@@ -106,7 +161,14 @@ public class EventBus {
                                         method.getName() + " has " + parameterTypes.length + " parameters. Subscriber methods must have exactly 1 parameter.");
                             }
 
+                            if (method.getAnnotation(Subscribe.class).batchSize() > 0
+                                    && (!Collection.class.isAssignableFrom(parameterTypes[0]) || !parameterTypes[0].isAssignableFrom(ArrayList.class))) {
+                                throw new RuntimeException(method.getName() + " has batchSize > 0. The parameter type must be List or Collection.");
+                            }
+
                             if (!methods.contains(method)) {
+                                // the declaring class may be not public. Check the access only once, instead of every time the method is invoked.
+                                method.setAccessible(true);
                                 methods.add(method);
                             }
                         }
@@ -120,14 +182,79 @@ public class EventBus {
                 throw new RuntimeException("No subscriber method found in class: " + N.getCanonicalClassName(cls));
             }
 
+            final Map<Object, List<MethodIdentifier>> subscriberMethodMap = new LinkedHashMap<>(registry.subscriberMethodMap);
+            final List<MethodIdentifier> identifiers = subscriberMethodMap.containsKey(subscriber)
+                    ? new ArrayList<>(subscriberMethodMap.get(subscriber)) : new ArrayList<MethodIdentifier>(methods.size());
+            newIdentifiers = new ArrayList<>(methods.size());
+
             for (Method method : methods) {
-                subscriberMethodMap.put(subscriber, new MethodIdentifier(subscriber, method, eventId, threadMode));
+                final Subscribe subscribe = method.getAnnotation(Subscribe.class);
+                final int batchSize = subscribe == null ? 0 : subscribe.batchSize();
+                EventQueue queue = null;
+
+                if (batchSize > 0 || threadMode == ThreadMode.SERIAL_EXECUTOR) {
+                    if (threadMode == ThreadMode.UI_THREAD && subscribe != null && subscribe.overflowPolicy() == OverflowPolicy.CALLER_RUNS) {
+                        throw new RuntimeException(method.getName() + " is registered with UI_THREAD. OverflowPolicy.CALLER_RUNS is not supported");
+                    }
+
+                    queue = subscribe == null ? new EventQueue(this, subscriber, method, threadMode, DEFAULT_QUEUE_SIZE, OverflowPolicy.BLOCK, 0)
+                            : new EventQueue(this, subscriber, method, threadMode, subscribe.queueSize(), subscribe.overflowPolicy(), batchSize);
+                }
+
+                final MethodIdentifier identifier = new MethodIdentifier(subscriber, method, eventId, threadMode, batchSize > 0,
+                        subscribe != null && subscribe.sticky(), queue);
+                identifiers.add(identifier);
+                newIdentifiers.add(identifier);
             }
+
+            subscriberMethodMap.put(subscriber, identifiers);
+
+            registry = new Registry(subscriberMethodMap);
+        }
+
+        // deliver the old events out of the lock.
+        deliverStickyEvents(newIdentifiers);
+
+        if (replay) {
+            replay(newIdentifiers);
         }
 
         return this;
     }
 
+    private void deliverStickyEvents(final List<MethodIdentifier> identifiers) {
+        for (MethodIdentifier identifier : identifiers) {
+            if (identifier.sticky == false) {
+                continue;
+            }
+
+            final Map<Class<?>, Object> eventMap = identifier.eventId == null ? stickyEvents : stickyEventIdMap.get(identifier.eventId);
+
+            if (eventMap == null) {
+                continue;
+            }
+
+            for (Map.Entry<Class<?>, Object> entry : eventMap.entrySet()) {
+                if (identifier.isMyEvent(entry.getKey(), identifier.eventId)) {
+                    dispatch(identifier, entry.getValue());
+                }
+            }
+        }
+    }
+
+    private void replay(final List<MethodIdentifier> identifiers) {
+        replayBuffer.forEach(new ReplayBuffer.Visitor() {
+            @Override
+            public void visit(Object event, String eventId) {
+                for (MethodIdentifier identifier : identifiers) {
+                    if (identifier.isMyEvent(event.getClass(), eventId)) {
+                        dispatch(identifier, event);
+                    }
+                }
+            }
+        });
+    }
+
     /**
      * 
      * @param subscriber General subscriber (type is {@code Subscriber} and parameter type is Object, mostly created by lambda) only can be registered with event id
@@ -150,8 +277,13 @@ public class EventBus {
     }
 
     public EventBus unregister(final Object subscriber) {
-        synchronized (subscriberMethodMap) {
-            subscriberMethodMap.removeAll(subscriber);
+        synchronized (this) {
+            if (registry.subscriberMethodMap.containsKey(subscriber)) {
+                final Map<Object, List<MethodIdentifier>> subscriberMethodMap = new LinkedHashMap<>(registry.subscriberMethodMap);
+                subscriberMethodMap.remove(subscriber);
+
+                registry = new Registry(subscriberMethodMap);
+            }
         }
 
         return this;
@@ -162,27 +294,118 @@ public class EventBus {
     }
 
     public EventBus post(final Object event, final String eventId) {
-        final Class<?> cls = event.getClass();
+        if (replayBuffer != null) {
+            replayBuffer.add(event, eventId);
+        }
 
-        synchronized (subscriberMethodMap) {
-            for (Set<MethodIdentifier> methodList : subscriberMethodMap.values()) {
-                for (MethodIdentifier identifier : methodList) {
-                    if (identifier.isMyEvent(cls, eventId)) {
-                        try {
-                            executeEvent(identifier.obj, identifier.method, event, identifier.threadMode);
-                        } catch (Throwable e) {
-                            logger.error("Failed to execute event(" + N.toString(event) + ") for subscriber: " + N.toString(identifier.obj), e);
-                        }
-                    }
-                }
+        for (MethodIdentifier identifier : registry.getIdentifiers(event.getClass(), eventId)) {
+            dispatch(identifier, event);
+        }
+
+        return this;
+    }
+
+    /**
+     * Keeps the event as the latest sticky event of its class (and event id), then posts it.
+     * It will be delivered to the subscriber methods annotated with {@code Subscribe.sticky() = true} when they are registered.
+     * 
+     * @param event
+     * @return
+     */
+    public EventBus postSticky(final Object event) {
+        return postSticky(event, null);
+    }
+
+    public EventBus postSticky(final Object event, final String eventId) {
+        if (eventId == null) {
+            stickyEvents.put(event.getClass(), event);
+        } else {
+            Map<Class<?>, Object> eventMap = stickyEventIdMap.get(eventId);
+
+            if (eventMap == null) {
+                stickyEventIdMap.putIfAbsent(eventId, new ConcurrentHashMap<Class<?>, Object>());
+                eventMap = stickyEventIdMap.get(eventId);
             }
 
-            return this;
+            eventMap.put(event.getClass(), event);
         }
+
+        return post(event, eventId);
     }
 
+    public <T> T getStickyEvent(final Class<T> eventClass) {
+        return getStickyEvent(eventClass, null);
+    }
+
+    public <T> T getStickyEvent(final Class<T> eventClass, final String eventId) {
+        final Map<Class<?>, Object> eventMap = eventId == null ? stickyEvents : stickyEventIdMap.get(eventId);
+
+        return eventMap == null ? null : eventClass.cast(eventMap.get(eventClass));
+    }
+
+    public <T> T removeStickyEvent(final Class<T> eventClass) {
+        return removeStickyEvent(eventClass, null);
+    }
+
+    public <T> T removeStickyEvent(final Class<T> eventClass, final String eventId) {
+        final Map<Class<?>, Object> eventMap = eventId == null ? stickyEvents : stickyEventIdMap.get(eventId);
+
+        return eventMap == null ? null : eventClass.cast(eventMap.remove(eventClass));
+    }
+
+    public void removeAllStickyEvents() {
+        stickyEvents.clear();
+        stickyEventIdMap.clear();
+    }
+
+    /**
+     * Removes the events kept for replay.
+     */
+    public void clearReplayBuffer() {
+        if (replayBuffer != null) {
+            replayBuffer.clear();
+        }
+    }
+
+    private void dispatch(final MethodIdentifier identifier, final Object event) {
+        try {
+            if (identifier.queue == null) {
+                executeEvent(identifier.obj, identifier.method, event, identifier.threadMode);
+            } else {
+                identifier.queue.offer(event);
+            }
+        } catch (Throwable e) {
+            logger.error("Failed to execute event(" + N.toString(event) + ") for subscriber: " + N.toString(identifier.obj), e);
+        }
+    }
+
+    /**
+     * Returns the queue size, max queue size, dropped events and handler latency of the subscriber methods which are delivered through a queue:
+     * the ones registered with {@code ThreadMode.SERIAL_EXECUTOR} or annotated with {@code Subscribe.batchSize() > 0}.
+     * 
+     * @return
+     */
+    public List<SubscriberStats> getStats() {
+        final List<SubscriberStats> result = new ArrayList<>();
+
+        for (MethodIdentifier identifier : registry.identifiers) {
+            if (identifier.queue != null) {
+                result.add(identifier.queue.stats());
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * {@code ThreadMode.SERIAL_EXECUTOR}: the events are delivered in order, by at most one thread at a time for each subscriber method, through a bounded queue.
+     * The queue size and the overflow policy are specified by {@code Subscribe}.
+     * 
+     * @param threadMode
+     * @return
+     */
     protected boolean isSupportedThreadMode(final ThreadMode threadMode) {
-        return threadMode == ThreadMode.DEFAULT || threadMode == ThreadMode.THREAD_POOL_EXECUTOR;
+        return threadMode == ThreadMode.DEFAULT || threadMode == ThreadMode.SERIAL_EXECUTOR || threadMode == ThreadMode.THREAD_POOL_EXECUTOR;
     }
 
     protected void executeEvent(final Object obj, final Method method, final Object event, final ThreadMode threadMode) throws Throwable {
@@ -207,53 +430,140 @@ public class EventBus {
         }
     }
 
-    protected void invokeMethod(final Object obj, final Method method, final Object event) {
-        final boolean accessible = method.isAccessible();
+    /**
+     * Executes the task which delivers the queued events of a subscriber method registered with {@code ThreadMode.SERIAL_EXECUTOR}
+     * or annotated with {@code Subscribe.batchSize() > 0}. The task delivers the events in order by {@code invokeMethod},
+     * and at most one task is executed at a time for each subscriber method.
+     * <br />
+     * Override it together with {@code executeEvent} to execute the task by the thread of the specified thread mode.
+     * 
+     * @param task
+     * @param threadMode
+     */
+    protected void executeQueuedEvents(final Runnable task, final ThreadMode threadMode) {
+        N.asyncExecute(task);
+    }
 
+    protected void invokeMethod(final Object obj, final Method method, final Object event) {
         try {
-            method.setAccessible(true);
-
             method.invoke(obj, event);
         } catch (Throwable e) {
             logger.error("Failed to execute event(" + N.toString(event) + ") for subscriber: " + N.toString(obj), e);
-        } finally {
-            method.setAccessible(accessible);
+        }
+    }
+
+    /**
+     * The registered subscribers and the index: event class (and event id) -> subscriber methods, which is filled by the first {@code post} of each event class.
+     */
+    private static final class Registry {
+        final Map<Object, List<MethodIdentifier>> subscriberMethodMap;
+        final MethodIdentifier[] identifiers;
+        final Set<String> eventIds = new HashSet<>();
+        final Map<Class<?>, MethodIdentifier[]> classIndex = new ConcurrentHashMap<>();
+        final ConcurrentHashMap<String, Map<Class<?>, MethodIdentifier[]>> eventIdIndex = new ConcurrentHashMap<>();
+
+        Registry(final Map<Object, List<MethodIdentifier>> subscriberMethodMap) {
+            final List<MethodIdentifier> list = new ArrayList<>();
+
+            for (List<MethodIdentifier> methods : subscriberMethodMap.values()) {
+                for (MethodIdentifier identifier : methods) {
+                    list.add(identifier);
+
+                    if (identifier.eventId != null) {
+                        eventIds.add(identifier.eventId);
+                    }
+                }
+            }
+
+            this.subscriberMethodMap = subscriberMethodMap;
+            this.identifiers = list.toArray(new MethodIdentifier[list.size()]);
+        }
+
+        MethodIdentifier[] getIdentifiers(final Class<?> cls, final String eventId) {
+            Map<Class<?>, MethodIdentifier[]> index = classIndex;
+
+            if (eventId != null) {
+                if (eventIds.contains(eventId) == false) {
+                    return EMPTY_IDENTIFIERS;
+                }
+
+                index = eventIdIndex.get(eventId);
+
+                if (index == null) {
+                    eventIdIndex.putIfAbsent(eventId, new ConcurrentHashMap<Class<?>, MethodIdentifier[]>());
+                    index = eventIdIndex.get(eventId);
+                }
+            }
+
+            MethodIdentifier[] result = index.get(cls);
+
+            if (result == null) {
+                final List<MethodIdentifier> list = new ArrayList<>();
+
+                for (MethodIdentifier identifier : identifiers) {
+                    if (identifier.isMyEvent(cls, eventId)) {
+                        list.add(identifier);
+                    }
+                }
+
+                result = list.size() == 0 ? EMPTY_IDENTIFIERS : list.toArray(new MethodIdentifier[list.size()]);
+
+                // It's possible the index is already filled by another thread. The result is same.
+                index.put(cls, result);
+            }
+
+            return result;
         }
     }
 
     private static final class MethodIdentifier {
-        final Map<Class<?>, Boolean> cachedClasses = new HashMap<>();
         final Object obj;
         final Method method;
         final Class<?> parameterType;
         final Class<?> parameterType2;
         final String eventId;
         final ThreadMode threadMode;
-
-        MethodIdentifier(Object obj, Method method, String eventId, ThreadMode threadMode) {
+        final boolean sticky;
+        final EventQueue queue;
+
+        /**
+         * 
+         * @param obj
+         * @param method
+         * @param eventId
+         * @param threadMode
+         * @param isBatch the events are delivered in batches. The event type is the type argument of the parameter.
+         * @param sticky the latest sticky events are delivered when it's registered.
+         * @param queue <code>null</code> if the events are not delivered through a queue.
+         */
+        MethodIdentifier(Object obj, Method method, String eventId, ThreadMode threadMode, boolean isBatch, boolean sticky, EventQueue queue) {
             this.obj = obj;
             this.method = method;
-            this.parameterType = method.getParameterTypes()[0];
+            this.parameterType = isBatch ? getElementType(method.getGenericParameterTypes()[0]) : method.getParameterTypes()[0];
             this.parameterType2 = N.isPrimitive(parameterType) ? Array.box(parameterType)
                     : (N.isPrimitiveWapper(parameterType) ? Array.unbox(parameterType) : null);
             this.eventId = eventId;
             this.threadMode = threadMode;
+            this.sticky = sticky;
+            this.queue = queue;
         }
 
-        boolean isMyEvent(final Class<?> cls, final String eventId) {
-            if (N.equals(this.eventId, eventId) == false) {
-                return false;
-            }
-
-            Boolean b = cachedClasses.get(cls);
-
-            if (b == null) {
-                b = parameterType.isAssignableFrom(cls) || (parameterType2 != null && parameterType2.isAssignableFrom(cls));
+        private static Class<?> getElementType(final Type type) {
+            if (type instanceof ParameterizedType) {
+                final Type elementType = ((ParameterizedType) type).getActualTypeArguments()[0];
 
-                cachedClasses.put(cls, b);
+                if (elementType instanceof Class) {
+                    return (Class<?>) elementType;
+                } else if (elementType instanceof ParameterizedType) {
+                    return (Class<?>) ((ParameterizedType) elementType).getRawType();
+                }
             }
 
-            return b;
+            return Object.class;
+        }
+
+        boolean isMyEvent(final Class<?> cls, final String eventId) {
+            return N.equals(this.eventId, eventId) && (parameterType.isAssignableFrom(cls) || (parameterType2 != null && parameterType2.isAssignableFrom(cls)));
         }
     }
 }
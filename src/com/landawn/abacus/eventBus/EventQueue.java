@@ -0,0 +1,223 @@
+package com.landawn.abacus.eventBus;
+
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.landawn.abacus.logging.Logger;
+import com.landawn.abacus.logging.LoggerFactory;
+import com.landawn.abacus.util.N;
+import com.landawn.abacus.util.ThreadMode;
+
+/**
+ * A bounded queue of the events for one subscriber method. The events are delivered in order by at most one thread at a time,
+ * which is started by {@code EventBus.executeQueuedEvents} with the thread mode of the subscriber when the queue becomes not empty,
+ * and released when it's empty.
+ */
+final class EventQueue {
+    private static final Logger logger = LoggerFactory.getLogger(EventQueue.class);
+
+    private final EventBus eventBus;
+    private final Object subscriber;
+    private final Method method;
+    private final ThreadMode threadMode;
+    private final int capacity;
+    private final OverflowPolicy overflowPolicy;
+    private final int batchSize;
+    private final ArrayDeque<Object> deque;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notFull = lock.newCondition();
+    private boolean draining = false;
+
+    // guarded by lock.
+    private long postedCount = 0;
+    private long droppedCount = 0;
+    private int maxQueueSize = 0;
+
+    private final AtomicLong deliveredCount = new AtomicLong();
+    private final AtomicLong invocationCount = new AtomicLong();
+    private final AtomicLong totalLatency = new AtomicLong();
+    private final AtomicLong maxLatency = new AtomicLong();
+
+    private final Runnable drainTask = new Runnable() {
+        @Override
+        public void run() {
+            drain();
+        }
+    };
+
+    /**
+     *
+     * @param eventBus
+     * @param subscriber
+     * @param method
+     * @param threadMode
+     * @param capacity
+     * @param overflowPolicy
+     * @param batchSize 0 to deliver the events one by one.
+     */
+    EventQueue(final EventBus eventBus, final Object subscriber, final Method method, final ThreadMode threadMode, final int capacity,
+            final OverflowPolicy overflowPolicy, final int batchSize) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("'queueSize' must be bigger than 0: " + capacity);
+        }
+
+        this.eventBus = eventBus;
+        this.subscriber = subscriber;
+        this.method = method;
+        this.threadMode = threadMode;
+        this.capacity = capacity;
+        this.overflowPolicy = overflowPolicy == null ? OverflowPolicy.BLOCK : overflowPolicy;
+        this.batchSize = batchSize;
+        this.deque = new ArrayDeque<>(N.min(capacity, 1024));
+    }
+
+    /**
+     * Adds the event to the queue, or applies the overflow policy if the queue is full.
+     * The event is dropped if the posting thread is interrupted while it's waiting for the space.
+     * With {@code OverflowPolicy.CALLER_RUNS}, the event is delivered by the posting thread if the queue is full.
+     *
+     * @param event
+     */
+    void offer(final Object event) {
+        boolean runInCaller = false;
+        boolean startDraining = false;
+
+        lock.lock();
+
+        try {
+            postedCount++;
+
+            while (deque.size() >= capacity) {
+                if (overflowPolicy == OverflowPolicy.BLOCK) {
+                    try {
+                        notFull.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        droppedCount++;
+
+                        return;
+                    }
+                } else if (overflowPolicy == OverflowPolicy.DROP) {
+                    droppedCount++;
+
+                    return;
+                } else {
+                    runInCaller = true;
+
+                    break;
+                }
+            }
+
+            if (runInCaller == false) {
+                deque.offerLast(event);
+
+                if (deque.size() > maxQueueSize) {
+                    maxQueueSize = deque.size();
+                }
+
+                if (draining == false) {
+                    draining = true;
+                    startDraining = true;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (startDraining) {
+            try {
+                eventBus.executeQueuedEvents(drainTask, threadMode);
+            } catch (Throwable e) {
+                lock.lock();
+
+                try {
+                    draining = false;
+                } finally {
+                    lock.unlock();
+                }
+
+                throw N.toRuntimeException(e);
+            }
+        }
+
+        if (runInCaller) {
+            deliver(batchSize > 0 ? N.asList(event) : event, 1);
+        }
+    }
+
+    private void drain() {
+        Object event = null;
+        int count = 0;
+
+        while (true) {
+            lock.lock();
+
+            try {
+                if (deque.size() == 0) {
+                    draining = false;
+
+                    return;
+                }
+
+                if (batchSize > 0) {
+                    count = N.min(batchSize, deque.size());
+                    final List<Object> batch = new ArrayList<>(count);
+
+                    for (int i = 0; i < count; i++) {
+                        batch.add(deque.pollFirst());
+                    }
+
+                    event = batch;
+                } else {
+                    count = 1;
+                    event = deque.pollFirst();
+                }
+
+                notFull.signalAll();
+            } finally {
+                lock.unlock();
+            }
+
+            deliver(event, count);
+        }
+    }
+
+    private void deliver(final Object event, final int count) {
+        final long startTime = System.nanoTime();
+
+        try {
+            eventBus.invokeMethod(subscriber, method, event);
+        } catch (Throwable e) {
+            logger.error("Failed to execute event(" + N.toString(event) + ") for subscriber: " + N.toString(subscriber), e);
+        }
+
+        final long latency = System.nanoTime() - startTime;
+
+        deliveredCount.addAndGet(count);
+        invocationCount.incrementAndGet();
+        totalLatency.addAndGet(latency);
+
+        long max = 0;
+
+        while (latency > (max = maxLatency.get()) && maxLatency.compareAndSet(max, latency) == false) {
+        }
+    }
+
+    SubscriberStats stats() {
+        lock.lock();
+
+        try {
+            final long invocations = invocationCount.get();
+
+            return new SubscriberStats(subscriber, method, capacity, deque.size(), maxQueueSize, postedCount, droppedCount, deliveredCount.get(), invocations,
+                    invocations == 0 ? 0 : totalLatency.get() / invocations, maxLatency.get());
+        } finally {
+            lock.unlock();
+        }
+    }
+}
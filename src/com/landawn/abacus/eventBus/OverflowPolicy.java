@@ -0,0 +1,23 @@
+package com.landawn.abacus.eventBus;
+
+/**
+ * What to do when an event is posted to a subscriber whose queue is full.
+ * 
+ * @see Subscribe#overflowPolicy()
+ */
+public enum OverflowPolicy {
+    /**
+     * The posting thread waits until there is space in the queue.
+     */
+    BLOCK,
+
+    /**
+     * The event is discarded for the subscriber.
+     */
+    DROP,
+
+    /**
+     * The subscriber method is invoked by the posting thread, before the events in the queue.
+     */
+    CALLER_RUNS
+}
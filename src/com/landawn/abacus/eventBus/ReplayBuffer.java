@@ -0,0 +1,119 @@
+package com.landawn.abacus.eventBus;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A ring buffer of the most recently posted events. The slots are allocated once, so {@code add} doesn't create any object.
+ * <br />
+ * Each slot is guarded by a stamp, as a seqlock: <code>2 * seq + 1</code> while the event with sequence <code>seq</code> is being written,
+ * and <code>2 * seq + 2</code> after it's written, 0 if it's empty. {@code forEach} never blocks: it reads the stamp before and after the event,
+ * and skips the event if the stamp has changed. The posts only wait for each other if they wrap around the whole buffer at the same time
+ * and hit the same slot.
+ * The events overwritten by the concurrent posts while {@code forEach} is running are skipped.
+ */
+final class ReplayBuffer {
+    private final AtomicLongArray stamps;
+    private final AtomicReferenceArray<Object> events;
+    private final AtomicReferenceArray<String> eventIds;
+    private final AtomicLong sequence = new AtomicLong();
+
+    /**
+     * The sequence of the first event posted after the last {@code clear}.
+     */
+    private volatile long clearedSeq = 0;
+
+    ReplayBuffer(final int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("'capacity' must be bigger than 0: " + capacity);
+        }
+
+        this.stamps = new AtomicLongArray(capacity);
+        this.events = new AtomicReferenceArray<>(capacity);
+        this.eventIds = new AtomicReferenceArray<>(capacity);
+    }
+
+    void add(final Object event, final String eventId) {
+        final long seq = sequence.getAndIncrement();
+        final int index = (int) (seq % stamps.length());
+        final long writing = 2 * seq + 1;
+        long stamp = 0;
+
+        do {
+            stamp = stamps.get(index);
+
+            // a slower post of an older event in the same slot must not overwrite a newer one.
+            if (stamp >= writing) {
+                return;
+            } else if ((stamp & 1) == 1) {
+                // an older event is being written to the slot: a few stores.
+                Thread.yield();
+                stamp = -1;
+            }
+        } while (stamp < 0 || stamps.compareAndSet(index, stamp, writing) == false);
+
+        events.set(index, event);
+        eventIds.set(index, eventId);
+        stamps.set(index, writing + 1);
+    }
+
+    /**
+     * Calls the visitor with the events in the buffer, from the oldest to the latest.
+     *
+     * @param visitor
+     */
+    void forEach(final Visitor visitor) {
+        final long end = sequence.get();
+        final int capacity = stamps.length();
+        final long start = Math.max(end > capacity ? end - capacity : 0, clearedSeq);
+
+        for (long seq = start; seq < end; seq++) {
+            final int index = (int) (seq % capacity);
+            final long written = 2 * seq + 2;
+
+            if (stamps.get(index) != written) {
+                continue;
+            }
+
+            final Object event = events.get(index);
+            final String eventId = eventIds.get(index);
+
+            if (stamps.get(index) == written) {
+                visitor.visit(event, eventId);
+            }
+        }
+    }
+
+    void clear() {
+        final long end = sequence.get();
+        clearedSeq = end;
+
+        for (int i = 0, len = stamps.length(); i < len; i++) {
+            long stamp = 0;
+
+            do {
+                stamp = stamps.get(i);
+
+                // empty, or the event is posted after the clear.
+                if (stamp == 0 || stamp > 2 * end) {
+                    break;
+                } else if ((stamp & 1) == 1) {
+                    Thread.yield();
+                    stamp = -1;
+                }
+            } while (stamp < 0 || stamps.compareAndSet(i, stamp, stamp - 1) == false);
+
+            if (stamp > 0 && stamp <= 2 * end) {
+                // the slot is held by the odd stamp, like a post.
+                events.set(i, null);
+                eventIds.set(i, null);
+                stamps.set(i, 0);
+            }
+        }
+    }
+
+    static interface Visitor {
+        void visit(Object event, String eventId);
+    }
+}
@@ -8,4 +8,21 @@ import java.lang.annotation.Target;
 @Retention(RetentionPolicy.RUNTIME)
 @Target(ElementType.METHOD)
 public @interface Subscribe {
+    /**
+     * Capacity of the queue for the subscriber registered with {@code ThreadMode.SERIAL_EXECUTOR}, or the subscriber method with <code>batchSize > 0</code>.
+     */
+    int queueSize() default 1024;
+
+    OverflowPolicy overflowPolicy() default OverflowPolicy.BLOCK;
+
+    /**
+     * If it's bigger than 0, the parameter type of the method must be {@code List}/{@code Collection} and the events are delivered in batches
+     * of at most <code>batchSize</code>, in the order they're posted. The type of the events is the type argument of the parameter, e.g. {@code List<String>}.
+     */
+    int batchSize() default 0;
+
+    /**
+     * If it's true, the latest events posted by {@code EventBus.postSticky} before the subscriber is registered are delivered at the registration.
+     */
+    boolean sticky() default false;
 }
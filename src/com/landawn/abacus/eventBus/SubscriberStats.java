@@ -0,0 +1,103 @@
+package com.landawn.abacus.eventBus;
+
+import java.lang.reflect.Method;
+
+import com.landawn.abacus.util.N;
+
+/**
+ * A snapshot of the queue and the delivery metrics of a subscriber method which is delivered through a queue.
+ *
+ * @see EventBus#getStats()
+ */
+public final class SubscriberStats {
+    private final Object subscriber;
+    private final Method method;
+    private final int queueCapacity;
+    private final int queueSize;
+    private final int maxQueueSize;
+    private final long postedCount;
+    private final long droppedCount;
+    private final long deliveredCount;
+    private final long invocationCount;
+    private final long avgLatency;
+    private final long maxLatency;
+
+    SubscriberStats(final Object subscriber, final Method method, final int queueCapacity, final int queueSize, final int maxQueueSize,
+            final long postedCount, final long droppedCount, final long deliveredCount, final long invocationCount, final long avgLatency,
+            final long maxLatency) {
+        this.subscriber = subscriber;
+        this.method = method;
+        this.queueCapacity = queueCapacity;
+        this.queueSize = queueSize;
+        this.maxQueueSize = maxQueueSize;
+        this.postedCount = postedCount;
+        this.droppedCount = droppedCount;
+        this.deliveredCount = deliveredCount;
+        this.invocationCount = invocationCount;
+        this.avgLatency = avgLatency;
+        this.maxLatency = maxLatency;
+    }
+
+    public Object getSubscriber() {
+        return subscriber;
+    }
+
+    public Method getMethod() {
+        return method;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    /**
+     * The number of the events waiting in the queue.
+     */
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    public int getMaxQueueSize() {
+        return maxQueueSize;
+    }
+
+    public long getPostedCount() {
+        return postedCount;
+    }
+
+    public long getDroppedCount() {
+        return droppedCount;
+    }
+
+    public long getDeliveredCount() {
+        return deliveredCount;
+    }
+
+    /**
+     * The number of times the subscriber method is invoked. It's less than {@link #getDeliveredCount()} if the events are delivered in batches.
+     */
+    public long getInvocationCount() {
+        return invocationCount;
+    }
+
+    /**
+     * Average time in nanoseconds spent by an invocation of the subscriber method.
+     */
+    public long getAvgLatency() {
+        return avgLatency;
+    }
+
+    /**
+     * Max time in nanoseconds spent by an invocation of the subscriber method.
+     */
+    public long getMaxLatency() {
+        return maxLatency;
+    }
+
+    @Override
+    public String toString() {
+        return "{subscriber=" + N.toString(subscriber) + ", method=" + method.getName() + ", queueCapacity=" + queueCapacity + ", queueSize=" + queueSize
+                + ", maxQueueSize=" + maxQueueSize + ", postedCount=" + postedCount + ", droppedCount=" + droppedCount + ", deliveredCount="
+                + deliveredCount + ", invocationCount=" + invocationCount + ", avgLatency=" + avgLatency + ", maxLatency=" + maxLatency + "}";
+    }
+}
@@ -32,6 +32,56 @@ public abstract class AbstractLogger implements Logger {
         }
     }
 
+    @Override
+    public void trace(String format, Object arg) {
+        if (isTraceEnabled()) {
+            FormattedMessage ft = MessageFormatter.format(format, arg);
+            trace(ft.getMessage(), ft.getThrowable());
+        }
+    }
+
+    @Override
+    public void trace(String format, int arg) {
+        if (isTraceEnabled()) {
+            trace(MessageFormatter.format(format, (long) arg));
+        }
+    }
+
+    @Override
+    public void trace(String format, long arg) {
+        if (isTraceEnabled()) {
+            trace(MessageFormatter.format(format, arg));
+        }
+    }
+
+    @Override
+    public void trace(String format, double arg) {
+        if (isTraceEnabled()) {
+            trace(MessageFormatter.format(format, arg));
+        }
+    }
+
+    @Override
+    public void trace(String format, boolean arg) {
+        if (isTraceEnabled()) {
+            trace(MessageFormatter.format(format, arg));
+        }
+    }
+
+    @Override
+    public void trace(String format, char arg) {
+        if (isTraceEnabled()) {
+            trace(MessageFormatter.format(format, arg));
+        }
+    }
+
+    @Override
+    public void trace(String format, float arg) {
+        if (isTraceEnabled()) {
+            trace(MessageFormatter.format(format, arg));
+        }
+    }
+
     @Override
     public void trace(Supplier<String> supplier) {
         if (isTraceEnabled()) {
@@ -54,6 +104,56 @@ public abstract class AbstractLogger implements Logger {
         }
     }
 
+    @Override
+    public void debug(String format, Object arg) {
+        if (isDebugEnabled()) {
+            FormattedMessage ft = MessageFormatter.format(format, arg);
+            debug(ft.getMessage(), ft.getThrowable());
+        }
+    }
+
+    @Override
+    public void debug(String format, int arg) {
+        if (isDebugEnabled()) {
+            debug(MessageFormatter.format(format, (long) arg));
+        }
+    }
+
+    @Override
+    public void debug(String format, long arg) {
+        if (isDebugEnabled()) {
+            debug(MessageFormatter.format(format, arg));
+        }
+    }
+
+    @Override
+    public void debug(String format, double arg) {
+        if (isDebugEnabled()) {
+            debug(MessageFormatter.format(format, arg));
+        }
+    }
+
+    @Override
+    public void debug(String format, boolean arg) {
+        if (isDebugEnabled()) {
+            debug(MessageFormatter.format(format, arg));
+        }
+    }
+
+    @Override
+    public void debug(String format, char arg) {
+        if (isDebugEnabled()) {
+            debug(MessageFormatter.format(format, arg));
+        }
+    }
+
+    @Override
+    public void debug(String format, float arg) {
+        if (isDebugEnabled()) {
+            debug(MessageFormatter.format(format, arg));
+        }
+    }
+
     @Override
     public void debug(Supplier<String> supplier) {
         if (isDebugEnabled()) {
@@ -76,6 +176,56 @@ public abstract class AbstractLogger implements Logger {
         }
     }
 
+    @Override
+    public void info(String format, Object arg) {
+        if (isInfoEnabled()) {
+            FormattedMessage ft = MessageFormatter.format(format, arg);
+            info(ft.getMessage(), ft.getThrowable());
+        }
+    }
+
+    @Override
+    public void info(String format, int arg) {
+        if (isInfoEnabled()) {
+            info(MessageFormatter.format(format, (long) arg));
+        }
+    }
+
+    @Override
+    public void info(String format, long arg) {
+        if (isInfoEnabled()) {
+            info(MessageFormatter.format(format, arg));
+        }
+    }
+
+    @Override
+    public void info(String format, double arg) {
+        if (isInfoEnabled()) {
+            info(MessageFormatter.format(format, arg));
+        }
+    }
+
+    @Override
+    public void info(String format, boolean arg) {
+        if (isInfoEnabled()) {
+            info(MessageFormatter.format(format, arg));
+        }
+    }
+
+    @Override
+    public void info(String format, char arg) {
+        if (isInfoEnabled()) {
+            info(MessageFormatter.format(format, arg));
+        }
+    }
+
+    @Override
+    public void info(String format, float arg) {
+        if (isInfoEnabled()) {
+            info(MessageFormatter.format(format, arg));
+        }
+    }
+
     @Override
     public void info(Supplier<String> supplier) {
         if (isInfoEnabled()) {
@@ -98,6 +248,56 @@ public abstract class AbstractLogger implements Logger {
         }
     }
 
+    @Override
+    public void warn(String format, Object arg) {
+        if (isWarnEnabled()) {
+            FormattedMessage ft = MessageFormatter.format(format, arg);
+            warn(ft.getMessage(), ft.getThrowable());
+        }
+    }
+
+    @Override
+    public void warn(String format, int arg) {
+        if (isWarnEnabled()) {
+            warn(MessageFormatter.format(format, (long) arg));
+        }
+    }
+
+    @Override
+    public void warn(String format, long arg) {
+        if (isWarnEnabled()) {
+            warn(MessageFormatter.format(format, arg));
+        }
+    }
+
+    @Override
+    public void warn(String format, double arg) {
+        if (isWarnEnabled()) {
+            warn(MessageFormatter.format(format, arg));
+        }
+    }
+
+    @Override
+    public void warn(String format, boolean arg) {
+        if (isWarnEnabled()) {
+            warn(MessageFormatter.format(format, arg));
+        }
+    }
+
+    @Override
+    public void warn(String format, char arg) {
+        if (isWarnEnabled()) {
+            warn(MessageFormatter.format(format, arg));
+        }
+    }
+
+    @Override
+    public void warn(String format, float arg) {
+        if (isWarnEnabled()) {
+            warn(MessageFormatter.format(format, arg));
+        }
+    }
+
     @Override
     public void warn(Supplier<String> supplier) {
         if (isWarnEnabled()) {
@@ -120,6 +320,56 @@ public abstract class AbstractLogger implements Logger {
         }
     }
 
+    @Override
+    public void error(String format, Object arg) {
+        if (isErrorEnabled()) {
+            FormattedMessage ft = MessageFormatter.format(format, arg);
+            error(ft.getMessage(), ft.getThrowable());
+        }
+    }
+
+    @Override
+    public void error(String format, int arg) {
+        if (isErrorEnabled()) {
+            error(MessageFormatter.format(format, (long) arg));
+        }
+    }
+
+    @Override
+    public void error(String format, long arg) {
+        if (isErrorEnabled()) {
+            error(MessageFormatter.format(format, arg));
+        }
+    }
+
+    @Override
+    public void error(String format, double arg) {
+        if (isErrorEnabled()) {
+            error(MessageFormatter.format(format, arg));
+        }
+    }
+
+    @Override
+    public void error(String format, boolean arg) {
+        if (isErrorEnabled()) {
+            error(MessageFormatter.format(format, arg));
+        }
+    }
+
+    @Override
+    public void error(String format, char arg) {
+        if (isErrorEnabled()) {
+            error(MessageFormatter.format(format, arg));
+        }
+    }
+
+    @Override
+    public void error(String format, float arg) {
+        if (isErrorEnabled()) {
+            error(MessageFormatter.format(format, arg));
+        }
+    }
+
     @Override
     public void error(Supplier<String> supplier) {
         if (isErrorEnabled()) {
@@ -103,6 +103,37 @@ public interface Logger {
      */
     public void trace(String format, Object... args);
 
+    /**
+     * Log a message at the TRACE level according to the specified format and argument, without creating an array for the argument.
+     * 
+     * @param format
+     *            the format string
+     * @param arg
+     *            the argument
+     */
+    public void trace(String format, Object arg);
+
+    /**
+     * Log a message at the TRACE level according to the specified format and argument, without boxing the argument.
+     * {@code char} and {@code float} arguments have their own overloads, so they are formatted as the boxed values, not widened to {@code int/double}.
+     * 
+     * @param format
+     *            the format string
+     * @param arg
+     *            the argument
+     */
+    public void trace(String format, int arg);
+
+    public void trace(String format, long arg);
+
+    public void trace(String format, double arg);
+
+    public void trace(String format, boolean arg);
+
+    public void trace(String format, char arg);
+
+    public void trace(String format, float arg);
+
     /**
      * Log an exception (throwable) at the TRACE level with an accompanying message.
      * 
@@ -149,6 +180,37 @@ public interface Logger {
      */
     public void debug(String format, Object... args);
 
+    /**
+     * Log a message at the DEBUG level according to the specified format and argument, without creating an array for the argument.
+     * 
+     * @param format
+     *            the format string
+     * @param arg
+     *            the argument
+     */
+    public void debug(String format, Object arg);
+
+    /**
+     * Log a message at the DEBUG level according to the specified format and argument, without boxing the argument.
+     * {@code char} and {@code float} arguments have their own overloads, so they are formatted as the boxed values, not widened to {@code int/double}.
+     * 
+     * @param format
+     *            the format string
+     * @param arg
+     *            the argument
+     */
+    public void debug(String format, int arg);
+
+    public void debug(String format, long arg);
+
+    public void debug(String format, double arg);
+
+    public void debug(String format, boolean arg);
+
+    public void debug(String format, char arg);
+
+    public void debug(String format, float arg);
+
     /**
      * Log an exception (throwable) at the DEBUG level with an accompanying message.
      * 
@@ -192,6 +254,37 @@ public interface Logger {
      */
     public void info(String format, Object... args);
 
+    /**
+     * Log a message at the INFO level according to the specified format and argument, without creating an array for the argument.
+     * 
+     * @param format
+     *            the format string
+     * @param arg
+     *            the argument
+     */
+    public void info(String format, Object arg);
+
+    /**
+     * Log a message at the INFO level according to the specified format and argument, without boxing the argument.
+     * {@code char} and {@code float} arguments have their own overloads, so they are formatted as the boxed values, not widened to {@code int/double}.
+     * 
+     * @param format
+     *            the format string
+     * @param arg
+     *            the argument
+     */
+    public void info(String format, int arg);
+
+    public void info(String format, long arg);
+
+    public void info(String format, double arg);
+
+    public void info(String format, boolean arg);
+
+    public void info(String format, char arg);
+
+    public void info(String format, float arg);
+
     /**
      * Log an exception (throwable) at the INFO level with an accompanying message.
      * 
@@ -235,6 +328,37 @@ public interface Logger {
      */
     public void warn(String format, Object... args);
 
+    /**
+     * Log a message at the WARN level according to the specified format and argument, without creating an array for the argument.
+     * 
+     * @param format
+     *            the format string
+     * @param arg
+     *            the argument
+     */
+    public void warn(String format, Object arg);
+
+    /**
+     * Log a message at the WARN level according to the specified format and argument, without boxing the argument.
+     * {@code char} and {@code float} arguments have their own overloads, so they are formatted as the boxed values, not widened to {@code int/double}.
+     * 
+     * @param format
+     *            the format string
+     * @param arg
+     *            the argument
+     */
+    public void warn(String format, int arg);
+
+    public void warn(String format, long arg);
+
+    public void warn(String format, double arg);
+
+    public void warn(String format, boolean arg);
+
+    public void warn(String format, char arg);
+
+    public void warn(String format, float arg);
+
     /**
      * Log an exception (throwable) at the WARN level with an accompanying message.
      * 
@@ -278,6 +402,37 @@ public interface Logger {
      */
     public void error(String format, Object... args);
 
+    /**
+     * Log a message at the ERROR level according to the specified format and argument, without creating an array for the argument.
+     * 
+     * @param format
+     *            the format string
+     * @param arg
+     *            the argument
+     */
+    public void error(String format, Object arg);
+
+    /**
+     * Log a message at the ERROR level according to the specified format and argument, without boxing the argument.
+     * {@code char} and {@code float} arguments have their own overloads, so they are formatted as the boxed values, not widened to {@code int/double}.
+     * 
+     * @param format
+     *            the format string
+     * @param arg
+     *            the argument
+     */
+    public void error(String format, int arg);
+
+    public void error(String format, long arg);
+
+    public void error(String format, double arg);
+
+    public void error(String format, boolean arg);
+
+    public void error(String format, char arg);
+
+    public void error(String format, float arg);
+
     /**
      * Log an exception (throwable) at the ERROR level with an accompanying message.
      * 
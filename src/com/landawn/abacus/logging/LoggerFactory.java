@@ -4,8 +4,8 @@
 
 package com.landawn.abacus.logging;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  *
@@ -19,15 +19,22 @@ public final class LoggerFactory {
     private static final boolean IS_ANDROID_PLATFORM = JAVA_VENDOR.toUpperCase().contains("ANDROID") || JAVA_VM_VENDOR.contains("ANDROID");
 
     private static final Logger jdkLogger = new JDKLogger(LoggerFactory.class.getName());
-    private static final Map<String, Logger> namedLoggers = new HashMap<String, Logger>();
+    private static final ConcurrentMap<String, Logger> namedLoggers = new ConcurrentHashMap<String, Logger>();
     private static volatile int logType = 0;
     private static volatile boolean initialized = false;
 
-    public static synchronized Logger getLogger(Class<?> clazz) {
+    public static Logger getLogger(Class<?> clazz) {
         return getLogger(clazz.getName());
     }
 
-    public static synchronized Logger getLogger(String name) {
+    /**
+     * The loggers are cached in a concurrent map without lock. The logger could be created more than once by concurrent calls with the same name,
+     * but only the first one is cached and returned.
+     * 
+     * @param name
+     * @return
+     */
+    public static Logger getLogger(String name) {
         Logger logger = namedLoggers.get(name);
 
         if (logger == null) {
@@ -119,7 +126,11 @@ public final class LoggerFactory {
                     }
             }
 
-            namedLoggers.put(name, logger);
+            final Logger existedLogger = namedLoggers.putIfAbsent(name, logger);
+
+            if (existedLogger != null) {
+                logger = existedLogger;
+            }
         }
 
         return logger;
@@ -94,6 +94,14 @@ final public class MessageFormatter {
     static final String DELIM_STR = "{}";
     static final char ESCAPE_CHAR = '\\';
 
+    private static final int BUFFER_SIZE = 256;
+    private static final int MAX_BUFFER_SIZE = 8192;
+
+    /**
+     * The buffer is taken out while a message is being formatted, so a message logged by the {@code toString()} of an argument gets a new buffer.
+     */
+    private static final ThreadLocal<StringBuilder> threadLocalBuffer = new ThreadLocal<StringBuilder>();
+
     /**
      * Performs single argument substitution for the 'messagePattern' passed as parameter.
      * <p>
@@ -175,60 +183,196 @@ final public class MessageFormatter {
             return new FormattedMessage(messagePattern);
         }
 
-        int i = 0;
-        int j;
-        StringBuffer sbuf = new StringBuffer(messagePattern.length() + 50);
+        if (messagePattern.indexOf(DELIM_STR) < 0) { // this is a simple string
+            return new FormattedMessage(messagePattern, argArray, throwableCandidate);
+        }
 
+        final StringBuilder sb = borrowBuffer();
+        int i = 0;
         int L;
 
         for (L = 0; L < argArray.length; L++) {
-            j = messagePattern.indexOf(DELIM_STR, i);
+            i = appendToNextAnchor(sb, messagePattern, i);
 
-            if (j == -1) {
-                // no more variables
-                if (i == 0) { // this is a simple string
+            if (i < 0) {
+                // no more variables. the tail string has been appended.
+                return new FormattedMessage(recycleBuffer(sb), argArray, throwableCandidate);
+            }
 
-                    return new FormattedMessage(messagePattern, argArray, throwableCandidate);
-                } else { // add the tail string which contains no variables and
-                         // return
-                         // the result.
-                    sbuf.append(messagePattern.substring(i, messagePattern.length()));
+            deeplyAppendParameter(sb, argArray[L], null);
+        }
 
-                    return new FormattedMessage(sbuf.toString(), argArray, throwableCandidate);
-                }
-            } else {
-                if (isEscapedDelimeter(messagePattern, j)) {
-                    if (!isDoubleEscaped(messagePattern, j)) {
-                        L--; // DELIM_START was escaped, thus should not be
-                             // incremented
-                        sbuf.append(messagePattern.substring(i, j - 1));
-                        sbuf.append(DELIM_START);
-                        i = j + 1;
-                    } else {
-                        // The escape character preceding the delimiter start is
-                        // itself escaped: "abc x:\\{}"
-                        // we have to consume one backward slash
-                        sbuf.append(messagePattern.substring(i, j - 1));
-                        deeplyAppendParameter(sbuf, argArray[L], new HashMap<Object[], Object>());
-                        i = j + 2;
-                    }
+        // append the characters following the last {} pair.
+        sb.append(messagePattern, i, messagePattern.length());
+
+        return new FormattedMessage(recycleBuffer(sb), argArray, null);
+    }
+
+    /**
+     * Formats the message with the <code>long</code> argument, without boxing it or creating an array.
+     * 
+     * @param messagePattern
+     * @param arg
+     * @return
+     */
+    static String format(final String messagePattern, final long arg) {
+        if (messagePattern == null || messagePattern.indexOf(DELIM_STR) < 0) {
+            return messagePattern;
+        }
+
+        final StringBuilder sb = borrowBuffer();
+        final int i = appendToNextAnchor(sb, messagePattern, 0);
+
+        if (i >= 0) {
+            sb.append(arg).append(messagePattern, i, messagePattern.length());
+        }
+
+        return recycleBuffer(sb);
+    }
+
+    /**
+     * 
+     * @param messagePattern
+     * @param arg
+     * @return
+     * @see #format(String, long)
+     */
+    static String format(final String messagePattern, final double arg) {
+        if (messagePattern == null || messagePattern.indexOf(DELIM_STR) < 0) {
+            return messagePattern;
+        }
+
+        final StringBuilder sb = borrowBuffer();
+        final int i = appendToNextAnchor(sb, messagePattern, 0);
+
+        if (i >= 0) {
+            sb.append(arg).append(messagePattern, i, messagePattern.length());
+        }
+
+        return recycleBuffer(sb);
+    }
+
+    /**
+     * 
+     * @param messagePattern
+     * @param arg
+     * @return
+     * @see #format(String, long)
+     */
+    static String format(final String messagePattern, final boolean arg) {
+        if (messagePattern == null || messagePattern.indexOf(DELIM_STR) < 0) {
+            return messagePattern;
+        }
+
+        final StringBuilder sb = borrowBuffer();
+        final int i = appendToNextAnchor(sb, messagePattern, 0);
+
+        if (i >= 0) {
+            sb.append(arg).append(messagePattern, i, messagePattern.length());
+        }
+
+        return recycleBuffer(sb);
+    }
+
+    /**
+     * 
+     * @param messagePattern
+     * @param arg
+     * @return
+     * @see #format(String, long)
+     */
+    static String format(final String messagePattern, final char arg) {
+        if (messagePattern == null || messagePattern.indexOf(DELIM_STR) < 0) {
+            return messagePattern;
+        }
+
+        final StringBuilder sb = borrowBuffer();
+        final int i = appendToNextAnchor(sb, messagePattern, 0);
+
+        if (i >= 0) {
+            sb.append(arg).append(messagePattern, i, messagePattern.length());
+        }
+
+        return recycleBuffer(sb);
+    }
+
+    /**
+     * 
+     * @param messagePattern
+     * @param arg
+     * @return
+     * @see #format(String, long)
+     */
+    static String format(final String messagePattern, final float arg) {
+        if (messagePattern == null || messagePattern.indexOf(DELIM_STR) < 0) {
+            return messagePattern;
+        }
+
+        final StringBuilder sb = borrowBuffer();
+        final int i = appendToNextAnchor(sb, messagePattern, 0);
+
+        if (i >= 0) {
+            sb.append(arg).append(messagePattern, i, messagePattern.length());
+        }
+
+        return recycleBuffer(sb);
+    }
+
+    /**
+     * Appends the characters from <code>fromIndex</code> to the next formatting anchor, with the escaped anchors unescaped.
+     * 
+     * @return the index after the anchor, or -1 if there is no more anchor, and the rest characters have been appended.
+     */
+    private static int appendToNextAnchor(final StringBuilder sb, final String messagePattern, int fromIndex) {
+        int j = 0;
+
+        while ((j = messagePattern.indexOf(DELIM_STR, fromIndex)) >= 0) {
+            if (isEscapedDelimeter(messagePattern, j)) {
+                if (!isDoubleEscaped(messagePattern, j)) {
+                    // DELIM_START was escaped, thus it's not an anchor.
+                    sb.append(messagePattern, fromIndex, j - 1);
+                    sb.append(DELIM_START);
+                    fromIndex = j + 1;
                 } else {
-                    // normal case
-                    sbuf.append(messagePattern.substring(i, j));
-                    deeplyAppendParameter(sbuf, argArray[L], new HashMap<Object[], Object>());
-                    i = j + 2;
+                    // The escape character preceding the delimiter start is
+                    // itself escaped: "abc x:\\{}"
+                    // we have to consume one backward slash
+                    sb.append(messagePattern, fromIndex, j - 1);
+                    return j + 2;
                 }
+            } else {
+                // normal case
+                sb.append(messagePattern, fromIndex, j);
+                return j + 2;
             }
         }
 
-        // append the characters following the last {} pair.
-        sbuf.append(messagePattern.substring(i, messagePattern.length()));
+        sb.append(messagePattern, fromIndex, messagePattern.length());
 
-        if (L < (argArray.length - 1)) {
-            return new FormattedMessage(sbuf.toString(), argArray, throwableCandidate);
-        } else {
-            return new FormattedMessage(sbuf.toString(), argArray, null);
+        return -1;
+    }
+
+    private static StringBuilder borrowBuffer() {
+        final StringBuilder sb = threadLocalBuffer.get();
+
+        if (sb == null) {
+            return new StringBuilder(BUFFER_SIZE);
         }
+
+        threadLocalBuffer.set(null);
+
+        return sb;
+    }
+
+    private static String recycleBuffer(final StringBuilder sb) {
+        final String str = sb.toString();
+
+        if (sb.capacity() <= MAX_BUFFER_SIZE) {
+            sb.setLength(0);
+            threadLocalBuffer.set(sb);
+        }
+
+        return str;
     }
 
     final static boolean isEscapedDelimeter(String messagePattern, int delimeterStartIndex) {
@@ -254,53 +398,57 @@ final public class MessageFormatter {
     }
 
     // special treatment of array values was suggested by 'lizongbo'
-    private static void deeplyAppendParameter(StringBuffer sbuf, Object o, Map<Object[], Object> seenMap) {
+    private static void deeplyAppendParameter(StringBuilder sb, Object o, Map<Object[], Object> seenMap) {
         if (o == null) {
-            sbuf.append("null");
+            sb.append("null");
 
             return;
         }
 
         if (!o.getClass().isArray()) {
-            safeObjectAppend(sbuf, o);
+            safeObjectAppend(sb, o);
         } else {
             // check for primitive array types because they
             // unfortunately cannot be cast to Object[]
             if (o instanceof boolean[]) {
-                booleanArrayAppend(sbuf, (boolean[]) o);
+                booleanArrayAppend(sb, (boolean[]) o);
             } else if (o instanceof byte[]) {
-                byteArrayAppend(sbuf, (byte[]) o);
+                byteArrayAppend(sb, (byte[]) o);
             } else if (o instanceof char[]) {
-                charArrayAppend(sbuf, (char[]) o);
+                charArrayAppend(sb, (char[]) o);
             } else if (o instanceof short[]) {
-                shortArrayAppend(sbuf, (short[]) o);
+                shortArrayAppend(sb, (short[]) o);
             } else if (o instanceof int[]) {
-                intArrayAppend(sbuf, (int[]) o);
+                intArrayAppend(sb, (int[]) o);
             } else if (o instanceof long[]) {
-                longArrayAppend(sbuf, (long[]) o);
+                longArrayAppend(sb, (long[]) o);
             } else if (o instanceof float[]) {
-                floatArrayAppend(sbuf, (float[]) o);
+                floatArrayAppend(sb, (float[]) o);
             } else if (o instanceof double[]) {
-                doubleArrayAppend(sbuf, (double[]) o);
+                doubleArrayAppend(sb, (double[]) o);
             } else {
-                objectArrayAppend(sbuf, (Object[]) o, seenMap);
+                objectArrayAppend(sb, (Object[]) o, seenMap);
             }
         }
     }
 
-    private static void safeObjectAppend(StringBuffer sbuf, Object o) {
+    private static void safeObjectAppend(StringBuilder sb, Object o) {
         try {
             String oAsString = o.toString();
-            sbuf.append(oAsString);
+            sb.append(oAsString);
         } catch (Throwable t) {
             System.err.println("SLF4J: Failed toString() invocation on an object of type [" + o.getClass().getName() + "]");
             t.printStackTrace();
-            sbuf.append("[FAILED toString()]");
+            sb.append("[FAILED toString()]");
         }
     }
 
-    private static void objectArrayAppend(StringBuffer sbuf, Object[] a, Map<Object[], Object> seenMap) {
-        sbuf.append('[');
+    private static void objectArrayAppend(StringBuilder sb, Object[] a, Map<Object[], Object> seenMap) {
+        sb.append('[');
+
+        if (seenMap == null) {
+            seenMap = new HashMap<Object[], Object>();
+        }
 
         if (!seenMap.containsKey(a)) {
             seenMap.put(a, null);
@@ -308,147 +456,147 @@ final public class MessageFormatter {
             final int len = a.length;
 
             for (int i = 0; i < len; i++) {
-                deeplyAppendParameter(sbuf, a[i], seenMap);
+                deeplyAppendParameter(sb, a[i], seenMap);
 
                 if (i != (len - 1)) {
-                    sbuf.append(", ");
+                    sb.append(", ");
                 }
             }
 
             // allow repeats in siblings
             seenMap.remove(a);
         } else {
-            sbuf.append("...");
+            sb.append("...");
         }
 
-        sbuf.append(']');
+        sb.append(']');
     }
 
-    private static void booleanArrayAppend(StringBuffer sbuf, boolean[] a) {
-        sbuf.append('[');
+    private static void booleanArrayAppend(StringBuilder sb, boolean[] a) {
+        sb.append('[');
 
         final int len = a.length;
 
         for (int i = 0; i < len; i++) {
-            sbuf.append(a[i]);
+            sb.append(a[i]);
 
             if (i != (len - 1)) {
-                sbuf.append(", ");
+                sb.append(", ");
             }
         }
 
-        sbuf.append(']');
+        sb.append(']');
     }
 
-    private static void byteArrayAppend(StringBuffer sbuf, byte[] a) {
-        sbuf.append('[');
+    private static void byteArrayAppend(StringBuilder sb, byte[] a) {
+        sb.append('[');
 
         final int len = a.length;
 
         for (int i = 0; i < len; i++) {
-            sbuf.append(a[i]);
+            sb.append(a[i]);
 
             if (i != (len - 1)) {
-                sbuf.append(", ");
+                sb.append(", ");
             }
         }
 
-        sbuf.append(']');
+        sb.append(']');
     }
 
-    private static void charArrayAppend(StringBuffer sbuf, char[] a) {
-        sbuf.append('[');
+    private static void charArrayAppend(StringBuilder sb, char[] a) {
+        sb.append('[');
 
         final int len = a.length;
 
         for (int i = 0; i < len; i++) {
-            sbuf.append(a[i]);
+            sb.append(a[i]);
 
             if (i != (len - 1)) {
-                sbuf.append(", ");
+                sb.append(", ");
             }
         }
 
-        sbuf.append(']');
+        sb.append(']');
     }
 
-    private static void shortArrayAppend(StringBuffer sbuf, short[] a) {
-        sbuf.append('[');
+    private static void shortArrayAppend(StringBuilder sb, short[] a) {
+        sb.append('[');
 
         final int len = a.length;
 
         for (int i = 0; i < len; i++) {
-            sbuf.append(a[i]);
+            sb.append(a[i]);
 
             if (i != (len - 1)) {
-                sbuf.append(", ");
+                sb.append(", ");
             }
         }
 
-        sbuf.append(']');
+        sb.append(']');
     }
 
-    private static void intArrayAppend(StringBuffer sbuf, int[] a) {
-        sbuf.append('[');
+    private static void intArrayAppend(StringBuilder sb, int[] a) {
+        sb.append('[');
 
         final int len = a.length;
 
         for (int i = 0; i < len; i++) {
-            sbuf.append(a[i]);
+            sb.append(a[i]);
 
             if (i != (len - 1)) {
-                sbuf.append(", ");
+                sb.append(", ");
             }
         }
 
-        sbuf.append(']');
+        sb.append(']');
     }
 
-    private static void longArrayAppend(StringBuffer sbuf, long[] a) {
-        sbuf.append('[');
+    private static void longArrayAppend(StringBuilder sb, long[] a) {
+        sb.append('[');
 
         final int len = a.length;
 
         for (int i = 0; i < len; i++) {
-            sbuf.append(a[i]);
+            sb.append(a[i]);
 
             if (i != (len - 1)) {
-                sbuf.append(", ");
+                sb.append(", ");
             }
         }
 
-        sbuf.append(']');
+        sb.append(']');
     }
 
-    private static void floatArrayAppend(StringBuffer sbuf, float[] a) {
-        sbuf.append('[');
+    private static void floatArrayAppend(StringBuilder sb, float[] a) {
+        sb.append('[');
 
         final int len = a.length;
 
         for (int i = 0; i < len; i++) {
-            sbuf.append(a[i]);
+            sb.append(a[i]);
 
             if (i != (len - 1)) {
-                sbuf.append(", ");
+                sb.append(", ");
             }
         }
 
-        sbuf.append(']');
+        sb.append(']');
     }
 
-    private static void doubleArrayAppend(StringBuffer sbuf, double[] a) {
-        sbuf.append('[');
+    private static void doubleArrayAppend(StringBuilder sb, double[] a) {
+        sb.append('[');
 
         final int len = a.length;
 
         for (int i = 0; i < len; i++) {
-            sbuf.append(a[i]);
+            sb.append(a[i]);
 
             if (i != (len - 1)) {
-                sbuf.append(", ");
+                sb.append(", ");
             }
         }
 
-        sbuf.append(']');
+        sb.append(']');
     }
 }
@@ -2936,7 +2936,7 @@ public final class Array {
         }
     }
 
-    static void bucketSort(final int[] a) {
+    static void bucketSort(final char[] a) {
         if (N.isNullOrEmpty(a)) {
             return;
         }
@@ -2944,39 +2944,45 @@ public final class Array {
         bucketSort(a, 0, a.length);
     }
 
-    static void bucketSort(final int[] a, final int fromIndex, final int toIndex) {
+    static void bucketSort(final char[] a, final int fromIndex, final int toIndex) {
         N.checkIndex(fromIndex, toIndex, a == null ? 0 : a.length);
 
         if ((N.isNullOrEmpty(a) && fromIndex == 0 && toIndex == 0) || fromIndex == toIndex) {
             return;
         }
 
-        if (toIndex - fromIndex < 32) {
+        if (toIndex - fromIndex < RadixSort.MIN_RADIX_SORT_SIZE) {
             sort(a, fromIndex, toIndex);
             return;
         }
 
-        final Multiset<Integer> multiset = new Multiset<>();
+        RadixSort.sort(a, fromIndex, toIndex);
+    }
 
-        for (int i = fromIndex; i < toIndex; i++) {
-            multiset.add(a[i]);
+    static void bucketSort(final byte[] a) {
+        if (N.isNullOrEmpty(a)) {
+            return;
         }
 
-        final Map<Integer, Integer> m = multiset.toMapSortedBy(new Comparator<Map.Entry<Integer, MutableInt>>() {
-            @Override
-            public int compare(Entry<Integer, MutableInt> a, Entry<Integer, MutableInt> b) {
-                return N.compare(a.getKey().intValue(), a.getKey().intValue());
-            }
-        });
-        int idx = fromIndex;
+        bucketSort(a, 0, a.length);
+    }
 
-        for (Map.Entry<Integer, Integer> entry : m.entrySet()) {
-            N.fill(a, idx, idx + entry.getValue(), entry.getKey());
-            idx += entry.getValue();
+    static void bucketSort(final byte[] a, final int fromIndex, final int toIndex) {
+        N.checkIndex(fromIndex, toIndex, a == null ? 0 : a.length);
+
+        if ((N.isNullOrEmpty(a) && fromIndex == 0 && toIndex == 0) || fromIndex == toIndex) {
+            return;
         }
+
+        if (toIndex - fromIndex < RadixSort.MIN_RADIX_SORT_SIZE) {
+            sort(a, fromIndex, toIndex);
+            return;
+        }
+
+        RadixSort.sort(a, fromIndex, toIndex);
     }
 
-    static void bucketSort(final long[] a) {
+    static void bucketSort(final short[] a) {
         if (N.isNullOrEmpty(a)) {
             return;
         }
@@ -2984,39 +2990,45 @@ public final class Array {
         bucketSort(a, 0, a.length);
     }
 
-    static void bucketSort(final long[] a, final int fromIndex, final int toIndex) {
+    static void bucketSort(final short[] a, final int fromIndex, final int toIndex) {
         N.checkIndex(fromIndex, toIndex, a == null ? 0 : a.length);
 
         if ((N.isNullOrEmpty(a) && fromIndex == 0 && toIndex == 0) || fromIndex == toIndex) {
             return;
         }
 
-        if (toIndex - fromIndex < 32) {
+        if (toIndex - fromIndex < RadixSort.MIN_RADIX_SORT_SIZE) {
             sort(a, fromIndex, toIndex);
             return;
         }
 
-        final Multiset<Long> multiset = new Multiset<>();
+        RadixSort.sort(a, fromIndex, toIndex);
+    }
 
-        for (int i = fromIndex; i < toIndex; i++) {
-            multiset.add(a[i]);
+    static void bucketSort(final int[] a) {
+        if (N.isNullOrEmpty(a)) {
+            return;
         }
 
-        final Map<Long, Integer> m = multiset.toMapSortedBy(new Comparator<Map.Entry<Long, MutableInt>>() {
-            @Override
-            public int compare(Entry<Long, MutableInt> a, Entry<Long, MutableInt> b) {
-                return N.compare(a.getKey().longValue(), a.getKey().longValue());
-            }
-        });
-        int idx = fromIndex;
+        bucketSort(a, 0, a.length);
+    }
 
-        for (Map.Entry<Long, Integer> entry : m.entrySet()) {
-            N.fill(a, idx, idx + entry.getValue(), entry.getKey());
-            idx += entry.getValue();
+    static void bucketSort(final int[] a, final int fromIndex, final int toIndex) {
+        N.checkIndex(fromIndex, toIndex, a == null ? 0 : a.length);
+
+        if ((N.isNullOrEmpty(a) && fromIndex == 0 && toIndex == 0) || fromIndex == toIndex) {
+            return;
+        }
+
+        if (toIndex - fromIndex < RadixSort.MIN_RADIX_SORT_SIZE) {
+            sort(a, fromIndex, toIndex);
+            return;
         }
+
+        RadixSort.sort(a, fromIndex, toIndex);
     }
 
-    static void bucketSort(final float[] a) {
+    static void bucketSort(final long[] a) {
         if (N.isNullOrEmpty(a)) {
             return;
         }
@@ -3024,36 +3036,42 @@ public final class Array {
         bucketSort(a, 0, a.length);
     }
 
-    static void bucketSort(final float[] a, final int fromIndex, final int toIndex) {
+    static void bucketSort(final long[] a, final int fromIndex, final int toIndex) {
         N.checkIndex(fromIndex, toIndex, a == null ? 0 : a.length);
 
         if ((N.isNullOrEmpty(a) && fromIndex == 0 && toIndex == 0) || fromIndex == toIndex) {
             return;
         }
 
-        if (toIndex - fromIndex < 32) {
+        if (toIndex - fromIndex < RadixSort.MIN_RADIX_SORT_SIZE_64) {
             sort(a, fromIndex, toIndex);
             return;
         }
 
-        final Multiset<Float> multiset = new Multiset<>();
+        RadixSort.sort(a, fromIndex, toIndex);
+    }
 
-        for (int i = fromIndex; i < toIndex; i++) {
-            multiset.add(a[i]);
+    static void bucketSort(final float[] a) {
+        if (N.isNullOrEmpty(a)) {
+            return;
         }
 
-        final Map<Float, Integer> m = multiset.toMapSortedBy(new Comparator<Map.Entry<Float, MutableInt>>() {
-            @Override
-            public int compare(Entry<Float, MutableInt> a, Entry<Float, MutableInt> b) {
-                return N.compare(a.getKey().floatValue(), a.getKey().floatValue());
-            }
-        });
-        int idx = fromIndex;
+        bucketSort(a, 0, a.length);
+    }
 
-        for (Map.Entry<Float, Integer> entry : m.entrySet()) {
-            N.fill(a, idx, idx + entry.getValue(), entry.getKey());
-            idx += entry.getValue();
+    static void bucketSort(final float[] a, final int fromIndex, final int toIndex) {
+        N.checkIndex(fromIndex, toIndex, a == null ? 0 : a.length);
+
+        if ((N.isNullOrEmpty(a) && fromIndex == 0 && toIndex == 0) || fromIndex == toIndex) {
+            return;
+        }
+
+        if (toIndex - fromIndex < RadixSort.MIN_RADIX_SORT_SIZE) {
+            sort(a, fromIndex, toIndex);
+            return;
         }
+
+        RadixSort.sort(a, fromIndex, toIndex);
     }
 
     static void bucketSort(final double[] a) {
@@ -3071,29 +3089,12 @@ public final class Array {
             return;
         }
 
-        if (toIndex - fromIndex < 32) {
+        if (toIndex - fromIndex < RadixSort.MIN_RADIX_SORT_SIZE_64) {
             sort(a, fromIndex, toIndex);
             return;
         }
 
-        final Multiset<Double> multiset = new Multiset<>();
-
-        for (int i = fromIndex; i < toIndex; i++) {
-            multiset.add(a[i]);
-        }
-
-        final Map<Double, Integer> m = multiset.toMapSortedBy(new Comparator<Map.Entry<Double, MutableInt>>() {
-            @Override
-            public int compare(Entry<Double, MutableInt> a, Entry<Double, MutableInt> b) {
-                return N.compare(a.getKey().doubleValue(), a.getKey().doubleValue());
-            }
-        });
-        int idx = fromIndex;
-
-        for (Map.Entry<Double, Integer> entry : m.entrySet()) {
-            N.fill(a, idx, idx + entry.getValue(), entry.getKey());
-            idx += entry.getValue();
-        }
+        RadixSort.sort(a, fromIndex, toIndex);
     }
 
     /**
@@ -3720,7 +3721,7 @@ public final class Array {
         return kthLargest(a, 0, a.length, k);
     }
 
-    static char kthLargest(final char[] a, final int fromIndex, final int toIndex, int k) {
+    static char kthLargest(final char[] a, final int fromIndex, final int toIndex, final int k) {
         N.checkIndex(fromIndex, toIndex, a.length);
 
         if (N.isNullOrEmpty(a) || toIndex - fromIndex < 1 || k < 1 || k > toIndex - fromIndex) {
@@ -3735,51 +3736,14 @@ public final class Array {
             return N.min(a, fromIndex, toIndex);
         }
 
-        Queue<Character> queue = null;
-
-        if (k <= len / 2) {
-            queue = new PriorityQueue<Character>(k);
-
-            for (int i = fromIndex; i < toIndex; i++) {
-                if (queue.size() < k) {
-                    queue.add(a[i]);
-                } else {
-                    if (a[i] > queue.peek().charValue()) {
-                        queue.remove();
-                        queue.add(a[i]);
-                    }
-                }
-            }
-        } else {
-            k = len - k + 1;
-
-            queue = new PriorityQueue<Character>(k, new Comparator<Character>() {
-                @Override
-                public int compare(final Character o1, final Character o2) {
-                    return o2.compareTo(o1);
-                }
-            });
-
-            for (int i = fromIndex; i < toIndex; i++) {
-                if (queue.size() < k) {
-                    queue.add(a[i]);
-                } else {
-                    if (a[i] < queue.peek().charValue()) {
-                        queue.remove();
-                        queue.add(a[i]);
-                    }
-                }
-            }
-        }
-
-        return queue.peek();
+        return Selection.kthLargest(a, fromIndex, toIndex, k);
     }
 
     static byte kthLargest(final byte[] a, int k) {
         return kthLargest(a, 0, a.length, k);
     }
 
-    static byte kthLargest(final byte[] a, final int fromIndex, final int toIndex, int k) {
+    static byte kthLargest(final byte[] a, final int fromIndex, final int toIndex, final int k) {
         N.checkIndex(fromIndex, toIndex, a.length);
 
         if (N.isNullOrEmpty(a) || toIndex - fromIndex < 1 || k < 1 || k > toIndex - fromIndex) {
@@ -3794,51 +3758,14 @@ public final class Array {
             return N.min(a, fromIndex, toIndex);
         }
 
-        Queue<Byte> queue = null;
-
-        if (k <= len / 2) {
-            queue = new PriorityQueue<Byte>(k);
-
-            for (int i = fromIndex; i < toIndex; i++) {
-                if (queue.size() < k) {
-                    queue.add(a[i]);
-                } else {
-                    if (a[i] > queue.peek().byteValue()) {
-                        queue.remove();
-                        queue.add(a[i]);
-                    }
-                }
-            }
-        } else {
-            k = len - k + 1;
-
-            queue = new PriorityQueue<Byte>(k, new Comparator<Byte>() {
-                @Override
-                public int compare(final Byte o1, final Byte o2) {
-                    return o2.compareTo(o1);
-                }
-            });
-
-            for (int i = fromIndex; i < toIndex; i++) {
-                if (queue.size() < k) {
-                    queue.add(a[i]);
-                } else {
-                    if (a[i] < queue.peek().byteValue()) {
-                        queue.remove();
-                        queue.add(a[i]);
-                    }
-                }
-            }
-        }
-
-        return queue.peek();
+        return Selection.kthLargest(a, fromIndex, toIndex, k);
     }
 
     static short kthLargest(final short[] a, int k) {
         return kthLargest(a, 0, a.length, k);
     }
 
-    static short kthLargest(final short[] a, final int fromIndex, final int toIndex, int k) {
+    static short kthLargest(final short[] a, final int fromIndex, final int toIndex, final int k) {
         N.checkIndex(fromIndex, toIndex, a.length);
 
         if (N.isNullOrEmpty(a) || toIndex - fromIndex < 1 || k < 1 || k > toIndex - fromIndex) {
@@ -3853,51 +3780,14 @@ public final class Array {
             return N.min(a, fromIndex, toIndex);
         }
 
-        Queue<Short> queue = null;
-
-        if (k <= len / 2) {
-            queue = new PriorityQueue<Short>(k);
-
-            for (int i = fromIndex; i < toIndex; i++) {
-                if (queue.size() < k) {
-                    queue.add(a[i]);
-                } else {
-                    if (a[i] > queue.peek().shortValue()) {
-                        queue.remove();
-                        queue.add(a[i]);
-                    }
-                }
-            }
-        } else {
-            k = len - k + 1;
-
-            queue = new PriorityQueue<Short>(k, new Comparator<Short>() {
-                @Override
-                public int compare(final Short o1, final Short o2) {
-                    return o2.compareTo(o1);
-                }
-            });
-
-            for (int i = fromIndex; i < toIndex; i++) {
-                if (queue.size() < k) {
-                    queue.add(a[i]);
-                } else {
-                    if (a[i] < queue.peek().shortValue()) {
-                        queue.remove();
-                        queue.add(a[i]);
-                    }
-                }
-            }
-        }
-
-        return queue.peek();
+        return Selection.kthLargest(a, fromIndex, toIndex, k);
     }
 
     static int kthLargest(final int[] a, int k) {
         return kthLargest(a, 0, a.length, k);
     }
 
-    static int kthLargest(final int[] a, final int fromIndex, final int toIndex, int k) {
+    static int kthLargest(final int[] a, final int fromIndex, final int toIndex, final int k) {
         N.checkIndex(fromIndex, toIndex, a.length);
 
         if (N.isNullOrEmpty(a) || toIndex - fromIndex < 1 || k < 1 || k > toIndex - fromIndex) {
@@ -3912,51 +3802,14 @@ public final class Array {
             return N.min(a, fromIndex, toIndex);
         }
 
-        Queue<Integer> queue = null;
-
-        if (k <= len / 2) {
-            queue = new PriorityQueue<Integer>(k);
-
-            for (int i = fromIndex; i < toIndex; i++) {
-                if (queue.size() < k) {
-                    queue.add(a[i]);
-                } else {
-                    if (a[i] > queue.peek().intValue()) {
-                        queue.remove();
-                        queue.add(a[i]);
-                    }
-                }
-            }
-        } else {
-            k = len - k + 1;
-
-            queue = new PriorityQueue<Integer>(k, new Comparator<Integer>() {
-                @Override
-                public int compare(final Integer o1, final Integer o2) {
-                    return o2.compareTo(o1);
-                }
-            });
-
-            for (int i = fromIndex; i < toIndex; i++) {
-                if (queue.size() < k) {
-                    queue.add(a[i]);
-                } else {
-                    if (a[i] < queue.peek().intValue()) {
-                        queue.remove();
-                        queue.add(a[i]);
-                    }
-                }
-            }
-        }
-
-        return queue.peek();
+        return Selection.kthLargest(a, fromIndex, toIndex, k);
     }
 
     static long kthLargest(final long[] a, int k) {
         return kthLargest(a, 0, a.length, k);
     }
 
-    static long kthLargest(final long[] a, final int fromIndex, final int toIndex, int k) {
+    static long kthLargest(final long[] a, final int fromIndex, final int toIndex, final int k) {
         N.checkIndex(fromIndex, toIndex, a.length);
 
         if (N.isNullOrEmpty(a) || toIndex - fromIndex < 1 || k < 1 || k > toIndex - fromIndex) {
@@ -3971,51 +3824,14 @@ public final class Array {
             return N.min(a, fromIndex, toIndex);
         }
 
-        Queue<Long> queue = null;
-
-        if (k <= len / 2) {
-            queue = new PriorityQueue<Long>(k);
-
-            for (int i = fromIndex; i < toIndex; i++) {
-                if (queue.size() < k) {
-                    queue.add(a[i]);
-                } else {
-                    if (a[i] > queue.peek().longValue()) {
-                        queue.remove();
-                        queue.add(a[i]);
-                    }
-                }
-            }
-        } else {
-            k = len - k + 1;
-
-            queue = new PriorityQueue<Long>(k, new Comparator<Long>() {
-                @Override
-                public int compare(final Long o1, final Long o2) {
-                    return o2.compareTo(o1);
-                }
-            });
-
-            for (int i = fromIndex; i < toIndex; i++) {
-                if (queue.size() < k) {
-                    queue.add(a[i]);
-                } else {
-                    if (a[i] < queue.peek().longValue()) {
-                        queue.remove();
-                        queue.add(a[i]);
-                    }
-                }
-            }
-        }
-
-        return queue.peek();
+        return Selection.kthLargest(a, fromIndex, toIndex, k);
     }
 
     static float kthLargest(final float[] a, int k) {
         return kthLargest(a, 0, a.length, k);
     }
 
-    static float kthLargest(final float[] a, final int fromIndex, final int toIndex, int k) {
+    static float kthLargest(final float[] a, final int fromIndex, final int toIndex, final int k) {
         N.checkIndex(fromIndex, toIndex, a.length);
 
         if (N.isNullOrEmpty(a) || toIndex - fromIndex < 1 || k < 1 || k > toIndex - fromIndex) {
@@ -4030,51 +3846,14 @@ public final class Array {
             return N.min(a, fromIndex, toIndex);
         }
 
-        Queue<Float> queue = null;
-
-        if (k <= len / 2) {
-            queue = new PriorityQueue<Float>(k);
-
-            for (int i = fromIndex; i < toIndex; i++) {
-                if (queue.size() < k) {
-                    queue.add(a[i]);
-                } else {
-                    if (Float.compare(a[i], queue.peek().floatValue()) > 0) {
-                        queue.remove();
-                        queue.add(a[i]);
-                    }
-                }
-            }
-        } else {
-            k = len - k + 1;
-
-            queue = new PriorityQueue<Float>(k, new Comparator<Float>() {
-                @Override
-                public int compare(final Float o1, final Float o2) {
-                    return o2.compareTo(o1);
-                }
-            });
-
-            for (int i = fromIndex; i < toIndex; i++) {
-                if (queue.size() < k) {
-                    queue.add(a[i]);
-                } else {
-                    if (Float.compare(a[i], queue.peek().floatValue()) < 0) {
-                        queue.remove();
-                        queue.add(a[i]);
-                    }
-                }
-            }
-        }
-
-        return queue.peek();
+        return Selection.kthLargest(a, fromIndex, toIndex, k);
     }
 
     static double kthLargest(final double[] a, int k) {
         return kthLargest(a, 0, a.length, k);
     }
 
-    static double kthLargest(final double[] a, final int fromIndex, final int toIndex, int k) {
+    static double kthLargest(final double[] a, final int fromIndex, final int toIndex, final int k) {
         N.checkIndex(fromIndex, toIndex, a.length);
 
         if (N.isNullOrEmpty(a) || toIndex - fromIndex < 1 || k < 1 || k > toIndex - fromIndex) {
@@ -4089,44 +3868,7 @@ public final class Array {
             return N.min(a, fromIndex, toIndex);
         }
 
-        Queue<Double> queue = null;
-
-        if (k <= len / 2) {
-            queue = new PriorityQueue<Double>(k);
-
-            for (int i = fromIndex; i < toIndex; i++) {
-                if (queue.size() < k) {
-                    queue.add(a[i]);
-                } else {
-                    if (Double.compare(a[i], queue.peek().doubleValue()) > 0) {
-                        queue.remove();
-                        queue.add(a[i]);
-                    }
-                }
-            }
-        } else {
-            k = len - k + 1;
-
-            queue = new PriorityQueue<Double>(k, new Comparator<Double>() {
-                @Override
-                public int compare(final Double o1, final Double o2) {
-                    return o2.compareTo(o1);
-                }
-            });
-
-            for (int i = fromIndex; i < toIndex; i++) {
-                if (queue.size() < k) {
-                    queue.add(a[i]);
-                } else {
-                    if (Double.compare(a[i], queue.peek().doubleValue()) < 0) {
-                        queue.remove();
-                        queue.add(a[i]);
-                    }
-                }
-            }
-        }
-
-        return queue.peek();
+        return Selection.kthLargest(a, fromIndex, toIndex, k);
     }
 
     static <T extends Comparable<T>> T kthLargest(final T[] a, int k) {
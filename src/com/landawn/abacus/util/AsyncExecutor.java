@@ -19,18 +19,36 @@ package com.landawn.abacus.util;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import com.landawn.abacus.annotation.Beta;
 import com.landawn.abacus.logging.Logger;
 import com.landawn.abacus.logging.LoggerFactory;
+import com.landawn.abacus.util.stream.Stream;
 
 /**
+ * Executes the tasks by a thread pool which is created at the first execution:
+ * <li>{@code AsyncExecutor(maxConcurrentThreadNumber, keepAliveTime, unit)}: the tasks are queued without limit.</li>
+ * <li>{@code AsyncExecutor(maxConcurrentThreadNumber, queueSize, rejectionPolicy, keepAliveTime, unit)}: at most <code>queueSize</code> tasks are queued.
+ * The others are handled by the {@code RejectionPolicy}.</li>
+ * <li>{@code AsyncExecutor.newWorkStealingExecutor(parallelism)}: the tasks are executed by a {@code ForkJoinPool}.</li>
+ * <br />
+ * The number of active/queued/completed/rejected tasks and the time the tasks wait in the queue are returned by {@link #getStats()}.
  * 
  * @since 0.8
  * 
@@ -42,9 +60,19 @@ public class AsyncExecutor {
     private final int maxConcurrentThreadNumber;
     private final long keepAliveTime;
     private final TimeUnit unit;
+    private final int queueSize;
+    private final RejectionPolicy rejectionPolicy;
+    private final boolean workStealing;
 
     private volatile ExecutorService executorService;
 
+    private final AtomicLong submittedCount = new AtomicLong();
+    private final AtomicLong startedCount = new AtomicLong();
+    private final AtomicLong completedCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private final AtomicInteger activeCount = new AtomicInteger();
+    private final LatencyHistogram queueWaitHistogram = new LatencyHistogram();
+
     /**
      * Create an instance of with default values: maxConcurrentThreadNumber = 8, keepAliveTime = 300, unit = TimeUnit.SECONDS.
      */
@@ -53,9 +81,37 @@ public class AsyncExecutor {
     }
 
     public AsyncExecutor(int maxConcurrentThreadNumber, long keepAliveTime, TimeUnit unit) {
+        this(maxConcurrentThreadNumber, 0, RejectionPolicy.BLOCK, keepAliveTime, unit, false);
+    }
+
+    /**
+     * 
+     * @param maxConcurrentThreadNumber
+     * @param queueSize the max number of tasks waiting in the queue.
+     * @param rejectionPolicy what to do with the task submitted when the queue is full.
+     * @param keepAliveTime
+     * @param unit
+     */
+    public AsyncExecutor(int maxConcurrentThreadNumber, int queueSize, RejectionPolicy rejectionPolicy, long keepAliveTime, TimeUnit unit) {
+        this(maxConcurrentThreadNumber, queueSize, rejectionPolicy, keepAliveTime, unit, false);
+
+        if (queueSize < 1) {
+            throw new IllegalArgumentException("'queueSize' must be bigger than 0: " + queueSize);
+        }
+    }
+
+    private AsyncExecutor(int maxConcurrentThreadNumber, int queueSize, RejectionPolicy rejectionPolicy, long keepAliveTime, TimeUnit unit,
+            boolean workStealing) {
+        if (maxConcurrentThreadNumber < 1) {
+            throw new IllegalArgumentException("'maxConcurrentThreadNumber' must be bigger than 0: " + maxConcurrentThreadNumber);
+        }
+
         this.maxConcurrentThreadNumber = maxConcurrentThreadNumber;
         this.keepAliveTime = keepAliveTime;
         this.unit = unit;
+        this.queueSize = queueSize;
+        this.rejectionPolicy = rejectionPolicy == null ? RejectionPolicy.BLOCK : rejectionPolicy;
+        this.workStealing = workStealing;
     }
 
     /**
@@ -65,6 +121,10 @@ public class AsyncExecutor {
     public AsyncExecutor(final ExecutorService executorService) {
         this(8, 300, TimeUnit.SECONDS);
 
+        if (executorService == null) {
+            throw new IllegalArgumentException("'executorService' can't be null");
+        }
+
         this.executorService = executorService;
 
         Runtime.getRuntime().addShutdownHook(new Thread() {
@@ -85,10 +145,22 @@ public class AsyncExecutor {
         });
     }
 
+    /**
+     * Creates an executor which executes the tasks by a {@code ForkJoinPool} in FIFO order.
+     * The idle threads steal the tasks from the busy ones, which is better than the single queue of a {@code ThreadPoolExecutor}
+     * for a lot of small tasks, or the tasks submitted by the other tasks. The tasks are queued without limit.
+     * 
+     * @param parallelism
+     * @return
+     */
+    public static AsyncExecutor newWorkStealingExecutor(int parallelism) {
+        return new AsyncExecutor(parallelism, 0, RejectionPolicy.BLOCK, 0, TimeUnit.SECONDS, true);
+    }
+
     public CompletableFuture<Void> execute(final Runnable command) {
         final CompletableFuture<Void> future = new CompletableFuture<Void>(this, command, null);
 
-        getExecutorService().execute(future);
+        submit(future);
 
         return future;
     }
@@ -99,7 +171,7 @@ public class AsyncExecutor {
         for (int i = 0, len = commands.length; i < len; i++) {
             results[i] = new CompletableFuture<Void>(this, commands[i], null);
 
-            getExecutorService().execute(results[i]);
+            submit(results[i]);
         }
 
         return results;
@@ -112,7 +184,7 @@ public class AsyncExecutor {
         for (Runnable cmd : commands) {
             future = new CompletableFuture<Void>(this, cmd, null);
 
-            getExecutorService().execute(future);
+            submit(future);
 
             results.add(future);
         }
@@ -123,7 +195,7 @@ public class AsyncExecutor {
     public <T> CompletableFuture<T> execute(final Callable<T> command) {
         final CompletableFuture<T> future = new CompletableFuture<T>(this, command);
 
-        getExecutorService().execute(future);
+        submit(future);
 
         return future;
     }
@@ -134,7 +206,7 @@ public class AsyncExecutor {
         for (int i = 0, len = commands.length; i < len; i++) {
             results[i] = new CompletableFuture<T>(this, commands[i]);
 
-            getExecutorService().execute(results[i]);
+            submit(results[i]);
         }
 
         return results;
@@ -147,7 +219,7 @@ public class AsyncExecutor {
         for (Callable<T> cmd : commands) {
             future = new CompletableFuture<T>(this, cmd);
 
-            getExecutorService().execute(future);
+            submit(future);
 
             results.add(future);
         }
@@ -155,6 +227,170 @@ public class AsyncExecutor {
         return results;
     }
 
+    /**
+     * 
+     * @param commands
+     * @param maxConcurrency
+     * @return
+     * @see #executeAll(Collection, int, long, TimeUnit)
+     */
+    public <T> List<T> executeAll(final Collection<? extends Callable<T>> commands, final int maxConcurrency) {
+        return executeAll(commands, maxConcurrency, Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Executes the commands with at most <code>maxConcurrency</code> of them running at the same time, and waits for all of them to complete.
+     * If a command fails or the timeout elapses, the commands not started yet are skipped and the running ones are cancelled (interrupted).
+     * <br />
+     * If the executor is saturated, the commands may be executed in the calling thread ({@code RejectionPolicy.CALLER_RUNS}),
+     * which can't be cancelled, so the timeout can be exceeded by the execution time of one command.
+     * 
+     * @param commands
+     * @param maxConcurrency
+     * @param timeout for the whole batch.
+     * @param unit
+     * @return the results in the order of the commands.
+     * @throws RuntimeException the exception thrown by the first failed command, or a {@code RuntimeException} caused by {@code TimeoutException}.
+     */
+    public <T> List<T> executeAll(final Collection<? extends Callable<T>> commands, final int maxConcurrency, final long timeout, final TimeUnit unit) {
+        final Batch<T> batch = new Batch<>(this, commands, maxConcurrency, deadline(timeout, unit));
+        final Object[] results = new Object[batch.size()];
+
+        try {
+            batch.start();
+
+            for (int i = 0, len = batch.size(); i < len; i++) {
+                final Completion<T> completion = batch.poll();
+
+                if (completion.error != null) {
+                    throw N.toRuntimeException(completion.error);
+                }
+
+                results[completion.index] = completion.value;
+            }
+        } finally {
+            batch.stop();
+        }
+
+        return (List<T>) N.asList(results);
+    }
+
+    /**
+     * Returns the result of the first command which completes successfully. The other commands are cancelled.
+     * 
+     * @param commands
+     * @param timeout
+     * @param unit
+     * @return
+     * @throws RuntimeException the exception thrown by the last failed command if all of them fail, or a {@code RuntimeException} caused by {@code TimeoutException}.
+     */
+    public <T> T anyOf(final Collection<? extends Callable<T>> commands, final long timeout, final TimeUnit unit) {
+        return firstN(commands, 1, commands.size(), timeout, unit).get(0);
+    }
+
+    /**
+     * Returns the results of the first <code>n</code> commands which complete successfully, in the order they complete.
+     * The other commands are skipped or cancelled (interrupted). The failed commands are ignored unless less than <code>n</code> commands can succeed.
+     * The timeout can be exceeded by the execution time of one command if it's executed in the calling thread. See {@link #executeAll(Collection, int, long, TimeUnit)}.
+     * 
+     * @param commands
+     * @param n
+     * @param maxConcurrency
+     * @param timeout for the whole batch.
+     * @param unit
+     * @return
+     * @throws RuntimeException the exception thrown by the last failed command if less than <code>n</code> commands can succeed,
+     * or a {@code RuntimeException} caused by {@code TimeoutException}.
+     */
+    public <T> List<T> firstN(final Collection<? extends Callable<T>> commands, final int n, final int maxConcurrency, final long timeout,
+            final TimeUnit unit) {
+        if (n < 1 || n > commands.size()) {
+            throw new IllegalArgumentException("'n' must be between 1 and the number of commands: " + n);
+        }
+
+        final Batch<T> batch = new Batch<>(this, commands, maxConcurrency, deadline(timeout, unit));
+        final List<T> results = new ArrayList<>(n);
+        int failed = 0;
+
+        try {
+            batch.start();
+
+            while (results.size() < n) {
+                final Completion<T> completion = batch.poll();
+
+                if (completion.error == null) {
+                    results.add(completion.value);
+                } else if (batch.size() - ++failed < n) {
+                    throw N.toRuntimeException(completion.error);
+                }
+            }
+        } finally {
+            batch.stop();
+        }
+
+        return results;
+    }
+
+    /**
+     * Executes the commands with at most <code>maxConcurrency</code> of them running at the same time, and returns the results
+     * in the order they complete. The stream must be closed. The commands not completed yet are skipped or cancelled (interrupted) when it's closed.
+     * If a command fails, the exception is thrown when its result is read from the stream.
+     * 
+     * @param commands
+     * @param maxConcurrency
+     * @return
+     */
+    public <T> Stream<T> executeAndStream(final Collection<? extends Callable<T>> commands, final int maxConcurrency) {
+        final Batch<T> batch = new Batch<>(this, commands, maxConcurrency, Long.MAX_VALUE);
+
+        final Iterator<T> iter = new Iterator<T>() {
+            private int cursor = 0;
+
+            @Override
+            public boolean hasNext() {
+                return cursor < batch.size();
+            }
+
+            @Override
+            public T next() {
+                if (cursor >= batch.size()) {
+                    throw new NoSuchElementException();
+                }
+
+                cursor++;
+
+                final Completion<T> completion = batch.poll();
+
+                if (completion.error != null) {
+                    throw N.toRuntimeException(completion.error);
+                }
+
+                return completion.value;
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+
+        batch.start();
+
+        return Stream.of(iter).onClose(new Runnable() {
+            @Override
+            public void run() {
+                batch.stop();
+            }
+        });
+    }
+
+    private static long deadline(final long timeout, final TimeUnit unit) {
+        final long nanos = unit.toNanos(timeout);
+        final long now = System.nanoTime();
+
+        return nanos >= Long.MAX_VALUE - now ? Long.MAX_VALUE : now + nanos;
+    }
+
     public <T> CompletableFuture<T> invoke(final Method method, final Object... args) {
         return invoke(null, method, args);
     }
@@ -168,19 +404,44 @@ public class AsyncExecutor {
             }
         });
 
-        getExecutorService().execute(future);
+        submit(future);
 
         return future;
     }
 
+    /**
+     * Returns the number of active/queued/completed/rejected tasks and the time the tasks waited in the queue, since the executor is created.
+     * 
+     * @return
+     */
+    public Stats getStats() {
+        final long started = startedCount.get();
+        final long queued = submittedCount.get() - started - rejectedCount.get();
+
+        return new Stats(activeCount.get(), N.max(0, (int) queued), completedCount.get(), rejectedCount.get(), queueWaitHistogram.avg(),
+                queueWaitHistogram.percentile(0.99), queueWaitHistogram.max());
+    }
+
+    private void submit(final Runnable command) {
+        submittedCount.incrementAndGet();
+
+        getExecutorService().execute(new TimedTask(command));
+    }
+
     ExecutorService getExecutorService() {
         if (executorService == null) {
             synchronized (this) {
                 if (executorService == null) {
-                    final ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(maxConcurrentThreadNumber, maxConcurrentThreadNumber, keepAliveTime,
-                            unit, new LinkedBlockingQueue<Runnable>());
-                    threadPoolExecutor.allowCoreThreadTimeOut(true);
-                    executorService = threadPoolExecutor;
+                    if (workStealing) {
+                        executorService = new ForkJoinPool(maxConcurrentThreadNumber, ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, true);
+                    } else {
+                        final ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(maxConcurrentThreadNumber, maxConcurrentThreadNumber,
+                                keepAliveTime, unit,
+                                queueSize > 0 ? new ArrayBlockingQueue<Runnable>(queueSize) : new LinkedBlockingQueue<Runnable>(),
+                                new RejectionHandler(rejectionPolicy));
+                        threadPoolExecutor.allowCoreThreadTimeOut(true);
+                        executorService = threadPoolExecutor;
+                    }
                 }
             }
         }
@@ -188,6 +449,284 @@ public class AsyncExecutor {
         return executorService;
     }
 
+    /**
+     * What to do with the task submitted when the queue is full.
+     */
+    public static enum RejectionPolicy {
+        /**
+         * The submitting thread waits until there is space in the queue.
+         */
+        BLOCK,
+        /**
+         * The task is executed by the submitting thread, which slows down the submission.
+         */
+        CALLER_RUNS,
+        /**
+         * {@code RejectedExecutionException} is thrown.
+         */
+        FAIL_FAST
+    }
+
+    /**
+     * A snapshot of the task counts and the queue wait time (in nanoseconds) of an {@code AsyncExecutor}.
+     */
+    public static final class Stats {
+        private final int activeCount;
+        private final int queueSize;
+        private final long completedCount;
+        private final long rejectedCount;
+        private final long avgQueueWait;
+        private final long p99QueueWait;
+        private final long maxQueueWait;
+
+        Stats(int activeCount, int queueSize, long completedCount, long rejectedCount, long avgQueueWait, long p99QueueWait, long maxQueueWait) {
+            this.activeCount = activeCount;
+            this.queueSize = queueSize;
+            this.completedCount = completedCount;
+            this.rejectedCount = rejectedCount;
+            this.avgQueueWait = avgQueueWait;
+            this.p99QueueWait = p99QueueWait;
+            this.maxQueueWait = maxQueueWait;
+        }
+
+        /**
+         * The number of the tasks being executed.
+         */
+        public int getActiveCount() {
+            return activeCount;
+        }
+
+        /**
+         * The number of the tasks waiting in the queue.
+         */
+        public int getQueueSize() {
+            return queueSize;
+        }
+
+        public long getCompletedCount() {
+            return completedCount;
+        }
+
+        public long getRejectedCount() {
+            return rejectedCount;
+        }
+
+        public long getAvgQueueWait() {
+            return avgQueueWait;
+        }
+
+        /**
+         * 99% of the tasks waited in the queue less than or equal to this time, which is accurate within 25%.
+         */
+        public long getP99QueueWait() {
+            return p99QueueWait;
+        }
+
+        public long getMaxQueueWait() {
+            return maxQueueWait;
+        }
+
+        @Override
+        public String toString() {
+            return "{activeCount=" + activeCount + ", queueSize=" + queueSize + ", completedCount=" + completedCount + ", rejectedCount=" + rejectedCount
+                    + ", avgQueueWait=" + avgQueueWait + ", p99QueueWait=" + p99QueueWait + ", maxQueueWait=" + maxQueueWait + "}";
+        }
+    }
+
+    private final class TimedTask implements Runnable {
+        private final Runnable command;
+        private final long submitTime = System.nanoTime();
+
+        TimedTask(final Runnable command) {
+            this.command = command;
+        }
+
+        @Override
+        public void run() {
+            queueWaitHistogram.add(System.nanoTime() - submitTime);
+            startedCount.incrementAndGet();
+            activeCount.incrementAndGet();
+
+            try {
+                command.run();
+            } finally {
+                activeCount.decrementAndGet();
+                completedCount.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * The commands of a batch, which are executed by at most <code>maxConcurrency</code> workers. Each worker takes the next command
+     * when the previous one completes, and puts the result into the completion queue.
+     */
+    private static final class Batch<T> {
+        private final AsyncExecutor asyncExecutor;
+        private final List<Callable<T>> commands;
+        private final int maxConcurrency;
+        private final long deadline;
+        private final AtomicInteger cursor = new AtomicInteger();
+        private final BlockingQueue<Completion<T>> completionQueue = new LinkedBlockingQueue<>();
+        private final List<CompletableFuture<Void>> workers;
+        private volatile boolean stopped = false;
+
+        /**
+         * 
+         * @param asyncExecutor
+         * @param commands
+         * @param maxConcurrency
+         * @param deadline {@code System.nanoTime()} when the batch times out, or {@code Long.MAX_VALUE}.
+         */
+        Batch(final AsyncExecutor asyncExecutor, final Collection<? extends Callable<T>> commands, final int maxConcurrency, final long deadline) {
+            if (maxConcurrency < 1) {
+                throw new IllegalArgumentException("'maxConcurrency' must be bigger than 0: " + maxConcurrency);
+            }
+
+            this.asyncExecutor = asyncExecutor;
+            this.commands = new ArrayList<>(commands);
+            this.maxConcurrency = N.min(maxConcurrency, this.commands.size());
+            this.deadline = deadline;
+            this.workers = new ArrayList<>(this.maxConcurrency);
+        }
+
+        int size() {
+            return commands.size();
+        }
+
+        /**
+         * Starts the workers. A worker may run in the calling thread if the executor is saturated ({@code RejectionPolicy.CALLER_RUNS}),
+         * or the calling thread may be blocked until there is space in the queue ({@code RejectionPolicy.BLOCK}).
+         * The deadline is checked by the workers before each command and before each submission,
+         * so the timeout can be exceeded by at most the execution time of one command in that case.
+         */
+        void start() {
+            final Runnable worker = new Runnable() {
+                @Override
+                public void run() {
+                    int index = 0;
+
+                    while (isExpired() == false && (index = cursor.getAndIncrement()) < commands.size()) {
+                        Completion<T> completion = null;
+
+                        try {
+                            completion = new Completion<>(index, commands.get(index).call(), null);
+                        } catch (Throwable e) {
+                            completion = new Completion<>(index, null, e);
+                        }
+
+                        completionQueue.offer(completion);
+                    }
+                }
+            };
+
+            try {
+                for (int i = 0; i < maxConcurrency && isExpired() == false; i++) {
+                    workers.add(asyncExecutor.execute(worker));
+                }
+            } catch (RuntimeException e) {
+                stop();
+                throw e;
+            }
+        }
+
+        /**
+         * Waits until the next command completes.
+         * 
+         * @return
+         * @throws RuntimeException caused by {@code TimeoutException} if the deadline elapses.
+         */
+        Completion<T> poll() {
+            Completion<T> completion = null;
+
+            try {
+                if (deadline == Long.MAX_VALUE) {
+                    completion = completionQueue.take();
+                } else {
+                    completion = completionQueue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw N.toRuntimeException(e);
+            }
+
+            if (completion == null) {
+                throw N.toRuntimeException(new TimeoutException("The batch of " + commands.size() + " commands didn't complete in time"));
+            }
+
+            return completion;
+        }
+
+        private boolean isExpired() {
+            return stopped || (deadline != Long.MAX_VALUE && System.nanoTime() - deadline >= 0);
+        }
+
+        void stop() {
+            stopped = true;
+
+            for (CompletableFuture<Void> worker : workers) {
+                if (worker.isDone() == false) {
+                    worker.cancel(true);
+                }
+            }
+        }
+    }
+
+    private static final class Completion<T> {
+        final int index;
+        final T value;
+        final Throwable error;
+
+        Completion(final int index, final T value, final Throwable error) {
+            this.index = index;
+            this.value = value;
+            this.error = error;
+        }
+    }
+
+    private final class RejectionHandler implements RejectedExecutionHandler {
+        private final RejectionPolicy rejectionPolicy;
+
+        RejectionHandler(final RejectionPolicy rejectionPolicy) {
+            this.rejectionPolicy = rejectionPolicy;
+        }
+
+        @Override
+        public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
+            if (executor.isShutdown()) {
+                rejectedCount.incrementAndGet();
+                throw new RejectedExecutionException("The executor has been shut down");
+            }
+
+            switch (rejectionPolicy) {
+                case BLOCK:
+                    try {
+                        executor.getQueue().put(r);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        rejectedCount.incrementAndGet();
+                        throw new RejectedExecutionException("Interrupted while waiting for space in the queue", e);
+                    }
+
+                    // the executor may be shut down while waiting: the task put to the queue after that is never executed.
+                    if (executor.isShutdown() && executor.remove(r)) {
+                        rejectedCount.incrementAndGet();
+                        throw new RejectedExecutionException("The executor has been shut down");
+                    }
+
+                    break;
+
+                case CALLER_RUNS:
+                    r.run();
+
+                    break;
+
+                default:
+                    rejectedCount.incrementAndGet();
+                    throw new RejectedExecutionException("The queue is full. Queue size: " + executor.getQueue().size());
+            }
+        }
+    }
+
     /**
      * Short name for AsyncExecutor
      */
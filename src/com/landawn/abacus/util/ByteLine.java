@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2015, Haiyang Li.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.landawn.abacus.util;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+
+/**
+ * A view of a line in a byte buffer, without the line terminator. No bytes are copied until {@link #toString()} or {@link #getBytes()} is called.
+ * <br />
+ * The instance is reused for the next line by {@link MappedLineReader}. Call {@link #toString()} to keep the content of a line.
+ * It's not a <code>CharSequence</code>: {@link #length()} and {@link #byteAt(int)} are in bytes, which are not chars for the non-ASCII characters.
+ *
+ * @since 0.9.5
+ *
+ * @author Haiyang Li
+ */
+public final class ByteLine {
+    private ByteBuffer buffer;
+    private int offset;
+    private int length;
+    private byte[] bytes = N.EMPTY_BYTE_ARRAY;
+
+    ByteLine() {
+    }
+
+    ByteLine(final ByteBuffer buffer, final int offset, final int length) {
+        set(buffer, offset, length);
+    }
+
+    void set(final ByteBuffer buffer, final int offset, final int length) {
+        this.buffer = buffer;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    /**
+     * The number of bytes in the line.
+     */
+    public int length() {
+        return length;
+    }
+
+    public byte byteAt(final int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", length: " + length);
+        }
+
+        return buffer.get(offset + index);
+    }
+
+    /**
+     * Returns the index of the first occurrence of the specified byte from <code>fromIndex</code>, or -1 if it's not found.
+     *
+     * @param b
+     * @param fromIndex
+     * @return
+     */
+    public int indexOf(final byte b, final int fromIndex) {
+        for (int i = N.max(fromIndex, 0); i < length; i++) {
+            if (buffer.get(offset + i) == b) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Returns a view of the bytes from <code>start</code> to <code>end</code>, which is not reused.
+     */
+    public ByteLine subSequence(final int start, final int end) {
+        if (start < 0 || end > length || start > end) {
+            throw new IndexOutOfBoundsException("start: " + start + ", end: " + end + ", length: " + length);
+        }
+
+        return new ByteLine(buffer, offset + start, end - start);
+    }
+
+    public byte[] getBytes() {
+        final byte[] a = new byte[length];
+
+        copyTo(a);
+
+        return a;
+    }
+
+    /**
+     * Decodes the bytes with UTF-8.
+     */
+    @Override
+    public String toString() {
+        return toString(Charsets.UTF_8);
+    }
+
+    public String toString(final Charset charset) {
+        if (bytes.length < length) {
+            bytes = new byte[N.max(length, bytes.length * 2)];
+        }
+
+        copyTo(bytes);
+
+        return new String(bytes, 0, length, charset);
+    }
+
+    private void copyTo(final byte[] a) {
+        final ByteBuffer bb = buffer.duplicate();
+        bb.position(offset);
+        bb.get(a, 0, length);
+    }
+}
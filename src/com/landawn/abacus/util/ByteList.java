@@ -903,9 +903,15 @@ public final class ByteList extends PrimitiveNumberList<ByteConsumer, BytePredic
         checkIndex(fromIndex, toIndex);
 
         final Multiset<Byte> multiset = supplier.apply(N.min(16, toIndex - fromIndex));
+        // count the elements without boxing, then add the distinct elements to the multiset.
+        final IntIntMap occurrences = new IntIntMap(N.min(16, toIndex - fromIndex));
 
         for (int i = fromIndex; i < toIndex; i++) {
-            multiset.add(elementData[i]);
+            occurrences.addAndGet(elementData[i], 1);
+        }
+
+        for (int i = 0, size = occurrences.size(); i < size; i++) {
+            multiset.add((byte) occurrences.keyAt(i), occurrences.valueAt(i));
         }
 
         return multiset;
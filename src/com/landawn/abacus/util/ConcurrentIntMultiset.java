@@ -0,0 +1,487 @@
+/*
+ * Copyright (c) 2015, Haiyang Li.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.landawn.abacus.util;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A thread-safe multiset of <code>int</code> values, without boxing the values on update.
+ * The values are spread to the segments by hash. Each segment is an {@link IntIntMap} from value to count, guarded by its own lock,
+ * so the threads updating the values in different segments don't block each other.
+ * <br />
+ * The snapshot methods ({@link #toMap()}, {@link #toMapSortedByOccurrences()}, {@link #maxOccurrences()}...) copy one segment at a time,
+ * so the writers are only blocked by the copy of the segment they update.
+ *
+ * @since 0.9.5
+ *
+ * @author Haiyang Li
+ * @see ConcurrentMultiset
+ */
+public final class ConcurrentIntMultiset {
+    private static final int DEFAULT_CONCURRENCY_LEVEL = 16;
+
+    private static final int MAX_SEGMENT_COUNT = 1 << 16;
+
+    private final Segment[] segments;
+    private final int segmentShift;
+
+    public ConcurrentIntMultiset() {
+        this(DEFAULT_CONCURRENCY_LEVEL);
+    }
+
+    /**
+     *
+     * @param concurrencyLevel the estimated number of the threads updating this set concurrently.
+     *        The number of segments is the power of 2 not less than it.
+     */
+    public ConcurrentIntMultiset(final int concurrencyLevel) {
+        if (concurrencyLevel <= 0) {
+            throw new IllegalArgumentException("'concurrencyLevel' must be greater than 0: " + concurrencyLevel);
+        }
+
+        int segmentCount = 1;
+
+        while (segmentCount < concurrencyLevel && segmentCount < MAX_SEGMENT_COUNT) {
+            segmentCount <<= 1;
+        }
+
+        this.segments = new Segment[segmentCount];
+        this.segmentShift = 32 - Integer.numberOfTrailingZeros(segmentCount);
+
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment();
+        }
+    }
+
+    public static ConcurrentIntMultiset of(final int... a) {
+        final ConcurrentIntMultiset multiset = new ConcurrentIntMultiset();
+
+        multiset.addAll(a);
+
+        return multiset;
+    }
+
+    /**
+     *
+     * @param e
+     * @return the occurrences of the specified value. zero is returned if it's not in this set.
+     */
+    public int get(final int e) {
+        return segmentFor(e).get(e);
+    }
+
+    /**
+     * The value will be removed if the specified count is 0.
+     *
+     * @param e
+     * @param occurrences
+     * @return the previous count associated with the value, or 0 if the value not exists.
+     * @throws IllegalArgumentException if the occurrences of the value is less than 0
+     */
+    public int set(final int e, final int occurrences) {
+        checkOccurrences(occurrences);
+
+        return segmentFor(e).set(e, occurrences);
+    }
+
+    /**
+     *
+     * @param e
+     * @return the count of the value after the operation.
+     * @throws IllegalArgumentException if the occurrences of the value after this operation is bigger than Integer.MAX_VALUE.
+     */
+    public int add(final int e) throws IllegalArgumentException {
+        return add(e, 1);
+    }
+
+    /**
+     *
+     * @param e
+     * @param occurrences
+     * @return the count of the value after the operation.
+     * @throws IllegalArgumentException if the specified <code>occurrences</code> is less than 0,
+     *         or the occurrences of the value after this operation is bigger than Integer.MAX_VALUE.
+     */
+    public int add(final int e, final int occurrences) throws IllegalArgumentException {
+        return getAndAdd(e, occurrences) + occurrences;
+    }
+
+    public int addAndGet(final int e) {
+        return add(e, 1);
+    }
+
+    public int getAndAdd(final int e) {
+        return getAndAdd(e, 1);
+    }
+
+    public int addAndGet(final int e, final int occurrences) {
+        return add(e, occurrences);
+    }
+
+    /**
+     *
+     * @param e
+     * @param occurrences
+     * @return the count of the value before the operation.
+     * @throws IllegalArgumentException if the specified <code>occurrences</code> is less than 0,
+     *         or the occurrences of the value after this operation is bigger than Integer.MAX_VALUE.
+     */
+    public int getAndAdd(final int e, final int occurrences) {
+        checkOccurrences(occurrences);
+
+        return segmentFor(e).getAndAdd(e, occurrences);
+    }
+
+    /**
+     *
+     * @param a
+     * @throws IllegalArgumentException if the occurrences of the value after this operation is bigger than Integer.MAX_VALUE.
+     */
+    public void addAll(final int... a) throws IllegalArgumentException {
+        if (N.isNullOrEmpty(a)) {
+            return;
+        }
+
+        for (int e : a) {
+            add(e, 1);
+        }
+    }
+
+    public boolean contains(final int e) {
+        return get(e) > 0;
+    }
+
+    /**
+     * The value will be removed from this set if the occurrences equals to or less than 0 after the operation.
+     *
+     * @param e
+     * @return the count of the value after the operation. It could be a negative number if the present occurrences is less than the specified <code>occurrences</code> to remove.
+     */
+    public int remove(final int e) {
+        return remove(e, 1);
+    }
+
+    /**
+     * The value will be removed from this set if the occurrences equals to or less than 0 after the operation.
+     *
+     * @param e
+     * @param occurrences
+     * @return the count of the value after the operation. It could be a negative number if the present occurrences is less than the specified <code>occurrences</code> to remove.
+     * @throws IllegalArgumentException if the specified <code>occurrences</code> is less than 0.
+     */
+    public int remove(final int e, final int occurrences) throws IllegalArgumentException {
+        return getAndRemove(e, occurrences) - occurrences;
+    }
+
+    public int removeAndGet(final int e) {
+        return N.max(remove(e, 1), 0);
+    }
+
+    public int getAndRemove(final int e) {
+        return getAndRemove(e, 1);
+    }
+
+    public int removeAndGet(final int e, final int occurrences) {
+        return N.max(remove(e, occurrences), 0);
+    }
+
+    /**
+     *
+     * @param e
+     * @param occurrences
+     * @return the count of the value before the operation.
+     * @throws IllegalArgumentException if the specified <code>occurrences</code> is less than 0.
+     */
+    public int getAndRemove(final int e, final int occurrences) throws IllegalArgumentException {
+        checkOccurrences(occurrences);
+
+        return segmentFor(e).getAndRemove(e, occurrences);
+    }
+
+    public void removeAllOccurrences(final int e) {
+        set(e, 0);
+    }
+
+    /**
+     *
+     * @return the number of distinct values.
+     */
+    public int size() {
+        int size = 0;
+
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+
+        return size;
+    }
+
+    public boolean isEmpty() {
+        for (Segment segment : segments) {
+            if (segment.size() > 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    public void clear() {
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    /**
+     *
+     * @return a snapshot of the distinct values.
+     */
+    public int[] toArray() {
+        final IntIntMap snapshot = snapshot();
+        final int[] a = new int[snapshot.size()];
+
+        for (int i = 0, len = a.length; i < len; i++) {
+            a[i] = snapshot.keyAt(i);
+        }
+
+        return a;
+    }
+
+    public Optional<Map.Entry<Integer, Integer>> minOccurrences() {
+        return occurrencesBy(false);
+    }
+
+    public Optional<Map.Entry<Integer, Integer>> maxOccurrences() {
+        return occurrencesBy(true);
+    }
+
+    private Optional<Map.Entry<Integer, Integer>> occurrencesBy(final boolean max) {
+        final IntIntMap snapshot = snapshot();
+
+        if (snapshot.isEmpty()) {
+            return Optional.empty();
+        }
+
+        int index = 0;
+        int count = 0;
+
+        for (int i = 1, size = snapshot.size(); i < size; i++) {
+            count = snapshot.valueAt(i);
+
+            if (max ? count > snapshot.valueAt(index) : count < snapshot.valueAt(index)) {
+                index = i;
+            }
+        }
+
+        return Optional.of((Map.Entry<Integer, Integer>) MapEntry.of(snapshot.keyAt(index), snapshot.valueAt(index)));
+    }
+
+    public long sumOfOccurrences() {
+        final IntIntMap snapshot = snapshot();
+        long sum = 0;
+
+        for (int i = 0, size = snapshot.size(); i < size; i++) {
+            sum += snapshot.valueAt(i);
+        }
+
+        return sum;
+    }
+
+    public OptionalDouble averageOfOccurrences() {
+        final IntIntMap snapshot = snapshot();
+        long sum = 0;
+
+        for (int i = 0, size = snapshot.size(); i < size; i++) {
+            sum += snapshot.valueAt(i);
+        }
+
+        return snapshot.isEmpty() ? OptionalDouble.empty() : OptionalDouble.of(((double) sum) / snapshot.size());
+    }
+
+    /**
+     *
+     * @return a snapshot of the values and their counts.
+     */
+    public Map<Integer, Integer> toMap() {
+        final IntIntMap snapshot = snapshot();
+        final Map<Integer, Integer> result = new LinkedHashMap<>(N.initHashCapacity(snapshot.size()));
+
+        for (int i = 0, size = snapshot.size(); i < size; i++) {
+            result.put(snapshot.keyAt(i), snapshot.valueAt(i));
+        }
+
+        return result;
+    }
+
+    /**
+     *
+     * @return a snapshot of the values and their counts, sorted by the counts in ascending order.
+     */
+    public Map<Integer, Integer> toMapSortedByOccurrences() {
+        final IntIntMap snapshot = snapshot();
+        final int size = snapshot.size();
+        // the count in the high 32 bits and the index in the snapshot in the low 32 bits.
+        final long[] countIndexes = new long[size];
+
+        for (int i = 0; i < size; i++) {
+            countIndexes[i] = ((long) snapshot.valueAt(i) << 32) | i;
+        }
+
+        Arrays.sort(countIndexes);
+
+        final Map<Integer, Integer> result = new LinkedHashMap<>(N.initHashCapacity(size));
+
+        for (long e : countIndexes) {
+            result.put(snapshot.keyAt((int) e), (int) (e >>> 32));
+        }
+
+        return result;
+    }
+
+    @Override
+    public int hashCode() {
+        return toMap().hashCode();
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        return obj == this || (obj instanceof ConcurrentIntMultiset && toMap().equals(((ConcurrentIntMultiset) obj).toMap()));
+    }
+
+    @Override
+    public String toString() {
+        return toMap().toString();
+    }
+
+    private IntIntMap snapshot() {
+        final IntIntMap snapshot = new IntIntMap(size());
+
+        for (Segment segment : segments) {
+            segment.copyTo(snapshot);
+        }
+
+        return snapshot;
+    }
+
+    private Segment segmentFor(final int e) {
+        return segments.length == 1 ? segments[0] : segments[(IntHashSet.hash(e) * 0x85EBCA6B) >>> segmentShift];
+    }
+
+    private static void checkOccurrences(final int occurrences) {
+        if (occurrences < 0) {
+            throw new IllegalArgumentException("The specified 'occurrences' can not be less than 0");
+        }
+    }
+
+    private static final class Segment {
+        private static final int MIN_SIZE_TO_COMPACT = 64;
+
+        // the removed values are kept with count 0, until they're more than the present values.
+        private IntIntMap map = new IntIntMap();
+        // the number of the values with count > 0.
+        private int size;
+
+        synchronized int get(final int e) {
+            return map.get(e, 0);
+        }
+
+        synchronized int set(final int e, final int occurrences) {
+            final int oldValue = map.get(e, 0);
+
+            if (occurrences != oldValue) {
+                map.put(e, occurrences, 0);
+
+                if (oldValue == 0) {
+                    size++;
+                } else if (occurrences == 0) {
+                    size--;
+                    compactIfNecessary();
+                }
+            }
+
+            return oldValue;
+        }
+
+        synchronized int getAndAdd(final int e, final int occurrences) {
+            final int oldValue = map.get(e, 0);
+
+            if (occurrences > Integer.MAX_VALUE - oldValue) {
+                throw new IllegalArgumentException("The total count is out of the bound of integer");
+            }
+
+            if (occurrences > 0) {
+                map.put(e, oldValue + occurrences, 0);
+
+                if (oldValue == 0) {
+                    size++;
+                }
+            }
+
+            return oldValue;
+        }
+
+        synchronized int getAndRemove(final int e, final int occurrences) {
+            final int oldValue = map.get(e, 0);
+
+            if (oldValue > 0 && occurrences > 0) {
+                final int newValue = N.max(oldValue - occurrences, 0);
+
+                map.put(e, newValue, 0);
+
+                if (newValue == 0) {
+                    size--;
+                    compactIfNecessary();
+                }
+            }
+
+            return oldValue;
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        synchronized void clear() {
+            map = new IntIntMap();
+            size = 0;
+        }
+
+        synchronized void copyTo(final IntIntMap output) {
+            int count = 0;
+
+            for (int i = 0, len = map.size(); i < len; i++) {
+                count = map.valueAt(i);
+
+                if (count > 0) {
+                    output.put(map.keyAt(i), count, 0);
+                }
+            }
+        }
+
+        private void compactIfNecessary() {
+            if (map.size() >= MIN_SIZE_TO_COMPACT && size < map.size() / 2) {
+                final IntIntMap newMap = new IntIntMap(size);
+
+                copyTo(newMap);
+
+                map = newMap;
+            }
+        }
+    }
+}
@@ -0,0 +1,512 @@
+/*
+ * Copyright (c) 2015, Haiyang Li.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.landawn.abacus.util;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A thread-safe {@link Multiset}. The count of each element is kept in an {@code AtomicInteger} in a {@code ConcurrentHashMap},
+ * and updated by compare-and-set, without locking. The element is removed from the map once its count drops to 0,
+ * and a new counter is put by the next adding thread.
+ * <br />
+ * The snapshot methods ({@link #toMap()}, {@link #toMapSortedByOccurrences()}, {@link #maxOccurrences()}...) don't block the writers.
+ * They read the count of each element once, so each count in the result is the exact count at some point during the call,
+ * but the counts of different elements may be read at different points.
+ *
+ * @param <E>
+ *
+ * @since 0.9.5
+ *
+ * @author Haiyang Li
+ * @see ConcurrentIntMultiset
+ * @see ConcurrentLongMultiset
+ */
+public final class ConcurrentMultiset<E> implements Iterable<E> {
+    private final ConcurrentMap<E, AtomicInteger> valueMap;
+
+    public ConcurrentMultiset() {
+        this.valueMap = new ConcurrentHashMap<>();
+    }
+
+    public ConcurrentMultiset(int initialCapacity) {
+        this.valueMap = new ConcurrentHashMap<>(initialCapacity);
+    }
+
+    public ConcurrentMultiset(final Collection<? extends E> c) {
+        this(N.initHashCapacity(c.size()));
+
+        addAll(c);
+    }
+
+    public static <T> ConcurrentMultiset<T> of(final T... a) {
+        return of(Arrays.asList(a));
+    }
+
+    public static <T> ConcurrentMultiset<T> of(final Collection<? extends T> coll) {
+        return new ConcurrentMultiset<T>(coll);
+    }
+
+    /**
+     *
+     * @param e
+     * @return the occurrences of the specified object. zero is returned if it's not in this set.
+     */
+    public int get(final Object e) {
+        final AtomicInteger count = valueMap.get(e);
+
+        return count == null ? 0 : count.get();
+    }
+
+    /**
+     * The element will be removed if the specified count is 0.
+     *
+     * @param e
+     * @param occurrences
+     * @return the previous count associated with element, or 0 if the element not exists.
+     * @throws IllegalArgumentException if the occurrences of element is less than 0
+     */
+    public int set(final E e, final int occurrences) {
+        checkOccurrences(occurrences);
+
+        while (true) {
+            final AtomicInteger count = valueMap.get(e);
+
+            if (count == null) {
+                if (occurrences == 0 || valueMap.putIfAbsent(e, new AtomicInteger(occurrences)) == null) {
+                    return 0;
+                }
+            } else {
+                final int oldValue = count.get();
+
+                if (oldValue == 0) {
+                    // the counter is being removed by another thread.
+                    if (occurrences == 0) {
+                        valueMap.remove(e, count);
+                        return 0;
+                    } else if (valueMap.replace(e, count, new AtomicInteger(occurrences))) {
+                        return 0;
+                    }
+                } else if (count.compareAndSet(oldValue, occurrences)) {
+                    if (occurrences == 0) {
+                        valueMap.remove(e, count);
+                    }
+
+                    return oldValue;
+                }
+            }
+        }
+    }
+
+    /**
+     *
+     * @param e
+     * @return the count of the element after the operation.
+     * @throws IllegalArgumentException if the occurrences of element after this operation is bigger than Integer.MAX_VALUE.
+     */
+    public int add(final E e) throws IllegalArgumentException {
+        return add(e, 1);
+    }
+
+    /**
+     *
+     * @param e
+     * @param occurrences
+     * @return the count of the element after the operation.
+     * @throws IllegalArgumentException if the specified <code>occurrences</code> is less than 0,
+     *         or the occurrences of element after this operation is bigger than Integer.MAX_VALUE.
+     */
+    public int add(final E e, final int occurrences) throws IllegalArgumentException {
+        return getAndAdd(e, occurrences) + occurrences;
+    }
+
+    public int addAndGet(final E e) {
+        return add(e, 1);
+    }
+
+    public int getAndAdd(final E e) {
+        return getAndAdd(e, 1);
+    }
+
+    public int addAndGet(final E e, final int occurrences) {
+        return add(e, occurrences);
+    }
+
+    /**
+     *
+     * @param e
+     * @param occurrences
+     * @return the count of the element before the operation.
+     * @throws IllegalArgumentException if the specified <code>occurrences</code> is less than 0,
+     *         or the occurrences of element after this operation is bigger than Integer.MAX_VALUE.
+     */
+    public int getAndAdd(final E e, final int occurrences) {
+        checkOccurrences(occurrences);
+
+        if (occurrences == 0) {
+            return get(e);
+        }
+
+        while (true) {
+            AtomicInteger count = valueMap.get(e);
+
+            if (count == null) {
+                count = valueMap.putIfAbsent(e, new AtomicInteger(occurrences));
+
+                if (count == null) {
+                    return 0;
+                }
+            }
+
+            while (true) {
+                final int oldValue = count.get();
+
+                if (oldValue == 0) {
+                    // the counter is being removed by another thread. Replace it with a new one.
+                    final AtomicInteger newCount = new AtomicInteger(occurrences);
+
+                    if (valueMap.putIfAbsent(e, newCount) == null || valueMap.replace(e, count, newCount)) {
+                        return 0;
+                    }
+
+                    break;
+                } else if (occurrences > Integer.MAX_VALUE - oldValue) {
+                    throw new IllegalArgumentException("The total count is out of the bound of integer");
+                } else if (count.compareAndSet(oldValue, oldValue + occurrences)) {
+                    return oldValue;
+                }
+            }
+        }
+    }
+
+    /**
+     *
+     * @param c
+     * @throws IllegalArgumentException if the occurrences of element after this operation is bigger than Integer.MAX_VALUE.
+     */
+    public void addAll(final Collection<? extends E> c) throws IllegalArgumentException {
+        addAll(c, 1);
+    }
+
+    /**
+     *
+     * @param c
+     * @param occurrences
+     * @throws IllegalArgumentException if the occurrences of element after this operation is bigger than Integer.MAX_VALUE.
+     */
+    public void addAll(final Collection<? extends E> c, final int occurrences) throws IllegalArgumentException {
+        for (E e : c) {
+            add(e, occurrences);
+        }
+    }
+
+    /**
+     *
+     * @param m
+     * @throws IllegalArgumentException if the occurrences of element after this operation is bigger than Integer.MAX_VALUE.
+     */
+    public void addAll(final Map<? extends E, Integer> m) throws IllegalArgumentException {
+        for (Map.Entry<? extends E, Integer> entry : m.entrySet()) {
+            add(entry.getKey(), entry.getValue().intValue());
+        }
+    }
+
+    public boolean contains(final Object o) {
+        return get(o) > 0;
+    }
+
+    public boolean containsAll(final Collection<? extends E> c) {
+        for (Object e : c) {
+            if (contains(e) == false) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * The element will be removed from this set if the occurrences equals to or less than 0 after the operation.
+     *
+     * @param e
+     * @return the count of the element after the operation. It could be a negative number if the present occurrences is less than the specified <code>occurrences</code> to remove.
+     */
+    public int remove(final E e) {
+        return remove(e, 1);
+    }
+
+    /**
+     * The element will be removed from this set if the occurrences equals to or less than 0 after the operation.
+     *
+     * @param e
+     * @param occurrences
+     * @return the count of the element after the operation. It could be a negative number if the present occurrences is less than the specified <code>occurrences</code> to remove.
+     * @throws IllegalArgumentException if the specified <code>occurrences</code> is less than 0.
+     */
+    public int remove(final E e, final int occurrences) throws IllegalArgumentException {
+        return getAndRemove(e, occurrences) - occurrences;
+    }
+
+    public int removeAndGet(final E e) {
+        return N.max(remove(e, 1), 0);
+    }
+
+    public int getAndRemove(final E e) {
+        return getAndRemove(e, 1);
+    }
+
+    public int removeAndGet(final E e, final int occurrences) {
+        return N.max(remove(e, occurrences), 0);
+    }
+
+    /**
+     *
+     * @param e
+     * @param occurrences
+     * @return the count of the element before the operation.
+     * @throws IllegalArgumentException if the specified <code>occurrences</code> is less than 0.
+     */
+    public int getAndRemove(final E e, final int occurrences) throws IllegalArgumentException {
+        checkOccurrences(occurrences);
+
+        final AtomicInteger count = valueMap.get(e);
+
+        if (count == null) {
+            return 0;
+        }
+
+        while (true) {
+            final int oldValue = count.get();
+
+            if (oldValue == 0) {
+                return 0;
+            } else if (occurrences == 0) {
+                return oldValue;
+            }
+
+            final int newValue = N.max(oldValue - occurrences, 0);
+
+            if (count.compareAndSet(oldValue, newValue)) {
+                if (newValue == 0) {
+                    valueMap.remove(e, count);
+                }
+
+                return oldValue;
+            }
+        }
+    }
+
+    public void removeAllOccurrences(final E e) {
+        set(e, 0);
+    }
+
+    /**
+     * The elements will be removed from this set if the occurrences equals to or less than 0 after the operation.
+     *
+     * @param c
+     * @return <tt>true</tt> if this set changed as a result of the call
+     */
+    public boolean removeAll(final Collection<? extends E> c) {
+        return removeAll(c, 1);
+    }
+
+    /**
+     * The elements will be removed from this set if the occurrences equals to or less than 0 after the operation.
+     *
+     * @param c
+     * @param occurrences
+     *            the occurrences to remove if the element is in the specified collection <code>c</code>.
+     * @return <tt>true</tt> if this set changed as a result of the call
+     */
+    public boolean removeAll(final Collection<? extends E> c, final int occurrences) {
+        boolean result = false;
+
+        for (E e : c) {
+            if (getAndRemove(e, occurrences) > 0 && occurrences > 0) {
+                result = true;
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     *
+     * @return the number of distinct elements. It may include the elements which are being removed by other threads.
+     */
+    public int size() {
+        return valueMap.size();
+    }
+
+    public boolean isEmpty() {
+        return valueMap.isEmpty();
+    }
+
+    public void clear() {
+        valueMap.clear();
+    }
+
+    /**
+     * The iterator is weakly consistent, like the one of {@code ConcurrentHashMap}.
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return valueMap.keySet().iterator();
+    }
+
+    public Set<E> keySet() {
+        return valueMap.keySet();
+    }
+
+    public Optional<Map.Entry<E, Integer>> minOccurrences() {
+        return occurrencesBy(false);
+    }
+
+    public Optional<Map.Entry<E, Integer>> maxOccurrences() {
+        return occurrencesBy(true);
+    }
+
+    private Optional<Map.Entry<E, Integer>> occurrencesBy(final boolean max) {
+        E element = null;
+        int result = 0;
+        int count = 0;
+
+        for (Map.Entry<E, AtomicInteger> entry : valueMap.entrySet()) {
+            count = entry.getValue().get();
+
+            if (count > 0 && (result == 0 || (max ? count > result : count < result))) {
+                element = entry.getKey();
+                result = count;
+            }
+        }
+
+        return result == 0 ? Optional.<Map.Entry<E, Integer>> empty() : Optional.of((Map.Entry<E, Integer>) MapEntry.of(element, result));
+    }
+
+    public long sumOfOccurrences() {
+        long sum = 0;
+
+        for (AtomicInteger count : valueMap.values()) {
+            sum += count.get();
+        }
+
+        return sum;
+    }
+
+    public OptionalDouble averageOfOccurrences() {
+        long sum = 0;
+        int size = 0;
+        int count = 0;
+
+        for (AtomicInteger e : valueMap.values()) {
+            count = e.get();
+
+            if (count > 0) {
+                sum += count;
+                size++;
+            }
+        }
+
+        return size == 0 ? OptionalDouble.empty() : OptionalDouble.of(((double) sum) / size);
+    }
+
+    /**
+     *
+     * @return a snapshot of the elements and their counts.
+     */
+    public Map<E, Integer> toMap() {
+        final Map<E, Integer> result = new LinkedHashMap<>(N.initHashCapacity(valueMap.size()));
+        int count = 0;
+
+        for (Map.Entry<E, AtomicInteger> entry : valueMap.entrySet()) {
+            count = entry.getValue().get();
+
+            if (count > 0) {
+                result.put(entry.getKey(), count);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     *
+     * @return a snapshot of the elements and their counts, sorted by the counts in ascending order.
+     */
+    @SuppressWarnings("unchecked")
+    public Map<E, Integer> toMapSortedByOccurrences() {
+        Object[] elements = new Object[N.max(valueMap.size(), 4)];
+        // the count in the high 32 bits and the index in 'elements' in the low 32 bits, so the counts are sorted as long without boxing.
+        long[] countIndexes = new long[elements.length];
+        int size = 0;
+        int count = 0;
+
+        for (Map.Entry<E, AtomicInteger> entry : valueMap.entrySet()) {
+            count = entry.getValue().get();
+
+            if (count > 0) {
+                if (size == elements.length) {
+                    elements = Arrays.copyOf(elements, IntHashSet.newCapacity(size));
+                    countIndexes = N.copyOf(countIndexes, elements.length);
+                }
+
+                elements[size] = entry.getKey();
+                countIndexes[size] = ((long) count << 32) | size;
+                size++;
+            }
+        }
+
+        countIndexes = N.copyOf(countIndexes, size);
+        Arrays.sort(countIndexes);
+
+        final Map<E, Integer> result = new LinkedHashMap<>(N.initHashCapacity(size));
+
+        for (long e : countIndexes) {
+            result.put((E) elements[(int) e], (int) (e >>> 32));
+        }
+
+        return result;
+    }
+
+    @Override
+    public int hashCode() {
+        return toMap().hashCode();
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        return obj == this || (obj instanceof ConcurrentMultiset && toMap().equals(((ConcurrentMultiset<E>) obj).toMap()));
+    }
+
+    @Override
+    public String toString() {
+        return toMap().toString();
+    }
+
+    private static void checkOccurrences(final int occurrences) {
+        if (occurrences < 0) {
+            throw new IllegalArgumentException("The specified 'occurrences' can not be less than 0");
+        }
+    }
+}
@@ -931,9 +931,15 @@ public final class DoubleList extends PrimitiveNumberList<DoubleConsumer, Double
         checkIndex(fromIndex, toIndex);
 
         final Multiset<Double> multiset = supplier.apply(N.min(16, toIndex - fromIndex));
+        // count the elements without boxing, then add the distinct elements to the multiset.
+        final LongIntMap occurrences = new LongIntMap(N.min(16, toIndex - fromIndex));
 
         for (int i = fromIndex; i < toIndex; i++) {
-            multiset.add(elementData[i]);
+            occurrences.addAndGet(Double.doubleToLongBits(elementData[i]), 1);
+        }
+
+        for (int i = 0, size = occurrences.size(); i < size; i++) {
+            multiset.add(Double.longBitsToDouble(occurrences.keyAt(i)), occurrences.valueAt(i));
         }
 
         return multiset;
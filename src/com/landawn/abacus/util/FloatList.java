@@ -961,9 +961,15 @@ public final class FloatList extends PrimitiveNumberList<FloatConsumer, FloatPre
         checkIndex(fromIndex, toIndex);
 
         final Multiset<Float> multiset = supplier.apply(N.min(16, toIndex - fromIndex));
+        // count the elements without boxing, then add the distinct elements to the multiset.
+        final IntIntMap occurrences = new IntIntMap(N.min(16, toIndex - fromIndex));
 
         for (int i = fromIndex; i < toIndex; i++) {
-            multiset.add(elementData[i]);
+            occurrences.addAndGet(Float.floatToIntBits(elementData[i]), 1);
+        }
+
+        for (int i = 0, size = occurrences.size(); i < size; i++) {
+            multiset.add(Float.intBitsToFloat(occurrences.keyAt(i)), occurrences.valueAt(i));
         }
 
         return multiset;
@@ -29,6 +29,7 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
+import java.io.RandomAccessFile;
 import java.io.Reader;
 import java.io.StringReader;
 import java.io.Writer;
@@ -44,8 +45,6 @@ import java.util.Collection;
 import java.util.Enumeration;
 import java.util.Iterator;
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.GZIPOutputStream;
@@ -57,6 +56,7 @@ import com.landawn.abacus.exception.AbacusIOException;
 import com.landawn.abacus.logging.Logger;
 import com.landawn.abacus.logging.LoggerFactory;
 import com.landawn.abacus.util.function.Consumer;
+import com.landawn.abacus.util.function.IntConsumer;
 import com.landawn.abacus.util.stream.Stream;
 
 /**
@@ -87,6 +87,11 @@ public final class IOUtil {
      */
     private static final long FILE_COPY_BUFFER_SIZE = 32 * N.ONE_MB;
 
+    /**
+     * Max number of the threads to copy the parts in split/merge.
+     */
+    private static final int MAX_TRANSFER_THREAD_NUM = N.min(8, N.CPU_CORES);
+
     static final Method stringEncodeMethod;
     static final Method stringDecodeMethod;
 
@@ -2492,67 +2497,60 @@ public final class IOUtil {
      * @param destDir
      */
     public static void splitBySize(final File file, final long sizeOfPart, final File destDir) {
-        final int numOfParts = (int) ((file.length() % sizeOfPart) == 0 ? (file.length() / sizeOfPart) : (file.length() / sizeOfPart) + 1);
-
-        final String fileName = file.getName();
         final long fileLength = file.length();
-        int fileSerNum = 1;
+        final int numOfParts = (int) ((fileLength % sizeOfPart) == 0 ? (fileLength / sizeOfPart) : (fileLength / sizeOfPart) + 1);
+        final long[] positions = new long[numOfParts + 1];
+        final List<File> destFiles = new ArrayList<>(numOfParts);
 
-        final byte[] buf = ObjectFactory.createByteArrayBuffer();
-        InputStream input = null;
-        OutputStream output = null;
-        try {
-            input = new FileInputStream(file);
-
-            for (int i = 0; i < numOfParts; i++) {
-                String subFileNmae = destDir.getAbsolutePath() + N.FILE_SEPARATOR + fileName + "_" + N.padStart(N.stringOf(fileSerNum++), 4, '0');
-                output = new FileOutputStream(new File(subFileNmae));
-                long partLength = sizeOfPart;
-
-                if (i == numOfParts - 1) {
-                    partLength += fileLength % numOfParts;
-                }
-
-                int count = 0;
-
-                try {
-                    while (partLength > 0 && EOF != (count = read(input, buf, 0, (int) Math.min(buf.length, partLength)))) {
-                        output.write(buf, 0, count);
+        for (int i = 0; i < numOfParts; i++) {
+            positions[i] = i * sizeOfPart;
+            destFiles.add(new File(destDir.getAbsolutePath() + N.FILE_SEPARATOR + file.getName() + "_" + N.padStart(N.stringOf(i + 1), 4, '0')));
+        }
 
-                        partLength = partLength - count;
-                    }
+        positions[numOfParts] = fileLength;
 
-                    output.flush();
-                } finally {
-                    close(output);
-                }
-            }
-        } catch (IOException e) {
-            throw new AbacusIOException(e);
-        } finally {
-            ObjectFactory.recycle(buf);
-
-            closeQuietly(input);
-        }
+        splitII(file, positions, destFiles);
     }
 
-    static void splitByLine(final File file, final int numOfParts) {
+    public static void splitByLine(final File file, final int numOfParts) {
         splitByLine(file, numOfParts, file.getParentFile());
     }
 
     /**
      * Mostly it's designed for (zipped/unzipped/log) text files.
+     * An uncompressed file is cut after the <code>'\n'</code> next to each <code>file.length() / numOfParts</code> bytes,
+     * and the parts are copied by {@code FileChannel.transferTo} in multiple threads. It may result in less parts if the lines are very long.
+     * A zipped file is decompressed and split by the estimated line count.
      *
      * @param file
      * @param numOfParts
      * @param destDir
      */
-    static void splitByLine(final File file, final int numOfParts, final File destDir) {
+    public static void splitByLine(final File file, final int numOfParts, final File destDir) {
+        if (file.getName().endsWith(GZ) || file.getName().endsWith(ZIP)) {
+            splitZippedFileByLine(file, numOfParts, destDir);
+            return;
+        }
+
+        final int index = file.getName().lastIndexOf('.');
+        final String prefix = index > 0 ? file.getName().substring(0, index) : file.getName();
+        final String postfix = index > 0 ? file.getName().substring(index) : "";
+        final long[] positions = MappedLineReader.split(file, numOfParts);
+        final List<File> destFiles = new ArrayList<>(positions.length - 1);
+
+        for (int i = 1; i < positions.length; i++) {
+            destFiles.add(new File(destDir.getAbsolutePath() + N.FILE_SEPARATOR + prefix + "_" + N.padStart(N.stringOf(i), 4, '0') + postfix));
+        }
+
+        splitII(file, positions, destFiles);
+    }
+
+    private static void splitZippedFileByLine(final File file, final int numOfParts, final File destDir) {
         final long lineNumOfPart = estimateLineCount(file, 10000) / numOfParts;
 
-        int index = file.getName().lastIndexOf('.');
-        String prefix = file.getName().substring(0, index);
-        String postfix = (index > 0) ? file.getName().substring(index) : "";
+        final int index = file.getName().lastIndexOf('.');
+        final String prefix = index > 0 ? file.getName().substring(0, index) : file.getName();
+        final String postfix = index > 0 ? file.getName().substring(index) : "";
 
         final Holder<ZipFile> outputZipFile = new Holder<ZipFile>();
         InputStream is = null;
@@ -2608,6 +2606,91 @@ public final class IOUtil {
         }
     }
 
+    /**
+     * Copies the bytes from <code>positions[i]</code> to <code>positions[i + 1]</code> of the file to <code>destFiles.get(i)</code>.
+     */
+    private static void splitII(final File file, final long[] positions, final List<File> destFiles) {
+        FileInputStream fis = null;
+
+        try {
+            fis = new FileInputStream(file);
+            final FileChannel input = fis.getChannel();
+
+            transferInParallel(destFiles.size(), new IntConsumer() {
+                @Override
+                public void accept(int idx) {
+                    FileOutputStream fos = null;
+
+                    try {
+                        fos = new FileOutputStream(destFiles.get(idx));
+                        final FileChannel output = fos.getChannel();
+                        long pos = positions[idx];
+                        final long end = positions[idx + 1];
+                        long count = 0;
+
+                        while (pos < end) {
+                            // FileChannel.transferTo(position, ...) doesn't change the position of the channel. It's safe to share the input channel.
+                            if ((count = input.transferTo(pos, N.min(end - pos, FILE_COPY_BUFFER_SIZE), output)) == 0) {
+                                throw new AbacusIOException("The length of file: " + file.getAbsolutePath() + " is changed");
+                            }
+
+                            pos += count;
+                        }
+                    } catch (IOException e) {
+                        throw new AbacusIOException(e);
+                    } finally {
+                        close(fos);
+                    }
+                }
+            });
+        } catch (IOException e) {
+            throw new AbacusIOException(e);
+        } finally {
+            close(fis);
+        }
+    }
+
+    /**
+     * Runs the tasks by at most {@code MAX_TRANSFER_THREAD_NUM} threads.
+     *
+     * @param taskNum
+     * @param task called with the index of the task.
+     */
+    private static void transferInParallel(final int taskNum, final IntConsumer task) {
+        final AtomicInteger cursor = new AtomicInteger();
+        final Holder<Throwable> errorHolder = new Holder<Throwable>();
+        final List<CompletableFuture<Void>> futures = new ArrayList<>();
+
+        for (int i = 0, threadNum = N.min(taskNum, MAX_TRANSFER_THREAD_NUM); i < threadNum; i++) {
+            futures.add(N.asyncExecute(new Runnable() {
+                @Override
+                public void run() {
+                    int idx = 0;
+
+                    try {
+                        while (errorHolder.value() == null && (idx = cursor.getAndIncrement()) < taskNum) {
+                            task.accept(idx);
+                        }
+                    } catch (Throwable e) {
+                        setError(errorHolder, e);
+                    }
+                }
+            }));
+        }
+
+        for (CompletableFuture<Void> future : futures) {
+            try {
+                future.get();
+            } catch (Throwable e) {
+                setError(errorHolder, e);
+            }
+        }
+
+        if (errorHolder.value() != null) {
+            throw N.toRuntimeException(errorHolder.value());
+        }
+    }
+
     /**
      * Estimate the total line count of the file by reading the specified line count ahead.
      *
@@ -2657,40 +2740,55 @@ public final class IOUtil {
      * @return the total bytes have been merged into the destination file.
      */
     public static long merge(final Collection<File> sourceFiles, final File destFile) {
-        final byte[] buf = ObjectFactory.createByteArrayBuffer();
+        final List<File> files = new ArrayList<>(sourceFiles);
+        final long[] positions = new long[files.size() + 1];
 
-        long totalCount = 0;
-        OutputStream output = null;
+        for (int i = 0, size = files.size(); i < size; i++) {
+            positions[i + 1] = positions[i] + files.get(i).length();
+        }
+
+        RandomAccessFile raf = null;
 
         try {
-            output = new FileOutputStream(destFile);
+            raf = new RandomAccessFile(destFile, "rw");
+            raf.setLength(positions[files.size()]);
+
+            final FileChannel output = raf.getChannel();
 
-            InputStream input = null;
-            for (File file : sourceFiles) {
-                try {
-                    input = new FileInputStream(file);
+            transferInParallel(files.size(), new IntConsumer() {
+                @Override
+                public void accept(int idx) {
+                    FileInputStream fis = null;
 
-                    int count = 0;
-                    while (EOF != (count = read(input, buf, 0, buf.length))) {
-                        output.write(buf, 0, count);
+                    try {
+                        fis = new FileInputStream(files.get(idx));
+                        final FileChannel input = fis.getChannel();
+                        long pos = positions[idx];
+                        final long end = positions[idx + 1];
+                        long count = 0;
+
+                        while (pos < end) {
+                            // FileChannel.transferFrom(src, position, ...) doesn't change the position of the channel. It's safe to share the output channel.
+                            if ((count = output.transferFrom(input, pos, N.min(end - pos, FILE_COPY_BUFFER_SIZE))) == 0) {
+                                throw new AbacusIOException("The length of file: " + files.get(idx).getAbsolutePath() + " is changed");
+                            }
 
-                        totalCount += count;
+                            pos += count;
+                        }
+                    } catch (IOException e) {
+                        throw new AbacusIOException(e);
+                    } finally {
+                        close(fis);
                     }
-                } finally {
-                    close(input);
                 }
-            }
-
-            output.flush();
+            });
         } catch (IOException e) {
             throw new AbacusIOException(e);
         } finally {
-            ObjectFactory.recycle(buf);
-
-            close(output);
+            close(raf);
         }
 
-        return totalCount;
+        return positions[files.size()];
     }
 
     private static void zipDir(final File sourceFile, final ZipOutputStream zos, final File zipFile) throws IOException, FileNotFoundException {
@@ -3327,7 +3425,7 @@ public final class IOUtil {
                 iterators.add(new LineIterator(reader));
             }
 
-            parseII(iterators, lineOffset, count, 1, processThreadNumber, queueSize, lineParser);
+            parseII(iterators, lineOffset, count, 1, processThreadNumber, queueSize, ParallelParser.DEFAULT_BATCH_SIZE, lineParser);
         } finally {
             for (Reader reader : readers) {
                 closeQuietly(reader);
@@ -3423,7 +3521,7 @@ public final class IOUtil {
                 iterators.add(new LineIterator(reader));
             }
 
-            parseII(iterators, lineOffset, count, readThreadNumber, processThreadNumber, queueSize, lineParser);
+            parseII(iterators, lineOffset, count, readThreadNumber, processThreadNumber, queueSize, ParallelParser.DEFAULT_BATCH_SIZE, lineParser);
         } finally {
             for (Reader reader : readers) {
                 closeQuietly(reader);
@@ -3431,6 +3529,86 @@ public final class IOUtil {
         }
     }
 
+    /**
+     * Parse the specified file line by line through memory-mapped windows, without decoding the lines to <code>String</code>.
+     * The last line will always be null to identity the ending of line reading.
+     * 
+     * @param file
+     * @param lineParser always remember to handle line <code>null</code>. The line is reused, call {@code ByteLine.toString()} to keep it.
+     * @see MappedLineReader
+     */
+    public static void parseByteLines(final File file, final Consumer<? super ByteLine> lineParser) {
+        parseByteLines(file, 1, lineParser);
+    }
+
+    /**
+     * Parse the specified file line by line through memory-mapped windows, without decoding the lines to <code>String</code>.
+     * The file is split into <code>threadNumber</code> regions aligned at line boundaries, which are read and parsed by different threads.
+     * The last line will always be null to identity the ending of line reading, and it's passed to <code>lineParser</code> after all the regions are parsed.
+     * 
+     * @param file
+     * @param threadNumber
+     * @param lineParser always remember to handle line <code>null</code>. It's called by multiple threads at the same time if <code>threadNumber > 1</code>.
+     *        The line is reused by each thread, call {@code ByteLine.toString()} to keep it.
+     * @see MappedLineReader
+     */
+    public static void parseByteLines(final File file, final int threadNumber, final Consumer<? super ByteLine> lineParser) {
+        final long[] positions = MappedLineReader.split(file, threadNumber);
+        final Holder<Throwable> errorHolder = new Holder<Throwable>();
+        final List<CompletableFuture<Void>> futures = new ArrayList<>(positions.length - 2);
+
+        for (int i = 1, len = positions.length - 1; i < len; i++) {
+            final long start = positions[i];
+            final long end = positions[i + 1];
+
+            futures.add(N.asyncExecute(new Runnable() {
+                @Override
+                public void run() {
+                    parseByteLines(file, start, end, errorHolder, lineParser);
+                }
+            }));
+        }
+
+        parseByteLines(file, positions[0], positions[1], errorHolder, lineParser);
+
+        for (CompletableFuture<Void> future : futures) {
+            try {
+                future.get();
+            } catch (Throwable e) {
+                setError(errorHolder, e);
+            }
+        }
+
+        if (errorHolder.value() != null) {
+            throw N.toRuntimeException(errorHolder.value());
+        }
+
+        lineParser.accept(null);
+    }
+
+    private static void parseByteLines(final File file, final long start, final long end, final Holder<Throwable> errorHolder,
+            final Consumer<? super ByteLine> lineParser) {
+        try (MappedLineReader reader = new MappedLineReader(file, start, end)) {
+            ByteLine line = null;
+
+            while (errorHolder.value() == null && (line = reader.readLine()) != null) {
+                lineParser.accept(line);
+            }
+        } catch (Throwable e) {
+            setError(errorHolder, e);
+        }
+    }
+
+    private static void setError(final Holder<Throwable> errorHolder, final Throwable e) {
+        synchronized (errorHolder) {
+            if (errorHolder.value() == null) {
+                errorHolder.setValue(e);
+            } else if (errorHolder.value() != e) {
+                errorHolder.value().addSuppressed(e);
+            }
+        }
+    }
+
     /**
      * Parse the specified InputStream line by line.
      * The last line will always be null to identity the ending of line reading even offset/count is specified.
@@ -3698,7 +3876,7 @@ public final class IOUtil {
      */
     public static <T> void parse(final Iterator<? extends T> iter, long offset, long count, final int processThreadNumber, final int queueSize,
             final Consumer<? super T> elementParser) {
-        parseII(N.asList(iter), offset, count, 1, processThreadNumber, queueSize, elementParser);
+        parseII(N.asList(iter), offset, count, 1, processThreadNumber, queueSize, ParallelParser.DEFAULT_BATCH_SIZE, elementParser);
     }
 
     public static <T> void parse(final Collection<? extends Iterator<? extends T>> iterators, final int readThreadNumber, final int processThreadNumber,
@@ -3718,15 +3896,31 @@ public final class IOUtil {
      */
     public static <T> void parse(final Collection<? extends Iterator<? extends T>> iterators, final long offset, final long count, final int readThreadNumber,
             final int processThreadNumber, final int queueSize, final Consumer<? super T> elementParser) {
+        parse(iterators, offset, count, readThreadNumber, processThreadNumber, queueSize, ParallelParser.DEFAULT_BATCH_SIZE, elementParser);
+    }
+
+    /**
+     * Parse the elements in the specified iterators one by one.
+     * 
+     * @param iterators
+     * @param offset
+     * @param count
+     * @param processThreadNumber thread number used to parse/process the lines/records
+     * @param queueSize size of queue to save the processing records/lines loaded from source data. Default size is 1024.
+     * @param batchSize number of lines/records handed over to a process thread at a time. Default size is 64.
+     * @param elementParser always remember to handle line <code>null</code>
+     */
+    public static <T> void parse(final Collection<? extends Iterator<? extends T>> iterators, final long offset, final long count, final int readThreadNumber,
+            final int processThreadNumber, final int queueSize, final int batchSize, final Consumer<? super T> elementParser) {
         if (N.isNullOrEmpty(iterators)) {
             return;
         }
 
-        parseII(iterators, offset, count, readThreadNumber, processThreadNumber, queueSize, elementParser);
+        parseII(iterators, offset, count, readThreadNumber, processThreadNumber, queueSize, batchSize, elementParser);
     }
 
     private static <T> void parseII(final Collection<? extends Iterator<? extends T>> iterators, long offset, long count, final int readThreadNum,
-            final int processThreadNumber, final int queueSize, final Consumer<? super T> elementParser) {
+            final int processThreadNumber, final int queueSize, final int batchSize, final Consumer<? super T> elementParser) {
         logger.info("### Start to parse");
 
         try (final Stream<T> stream = ((readThreadNum > 1 || processThreadNumber > 0)
@@ -3739,63 +3933,11 @@ public final class IOUtil {
                 while (iteratorII.hasNext()) {
                     elementParser.accept(iteratorII.next());
                 }
-
-                elementParser.accept(null);
             } else {
-                final AtomicInteger activeThreadNum = new AtomicInteger();
-                final ExecutorService executorService = Executors.newFixedThreadPool(processThreadNumber);
-                final Holder<Throwable> errorHolder = new Holder<Throwable>();
-
-                for (int i = 0; i < processThreadNumber; i++) {
-                    activeThreadNum.incrementAndGet();
-
-                    executorService.execute(new Runnable() {
-                        @Override
-                        public void run() {
-                            T element = null;
-                            try {
-                                while (errorHolder.getValue() == null) {
-                                    synchronized (iteratorII) {
-                                        if (iteratorII.hasNext()) {
-                                            element = iteratorII.next();
-                                        } else {
-                                            break;
-                                        }
-                                    }
-
-                                    elementParser.accept(element);
-                                }
-                            } catch (Throwable e) {
-                                synchronized (errorHolder) {
-                                    if (errorHolder.value() == null) {
-                                        errorHolder.setValue(e);
-                                    } else {
-                                        errorHolder.value().addSuppressed(e);
-                                    }
-                                }
-                            } finally {
-                                activeThreadNum.decrementAndGet();
-                            }
-                        }
-                    });
-                }
-
-                while (activeThreadNum.get() > 0) {
-                    N.sleep(10);
-                }
-
-                if (errorHolder.value() == null) {
-                    try {
-                        elementParser.accept(null);
-                    } catch (Throwable e) {
-                        errorHolder.setValue(e);
-                    }
-                }
-
-                if (errorHolder.value() != null) {
-                    throw N.toRuntimeException(errorHolder.value());
-                }
+                ParallelParser.parse(iteratorII, processThreadNumber, batchSize, (queueSize == 0 ? 1024 : queueSize), elementParser);
             }
+
+            elementParser.accept(null);
         } finally {
             logger.info("### ### End to parse");
         }
@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2015, Haiyang Li.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.landawn.abacus.util;
+
+/**
+ * A set of <code>int</code> values by open addressing (linear probing), without boxing the values.
+ * The values are kept in insertion order in an array, and the hash table only keeps the indexes of the values.
+ * It's used to de-duplicate or look up the primitive values. The values can't be removed.
+ * <br />
+ * <code>float</code> values can be added by {@code Float.floatToIntBits}, which is consistent with {@code Float.equals}.
+ *
+ * @since 0.9.5
+ *
+ * @author Haiyang Li
+ */
+final class IntHashSet {
+    private int[] values;
+    // the index + 1 of the value in 'values', or 0 if the slot is empty.
+    private int[] table;
+    private int size;
+
+    IntHashSet() {
+        this(16);
+    }
+
+    IntHashSet(final int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("'expectedSize' can't be negative: " + expectedSize);
+        }
+
+        this.values = new int[N.max(expectedSize, 4)];
+        this.table = new int[tableSizeFor(expectedSize)];
+    }
+
+    /**
+     *
+     * @param value
+     * @return <code>true</code> if the value is not in this set before.
+     */
+    boolean add(final int value) {
+        final int mask = table.length - 1;
+        int slot = hash(value) & mask;
+        int idx = 0;
+
+        while ((idx = table[slot]) != 0) {
+            if (values[idx - 1] == value) {
+                return false;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+
+        if (size == values.length) {
+            values = N.copyOf(values, newCapacity(size));
+        }
+
+        values[size++] = value;
+        table[slot] = size;
+
+        if (size > (table.length >> 2) * 3) {
+            rehash(table.length << 1);
+        }
+
+        return true;
+    }
+
+    boolean contains(final int value) {
+        final int mask = table.length - 1;
+        int slot = hash(value) & mask;
+        int idx = 0;
+
+        while ((idx = table[slot]) != 0) {
+            if (values[idx - 1] == value) {
+                return true;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+
+        return false;
+    }
+
+    /**
+     *
+     * @param index the index in insertion order.
+     * @return
+     */
+    int get(final int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+
+        return values[index];
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     *
+     * @return the values in insertion order.
+     */
+    int[] toArray() {
+        return N.copyOfRange(values, 0, size);
+    }
+
+    void clear() {
+        N.fill(table, 0);
+        size = 0;
+    }
+
+    private void rehash(final int newTableSize) {
+        final int[] newTable = new int[newTableSize];
+        final int mask = newTableSize - 1;
+        int slot = 0;
+
+        for (int i = 0; i < size; i++) {
+            slot = hash(values[i]) & mask;
+
+            while (newTable[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+
+            newTable[slot] = i + 1;
+        }
+
+        table = newTable;
+    }
+
+    static int hash(final int value) {
+        final int h = value * 0x9E3779B9;
+
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Returns the power of 2 for the hash table which keeps the load factor under 0.75.
+     */
+    static int tableSizeFor(final int expectedSize) {
+        final long minSize = N.max(4L, expectedSize + expectedSize / 3L + 1);
+
+        if (minSize > (1 << 30)) {
+            throw new IllegalArgumentException("Too many values: " + expectedSize);
+        }
+
+        return Integer.highestOneBit((int) minSize - 1) << 1;
+    }
+
+    static int newCapacity(final int size) {
+        if (size >= Integer.MAX_VALUE - 8) {
+            throw new OutOfMemoryError();
+        }
+
+        return (int) N.min(Integer.MAX_VALUE - 8, size + (size >> 1) + 1L);
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2015, Haiyang Li.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.landawn.abacus.util;
+
+/**
+ * Finds the kth largest of the offered <code>int</code> keys in a buffer of <code>2 * k</code> keys, without boxing them.
+ * When the buffer is full, it's shrunk to the k largest keys by {@link Selection#select(int[], int, int, int)},
+ * and the keys not bigger than the kth largest one so far are skipped after that.
+ * It's <code>O(n)</code> for any order of the keys, while a heap of size k takes <code>O(n * log(k))</code> if the keys are ascending.
+ * <br />
+ * The keys of <code>char/byte/short</code> values are the values. The keys of <code>float</code> values are from {@link Selection#key(float)}.
+ * To find the kth smallest key, offer <code>~key</code>.
+ *
+ * @since 0.9.5
+ *
+ * @author Haiyang Li
+ * @see LongTopKSelector
+ */
+final class IntTopKSelector {
+    private final int k;
+    private final int[] buffer;
+    private int size;
+    private boolean trimmed;
+
+    IntTopKSelector(final int k) {
+        if (k < 1) {
+            throw new IllegalArgumentException("'k' can't be less than 1: " + k);
+        }
+
+        this.k = k;
+        this.buffer = new int[k * 2];
+    }
+
+    void offer(final int key) {
+        // buffer[0] is the kth largest key after trim.
+        if (trimmed && key <= buffer[0]) {
+            return;
+        }
+
+        buffer[size++] = key;
+
+        if (size == buffer.length) {
+            trim();
+        }
+    }
+
+    /**
+     * Returns the kth largest key. At least k keys must be offered.
+     */
+    int kth() {
+        if (size > k || trimmed == false) {
+            trim();
+        }
+
+        return buffer[0];
+    }
+
+    /**
+     * Returns how many of the offered keys are bigger than the kth largest one.
+     */
+    int countGreaterThanKth() {
+        final int kth = kth();
+        int cnt = 0;
+
+        for (int i = 1; i < k; i++) {
+            if (buffer[i] > kth) {
+                cnt++;
+            }
+        }
+
+        return cnt;
+    }
+
+    private void trim() {
+        if (size < k) {
+            throw new IllegalStateException("Less than k keys are offered: " + size);
+        }
+
+        Selection.select(buffer, 0, size, size - k);
+        N.copy(buffer, size - k, buffer, 0, k);
+        size = k;
+        trimmed = true;
+    }
+}
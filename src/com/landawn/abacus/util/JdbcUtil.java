@@ -33,6 +33,7 @@ import java.io.PrintWriter;
 import java.io.Reader;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.math.BigInteger;
 import java.sql.CallableStatement;
 import java.sql.Connection;
 import java.sql.Driver;
@@ -43,6 +44,7 @@ import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.SQLFeatureNotSupportedException;
 import java.sql.Statement;
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
@@ -50,9 +52,12 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -89,6 +94,12 @@ import com.landawn.abacus.util.SQLExecutor.StatementSetter;
 import com.landawn.abacus.util.function.Consumer;
 import com.landawn.abacus.util.function.Function;
 import com.landawn.abacus.util.function.Predicate;
+import com.landawn.abacus.util.stream.DoubleStream;
+import com.landawn.abacus.util.stream.ImmutableDoubleIterator;
+import com.landawn.abacus.util.stream.ImmutableIntIterator;
+import com.landawn.abacus.util.stream.ImmutableLongIterator;
+import com.landawn.abacus.util.stream.IntStream;
+import com.landawn.abacus.util.stream.LongStream;
 import com.landawn.abacus.util.stream.Stream;
 
 /**
@@ -105,6 +116,10 @@ import com.landawn.abacus.util.stream.Stream;
 public final class JdbcUtil {
     private static final Logger logger = LoggerFactory.getLogger(JdbcUtil.class);
 
+    private static final long IMPORT_PROGRESS_REPORT_INTERVAL = 10 * 1000L;
+
+    private static final long IMPORT_RETRY_INTERVAL = 1000L;
+
     // ...
     private static final String CURRENT_DIR_PATH = "./";
 
@@ -714,7 +729,7 @@ public final class JdbcUtil {
             stmt = prepareStatement(conn, sql, parameters);
             rs = stmt.executeQuery();
 
-            return extractData(rs);
+            return extractData(rs, 0, Integer.MAX_VALUE, null);
         } catch (SQLException e) {
             throw new AbacusSQLException(e);
         } finally {
@@ -730,7 +745,7 @@ public final class JdbcUtil {
             stmt = prepareStatement(conn, sql, parameters);
             rs = stmt.executeQuery();
 
-            return extractData(rs);
+            return extractData(rs, 0, Integer.MAX_VALUE, null);
         } catch (SQLException e) {
             throw new AbacusSQLException(e);
         } finally {
@@ -832,6 +847,243 @@ public final class JdbcUtil {
         return new RowIterator(rs);
     }
 
+    /**
+     * Returns a lazy <code>Stream</code> of the rows mapped by <code>rowMapper</code>. The rows are read from the <code>ResultSet</code>
+     * when they're pulled by the stream. The <code>ResultSet</code> is closed when the stream is closed.
+     * 
+     * @param rs
+     * @param rowMapper
+     * @return
+     */
+    public static <T> Stream<T> stream(final ResultSet rs, final RowMapper<T> rowMapper) {
+        return Stream.of(new Iterator<T>() {
+            private boolean hasNext = false;
+
+            @Override
+            public boolean hasNext() {
+                if (hasNext == false) {
+                    hasNext = moveToNext(rs);
+                }
+
+                return hasNext;
+            }
+
+            @Override
+            public T next() {
+                if (hasNext() == false) {
+                    throw new NoSuchElementException();
+                }
+
+                hasNext = false;
+
+                try {
+                    return rowMapper.map(rs);
+                } catch (SQLException e) {
+                    throw new AbacusSQLException(e);
+                }
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        }).onClose(newCloseHandler(rs, null));
+    }
+
+    /**
+     * Executes the query and returns a lazy <code>Stream</code> of the rows mapped by <code>rowMapper</code>.
+     * The <code>ResultSet</code> and the statement are closed when the stream is closed.
+     * 
+     * @param stmt
+     * @param rowMapper
+     * @return
+     */
+    public static <T> Stream<T> stream(final PreparedStatement stmt, final RowMapper<T> rowMapper) {
+        return stream(executeQueryII(stmt), rowMapper).onClose(newCloseHandler(null, stmt));
+    }
+
+    /**
+     * Returns a lazy <code>IntStream</code> of the values in the specified column, read by {@code ResultSet.getInt(int)}. 
+     * <code>NULL</code> is read as 0. The <code>ResultSet</code> is closed when the stream is closed.
+     * 
+     * @param rs
+     * @param columnIndex starts from 1.
+     * @return
+     */
+    public static IntStream intStream(final ResultSet rs, final int columnIndex) {
+        return IntStream.of(new ImmutableIntIterator() {
+            private boolean hasNext = false;
+
+            @Override
+            public boolean hasNext() {
+                if (hasNext == false) {
+                    hasNext = moveToNext(rs);
+                }
+
+                return hasNext;
+            }
+
+            @Override
+            public int next() {
+                if (hasNext() == false) {
+                    throw new NoSuchElementException();
+                }
+
+                hasNext = false;
+
+                try {
+                    return rs.getInt(columnIndex);
+                } catch (SQLException e) {
+                    throw new AbacusSQLException(e);
+                }
+            }
+        }).onClose(newCloseHandler(rs, null));
+    }
+
+    /**
+     * Executes the query and returns a lazy <code>IntStream</code> of the values in the specified column.
+     * The <code>ResultSet</code> and the statement are closed when the stream is closed.
+     * 
+     * @param stmt
+     * @param columnIndex starts from 1.
+     * @return
+     * @see #intStream(ResultSet, int)
+     */
+    public static IntStream intStream(final PreparedStatement stmt, final int columnIndex) {
+        return intStream(executeQueryII(stmt), columnIndex).onClose(newCloseHandler(null, stmt));
+    }
+
+    /**
+     * Returns a lazy <code>LongStream</code> of the values in the specified column, read by {@code ResultSet.getLong(int)}. 
+     * <code>NULL</code> is read as 0. The <code>ResultSet</code> is closed when the stream is closed.
+     * 
+     * @param rs
+     * @param columnIndex starts from 1.
+     * @return
+     */
+    public static LongStream longStream(final ResultSet rs, final int columnIndex) {
+        return LongStream.of(new ImmutableLongIterator() {
+            private boolean hasNext = false;
+
+            @Override
+            public boolean hasNext() {
+                if (hasNext == false) {
+                    hasNext = moveToNext(rs);
+                }
+
+                return hasNext;
+            }
+
+            @Override
+            public long next() {
+                if (hasNext() == false) {
+                    throw new NoSuchElementException();
+                }
+
+                hasNext = false;
+
+                try {
+                    return rs.getLong(columnIndex);
+                } catch (SQLException e) {
+                    throw new AbacusSQLException(e);
+                }
+            }
+        }).onClose(newCloseHandler(rs, null));
+    }
+
+    /**
+     * Executes the query and returns a lazy <code>LongStream</code> of the values in the specified column.
+     * The <code>ResultSet</code> and the statement are closed when the stream is closed.
+     * 
+     * @param stmt
+     * @param columnIndex starts from 1.
+     * @return
+     * @see #longStream(ResultSet, int)
+     */
+    public static LongStream longStream(final PreparedStatement stmt, final int columnIndex) {
+        return longStream(executeQueryII(stmt), columnIndex).onClose(newCloseHandler(null, stmt));
+    }
+
+    /**
+     * Returns a lazy <code>DoubleStream</code> of the values in the specified column, read by {@code ResultSet.getDouble(int)}. 
+     * <code>NULL</code> is read as 0. The <code>ResultSet</code> is closed when the stream is closed.
+     * 
+     * @param rs
+     * @param columnIndex starts from 1.
+     * @return
+     */
+    public static DoubleStream doubleStream(final ResultSet rs, final int columnIndex) {
+        return DoubleStream.of(new ImmutableDoubleIterator() {
+            private boolean hasNext = false;
+
+            @Override
+            public boolean hasNext() {
+                if (hasNext == false) {
+                    hasNext = moveToNext(rs);
+                }
+
+                return hasNext;
+            }
+
+            @Override
+            public double next() {
+                if (hasNext() == false) {
+                    throw new NoSuchElementException();
+                }
+
+                hasNext = false;
+
+                try {
+                    return rs.getDouble(columnIndex);
+                } catch (SQLException e) {
+                    throw new AbacusSQLException(e);
+                }
+            }
+        }).onClose(newCloseHandler(rs, null));
+    }
+
+    /**
+     * Executes the query and returns a lazy <code>DoubleStream</code> of the values in the specified column.
+     * The <code>ResultSet</code> and the statement are closed when the stream is closed.
+     * 
+     * @param stmt
+     * @param columnIndex starts from 1.
+     * @return
+     * @see #doubleStream(ResultSet, int)
+     */
+    public static DoubleStream doubleStream(final PreparedStatement stmt, final int columnIndex) {
+        return doubleStream(executeQueryII(stmt), columnIndex).onClose(newCloseHandler(null, stmt));
+    }
+
+    private static boolean moveToNext(final ResultSet rs) {
+        try {
+            return rs.next();
+        } catch (SQLException e) {
+            throw new AbacusSQLException(e);
+        }
+    }
+
+    private static Runnable newCloseHandler(final ResultSet rs, final Statement stmt) {
+        return new Runnable() {
+            @Override
+            public void run() {
+                closeQuietly(rs, stmt);
+            }
+        };
+    }
+
+    /**
+     * The statement is closed if it fails to execute the query.
+     */
+    private static ResultSet executeQueryII(final PreparedStatement stmt) {
+        try {
+            return stmt.executeQuery();
+        } catch (SQLException e) {
+            closeQuietly(stmt);
+            throw new AbacusSQLException(e);
+        }
+    }
+
     public static DataSet extractData(final ResultSet rs) {
         return extractData(rs, false);
     }
@@ -850,15 +1102,28 @@ public final class JdbcUtil {
 
     public static DataSet extractData(final ResultSet rs, int offset, int count, final boolean closeResultSet, final Predicate<ResultSet> filter) {
         try {
-            // TODO [performance improvement]. it will improve performance a lot if MetaData is cached.
+            return extractData(rs, offset, count, filter);
+        } finally {
+            if (closeResultSet) {
+                closeQuietly(rs);
+            }
+        }
+    }
+
+    /**
+     * The column labels and types are read from the meta data of each <code>ResultSet</code>. They're not cached, because the same sql
+     * can be executed on another database/schema, or after the table is altered.
+     */
+    private static DataSet extractData(final ResultSet rs, int offset, int count, final Predicate<ResultSet> filter) {
+        try {
             final ResultSetMetaData metaData = rs.getMetaData();
             final int columnCount = metaData.getColumnCount();
-            final List<String> columnNameList = new ArrayList<>(columnCount);
-            final List<List<Object>> columnList = new ArrayList<>(columnCount);
+            final List<String> columnLabelList = new ArrayList<>(columnCount);
+            final ColumnExtractor[] extractors = new ColumnExtractor[columnCount];
 
             for (int i = 0; i < columnCount;) {
-                columnNameList.add(metaData.getColumnLabel(++i));
-                columnList.add(new ArrayList<>());
+                extractors[i] = ColumnExtractor.of(ColumnExtractor.typeOf(metaData.getColumnClassName(i + 1)));
+                columnLabelList.add(metaData.getColumnLabel(++i));
             }
 
             while (offset-- > 0 && rs.next()) {
@@ -868,21 +1133,23 @@ public final class JdbcUtil {
             while (count > 0 && rs.next()) {
                 if (filter == null || filter.test(rs)) {
                     for (int i = 0; i < columnCount;) {
-                        columnList.get(i).add(rs.getObject(++i));
+                        extractors[i].read(rs, ++i);
                     }
 
                     count--;
                 }
             }
 
+            final List<List<Object>> columnList = new ArrayList<>(columnCount);
+
+            for (ColumnExtractor extractor : extractors) {
+                columnList.add(extractor.toList());
+            }
+
             // return new RowDataSet(null, entityClass, columnNameList, columnList);
-            return new RowDataSet(columnNameList, columnList);
+            return new RowDataSet(columnLabelList, columnList);
         } catch (SQLException e) {
             throw new AbacusSQLException(e);
-        } finally {
-            if (closeResultSet) {
-                closeQuietly(rs);
-            }
         }
     }
 
@@ -1576,94 +1843,329 @@ public final class JdbcUtil {
     }
 
     /**
-     * Parse the ResultSet obtained by executing query with the specified Connection and sql.
-     * The last row will always be null to identity the ending of row set even offset/count is specified.
+     * Imports the data from file to database by multiple threads.
      * 
-     * @param conn
-     * @param sql
-     * @param rowParser always remember to handle row <code>null</code>
+     * @param file
+     * @param offset
+     * @param count
+     * @param parseThreadNumber
+     * @param stmts
+     * @param batchSize
+     * @param maxRetries
+     * @param func convert line to the parameters for record insert. Returns a <code>null</code> array to skip the line. 
+     * @return
+     * @see #importData(Iterator, long, long, int, List, int, int, Function)
      */
-    public static void parse(final Connection conn, final String sql, final Consumer<Object[]> rowParser) {
-        parse(conn, sql, 0, 0, rowParser);
-    }
+    public static long importData(final File file, final long offset, final long count, final int parseThreadNumber,
+            final List<? extends PreparedStatement> stmts, final int batchSize, final int maxRetries, final Function<String, Object[]> func) {
+        Reader reader = null;
 
-    /**
-     * Parse the ResultSet obtained by executing query with the specified Connection and sql.
-     * The last row will always be null to identity the ending of row set even offset/count is specified.
-     * 
-     * @param conn
-     * @param sql
-     * @param processThreadNumber thread number used to parse/process the lines/records
-     * @param queueSize size of queue to save the processing records/lines loaded from source data. Default size is 1024.
-     * @param rowParser always remember to handle row <code>null</code>
-     */
-    public static void parse(final Connection conn, final String sql, final int processThreadNumber, final int queueSize, final Consumer<Object[]> rowParser) {
-        parse(conn, sql, 0, Long.MAX_VALUE, processThreadNumber, queueSize, rowParser);
+        try {
+            reader = new FileReader(file);
+
+            return importData(reader, offset, count, parseThreadNumber, stmts, batchSize, maxRetries, func);
+        } catch (IOException e) {
+            throw new AbacusIOException(e);
+        } finally {
+            IOUtil.close(reader);
+        }
     }
 
     /**
-     * Parse the ResultSet obtained by executing query with the specified Connection and sql.
-     * The last row will always be null to identity the ending of row set even offset/count is specified.
+     * Imports the data from reader to database by multiple threads.
      * 
-     * @param conn
-     * @param sql
+     * @param reader
      * @param offset
      * @param count
-     * @param rowParser always remember to handle row <code>null</code>
+     * @param parseThreadNumber
+     * @param stmts
+     * @param batchSize
+     * @param maxRetries
+     * @param func convert line to the parameters for record insert. Returns a <code>null</code> array to skip the line. 
+     * @return
+     * @see #importData(Iterator, long, long, int, List, int, int, Function)
      */
-    public static void parse(final Connection conn, final String sql, final long offset, final long count, final Consumer<Object[]> rowParser) {
-        parse(conn, sql, offset, count, 0, 0, rowParser);
+    public static long importData(final Reader reader, final long offset, final long count, final int parseThreadNumber,
+            final List<? extends PreparedStatement> stmts, final int batchSize, final int maxRetries, final Function<String, Object[]> func) {
+        return importData(new LineIterator(reader), offset, count, parseThreadNumber, stmts, batchSize, maxRetries, func);
     }
 
     /**
-     * Parse the ResultSet obtained by executing query with the specified Connection and sql.
-     * The last row will always be null to identity the ending of row set even offset/count is specified.
+     * Imports the data from Iterator to database by multiple threads.
+     * The elements are read by the calling thread, converted by <code>parseThreadNumber</code> threads,
+     * and written in batches by one thread for each of the specified statements. 
+     * Parsing and writing are overlapped through a bounded queue. The progress (rows/sec) is logged at info level.
+     * <br />
+     * A failed batch is cleared and retried on the same statement. It's only safe if the statements are in auto commit mode
+     * (a failed batch is either written or not) or the insert is idempotent. 
+     * The statements should be prepared by different connections. They're not closed by this method.
      * 
-     * @param conn
-     * @param sql
+     * @param iter
      * @param offset
-     * @param count
-     * @param processThreadNumber thread number used to parse/process the lines/records
-     * @param queueSize size of queue to save the processing records/lines loaded from source data. Default size is 1024.
-     * @param rowParser always remember to handle row <code>null</code>
+     * @param count max number of elements to read from the iterator, including the skipped ones by <code>func</code>.
+     * @param parseThreadNumber
+     * @param stmts
+     * @param batchSize
+     * @param maxRetries the times to retry a failed batch. 0 means no retry.
+     * @param func convert element to the parameters for record insert. Returns a <code>null</code> array to skip the line. 
+     * @return the number of the inserted records.
      */
-    public static void parse(final Connection conn, final String sql, final long offset, final long count, final int processThreadNumber, final int queueSize,
-            final Consumer<Object[]> rowParser) {
-        parse(conn, sql, null, offset, count, processThreadNumber, queueSize, rowParser);
-    }
+    public static <T> long importData(final Iterator<T> iter, long offset, final long count, final int parseThreadNumber,
+            final List<? extends PreparedStatement> stmts, final int batchSize, final int maxRetries, final Function<T, Object[]> func) {
+        if (N.isNullOrEmpty(stmts) || batchSize < 1 || maxRetries < 0) {
+            throw new IllegalArgumentException("'stmts' can't be null or empty, 'batchSize' must be bigger than 0, 'maxRetries' can't be negative");
+        }
 
-    /**
-     * Parse the ResultSet obtained by executing query with the specified Connection and sql.
-     * The last row will always be null to identity the ending of row set even offset/count is specified.
-     * 
-     * @param conn
-     * @param sql
-     * @param parameters
-     * @param rowParser always remember to handle row <code>null</code>
-     */
-    public static void parse(final Connection conn, final String sql, final List<?> parameters, final Consumer<Object[]> rowParser) {
-        parse(conn, sql, parameters, 0, 0, rowParser);
-    }
+        while (offset-- > 0 && iter.hasNext()) {
+            iter.next();
+        }
 
-    /**
-     * Parse the ResultSet obtained by executing query with the specified Connection and sql.
-     * The last row will always be null to identity the ending of row set even offset/count is specified.
-     * 
-     * @param conn
-     * @param sql
-     * @param parameters
-     * @param processThreadNumber thread number used to parse/process the lines/records
-     * @param queueSize size of queue to save the processing records/lines loaded from source data. Default size is 1024.
-     * @param rowParser always remember to handle row <code>null</code>
-     */
-    public static void parse(final Connection conn, final String sql, final List<?> parameters, final int processThreadNumber, final int queueSize,
-            final Consumer<Object[]> rowParser) {
-        parse(conn, sql, parameters, 0, Long.MAX_VALUE, processThreadNumber, queueSize, rowParser);
-    }
+        final Iterator<T> it = count == Long.MAX_VALUE ? iter : Stream.of(iter).limit(count).iterator();
+        final ParallelParser.BatchQueue writeQueue = new ParallelParser.BatchQueue(stmts.size() * 2);
+        final Holder<Throwable> errorHolder = new Holder<Throwable>();
+        final AtomicLong result = new AtomicLong();
+        final long startTime = System.currentTimeMillis();
+        final AtomicLong lastReportTime = new AtomicLong(startTime);
+        final List<Future<?>> futures = new ArrayList<>(stmts.size());
 
-    /**
-     * Parse the ResultSet obtained by executing query with the specified Connection and sql.
-     * The last row will always be null to identity the ending of row set even offset/count is specified.
+        // a dedicated pool: the writers block on the queue, and must not wait for the threads of a shared pool.
+        final ExecutorService executor = Executors.newFixedThreadPool(stmts.size());
+
+        try {
+            for (final PreparedStatement stmt : stmts) {
+                futures.add(executor.submit(new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            Object[] rows = null;
+
+                            while ((rows = writeQueue.take()) != null) {
+                                executeBatch(stmt, rows, DEFAULT_STATEMENT_SETTER, maxRetries, null);
+
+                                reportProgress(result.addAndGet(rows.length), startTime, lastReportTime);
+                            }
+                        } catch (Throwable e) {
+                            setError(errorHolder, e);
+                            writeQueue.clearAndClose();
+                        }
+                    }
+                }));
+            }
+
+            try {
+                ParallelParser.parseBatches(it, parseThreadNumber, batchSize, DEFAULT_QUEUE_SIZE_FOR_ROW_PARSER, new Consumer<Object[]>() {
+                    @Override
+                    public void accept(Object[] batch) {
+                        final Object[] rows = new Object[batch.length];
+                        int size = 0;
+                        Object[] row = null;
+
+                        for (Object e : batch) {
+                            if ((row = func.apply((T) e)) != null) {
+                                rows[size++] = row;
+                            }
+                        }
+
+                        if (size > 0) {
+                            try {
+                                writeQueue.put(size == rows.length ? rows : N.copyOf(rows, size));
+                            } catch (InterruptedException ie) {
+                                throw N.toRuntimeException(ie);
+                            }
+                        }
+
+                        if (errorHolder.value() != null) {
+                            throw new AbacusException("Failed to write the data to database");
+                        }
+                    }
+                });
+            } catch (Throwable e) {
+                setError(errorHolder, e);
+            } finally {
+                writeQueue.close();
+            }
+
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (Throwable e) {
+                    setError(errorHolder, e);
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        if (errorHolder.value() != null) {
+            throw N.toRuntimeException(errorHolder.value());
+        }
+
+        final long elapsedTime = N.max(1, System.currentTimeMillis() - startTime);
+        logger.info(result.get() + " rows imported in " + elapsedTime + " milliseconds, " + result.get() * 1000 / elapsedTime + " rows/sec");
+
+        return result.get();
+    }
+
+    /**
+     * Logs the number of the written rows and rows/sec, at most once in {@code IMPORT_PROGRESS_REPORT_INTERVAL}.
+     */
+    private static void reportProgress(final long rowCount, final long startTime, final AtomicLong lastReportTime) {
+        final long lastTime = lastReportTime.get();
+        final long now = System.currentTimeMillis();
+
+        if (now - lastTime >= IMPORT_PROGRESS_REPORT_INTERVAL && lastReportTime.compareAndSet(lastTime, now)) {
+            logger.info(rowCount + " rows imported, " + rowCount * 1000 / N.max(1, now - startTime) + " rows/sec");
+        }
+    }
+
+    /**
+     * 
+     * @param stmt
+     * @param rows
+     * @param statementSetter
+     * @param maxRetries
+     * @param txConn the connection of the statement if the batch should be committed (or rolled back if it fails) by this method, otherwise <code>null</code>.
+     * @throws SQLException
+     */
+    private static void executeBatch(final PreparedStatement stmt, final Object[] rows, final StatementSetter statementSetter, final int maxRetries,
+            final Connection txConn) throws SQLException {
+        for (int retry = 0;; retry++) {
+            try {
+                for (Object row : rows) {
+                    statementSetter.setParameters(null, stmt, (Object[]) row);
+
+                    stmt.addBatch();
+                }
+
+                stmt.executeBatch();
+                stmt.clearBatch();
+
+                if (txConn != null) {
+                    txConn.commit();
+                }
+
+                return;
+            } catch (SQLException e) {
+                try {
+                    stmt.clearBatch();
+
+                    if (txConn != null) {
+                        txConn.rollback();
+                    }
+                } catch (SQLException e2) {
+                    e.addSuppressed(e2);
+                }
+
+                if (retry >= maxRetries) {
+                    throw e;
+                }
+
+                logger.warn("Failed to execute batch with " + rows.length + " rows. Retry " + (retry + 1) + "/" + maxRetries, e);
+
+                N.sleep(IMPORT_RETRY_INTERVAL * (retry + 1));
+            }
+        }
+    }
+
+    private static void setError(final Holder<Throwable> errorHolder, final Throwable e) {
+        synchronized (errorHolder) {
+            if (errorHolder.value() == null) {
+                errorHolder.setValue(e);
+            } else if (errorHolder.value() != e) {
+                errorHolder.value().addSuppressed(e);
+            }
+        }
+    }
+
+    /**
+     * Parse the ResultSet obtained by executing query with the specified Connection and sql.
+     * The last row will always be null to identity the ending of row set even offset/count is specified.
+     * 
+     * @param conn
+     * @param sql
+     * @param rowParser always remember to handle row <code>null</code>
+     */
+    public static void parse(final Connection conn, final String sql, final Consumer<Object[]> rowParser) {
+        parse(conn, sql, 0, 0, rowParser);
+    }
+
+    /**
+     * Parse the ResultSet obtained by executing query with the specified Connection and sql.
+     * The last row will always be null to identity the ending of row set even offset/count is specified.
+     * 
+     * @param conn
+     * @param sql
+     * @param processThreadNumber thread number used to parse/process the lines/records
+     * @param queueSize size of queue to save the processing records/lines loaded from source data. Default size is 1024.
+     * @param rowParser always remember to handle row <code>null</code>
+     */
+    public static void parse(final Connection conn, final String sql, final int processThreadNumber, final int queueSize, final Consumer<Object[]> rowParser) {
+        parse(conn, sql, 0, Long.MAX_VALUE, processThreadNumber, queueSize, rowParser);
+    }
+
+    /**
+     * Parse the ResultSet obtained by executing query with the specified Connection and sql.
+     * The last row will always be null to identity the ending of row set even offset/count is specified.
+     * 
+     * @param conn
+     * @param sql
+     * @param offset
+     * @param count
+     * @param rowParser always remember to handle row <code>null</code>
+     */
+    public static void parse(final Connection conn, final String sql, final long offset, final long count, final Consumer<Object[]> rowParser) {
+        parse(conn, sql, offset, count, 0, 0, rowParser);
+    }
+
+    /**
+     * Parse the ResultSet obtained by executing query with the specified Connection and sql.
+     * The last row will always be null to identity the ending of row set even offset/count is specified.
+     * 
+     * @param conn
+     * @param sql
+     * @param offset
+     * @param count
+     * @param processThreadNumber thread number used to parse/process the lines/records
+     * @param queueSize size of queue to save the processing records/lines loaded from source data. Default size is 1024.
+     * @param rowParser always remember to handle row <code>null</code>
+     */
+    public static void parse(final Connection conn, final String sql, final long offset, final long count, final int processThreadNumber, final int queueSize,
+            final Consumer<Object[]> rowParser) {
+        parse(conn, sql, null, offset, count, processThreadNumber, queueSize, rowParser);
+    }
+
+    /**
+     * Parse the ResultSet obtained by executing query with the specified Connection and sql.
+     * The last row will always be null to identity the ending of row set even offset/count is specified.
+     * 
+     * @param conn
+     * @param sql
+     * @param parameters
+     * @param rowParser always remember to handle row <code>null</code>
+     */
+    public static void parse(final Connection conn, final String sql, final List<?> parameters, final Consumer<Object[]> rowParser) {
+        parse(conn, sql, parameters, 0, 0, rowParser);
+    }
+
+    /**
+     * Parse the ResultSet obtained by executing query with the specified Connection and sql.
+     * The last row will always be null to identity the ending of row set even offset/count is specified.
+     * 
+     * @param conn
+     * @param sql
+     * @param parameters
+     * @param processThreadNumber thread number used to parse/process the lines/records
+     * @param queueSize size of queue to save the processing records/lines loaded from source data. Default size is 1024.
+     * @param rowParser always remember to handle row <code>null</code>
+     */
+    public static void parse(final Connection conn, final String sql, final List<?> parameters, final int processThreadNumber, final int queueSize,
+            final Consumer<Object[]> rowParser) {
+        parse(conn, sql, parameters, 0, Long.MAX_VALUE, processThreadNumber, queueSize, rowParser);
+    }
+
+    /**
+     * Parse the ResultSet obtained by executing query with the specified Connection and sql.
+     * The last row will always be null to identity the ending of row set even offset/count is specified.
      * 
      * @param conn
      * @param sql
@@ -1905,67 +2407,13 @@ public final class JdbcUtil {
             while (count-- > 0 && iter.hasNext()) {
                 rowParser.accept(iter.next());
             }
-
-            rowParser.accept(null);
         } else {
             try (final Stream<Object[]> stream = Stream.parallelConcat(N.asList(iter), 1, queueSize)) {
-                final Iterator<Object[]> iteratorII = stream.limit(count).iterator();
-                final ExecutorService executorService = Executors.newFixedThreadPool(processThreadNumber);
-                final AtomicInteger activeThreadNum = new AtomicInteger();
-                final Holder<Throwable> errorHolder = new Holder<Throwable>();
-
-                for (int i = 0; i < processThreadNumber; i++) {
-                    activeThreadNum.incrementAndGet();
-
-                    executorService.execute(new Runnable() {
-                        @Override
-                        public void run() {
-                            Object[] row = null;
-
-                            try {
-                                while (errorHolder.getValue() == null) {
-                                    synchronized (iteratorII) {
-                                        if (iteratorII.hasNext()) {
-                                            row = iteratorII.next();
-                                        } else {
-                                            break;
-                                        }
-                                    }
-
-                                    rowParser.accept(row);
-                                }
-                            } catch (Throwable e) {
-                                synchronized (errorHolder) {
-                                    if (errorHolder.value() == null) {
-                                        errorHolder.setValue(e);
-                                    } else {
-                                        errorHolder.value().addSuppressed(e);
-                                    }
-                                }
-                            } finally {
-                                activeThreadNum.decrementAndGet();
-                            }
-                        }
-                    });
-                }
-
-                while (activeThreadNum.get() > 0) {
-                    N.sleep(10);
-                }
-
-                if (errorHolder.value() == null) {
-                    try {
-                        rowParser.accept(null);
-                    } catch (Throwable e) {
-                        errorHolder.setValue(e);
-                    }
-                }
-
-                if (errorHolder.value() != null) {
-                    throw N.toRuntimeException(errorHolder.value());
-                }
+                ParallelParser.parse(stream.limit(count).iterator(), processThreadNumber, ParallelParser.DEFAULT_BATCH_SIZE, queueSize, rowParser);
             }
         }
+
+        rowParser.accept(null);
     }
 
     public static long copy(final Connection sourceConn, final String selectSql, final Connection targetConn, final String insertSql) {
@@ -2073,6 +2521,260 @@ public final class JdbcUtil {
         return result.longValue();
     }
 
+    /**
+     * Copies the data from <code>sourceDataSource</code> to <code>targetDataSource</code> by multiple threads.
+     * The source query is executed once for each partition, with the partition as its parameters.
+     * Up to <code>readThreadNumber</code> partitions are read at the same time, each by its own connection.
+     * The rows are handed over in batches through a bounded queue to <code>writeThreadNumber</code> writers, each with its own connection.
+     * The number of rows read for each partition and the total progress (rows/sec) are logged at info level.
+     * <br />
+     * If the target connections are not in auto commit mode, each batch is committed after it's written, and a failed batch is rolled back.
+     * A failed batch is cleared and retried on the same statement.
+     * 
+     * @param sourceDataSource
+     * @param selectSql for example: <code>SELECT id, name FROM account WHERE id BETWEEN ? AND ?</code>.
+     * @param partitions the parameters of <code>selectSql</code> for each partition.
+     * @param readThreadNumber
+     * @param fetchSize
+     * @param targetDataSource
+     * @param insertSql
+     * @param writeThreadNumber
+     * @param batchSize
+     * @param maxRetries the times to retry a failed batch. 0 means no retry.
+     * @param statementSetter to set the parameters of <code>insertSql</code> with a row. The default one is used if it's <code>null</code>.
+     * @return the number of the copied records.
+     * @see #splitByKeyRange(long, long, int)
+     * @see #splitByOffset(long, int)
+     */
+    public static long copy(final javax.sql.DataSource sourceDataSource, final String selectSql, final List<? extends Object[]> partitions,
+            final int readThreadNumber, final int fetchSize, final javax.sql.DataSource targetDataSource, final String insertSql, final int writeThreadNumber,
+            final int batchSize, final int maxRetries, final StatementSetter statementSetter) {
+        if (N.isNullOrEmpty(partitions) || readThreadNumber < 1 || writeThreadNumber < 1 || batchSize < 1 || maxRetries < 0) {
+            throw new IllegalArgumentException(
+                    "'partitions' can't be null or empty, 'readThreadNumber', 'writeThreadNumber' and 'batchSize' must be bigger than 0, 'maxRetries' can't be negative");
+        }
+
+        final StatementSetter parametersSetter = statementSetter == null ? DEFAULT_STATEMENT_SETTER : statementSetter;
+        final ParallelParser.BatchQueue writeQueue = new ParallelParser.BatchQueue(writeThreadNumber * 2);
+        final Holder<Throwable> errorHolder = new Holder<Throwable>();
+        final AtomicInteger partitionCursor = new AtomicInteger();
+        final AtomicLong result = new AtomicLong();
+        final long startTime = System.currentTimeMillis();
+        final AtomicLong lastReportTime = new AtomicLong(startTime);
+        final List<Future<?>> readFutures = new ArrayList<>(readThreadNumber);
+        final List<Future<?>> writeFutures = new ArrayList<>(writeThreadNumber);
+
+        // a dedicated pool: the readers and writers block on the queue, and must not wait for the threads of a shared pool.
+        final ExecutorService executor = Executors.newFixedThreadPool(N.min(readThreadNumber, partitions.size()) + writeThreadNumber);
+
+        try {
+            for (int i = 0; i < writeThreadNumber; i++) {
+                writeFutures.add(executor.submit(new Runnable() {
+                    @Override
+                    public void run() {
+                        Connection conn = null;
+                        Connection txConn = null;
+                        PreparedStatement stmt = null;
+
+                        try {
+                            conn = targetDataSource.getConnection();
+                            stmt = conn.prepareStatement(insertSql);
+                            txConn = conn.getAutoCommit() ? null : conn;
+                            Object[] rows = null;
+
+                            while ((rows = writeQueue.take()) != null) {
+                                executeBatch(stmt, rows, parametersSetter, maxRetries, txConn);
+
+                                reportProgress(result.addAndGet(rows.length), startTime, lastReportTime);
+                            }
+                        } catch (Throwable e) {
+                            if (txConn != null) {
+                                try {
+                                    txConn.rollback();
+                                } catch (SQLException e2) {
+                                    e.addSuppressed(e2);
+                                }
+                            }
+
+                            setError(errorHolder, e);
+                            writeQueue.clearAndClose();
+                        } finally {
+                            closeQuietly(stmt, conn);
+                        }
+                    }
+                }));
+            }
+
+            for (int i = 0, len = N.min(readThreadNumber, partitions.size()); i < len; i++) {
+                readFutures.add(executor.submit(new Runnable() {
+                    @Override
+                    public void run() {
+                        int idx = 0;
+
+                        try {
+                            while (errorHolder.value() == null && (idx = partitionCursor.getAndIncrement()) < partitions.size()) {
+                                final long partitionStartTime = System.currentTimeMillis();
+                                final long rowCount = readPartition(sourceDataSource, selectSql, partitions.get(idx), fetchSize, batchSize, writeQueue,
+                                        errorHolder);
+
+                                logger.info("Partition " + (idx + 1) + "/" + partitions.size() + " " + N.toString(partitions.get(idx)) + ": " + rowCount
+                                        + " rows read in " + (System.currentTimeMillis() - partitionStartTime) + " milliseconds");
+                            }
+                        } catch (Throwable e) {
+                            setError(errorHolder, e);
+                            writeQueue.clearAndClose();
+                        }
+                    }
+                }));
+            }
+
+            for (Future<?> future : readFutures) {
+                try {
+                    future.get();
+                } catch (Throwable e) {
+                    setError(errorHolder, e);
+                }
+            }
+
+            writeQueue.close();
+
+            for (Future<?> future : writeFutures) {
+                try {
+                    future.get();
+                } catch (Throwable e) {
+                    setError(errorHolder, e);
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        if (errorHolder.value() != null) {
+            throw N.toRuntimeException(errorHolder.value());
+        }
+
+        final long elapsedTime = N.max(1, System.currentTimeMillis() - startTime);
+        logger.info(result.get() + " rows copied in " + elapsedTime + " milliseconds, " + result.get() * 1000 / elapsedTime + " rows/sec");
+
+        return result.get();
+    }
+
+    /**
+     * Reads the rows of a partition and puts them to the queue in batches.
+     * 
+     * @return the number of the read rows.
+     */
+    private static long readPartition(final javax.sql.DataSource sourceDataSource, final String selectSql, final Object[] parameters, final int fetchSize,
+            final int batchSize, final ParallelParser.BatchQueue writeQueue, final Holder<Throwable> errorHolder) throws SQLException, InterruptedException {
+        Connection conn = null;
+        PreparedStatement stmt = null;
+        ResultSet rs = null;
+        long rowCount = 0;
+
+        try {
+            conn = sourceDataSource.getConnection();
+            stmt = conn.prepareStatement(selectSql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            stmt.setFetchSize(fetchSize);
+
+            DEFAULT_STATEMENT_SETTER.setParameters(null, stmt, parameters);
+
+            rs = stmt.executeQuery();
+
+            final int columnCount = rs.getMetaData().getColumnCount();
+            Object[] batch = new Object[batchSize];
+            Object[] row = null;
+            int size = 0;
+
+            while (errorHolder.value() == null && rs.next()) {
+                row = new Object[columnCount];
+
+                for (int i = 0; i < columnCount; i++) {
+                    row[i] = rs.getObject(i + 1);
+                }
+
+                batch[size++] = row;
+
+                if (size == batchSize) {
+                    writeQueue.put(batch);
+                    rowCount += size;
+
+                    batch = new Object[batchSize];
+                    size = 0;
+                }
+            }
+
+            if (size > 0 && errorHolder.value() == null) {
+                writeQueue.put(N.copyOf(batch, size));
+                rowCount += size;
+            }
+        } finally {
+            closeQuietly(rs, stmt, conn);
+        }
+
+        return rowCount;
+    }
+
+    /**
+     * Splits the keys between <code>minKey</code> and <code>maxKey</code> into ranges of (almost) the same size,
+     * for {@link #copy(javax.sql.DataSource, String, List, int, int, javax.sql.DataSource, String, int, int, int, StatementSetter)}.
+     * Each range is <code>{lowerKey, upperKey}</code>, both inclusive, for the select sql like: <code>... WHERE id BETWEEN ? AND ?</code>.
+     * 
+     * @param minKey
+     * @param maxKey
+     * @param partitionNum
+     * @return
+     */
+    public static List<Object[]> splitByKeyRange(final long minKey, final long maxKey, final int partitionNum) {
+        if (partitionNum < 1 || maxKey < minKey) {
+            throw new IllegalArgumentException("'partitionNum' must be bigger than 0 and 'maxKey' can't be less than 'minKey'");
+        }
+
+        final List<Object[]> result = new ArrayList<>(partitionNum);
+
+        if (partitionNum == 1) {
+            result.add(new Object[] { minKey, maxKey });
+            return result;
+        }
+
+        // maxKey - minKey can exceed Long.MAX_VALUE. It's divided as an unsigned value, and the step (at most 2^63) is compared as unsigned.
+        final long step = BigInteger.valueOf(maxKey).subtract(BigInteger.valueOf(minKey)).divide(BigInteger.valueOf(partitionNum)).longValue() + 1;
+        long lowerKey = minKey;
+        long upperKey = 0;
+
+        do {
+            upperKey = (maxKey - lowerKey) + Long.MIN_VALUE < step + Long.MIN_VALUE ? maxKey : lowerKey + step - 1;
+            result.add(new Object[] { lowerKey, upperKey });
+            lowerKey = upperKey + 1;
+        } while (upperKey < maxKey);
+
+        return result;
+    }
+
+    /**
+     * Splits <code>totalCount</code> rows into windows of (almost) the same size,
+     * for {@link #copy(javax.sql.DataSource, String, List, int, int, javax.sql.DataSource, String, int, int, int, StatementSetter)}.
+     * Each window is <code>{offset, count}</code>, for the select sql like: <code>... ORDER BY id OFFSET ? ROWS FETCH NEXT ? ROWS ONLY</code>
+     * or <code>... ORDER BY id LIMIT ?, ?</code>. The rows must be sorted by a unique key, otherwise the windows may overlap.
+     * 
+     * @param totalCount
+     * @param partitionNum
+     * @return
+     */
+    public static List<Object[]> splitByOffset(final long totalCount, final int partitionNum) {
+        if (partitionNum < 1 || totalCount < 0) {
+            throw new IllegalArgumentException("'partitionNum' must be bigger than 0 and 'totalCount' can't be negative");
+        }
+
+        final long step = N.max(1, totalCount / partitionNum + (totalCount % partitionNum == 0 ? 0 : 1));
+        final List<Object[]> result = new ArrayList<>(partitionNum);
+
+        for (long offset = 0; offset < totalCount; offset += step) {
+            result.add(new Object[] { offset, N.min(step, totalCount - offset) });
+        }
+
+        return result;
+    }
+
     public static boolean doesTableExist(final Connection conn, final String tableName) {
         try {
             executeQuery(conn, "SELECT 1 FROM " + tableName + " WHERE 1 > 2");
@@ -2171,6 +2873,256 @@ public final class JdbcUtil {
         return false;
     }
 
+    /**
+     * Maps the current row of a <code>ResultSet</code> to an object. The cursor shouldn't be moved by the mapper.
+     *
+     * @param <T>
+     */
+    public static interface RowMapper<T> {
+        T map(ResultSet rs) throws SQLException;
+    }
+
+    /**
+     * Reads the values of a column. The values of <code>int/long/double</code> columns are read by <code>getInt/getLong/getDouble</code> and saved in 
+     * <code>IntList/LongList/DoubleList</code>, until the first <code>null</code> value is found.
+     */
+    static abstract class ColumnExtractor {
+        static final int OBJECT = 0;
+        static final int INT = 1;
+        static final int LONG = 2;
+        static final int DOUBLE = 3;
+
+        List<Object> values = null;
+
+        static int typeOf(final String columnClassName) {
+            if (Integer.class.getName().equals(columnClassName)) {
+                return INT;
+            } else if (Long.class.getName().equals(columnClassName)) {
+                return LONG;
+            } else if (Double.class.getName().equals(columnClassName)) {
+                return DOUBLE;
+            } else {
+                return OBJECT;
+            }
+        }
+
+        static ColumnExtractor of(final int type) {
+            switch (type) {
+                case INT:
+                    return new IntColumnExtractor();
+
+                case LONG:
+                    return new LongColumnExtractor();
+
+                case DOUBLE:
+                    return new DoubleColumnExtractor();
+
+                default:
+                    return new ObjectColumnExtractor();
+            }
+        }
+
+        abstract void read(ResultSet rs, int columnIndex) throws SQLException;
+
+        abstract int size();
+
+        abstract Object get(int index);
+
+        /**
+         * Switches to boxed values when <code>null</code> is found.
+         */
+        void readNull() {
+            final int size = size();
+            values = new ArrayList<>(N.max(10, size * 2));
+
+            for (int i = 0; i < size; i++) {
+                values.add(get(i));
+            }
+
+            values.add(null);
+        }
+
+        List<Object> toList() {
+            if (values != null) {
+                return values;
+            }
+
+            return new PrimitiveColumnList(this);
+        }
+    }
+
+    static final class ObjectColumnExtractor extends ColumnExtractor {
+        ObjectColumnExtractor() {
+            values = new ArrayList<>();
+        }
+
+        @Override
+        void read(final ResultSet rs, final int columnIndex) throws SQLException {
+            values.add(rs.getObject(columnIndex));
+        }
+
+        @Override
+        int size() {
+            return values.size();
+        }
+
+        @Override
+        Object get(int index) {
+            return values.get(index);
+        }
+    }
+
+    static final class IntColumnExtractor extends ColumnExtractor {
+        private final IntList list = new IntList();
+
+        @Override
+        void read(final ResultSet rs, final int columnIndex) throws SQLException {
+            if (values != null) {
+                values.add(rs.getObject(columnIndex));
+            } else {
+                final int value = rs.getInt(columnIndex);
+
+                if (value == 0 && rs.wasNull()) {
+                    readNull();
+                } else {
+                    list.add(value);
+                }
+            }
+        }
+
+        @Override
+        int size() {
+            return list.size();
+        }
+
+        @Override
+        Object get(int index) {
+            return list.get(index);
+        }
+    }
+
+    static final class LongColumnExtractor extends ColumnExtractor {
+        private final LongList list = new LongList();
+
+        @Override
+        void read(final ResultSet rs, final int columnIndex) throws SQLException {
+            if (values != null) {
+                values.add(rs.getObject(columnIndex));
+            } else {
+                final long value = rs.getLong(columnIndex);
+
+                if (value == 0 && rs.wasNull()) {
+                    readNull();
+                } else {
+                    list.add(value);
+                }
+            }
+        }
+
+        @Override
+        int size() {
+            return list.size();
+        }
+
+        @Override
+        Object get(int index) {
+            return list.get(index);
+        }
+    }
+
+    static final class DoubleColumnExtractor extends ColumnExtractor {
+        private final DoubleList list = new DoubleList();
+
+        @Override
+        void read(final ResultSet rs, final int columnIndex) throws SQLException {
+            if (values != null) {
+                values.add(rs.getObject(columnIndex));
+            } else {
+                final double value = rs.getDouble(columnIndex);
+
+                if (value == 0 && rs.wasNull()) {
+                    readNull();
+                } else {
+                    list.add(value);
+                }
+            }
+        }
+
+        @Override
+        int size() {
+            return list.size();
+        }
+
+        @Override
+        Object get(int index) {
+            return list.get(index);
+        }
+    }
+
+    /**
+     * A column backed by the primitive list of a {@code ColumnExtractor}. Values are boxed when they're read.
+     * The values are copied to an <code>ArrayList</code> when the column is modified.
+     */
+    static final class PrimitiveColumnList extends AbstractList<Object> implements RandomAccess {
+        private final ColumnExtractor extractor;
+        private List<Object> values = null;
+
+        PrimitiveColumnList(final ColumnExtractor extractor) {
+            this.extractor = extractor;
+        }
+
+        @Override
+        public Object get(int index) {
+            if (values != null) {
+                return values.get(index);
+            }
+
+            if (index < 0 || index >= extractor.size()) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + extractor.size());
+            }
+
+            return extractor.get(index);
+        }
+
+        @Override
+        public int size() {
+            return values == null ? extractor.size() : values.size();
+        }
+
+        @Override
+        public Object set(int index, Object element) {
+            return modifiable().set(index, element);
+        }
+
+        @Override
+        public void add(int index, Object element) {
+            modifiable().add(index, element);
+            modCount++;
+        }
+
+        @Override
+        public Object remove(int index) {
+            final Object result = modifiable().remove(index);
+            modCount++;
+            return result;
+        }
+
+        private List<Object> modifiable() {
+            if (values == null) {
+                final int size = extractor.size();
+                final List<Object> list = new ArrayList<>(N.max(10, size + size / 2));
+
+                for (int i = 0; i < size; i++) {
+                    list.add(extractor.get(i));
+                }
+
+                values = list;
+            }
+
+            return values;
+        }
+    }
+
     static class SimpleDataSource implements DataSource {
         static final String PRIMARY = "primary";
 
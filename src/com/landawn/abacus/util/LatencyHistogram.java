@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2015, Haiyang Li.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.landawn.abacus.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A thread safe histogram of non-negative values, e.g. latencies in nanoseconds. Values are counted in log-linear buckets:
+ * <code>2^subBucketBits</code> buckets for each power of 2, so a percentile is accurate within <code>1 / 2^subBucketBits</code>.
+ * The buckets are allocated once and {@code add} doesn't create any object.
+ *
+ * @since 0.9.5
+ *
+ * @author Haiyang Li
+ */
+final class LatencyHistogram {
+    static final int DEFAULT_SUB_BUCKET_BITS = 2;
+
+    private final int subBucketBits;
+    private final int subBucketNum;
+    private final int bucketNum;
+    private final AtomicLongArray buckets;
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong max = new AtomicLong();
+
+    LatencyHistogram() {
+        this(DEFAULT_SUB_BUCKET_BITS);
+    }
+
+    /**
+     * 
+     * @param subBucketBits from 0 to 10. 2 for 25% accuracy, 5 for about 3%.
+     */
+    LatencyHistogram(final int subBucketBits) {
+        if (subBucketBits < 0 || subBucketBits > 10) {
+            throw new IllegalArgumentException("'subBucketBits' must be between 0 and 10: " + subBucketBits);
+        }
+
+        this.subBucketBits = subBucketBits;
+        this.subBucketNum = 1 << subBucketBits;
+        this.bucketNum = (64 - subBucketBits) * subBucketNum;
+        this.buckets = new AtomicLongArray(bucketNum);
+    }
+
+    void add(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+
+        buckets.incrementAndGet(indexOf(value));
+        count.incrementAndGet();
+        total.addAndGet(value);
+
+        long m = 0;
+
+        while (value > (m = max.get()) && max.compareAndSet(m, value) == false) {
+        }
+
+        while (value < (m = min.get()) && min.compareAndSet(m, value) == false) {
+        }
+    }
+
+    long count() {
+        return count.get();
+    }
+
+    long total() {
+        return total.get();
+    }
+
+    /**
+     * Returns the min value, or 0 if no value is added.
+     */
+    long min() {
+        return count.get() == 0 ? 0 : min.get();
+    }
+
+    long max() {
+        return max.get();
+    }
+
+    long avg() {
+        final long n = count.get();
+
+        return n == 0 ? 0 : total.get() / n;
+    }
+
+    /**
+     * Returns the upper bound of the bucket where the specified percentile falls in, or 0 if no value is added.
+     *
+     * @param percentile between 0 and 1, e.g. 0.99.
+     * @return
+     */
+    long percentile(final double percentile) {
+        final long n = count.get();
+
+        if (n == 0) {
+            return 0;
+        }
+
+        final long rank = N.max(1, (long) Math.ceil(n * percentile));
+        long sum = 0;
+
+        for (int i = 0; i < bucketNum; i++) {
+            sum += buckets.get(i);
+
+            if (sum >= rank) {
+                return N.min(upperBoundOf(i), max.get());
+            }
+        }
+
+        return max.get();
+    }
+
+    void reset() {
+        for (int i = 0; i < bucketNum; i++) {
+            buckets.set(i, 0);
+        }
+
+        count.set(0);
+        total.set(0);
+        min.set(Long.MAX_VALUE);
+        max.set(0);
+    }
+
+    int indexOf(final long value) {
+        if (value < subBucketNum) {
+            return (int) value;
+        }
+
+        final int exp = 63 - Long.numberOfLeadingZeros(value);
+        final int sub = (int) (value >>> (exp - subBucketBits)) & (subBucketNum - 1);
+
+        return (exp - subBucketBits + 1) * subBucketNum + sub;
+    }
+
+    long upperBoundOf(final int index) {
+        if (index < subBucketNum) {
+            return index;
+        }
+
+        final int shift = index / subBucketNum - 1;
+        final long sub = index % subBucketNum;
+        final long upper = ((subBucketNum + sub + 1) << shift) - 1;
+
+        return upper < 0 ? Long.MAX_VALUE : upper;
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2015, Haiyang Li.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.landawn.abacus.util;
+
+/**
+ * A set of <code>long</code> values by open addressing (linear probing), without boxing the values.
+ * The values are kept in insertion order in an array, and the hash table only keeps the indexes of the values.
+ * It's used to de-duplicate or look up the primitive values. The values can't be removed.
+ * <br />
+ * <code>double</code> values can be added by {@code Double.doubleToLongBits}, which is consistent with {@code Double.equals}.
+ *
+ * @since 0.9.5
+ *
+ * @author Haiyang Li
+ */
+final class LongHashSet {
+    private long[] values;
+    // the index + 1 of the value in 'values', or 0 if the slot is empty.
+    private int[] table;
+    private int size;
+
+    LongHashSet() {
+        this(16);
+    }
+
+    LongHashSet(final int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("'expectedSize' can't be negative: " + expectedSize);
+        }
+
+        this.values = new long[N.max(expectedSize, 4)];
+        this.table = new int[tableSizeFor(expectedSize)];
+    }
+
+    /**
+     *
+     * @param value
+     * @return <code>true</code> if the value is not in this set before.
+     */
+    boolean add(final long value) {
+        final int mask = table.length - 1;
+        int slot = hash(value) & mask;
+        int idx = 0;
+
+        while ((idx = table[slot]) != 0) {
+            if (values[idx - 1] == value) {
+                return false;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+
+        if (size == values.length) {
+            values = N.copyOf(values, newCapacity(size));
+        }
+
+        values[size++] = value;
+        table[slot] = size;
+
+        if (size > (table.length >> 2) * 3) {
+            rehash(table.length << 1);
+        }
+
+        return true;
+    }
+
+    boolean contains(final long value) {
+        final int mask = table.length - 1;
+        int slot = hash(value) & mask;
+        int idx = 0;
+
+        while ((idx = table[slot]) != 0) {
+            if (values[idx - 1] == value) {
+                return true;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+
+        return false;
+    }
+
+    /**
+     *
+     * @param index the index in insertion order.
+     * @return
+     */
+    long get(final int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+
+        return values[index];
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     *
+     * @return the values in insertion order.
+     */
+    long[] toArray() {
+        return N.copyOfRange(values, 0, size);
+    }
+
+    void clear() {
+        N.fill(table, 0);
+        size = 0;
+    }
+
+    private void rehash(final int newTableSize) {
+        final int[] newTable = new int[newTableSize];
+        final int mask = newTableSize - 1;
+        int slot = 0;
+
+        for (int i = 0; i < size; i++) {
+            slot = hash(values[i]) & mask;
+
+            while (newTable[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+
+            newTable[slot] = i + 1;
+        }
+
+        table = newTable;
+    }
+
+    static int hash(final long value) {
+        final long h = value * 0x9E3779B97F4A7C15L;
+
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private static int tableSizeFor(final int expectedSize) {
+        return IntHashSet.tableSizeFor(expectedSize);
+    }
+
+    private static int newCapacity(final int size) {
+        return IntHashSet.newCapacity(size);
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2015, Haiyang Li.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.landawn.abacus.util;
+
+/**
+ * A map from <code>long</code> key to <code>int</code> value by open addressing, without boxing the keys or values, for example, to count the occurrences.
+ * <code>double</code> keys can be put by {@code Double.doubleToLongBits}, which is consistent with {@code Double.equals}.
+ * The entries are kept in insertion order, and can be iterated by {@link #keyAt(int)} and {@link #valueAt(int)}. The entries can't be removed.
+ *
+ * @since 0.9.5
+ *
+ * @author Haiyang Li
+ * @see LongHashSet
+ */
+final class LongIntMap {
+    private long[] keys;
+    private int[] values;
+    // the index + 1 of the entry in 'keys/values', or 0 if the slot is empty.
+    private int[] table;
+    private int size;
+
+    LongIntMap() {
+        this(16);
+    }
+
+    LongIntMap(final int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("'expectedSize' can't be negative: " + expectedSize);
+        }
+
+        this.keys = new long[N.max(expectedSize, 4)];
+        this.values = new int[keys.length];
+        this.table = new int[IntHashSet.tableSizeFor(expectedSize)];
+    }
+
+    int get(final long key, final int defaultValue) {
+        final int idx = indexOf(key);
+
+        return idx < 0 ? defaultValue : values[idx];
+    }
+
+    boolean containsKey(final long key) {
+        return indexOf(key) >= 0;
+    }
+
+    /**
+     *
+     * @param key
+     * @param value
+     * @return the previous value, or <code>defaultValue</code> if there is no entry for the key.
+     */
+    int put(final long key, final int value, final int defaultValue) {
+        final int slot = slotOf(key);
+        final int idx = table[slot];
+
+        if (idx != 0) {
+            final int oldValue = values[idx - 1];
+            values[idx - 1] = value;
+            return oldValue;
+        }
+
+        insert(slot, key, value);
+
+        return defaultValue;
+    }
+
+    /**
+     * Adds <code>delta</code> to the value of the key, or puts <code>delta</code> if there is no entry for the key.
+     *
+     * @param key
+     * @param delta
+     * @return the new value.
+     */
+    int addAndGet(final long key, final int delta) {
+        final int slot = slotOf(key);
+        final int idx = table[slot];
+
+        if (idx != 0) {
+            return values[idx - 1] += delta;
+        }
+
+        insert(slot, key, delta);
+
+        return delta;
+    }
+
+    /**
+     *
+     * @param index the index in insertion order.
+     * @return
+     */
+    long keyAt(final int index) {
+        checkIndex(index);
+
+        return keys[index];
+    }
+
+    /**
+     *
+     * @param index the index in insertion order.
+     * @return
+     */
+    int valueAt(final int index) {
+        checkIndex(index);
+
+        return values[index];
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void clear() {
+        N.fill(table, 0);
+        size = 0;
+    }
+
+    private int indexOf(final long key) {
+        final int idx = table[slotOf(key)];
+
+        return idx - 1;
+    }
+
+    /**
+     * Returns the slot of the key, or the empty slot where the key should be inserted.
+     */
+    private int slotOf(final long key) {
+        final int mask = table.length - 1;
+        int slot = LongHashSet.hash(key) & mask;
+        int idx = 0;
+
+        while ((idx = table[slot]) != 0 && keys[idx - 1] != key) {
+            slot = (slot + 1) & mask;
+        }
+
+        return slot;
+    }
+
+    private void insert(final int slot, final long key, final int value) {
+        if (size == keys.length) {
+            final int newCapacity = IntHashSet.newCapacity(size);
+            keys = N.copyOf(keys, newCapacity);
+            values = N.copyOf(values, newCapacity);
+        }
+
+        keys[size] = key;
+        values[size++] = value;
+        table[slot] = size;
+
+        if (size > (table.length >> 2) * 3) {
+            rehash(table.length << 1);
+        }
+    }
+
+    private void rehash(final int newTableSize) {
+        final int[] newTable = new int[newTableSize];
+        final int mask = newTableSize - 1;
+        int slot = 0;
+
+        for (int i = 0; i < size; i++) {
+            slot = LongHashSet.hash(keys[i]) & mask;
+
+            while (newTable[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+
+            newTable[slot] = i + 1;
+        }
+
+        table = newTable;
+    }
+
+    private void checkIndex(final int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+}
@@ -415,13 +415,7 @@ public final class LongList extends PrimitiveNumberList<LongConsumer, LongPredic
     private int batchRemove(LongList c, boolean complement) {
         final long[] elementData = this.elementData;
 
-        int w = 0;
-
-        for (int i = 0; i < size; i++) {
-            if (c.contains(elementData[i]) == complement) {
-                elementData[w++] = elementData[i];
-            }
-        }
+        final int w = SetAlgebra.filter(elementData, 0, size, c.array(), 0, c.size(), complement);
 
         int numRemoved = size - w;
 
@@ -455,16 +449,38 @@ public final class LongList extends PrimitiveNumberList<LongConsumer, LongPredic
 
     @Override
     public boolean containsAll(LongList c) {
-        final long[] srcElementData = c.array();
+        return SetAlgebra.containsAll(elementData, 0, size, c.array(), 0, c.size());
+    }
 
-        for (int i = 0, srcSize = c.size(); i < srcSize; i++) {
+    /**
+     * 
+     * @param c
+     * @return <code>true</code> if this list and the specified list have no elements in common.
+     */
+    public boolean disjoint(LongList c) {
+        return SetAlgebra.disjoint(elementData, 0, size, c.array(), 0, c.size(), false);
+    }
 
-            if (!contains(srcElementData[i])) {
-                return false;
-            }
-        }
+    /**
+     * Returns a new list with the elements in this list which are also contained in the specified list, in their original order.
+     * 
+     * @param c
+     * @return
+     * @see #retainAll(LongList)
+     */
+    public LongList intersection(LongList c) {
+        return of(SetAlgebra.intersection(elementData, 0, size, c.array(), 0, c.size()));
+    }
 
-        return true;
+    /**
+     * Returns a new list with the elements in this list which are not contained in the specified list, in their original order.
+     * 
+     * @param c
+     * @return
+     * @see #removeAll(LongList)
+     */
+    public LongList difference(LongList c) {
+        return of(SetAlgebra.difference(elementData, 0, size, c.array(), 0, c.size()));
     }
 
     @Override
@@ -965,9 +981,15 @@ public final class LongList extends PrimitiveNumberList<LongConsumer, LongPredic
         checkIndex(fromIndex, toIndex);
 
         final Multiset<Long> multiset = supplier.apply(N.min(16, toIndex - fromIndex));
+        // count the elements without boxing, then add the distinct elements to the multiset.
+        final LongIntMap occurrences = new LongIntMap(N.min(16, toIndex - fromIndex));
 
         for (int i = fromIndex; i < toIndex; i++) {
-            multiset.add(elementData[i]);
+            occurrences.addAndGet(elementData[i], 1);
+        }
+
+        for (int i = 0, size = occurrences.size(); i < size; i++) {
+            multiset.add(occurrences.keyAt(i), occurrences.valueAt(i));
         }
 
         return multiset;
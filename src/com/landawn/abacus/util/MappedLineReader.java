@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2015, Haiyang Li.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.landawn.abacus.util;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+import com.landawn.abacus.exception.AbacusIOException;
+
+/**
+ * Reads the lines in a file, or a region of it, through memory-mapped windows. The line boundaries are found in the raw bytes
+ * and the lines are returned as a reused {@link ByteLine}, so no <code>String</code> is created unless it's asked for.
+ * <br />
+ * Lines are terminated by <code>'\n'</code> or <code>"\r\n"</code>. The charset must be ASCII compatible, e.g. UTF-8 or ISO-8859-1.
+ * A file can be read by multiple threads with one reader for each of the regions returned by {@link #split(File, int)}.
+ *
+ * @since 0.9.5
+ *
+ * @author Haiyang Li
+ */
+public final class MappedLineReader implements Closeable {
+    static final int DEFAULT_WINDOW_SIZE = 64 * 1024 * 1024;
+
+    private final RandomAccessFile raf;
+    private final FileChannel channel;
+    private final long end;
+    private final int windowSize;
+    private final ByteLine line = new ByteLine();
+    private MappedByteBuffer buffer;
+    private long bufferStart;
+    private long position;
+
+    public MappedLineReader(final File file) {
+        this(file, 0, file.length());
+    }
+
+    /**
+     *
+     * @param file
+     * @param start the position of the first byte to read. It should be 0 or the position after a <code>'\n'</code>.
+     * @param end the position after the last byte to read.
+     */
+    public MappedLineReader(final File file, final long start, final long end) {
+        this(file, start, end, DEFAULT_WINDOW_SIZE);
+    }
+
+    MappedLineReader(final File file, final long start, final long end, final int windowSize) {
+        // a window of 1 byte leaves nothing to map after a line crossing its end.
+        if (start < 0 || end < start || windowSize < 2) {
+            throw new IllegalArgumentException("Invalid start: " + start + ", end: " + end + " or windowSize: " + windowSize);
+        }
+
+        try {
+            this.raf = new RandomAccessFile(file, "r");
+        } catch (IOException e) {
+            throw new AbacusIOException(e);
+        }
+
+        this.channel = raf.getChannel();
+        this.end = end;
+        this.windowSize = windowSize;
+        this.bufferStart = start;
+        this.position = start;
+    }
+
+    /**
+     * Returns the next line, or <code>null</code> if there is no more line.
+     * The returned instance is reused and its content is changed by the next call.
+     *
+     * @return
+     */
+    public ByteLine readLine() {
+        if (position >= end) {
+            return null;
+        }
+
+        if (buffer == null) {
+            map(position, windowSize);
+        }
+
+        while (true) {
+            final int from = (int) (position - bufferStart);
+            final int limit = buffer.limit();
+
+            for (int i = from; i < limit; i++) {
+                if (buffer.get(i) == '\n') {
+                    line.set(buffer, from, (i > from && buffer.get(i - 1) == '\r' ? i - 1 : i) - from);
+                    position = bufferStart + i + 1;
+
+                    return line;
+                }
+            }
+
+            if (bufferStart + limit >= end) {
+                line.set(buffer, from, (limit > from && buffer.get(limit - 1) == '\r' ? limit - 1 : limit) - from);
+                position = end;
+
+                return line;
+            }
+
+            // The line crosses the end of the window. Map the next window from the start of the line.
+            map(position, limit - from >= windowSize / 2 ? N.max(windowSize, (int) N.min(Integer.MAX_VALUE, 2L * (limit - from))) : windowSize);
+        }
+    }
+
+    private void map(final long start, final int size) {
+        try {
+            bufferStart = start;
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, N.min(end - start, size));
+        } catch (IOException e) {
+            throw new AbacusIOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        buffer = null;
+        IOUtil.close(raf);
+    }
+
+    /**
+     * Splits the file into (at most) <code>n</code> regions of about the same size. Each region starts at 0 or the position after a <code>'\n'</code>.
+     *
+     * @param file
+     * @param n
+     * @return the start positions of the regions, followed by the length of the file.
+     */
+    public static long[] split(final File file, final int n) {
+        if (n < 1) {
+            throw new IllegalArgumentException("'n' must be bigger than 0: " + n);
+        }
+
+        final long length = file.length();
+        final LongList result = new LongList(n + 1);
+        result.add(0);
+
+        if (n > 1 && length > 0) {
+            try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+                final byte[] buf = new byte[8192];
+                final long step = length / n;
+                long pos = 0;
+
+                for (int i = 1; i < n; i++) {
+                    pos = N.max(pos, step * i - 1);
+
+                    // find the first '\n' at or after pos.
+                    while (pos < length) {
+                        raf.seek(pos);
+                        final int len = raf.read(buf);
+                        int idx = -1;
+
+                        for (int j = 0; j < len; j++) {
+                            if (buf[j] == '\n') {
+                                idx = j;
+                                break;
+                            }
+                        }
+
+                        if (idx >= 0) {
+                            pos += idx + 1;
+                            break;
+                        }
+
+                        pos += len;
+                    }
+
+                    if (pos >= length) {
+                        break;
+                    }
+
+                    if (pos > result.get(result.size() - 1)) {
+                        result.add(pos);
+                    }
+                }
+            } catch (IOException e) {
+                throw new AbacusIOException(e);
+            }
+        }
+
+        result.add(length);
+
+        return result.trimToSize().array();
+    }
+}
@@ -139,6 +139,7 @@ import com.landawn.abacus.parser.XMLSerializationConfig.XSC;
 import com.landawn.abacus.type.EntityType;
 import com.landawn.abacus.type.Type;
 import com.landawn.abacus.type.TypeFactory;
+import com.landawn.abacus.util.function.BiConsumer;
 import com.landawn.abacus.util.function.BiFunction;
 import com.landawn.abacus.util.function.BooleanConsumer;
 import com.landawn.abacus.util.function.BooleanPredicate;
@@ -166,9 +167,15 @@ import com.landawn.abacus.util.function.IntFunction;
 import com.landawn.abacus.util.function.IntPredicate;
 import com.landawn.abacus.util.function.LongConsumer;
 import com.landawn.abacus.util.function.LongPredicate;
+import com.landawn.abacus.util.function.ObjDoubleConsumer;
+import com.landawn.abacus.util.function.ObjIntConsumer;
+import com.landawn.abacus.util.function.ObjLongConsumer;
 import com.landawn.abacus.util.function.Predicate;
 import com.landawn.abacus.util.function.ShortConsumer;
 import com.landawn.abacus.util.function.ShortPredicate;
+import com.landawn.abacus.util.function.ToDoubleFunction;
+import com.landawn.abacus.util.function.ToIntFunction;
+import com.landawn.abacus.util.function.ToLongFunction;
 import com.landawn.abacus.util.stream.DoubleStream;
 import com.landawn.abacus.util.stream.FloatStream;
 
@@ -290,6 +297,9 @@ public final class N {
     private static final int POOL_SIZE = 1000;
     private static final int CLS_POOL_SIZE = 2000;
 
+    // the arrays are searched by hash set, instead of nested loops, if the product of their lengths is bigger than it.
+    private static final int MIN_SIZE_FOR_HASH_LOOKUP = 1024;
+
     public static final long ONE_SECOND = 1 * 1000L;
     public static final long TWO_SECONDS = 2 * 1000L;
     public static final long THREE_SECONDS = 3 * 1000L;
@@ -783,6 +793,8 @@ public final class N {
     private static final Map<Class<?>, Map<String, Method>> entityDeclaredPropGetMethodList = new ObjectPool<Class<?>, Map<String, Method>>(POOL_SIZE);
     private static final Map<Class<?>, Map<String, Method>> entityDeclaredPropSetMethodList = new ObjectPool<Class<?>, Map<String, Method>>(POOL_SIZE);
     private static final Map<Class<?>, Map<String, Method>> entityPropGetMethodPool = new ObjectPool<Class<?>, Map<String, Method>>(POOL_SIZE);
+    private static final Map<Class<?>, Map<String, Function<Object, Object>>> entityPropGetterPool = new ObjectPool<Class<?>, Map<String, Function<Object, Object>>>(
+            POOL_SIZE);
     private static final Map<Class<?>, Map<String, Method>> entityPropSetMethodPool = new ObjectPool<Class<?>, Map<String, Method>>(POOL_SIZE);
     private static final Map<Class<?>, Map<String, List<Method>>> entityInlinePropGetMethodPool = new ObjectPool<Class<?>, Map<String, List<Method>>>(
             POOL_SIZE);
@@ -793,6 +805,12 @@ public final class N {
     private static final Map<String, String> formalizedPropNamePool = new ObjectPool<String, String>(CLS_POOL_SIZE * 2);
     private static final Map<Method, String> methodPropNamePool = new ObjectPool<Method, String>(CLS_POOL_SIZE * 2);
     private static final Map<Method, Class<?>[]> methodTypeArgumentsPool = new ObjectPool<Method, Class<?>[]>(CLS_POOL_SIZE * 2);
+    // the accessors are pooled by the declaring class, bounded as the other class pools, then by the method in a ConcurrentHashMap,
+    // which compares the keys by '==' first. Method.equals costs more than the generated accessor.
+    private static final Map<Class<?>, Map<Method, Function<Object, Object>>> propGetterPool = new ObjectPool<Class<?>, Map<Method, Function<Object, Object>>>(
+            CLS_POOL_SIZE);
+    private static final Map<Class<?>, Map<Method, PropSetter>> propSetterPool = new ObjectPool<Class<?>, Map<Method, PropSetter>>(CLS_POOL_SIZE);
+    private static final Map<Class<?>, Map<Method, Object>> propPrimitiveGetterPool = new ObjectPool<Class<?>, Map<Method, Object>>(CLS_POOL_SIZE);
 
     private static final Map<String, String> lowerCaseWithUnderscorePropNamePool = new ObjectPool<String, String>(POOL_SIZE * 2);
     private static final Map<String, String> upperCaseWithUnderscorePropNamePool = new ObjectPool<String, String>(POOL_SIZE * 2);
@@ -2155,11 +2173,7 @@ public final class N {
      */
     @SuppressWarnings("unchecked")
     public static <T> T getPropValue(final Object entity, final Method propGetMethod) {
-        try {
-            return (T) propGetMethod.invoke(entity);
-        } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
-            throw toRuntimeException(e);
-        }
+        return (T) getPropGetter(propGetMethod).apply(entity);
     }
 
     /**
@@ -2176,17 +2190,77 @@ public final class N {
      * @param propSetMethod
      * @param propValue
      */
-    public static void setPropValue(final Object entity, final Method propSetMethod, Object propValue) {
-        try {
-            propSetMethod.invoke(entity, propValue);
-        } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
+    public static void setPropValue(final Object entity, final Method propSetMethod, final Object propValue) {
+        setPropValue(entity, propSetMethod, getPropSetter(propSetMethod), propValue);
+    }
+
+    private static void setPropValue(final Object entity, final Method propSetMethod, final PropSetter propSetter, Object propValue) {
+        // convert the value before setting it, instead of catching the exception and trying again.
+        if (propValue == null ? propSetter.isPrimitive : propSetter.paramClass.isInstance(propValue) == false) {
             propValue = N.as(ParserUtil.getEntityInfo(entity.getClass()).getPropInfo(propSetMethod.getName()).type, propValue);
+        }
 
-            try {
-                propSetMethod.invoke(entity, propValue);
-            } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e2) {
-                throw toRuntimeException(e);
+        propSetter.setter.accept(entity, propValue);
+    }
+
+    private static PropSetter getPropSetter(final Method propSetMethod) {
+        final Map<Method, PropSetter> methodPool = getMethodPool(propSetterPool, propSetMethod);
+        PropSetter propSetter = methodPool.get(propSetMethod);
+
+        if (propSetter == null) {
+            propSetter = new PropSetter(propSetMethod);
+            methodPool.put(propSetMethod, propSetter);
+        }
+
+        return propSetter;
+    }
+
+    private static <V> Map<Method, V> getMethodPool(final Map<Class<?>, Map<Method, V>> pool, final Method method) {
+        final Class<?> cls = method.getDeclaringClass();
+        Map<Method, V> methodPool = pool.get(cls);
+
+        if (methodPool == null) {
+            methodPool = new ConcurrentHashMap<>();
+            pool.put(cls, methodPool);
+        }
+
+        return methodPool;
+    }
+
+    private static final class PropSetter {
+        final Method method;
+        final BiConsumer<Object, Object> setter;
+        final Class<?> paramClass;
+        final boolean isPrimitive;
+        private Object primitiveSetter;
+
+        PropSetter(final Method propSetMethod) {
+            final Class<?> cls = propSetMethod.getParameterTypes()[0];
+
+            this.method = propSetMethod;
+            this.setter = PropAccessors.setter(propSetMethod);
+            this.isPrimitive = cls.isPrimitive();
+            this.paramClass = isPrimitive ? Array.box(cls) : cls;
+        }
+
+        /**
+         * Returns {@code ObjIntConsumer}, {@code ObjLongConsumer} or {@code ObjDoubleConsumer} for the set method of <code>int</code>, <code>long</code>
+         * or <code>double</code> property, which is created at the first call.
+         */
+        Object primitiveSetter() {
+            if (primitiveSetter == null) {
+                if (int.class.equals(method.getParameterTypes()[0])) {
+                    primitiveSetter = PropAccessors.intSetter(method);
+                } else if (long.class.equals(method.getParameterTypes()[0])) {
+                    primitiveSetter = PropAccessors.longSetter(method);
+                } else if (double.class.equals(method.getParameterTypes()[0])) {
+                    primitiveSetter = PropAccessors.doubleSetter(method);
+                } else {
+                    throw new IllegalArgumentException("Unsupported property type: " + method.getParameterTypes()[0]);
+                }
             }
+
+            return primitiveSetter;
         }
     }
 
@@ -6426,7 +6500,7 @@ public final class N {
                             if (selectPropNames == null || selectPropNames.contains(propName)) {
                                 srcPropGetMethod = getPropGetMethod(srcCls, propName);
 
-                                setPropValue(copy, propName, srcPropGetMethod.invoke(entity), ignoreUnknownProperty);
+                                setPropValue(copy, propName, getPropValue(entity, srcPropGetMethod), ignoreUnknownProperty);
                             }
                         }
                     } catch (Exception e) {
@@ -6434,12 +6508,12 @@ public final class N {
                     }
                 }
             } else {
-                Map<String, Method> srcGetterMethodList = checkPropGetMethodList(srcCls);
+                Map<String, Function<Object, Object>> srcGetterList = checkPropGetterList(srcCls);
 
                 try {
-                    for (Map.Entry<String, Method> entry : srcGetterMethodList.entrySet()) {
+                    for (Map.Entry<String, Function<Object, Object>> entry : srcGetterList.entrySet()) {
                         if (selectPropNames == null || selectPropNames.contains(entry.getKey())) {
-                            setPropValue(copy, entry.getKey(), entry.getValue().invoke(entity), ignoreUnknownProperty);
+                            setPropValue(copy, entry.getKey(), entry.getValue().apply(entity), ignoreUnknownProperty);
                         }
                     }
                 } catch (Exception e) {
@@ -6463,6 +6537,68 @@ public final class N {
         return getterMethodList;
     }
 
+    /**
+     * Returns the getters generated by {@code PropAccessors} for the property get methods of the specified class, in the same order.
+     *
+     * @param cls
+     * @return
+     */
+    private static Map<String, Function<Object, Object>> checkPropGetterList(final Class<?> cls) {
+        Map<String, Function<Object, Object>> getterList = entityPropGetterPool.get(cls);
+
+        if (getterList == null) {
+            final Map<String, Method> getterMethodList = checkPropGetMethodList(cls);
+            getterList = new LinkedHashMap<>(N.initHashCapacity(getterMethodList.size()));
+
+            for (Map.Entry<String, Method> entry : getterMethodList.entrySet()) {
+                getterList.put(entry.getKey(), getPropGetter(entry.getValue()));
+            }
+
+            entityPropGetterPool.put(cls, getterList);
+        }
+
+        return getterList;
+    }
+
+    private static Function<Object, Object> getPropGetter(final Method propGetMethod) {
+        final Map<Method, Function<Object, Object>> methodPool = getMethodPool(propGetterPool, propGetMethod);
+        Function<Object, Object> getter = methodPool.get(propGetMethod);
+
+        if (getter == null) {
+            getter = PropAccessors.getter(propGetMethod);
+            methodPool.put(propGetMethod, getter);
+        }
+
+        return getter;
+    }
+
+    /**
+     * Returns {@code ToIntFunction}, {@code ToLongFunction} or {@code ToDoubleFunction} for the get method of <code>int</code>, <code>long</code> or
+     * <code>double</code> property.
+     */
+    private static Object getPropPrimitiveGetter(final Method propGetMethod) {
+        final Map<Method, Object> methodPool = getMethodPool(propPrimitiveGetterPool, propGetMethod);
+        Object getter = methodPool.get(propGetMethod);
+
+        if (getter == null) {
+            final Class<?> propClass = propGetMethod.getReturnType();
+
+            if (int.class.equals(propClass)) {
+                getter = PropAccessors.intGetter(propGetMethod);
+            } else if (long.class.equals(propClass)) {
+                getter = PropAccessors.longGetter(propGetMethod);
+            } else if (double.class.equals(propClass)) {
+                getter = PropAccessors.doubleGetter(propGetMethod);
+            } else {
+                throw new IllegalArgumentException("Unsupported property type: " + propClass);
+            }
+
+            methodPool.put(propGetMethod, getter);
+        }
+
+        return getter;
+    }
+
     @SuppressWarnings("unchecked")
     public static <T> T clone(final T entity) {
         return (T) clone(entity.getClass(), entity);
@@ -6570,17 +6706,17 @@ public final class N {
                 throw new AbacusException(e);
             }
         } else {
-            final Map<String, Method> getterMethodList = checkPropGetMethodList(sourceEntity.getClass());
+            final Map<String, Function<Object, Object>> getterList = checkPropGetterList(sourceEntity.getClass());
 
             String propName = null;
             Object propValue = null;
 
             try {
-                for (Map.Entry<String, Method> entry : getterMethodList.entrySet()) {
+                for (Map.Entry<String, Function<Object, Object>> entry : getterList.entrySet()) {
                     propName = entry.getKey();
 
                     if (selectPropNames == null || selectPropNames.contains(propName)) {
-                        propValue = entry.getValue().invoke(sourceEntity);
+                        propValue = entry.getValue().apply(sourceEntity);
 
                         if (propValue == null) {
                             continue;
@@ -11859,7 +11995,7 @@ public final class N {
                                     continue;
                                 }
 
-                                propValue = propGetMethod.invoke(entity);
+                                propValue = getPropValue(entity, propGetMethod);
 
                                 if (ignoreNullProperty && (propValue == null)) {
                                     continue;
@@ -11880,7 +12016,7 @@ public final class N {
                                     continue;
                                 }
 
-                                propValue = propGetMethod.invoke(entity);
+                                propValue = getPropValue(entity, propGetMethod);
 
                                 if (ignoreNullProperty && (propValue == null)) {
                                     continue;
@@ -11901,7 +12037,7 @@ public final class N {
                                     continue;
                                 }
 
-                                propValue = propGetMethod.invoke(entity);
+                                propValue = getPropValue(entity, propGetMethod);
 
                                 if (ignoreNullProperty && (propValue == null)) {
                                     continue;
@@ -11921,21 +12057,21 @@ public final class N {
                 }
             }
         } else {
-            final Map<String, Method> getterMethodList = checkPropGetMethodList(entity.getClass());
+            final Map<String, Function<Object, Object>> getterList = checkPropGetterList(entity.getClass());
             String propName = null;
             Object propValue = null;
 
             try {
                 switch (keyNamingPolicy) {
                     case CAMEL_CASE: {
-                        for (Map.Entry<String, Method> entry : getterMethodList.entrySet()) {
+                        for (Map.Entry<String, Function<Object, Object>> entry : getterList.entrySet()) {
                             propName = entry.getKey();
 
                             if (hasIgnoredPropNames && ignoredPropNames.contains(propName)) {
                                 continue;
                             }
 
-                            propValue = entry.getValue().invoke(entity);
+                            propValue = entry.getValue().apply(entity);
 
                             if (ignoreNullProperty && (propValue == null)) {
                                 continue;
@@ -11948,14 +12084,14 @@ public final class N {
                     }
 
                     case LOWER_CASE_WITH_UNDERSCORE: {
-                        for (Map.Entry<String, Method> entry : getterMethodList.entrySet()) {
+                        for (Map.Entry<String, Function<Object, Object>> entry : getterList.entrySet()) {
                             propName = entry.getKey();
 
                             if (hasIgnoredPropNames && ignoredPropNames.contains(propName)) {
                                 continue;
                             }
 
-                            propValue = entry.getValue().invoke(entity);
+                            propValue = entry.getValue().apply(entity);
 
                             if (ignoreNullProperty && (propValue == null)) {
                                 continue;
@@ -11968,14 +12104,14 @@ public final class N {
                     }
 
                     case UPPER_CASE_WITH_UNDERSCORE: {
-                        for (Map.Entry<String, Method> entry : getterMethodList.entrySet()) {
+                        for (Map.Entry<String, Function<Object, Object>> entry : getterList.entrySet()) {
                             propName = entry.getKey();
 
                             if (hasIgnoredPropNames && ignoredPropNames.contains(propName)) {
                                 continue;
                             }
 
-                            propValue = entry.getValue().invoke(entity);
+                            propValue = entry.getValue().apply(entity);
 
                             if (ignoreNullProperty && (propValue == null)) {
                                 continue;
@@ -12027,6 +12163,247 @@ public final class N {
         return resultList;
     }
 
+    public static Map<String, Object> entity2Columns(final Class<?> entityClass, final Collection<?> entities) {
+        return entity2Columns(entityClass, entities, null, NamingPolicy.CAMEL_CASE);
+    }
+
+    /**
+     * Converts the entities to columns: property name -> an array of the property values, in the order of the entities.
+     * The type of the array is the property type, for example: <code>int[]</code> for <code>int</code> property, <code>String[]</code> for {@code String} property.
+     * The property values are read column by column, by the getters generated once for the class, without creating a <code>Map</code> for each entity,
+     * or boxing the values of <code>int/long/double</code> properties. {@code DirtyMarker.signedPropNames()} is not checked.
+     *
+     * @param entityClass
+     * @param entities the entities must be the instances of <code>entityClass</code>.
+     * @param ignoredPropNames
+     * @param keyNamingPolicy
+     * @return
+     * @see #columns2Entity(Class, Map)
+     */
+    @SuppressWarnings("unchecked")
+    public static Map<String, Object> entity2Columns(final Class<?> entityClass, final Collection<?> entities, final Collection<String> ignoredPropNames,
+            final NamingPolicy keyNamingPolicy) {
+        final Map<String, Method> getterMethodList = checkPropGetMethodList(entityClass);
+        final boolean hasIgnoredPropNames = N.notNullOrEmpty(ignoredPropNames);
+        final int size = entities.size();
+        final Map<String, Object> columns = new LinkedHashMap<>(N.initHashCapacity(getterMethodList.size()));
+        String propName = null;
+        Method propGetMethod = null;
+        Class<?> propClass = null;
+        Object column = null;
+        int i = 0;
+
+        for (Map.Entry<String, Method> entry : getterMethodList.entrySet()) {
+            propName = entry.getKey();
+
+            if (hasIgnoredPropNames && ignoredPropNames.contains(propName)) {
+                continue;
+            }
+
+            propGetMethod = entry.getValue();
+            propClass = propGetMethod.getReturnType();
+            i = 0;
+
+            if (int.class.equals(propClass)) {
+                final ToIntFunction<Object> getter = (ToIntFunction<Object>) getPropPrimitiveGetter(propGetMethod);
+                final int[] a = new int[size];
+
+                for (Object entity : entities) {
+                    a[i++] = getter.applyAsInt(entity);
+                }
+
+                column = a;
+            } else if (long.class.equals(propClass)) {
+                final ToLongFunction<Object> getter = (ToLongFunction<Object>) getPropPrimitiveGetter(propGetMethod);
+                final long[] a = new long[size];
+
+                for (Object entity : entities) {
+                    a[i++] = getter.applyAsLong(entity);
+                }
+
+                column = a;
+            } else if (double.class.equals(propClass)) {
+                final ToDoubleFunction<Object> getter = (ToDoubleFunction<Object>) getPropPrimitiveGetter(propGetMethod);
+                final double[] a = new double[size];
+
+                for (Object entity : entities) {
+                    a[i++] = getter.applyAsDouble(entity);
+                }
+
+                column = a;
+            } else if (propClass.isPrimitive()) {
+                final Function<Object, Object> getter = getPropGetter(propGetMethod);
+                column = Array.newInstance(propClass, size);
+
+                for (Object entity : entities) {
+                    Array.set(column, i++, getter.apply(entity));
+                }
+            } else {
+                final Function<Object, Object> getter = getPropGetter(propGetMethod);
+                final Object[] a = Array.newInstance(propClass, size);
+
+                for (Object entity : entities) {
+                    a[i++] = getter.apply(entity);
+                }
+
+                column = a;
+            }
+
+            switch (keyNamingPolicy) {
+                case CAMEL_CASE:
+                    columns.put(propName, column);
+                    break;
+
+                case LOWER_CASE_WITH_UNDERSCORE:
+                    columns.put(toLowerCaseWithUnderscore(propName), column);
+                    break;
+
+                case UPPER_CASE_WITH_UNDERSCORE:
+                    columns.put(toUpperCaseWithUnderscore(propName), column);
+                    break;
+
+                default:
+                    throw new IllegalArgumentException("Unsupported NamingPolicy: " + keyNamingPolicy);
+            }
+        }
+
+        return columns;
+    }
+
+    public static <T> List<T> columns2Entity(final Class<T> targetClass, final Map<String, ?> columns) {
+        return columns2Entity(targetClass, columns, N.isDirtyMarker(targetClass) == false, true);
+    }
+
+    /**
+     * Creates the entities from the columns: property name -> the property values in an array or a {@code Collection}, for example, returned by
+     * {@link #entity2Columns(Class, Collection)}. All the columns must have the same length. The set method of each column is found once,
+     * instead of for each entity.
+     *
+     * @param targetClass
+     * @param columns
+     * @param ignoreNullProperty
+     * @param ignoreUnknownProperty
+     * @return
+     */
+    public static <T> List<T> columns2Entity(final Class<T> targetClass, final Map<String, ?> columns, final boolean ignoreNullProperty,
+            final boolean ignoreUnknownProperty) {
+        checkEntityClass(targetClass);
+
+        int size = -1;
+
+        for (Map.Entry<String, ?> entry : columns.entrySet()) {
+            final Object column = entry.getValue();
+            final int len = column instanceof Collection ? ((Collection<?>) column).size() : Array.getLength(column);
+
+            if (size < 0) {
+                size = len;
+            } else if (len != size) {
+                throw new IllegalArgumentException("The length of column: " + entry.getKey() + " is " + len + ", not " + size);
+            }
+        }
+
+        final List<T> entityList = new ArrayList<>(N.max(size, 0));
+
+        for (int i = 0; i < size; i++) {
+            entityList.add(newInstance(targetClass));
+        }
+
+        String propName = null;
+        Method propSetMethod = null;
+        PropSetter propSetter = null;
+        Object[] propValues = null;
+        Object propValue = null;
+
+        for (Map.Entry<String, ?> entry : columns.entrySet()) {
+            propName = entry.getKey();
+            propSetMethod = N.getPropSetMethod(targetClass, propName);
+            propSetter = propSetMethod == null ? null : getPropSetter(propSetMethod);
+
+            if (propSetter != null && setPrimitiveColumn(entityList, propSetter, entry.getValue())) {
+                continue;
+            }
+
+            propValues = toObjectArray(entry.getValue());
+
+            for (int i = 0; i < size; i++) {
+                propValue = propValues[i];
+
+                if (ignoreNullProperty && (propValue == null)) {
+                    continue;
+                }
+
+                if (propSetter == null) {
+                    setPropValue(entityList.get(i), propName, propValue, ignoreUnknownProperty);
+                } else {
+                    setPropValue(entityList.get(i), propSetMethod, propSetter, propValue);
+                }
+            }
+        }
+
+        return entityList;
+    }
+
+    /**
+     * Sets the values of <code>int[]/long[]/double[]</code> column to the <code>int/long/double</code> property without boxing them.
+     *
+     * @return false if the column is not a primitive array, or the property type doesn't match.
+     */
+    @SuppressWarnings("unchecked")
+    private static boolean setPrimitiveColumn(final List<?> entityList, final PropSetter propSetter, final Object column) {
+        if (column instanceof int[] && int.class.equals(propSetter.method.getParameterTypes()[0])) {
+            final ObjIntConsumer<Object> setter = (ObjIntConsumer<Object>) propSetter.primitiveSetter();
+            final int[] a = (int[]) column;
+
+            for (int i = 0, len = a.length; i < len; i++) {
+                setter.accept(entityList.get(i), a[i]);
+            }
+        } else if (column instanceof long[] && long.class.equals(propSetter.method.getParameterTypes()[0])) {
+            final ObjLongConsumer<Object> setter = (ObjLongConsumer<Object>) propSetter.primitiveSetter();
+            final long[] a = (long[]) column;
+
+            for (int i = 0, len = a.length; i < len; i++) {
+                setter.accept(entityList.get(i), a[i]);
+            }
+        } else if (column instanceof double[] && double.class.equals(propSetter.method.getParameterTypes()[0])) {
+            final ObjDoubleConsumer<Object> setter = (ObjDoubleConsumer<Object>) propSetter.primitiveSetter();
+            final double[] a = (double[]) column;
+
+            for (int i = 0, len = a.length; i < len; i++) {
+                setter.accept(entityList.get(i), a[i]);
+            }
+        } else {
+            return false;
+        }
+
+        return true;
+    }
+
+    private static Object[] toObjectArray(final Object column) {
+        if (column instanceof Object[]) {
+            return (Object[]) column;
+        } else if (column instanceof Collection) {
+            return ((Collection<?>) column).toArray();
+        } else if (column instanceof int[]) {
+            return Array.box((int[]) column);
+        } else if (column instanceof long[]) {
+            return Array.box((long[]) column);
+        } else if (column instanceof double[]) {
+            return Array.box((double[]) column);
+        } else if (column instanceof boolean[]) {
+            return Array.box((boolean[]) column);
+        } else if (column instanceof char[]) {
+            return Array.box((char[]) column);
+        } else if (column instanceof byte[]) {
+            return Array.box((byte[]) column);
+        } else if (column instanceof short[]) {
+            return Array.box((short[]) column);
+        } else if (column instanceof float[]) {
+            return Array.box((float[]) column);
+        } else {
+            throw new IllegalArgumentException("The column must be an array or Collection: " + N.getCanonicalClassName(column.getClass()));
+        }
+    }
+
     public static Map<String, Object> deepEntity2Map(final Object entity) {
         return deepEntity2Map(entity, (entity instanceof DirtyMarker == false));
     }
@@ -12137,7 +12514,7 @@ public final class N {
                                     continue;
                                 }
 
-                                propValue = propGetMethod.invoke(entity);
+                                propValue = getPropValue(entity, propGetMethod);
 
                                 if (ignoreNullProperty && (propValue == null)) {
                                     continue;
@@ -12162,7 +12539,7 @@ public final class N {
                                     continue;
                                 }
 
-                                propValue = propGetMethod.invoke(entity);
+                                propValue = getPropValue(entity, propGetMethod);
 
                                 if (ignoreNullProperty && (propValue == null)) {
                                     continue;
@@ -12187,7 +12564,7 @@ public final class N {
                                     continue;
                                 }
 
-                                propValue = propGetMethod.invoke(entity);
+                                propValue = getPropValue(entity, propGetMethod);
 
                                 if (ignoreNullProperty && (propValue == null)) {
                                     continue;
@@ -12211,21 +12588,21 @@ public final class N {
                 }
             }
         } else {
-            final Map<String, Method> getterMethodList = checkPropGetMethodList(entity.getClass());
+            final Map<String, Function<Object, Object>> getterList = checkPropGetterList(entity.getClass());
             String propName = null;
             Object propValue = null;
 
             try {
                 switch (keyNamingPolicy) {
                     case CAMEL_CASE: {
-                        for (Map.Entry<String, Method> entry : getterMethodList.entrySet()) {
+                        for (Map.Entry<String, Function<Object, Object>> entry : getterList.entrySet()) {
                             propName = entry.getKey();
 
                             if (hasIgnoredPropNames && ignoredPropNames.contains(propName)) {
                                 continue;
                             }
 
-                            propValue = entry.getValue().invoke(entity);
+                            propValue = entry.getValue().apply(entity);
 
                             if (ignoreNullProperty && (propValue == null)) {
                                 continue;
@@ -12242,14 +12619,14 @@ public final class N {
                     }
 
                     case LOWER_CASE_WITH_UNDERSCORE: {
-                        for (Map.Entry<String, Method> entry : getterMethodList.entrySet()) {
+                        for (Map.Entry<String, Function<Object, Object>> entry : getterList.entrySet()) {
                             propName = entry.getKey();
 
                             if (hasIgnoredPropNames && ignoredPropNames.contains(propName)) {
                                 continue;
                             }
 
-                            propValue = entry.getValue().invoke(entity);
+                            propValue = entry.getValue().apply(entity);
 
                             if (ignoreNullProperty && (propValue == null)) {
                                 continue;
@@ -12266,14 +12643,14 @@ public final class N {
                     }
 
                     case UPPER_CASE_WITH_UNDERSCORE: {
-                        for (Map.Entry<String, Method> entry : getterMethodList.entrySet()) {
+                        for (Map.Entry<String, Function<Object, Object>> entry : getterList.entrySet()) {
                             propName = entry.getKey();
 
                             if (hasIgnoredPropNames && ignoredPropNames.contains(propName)) {
                                 continue;
                             }
 
-                            propValue = entry.getValue().invoke(entity);
+                            propValue = entry.getValue().apply(entity);
 
                             if (ignoreNullProperty && (propValue == null)) {
                                 continue;
@@ -12455,7 +12832,7 @@ public final class N {
                                     continue;
                                 }
 
-                                propValue = propGetMethod.invoke(entity);
+                                propValue = getPropValue(entity, propGetMethod);
 
                                 if (ignoreNullProperty && (propValue == null)) {
                                     continue;
@@ -12489,7 +12866,7 @@ public final class N {
                                 }
 
                                 propName = N.toLowerCaseWithUnderscore(propName);
-                                propValue = propGetMethod.invoke(entity);
+                                propValue = getPropValue(entity, propGetMethod);
 
                                 if (ignoreNullProperty && (propValue == null)) {
                                     continue;
@@ -12523,7 +12900,7 @@ public final class N {
                                 }
 
                                 propName = N.toUpperCaseWithUnderscore(propName);
-                                propValue = propGetMethod.invoke(entity);
+                                propValue = getPropValue(entity, propGetMethod);
 
                                 if (ignoreNullProperty && (propValue == null)) {
                                     continue;
@@ -12556,21 +12933,21 @@ public final class N {
                 }
             }
         } else {
-            final Map<String, Method> getterMethodList = checkPropGetMethodList(entity.getClass());
+            final Map<String, Function<Object, Object>> getterList = checkPropGetterList(entity.getClass());
             String propName = null;
             Object propValue = null;
 
             try {
                 switch (keyNamingPolicy) {
                     case CAMEL_CASE: {
-                        for (Map.Entry<String, Method> entry : getterMethodList.entrySet()) {
+                        for (Map.Entry<String, Function<Object, Object>> entry : getterList.entrySet()) {
                             propName = entry.getKey();
 
                             if (hasIgnoredPropNames && ignoredPropNames.contains(propName)) {
                                 continue;
                             }
 
-                            propValue = entry.getValue().invoke(entity);
+                            propValue = entry.getValue().apply(entity);
 
                             if (ignoreNullProperty && (propValue == null)) {
                                 continue;
@@ -12595,7 +12972,7 @@ public final class N {
                     }
 
                     case LOWER_CASE_WITH_UNDERSCORE: {
-                        for (Map.Entry<String, Method> entry : getterMethodList.entrySet()) {
+                        for (Map.Entry<String, Function<Object, Object>> entry : getterList.entrySet()) {
                             propName = entry.getKey();
 
                             if (hasIgnoredPropNames && ignoredPropNames.contains(propName)) {
@@ -12603,7 +12980,7 @@ public final class N {
                             }
 
                             propName = N.toLowerCaseWithUnderscore(propName);
-                            propValue = entry.getValue().invoke(entity);
+                            propValue = entry.getValue().apply(entity);
 
                             if (ignoreNullProperty && (propValue == null)) {
                                 continue;
@@ -12628,7 +13005,7 @@ public final class N {
                     }
 
                     case UPPER_CASE_WITH_UNDERSCORE: {
-                        for (Map.Entry<String, Method> entry : getterMethodList.entrySet()) {
+                        for (Map.Entry<String, Function<Object, Object>> entry : getterList.entrySet()) {
                             propName = entry.getKey();
 
                             if (hasIgnoredPropNames && ignoredPropNames.contains(propName)) {
@@ -12636,7 +13013,7 @@ public final class N {
                             }
 
                             propName = N.toUpperCaseWithUnderscore(propName);
-                            propValue = entry.getValue().invoke(entity);
+                            propValue = entry.getValue().apply(entity);
 
                             if (ignoreNullProperty && (propValue == null)) {
                                 continue;
@@ -17350,31 +17727,29 @@ public final class N {
         Array.parallelSort(c, fromIndex, toIndex, cmp);
     }
 
-    /*
     public static void bucketSort(final char[] a) {
-        M.bucketSort(a);
+        Array.bucketSort(a);
     }
-    
+
     public static void bucketSort(final char[] a, final int fromIndex, final int toIndex) {
-        M.bucketSort(a, fromIndex, toIndex);
+        Array.bucketSort(a, fromIndex, toIndex);
     }
-    
+
     public static void bucketSort(final byte[] a) {
-        M.bucketSort(a);
+        Array.bucketSort(a);
     }
-    
+
     public static void bucketSort(final byte[] a, final int fromIndex, final int toIndex) {
-        M.bucketSort(a, fromIndex, toIndex);
+        Array.bucketSort(a, fromIndex, toIndex);
     }
-    
+
     public static void bucketSort(final short[] a) {
-        M.bucketSort(a);
+        Array.bucketSort(a);
     }
-    
+
     public static void bucketSort(final short[] a, final int fromIndex, final int toIndex) {
-        M.bucketSort(a, fromIndex, toIndex);
+        Array.bucketSort(a, fromIndex, toIndex);
     }
-    */
 
     public static void bucketSort(final int[] a) {
         Array.bucketSort(a);
@@ -19606,6 +19981,20 @@ public final class N {
                     return false;
                 }
             }
+        } else if ((long) a.length * b.length > MIN_SIZE_FOR_HASH_LOOKUP) {
+            final char[] small = a.length <= b.length ? a : b;
+            final char[] large = small == a ? b : a;
+            final IntHashSet set = new IntHashSet(small.length);
+
+            for (char e : small) {
+                set.add(e);
+            }
+
+            for (char e : large) {
+                if (set.contains(e)) {
+                    return false;
+                }
+            }
         } else {
             if (a.length <= b.length) {
                 for (int i = 0, len = a.length; i < len; i++) {
@@ -19657,6 +20046,20 @@ public final class N {
                     return false;
                 }
             }
+        } else if ((long) a.length * b.length > MIN_SIZE_FOR_HASH_LOOKUP) {
+            final byte[] small = a.length <= b.length ? a : b;
+            final byte[] large = small == a ? b : a;
+            final boolean[] found = new boolean[256];
+
+            for (byte e : small) {
+                found[e & 0xFF] = true;
+            }
+
+            for (byte e : large) {
+                if (found[e & 0xFF]) {
+                    return false;
+                }
+            }
         } else {
             if (a.length <= b.length) {
                 for (int i = 0, len = a.length; i < len; i++) {
@@ -19708,6 +20111,20 @@ public final class N {
                     return false;
                 }
             }
+        } else if ((long) a.length * b.length > MIN_SIZE_FOR_HASH_LOOKUP) {
+            final short[] small = a.length <= b.length ? a : b;
+            final short[] large = small == a ? b : a;
+            final IntHashSet set = new IntHashSet(small.length);
+
+            for (short e : small) {
+                set.add(e);
+            }
+
+            for (short e : large) {
+                if (set.contains(e)) {
+                    return false;
+                }
+            }
         } else {
             if (a.length <= b.length) {
                 for (int i = 0, len = a.length; i < len; i++) {
@@ -19741,11 +20158,11 @@ public final class N {
 
     /**
      * Returns {@code true} if the two specified arrays have no elements in common.
-     * Binary search is applied if the second array is sorted.
+     * The elements are looked up by sorted merge, galloping/binary search or hash set, chosen by the sizes and the sortedness of the arrays.
      * 
      * @param a
      * @param b
-     * @param isBSorted binary search is applied if the second array is sorted.
+     * @param isBSorted the second array is not checked if it's specified as sorted.
      * @return {@code true} if the two specified arrays have no elements in common.
      */
     public static boolean disjoint(final int[] a, final int[] b, final boolean isBSorted) {
@@ -19753,29 +20170,7 @@ public final class N {
             return true;
         }
 
-        if (isBSorted) {
-            for (int i = 0, len = a.length; i < len; i++) {
-                if (N.binarySearch(b, a[i]) >= 0) {
-                    return false;
-                }
-            }
-        } else {
-            if (a.length <= b.length) {
-                for (int i = 0, len = a.length; i < len; i++) {
-                    if (indexOf(b, a[i]) >= 0) {
-                        return false;
-                    }
-                }
-            } else {
-                for (int i = 0, len = b.length; i < len; i++) {
-                    if (indexOf(a, b[i]) >= 0) {
-                        return false;
-                    }
-                }
-            }
-        }
-
-        return true;
+        return SetAlgebra.disjoint(a, 0, a.length, b, 0, b.length, isBSorted);
     }
 
     /**
@@ -19792,11 +20187,11 @@ public final class N {
 
     /**
      * Returns {@code true} if the two specified arrays have no elements in common.
-     * Binary search is applied if the second array is sorted.
+     * The elements are looked up by sorted merge, galloping/binary search or hash set, chosen by the sizes and the sortedness of the arrays.
      * 
      * @param a
      * @param b
-     * @param isBSorted binary search is applied if the second array is sorted.
+     * @param isBSorted the second array is not checked if it's specified as sorted.
      * @return {@code true} if the two specified arrays have no elements in common.
      */
     public static boolean disjoint(final long[] a, final long[] b, final boolean isBSorted) {
@@ -19804,29 +20199,99 @@ public final class N {
             return true;
         }
 
-        if (isBSorted) {
-            for (int i = 0, len = a.length; i < len; i++) {
-                if (N.binarySearch(b, a[i]) >= 0) {
-                    return false;
-                }
-            }
-        } else {
-            if (a.length <= b.length) {
-                for (int i = 0, len = a.length; i < len; i++) {
-                    if (indexOf(b, a[i]) >= 0) {
-                        return false;
-                    }
-                }
-            } else {
-                for (int i = 0, len = b.length; i < len; i++) {
-                    if (indexOf(a, b[i]) >= 0) {
-                        return false;
-                    }
-                }
-            }
+        return SetAlgebra.disjoint(a, 0, a.length, b, 0, b.length, isBSorted);
+    }
+
+    /**
+     * Returns the elements in the first array which are also contained in the second array, in their original order.
+     * Different from {@link #removeAll(int[], int...)}, all the occurrences are kept, like {@code Collection.retainAll}.
+     * The elements are looked up by sorted merge, galloping/binary search or hash set, chosen by the sizes and the sortedness of the arrays.
+     *
+     * <pre>
+     * N.intersection([1, 2, 2, 3], [2, 3, 4])  = [2, 2, 3]
+     * N.intersection([1, 2, 3], [])            = []
+     * </pre>
+     *
+     * @param a
+     * @param b
+     * @return a new array. An empty array is returned if the first array is <code>null</code> or empty.
+     */
+    public static int[] intersection(final int[] a, final int[] b) {
+        if (N.isNullOrEmpty(a) || N.isNullOrEmpty(b)) {
+            return N.EMPTY_INT_ARRAY;
         }
 
-        return true;
+        return SetAlgebra.intersection(a, 0, a.length, b, 0, b.length);
+    }
+
+    /**
+     * Returns the elements in the first array which are not contained in the second array, in their original order.
+     * Different from {@link #removeAll(int[], int...)}, all the occurrences are removed, like {@code Collection.removeAll}.
+     * The elements are looked up by sorted merge, galloping/binary search or hash set, chosen by the sizes and the sortedness of the arrays.
+     *
+     * <pre>
+     * N.difference([1, 2, 2, 3], [2, 4])  = [1, 3]
+     * N.difference([1, 2, 3], [])         = [1, 2, 3]
+     * </pre>
+     *
+     * @param a
+     * @param b
+     * @return a new array. An empty array is returned if the first array is <code>null</code> or empty.
+     */
+    public static int[] difference(final int[] a, final int[] b) {
+        if (N.isNullOrEmpty(a)) {
+            return N.EMPTY_INT_ARRAY;
+        } else if (N.isNullOrEmpty(b)) {
+            return a.clone();
+        }
+
+        return SetAlgebra.difference(a, 0, a.length, b, 0, b.length);
+    }
+
+    /**
+     * Returns the elements in the first array which are also contained in the second array, in their original order.
+     * Different from {@link #removeAll(long[], long...)}, all the occurrences are kept, like {@code Collection.retainAll}.
+     * The elements are looked up by sorted merge, galloping/binary search or hash set, chosen by the sizes and the sortedness of the arrays.
+     *
+     * <pre>
+     * N.intersection([1, 2, 2, 3], [2, 3, 4])  = [2, 2, 3]
+     * N.intersection([1, 2, 3], [])            = []
+     * </pre>
+     *
+     * @param a
+     * @param b
+     * @return a new array. An empty array is returned if the first array is <code>null</code> or empty.
+     */
+    public static long[] intersection(final long[] a, final long[] b) {
+        if (N.isNullOrEmpty(a) || N.isNullOrEmpty(b)) {
+            return N.EMPTY_LONG_ARRAY;
+        }
+
+        return SetAlgebra.intersection(a, 0, a.length, b, 0, b.length);
+    }
+
+    /**
+     * Returns the elements in the first array which are not contained in the second array, in their original order.
+     * Different from {@link #removeAll(long[], long...)}, all the occurrences are removed, like {@code Collection.removeAll}.
+     * The elements are looked up by sorted merge, galloping/binary search or hash set, chosen by the sizes and the sortedness of the arrays.
+     *
+     * <pre>
+     * N.difference([1, 2, 2, 3], [2, 4])  = [1, 3]
+     * N.difference([1, 2, 3], [])         = [1, 2, 3]
+     * </pre>
+     *
+     * @param a
+     * @param b
+     * @return a new array. An empty array is returned if the first array is <code>null</code> or empty.
+     */
+    public static long[] difference(final long[] a, final long[] b) {
+        if (N.isNullOrEmpty(a)) {
+            return N.EMPTY_LONG_ARRAY;
+        } else if (N.isNullOrEmpty(b)) {
+            return a.clone();
+        }
+
+        return SetAlgebra.difference(a, 0, a.length, b, 0, b.length);
     }
 
     /**
@@ -19861,6 +20326,20 @@ public final class N {
                     return false;
                 }
             }
+        } else if ((long) a.length * b.length > MIN_SIZE_FOR_HASH_LOOKUP) {
+            final float[] small = a.length <= b.length ? a : b;
+            final float[] large = small == a ? b : a;
+            final IntHashSet set = new IntHashSet(small.length);
+
+            for (float e : small) {
+                set.add(Float.floatToIntBits(e));
+            }
+
+            for (float e : large) {
+                if (set.contains(Float.floatToIntBits(e))) {
+                    return false;
+                }
+            }
         } else {
             if (a.length <= b.length) {
                 for (int i = 0, len = a.length; i < len; i++) {
@@ -19912,6 +20391,20 @@ public final class N {
                     return false;
                 }
             }
+        } else if ((long) a.length * b.length > MIN_SIZE_FOR_HASH_LOOKUP) {
+            final double[] small = a.length <= b.length ? a : b;
+            final double[] large = small == a ? b : a;
+            final LongHashSet set = new LongHashSet(small.length);
+
+            for (double e : small) {
+                set.add(Double.doubleToLongBits(e));
+            }
+
+            for (double e : large) {
+                if (set.contains(Double.doubleToLongBits(e))) {
+                    return false;
+                }
+            }
         } else {
             if (a.length <= b.length) {
                 for (int i = 0, len = a.length; i < len; i++) {
@@ -24240,12 +24733,11 @@ public final class N {
             return N.copyOfRange(a, fromIndex, toIndex);
         }
 
-        final Comparator<Pair<Short, Integer>> pairCmp = cmp == null ? new Comparator<Pair<Short, Integer>>() {
-            @Override
-            public int compare(final Pair<Short, Integer> o1, final Pair<Short, Integer> o2) {
-                return Short.compare(o1.left.shortValue(), o2.left.shortValue());
-            }
-        } : new Comparator<Pair<Short, Integer>>() {
+        if (cmp == null) {
+            return Selection.top(a, fromIndex, toIndex, n);
+        }
+
+        final Comparator<Pair<Short, Integer>> pairCmp = new Comparator<Pair<Short, Integer>>() {
             @Override
             public int compare(final Pair<Short, Integer> o1, final Pair<Short, Integer> o2) {
                 return N.compare(o1.left, o2.left, cmp);
@@ -24307,12 +24799,11 @@ public final class N {
             return N.copyOfRange(a, fromIndex, toIndex);
         }
 
-        final Comparator<Pair<Integer, Integer>> pairCmp = cmp == null ? new Comparator<Pair<Integer, Integer>>() {
-            @Override
-            public int compare(final Pair<Integer, Integer> o1, final Pair<Integer, Integer> o2) {
-                return Integer.compare(o1.left.intValue(), o2.left.intValue());
-            }
-        } : new Comparator<Pair<Integer, Integer>>() {
+        if (cmp == null) {
+            return Selection.top(a, fromIndex, toIndex, n);
+        }
+
+        final Comparator<Pair<Integer, Integer>> pairCmp = new Comparator<Pair<Integer, Integer>>() {
             @Override
             public int compare(final Pair<Integer, Integer> o1, final Pair<Integer, Integer> o2) {
                 return N.compare(o1.left, o2.left, cmp);
@@ -24374,12 +24865,11 @@ public final class N {
             return N.copyOfRange(a, fromIndex, toIndex);
         }
 
-        final Comparator<Pair<Long, Integer>> pairCmp = cmp == null ? new Comparator<Pair<Long, Integer>>() {
-            @Override
-            public int compare(final Pair<Long, Integer> o1, final Pair<Long, Integer> o2) {
-                return Long.compare(o1.left.longValue(), o2.left.longValue());
-            }
-        } : new Comparator<Pair<Long, Integer>>() {
+        if (cmp == null) {
+            return Selection.top(a, fromIndex, toIndex, n);
+        }
+
+        final Comparator<Pair<Long, Integer>> pairCmp = new Comparator<Pair<Long, Integer>>() {
             @Override
             public int compare(final Pair<Long, Integer> o1, final Pair<Long, Integer> o2) {
                 return N.compare(o1.left, o2.left, cmp);
@@ -24441,12 +24931,11 @@ public final class N {
             return N.copyOfRange(a, fromIndex, toIndex);
         }
 
-        final Comparator<Pair<Float, Integer>> pairCmp = cmp == null ? new Comparator<Pair<Float, Integer>>() {
-            @Override
-            public int compare(final Pair<Float, Integer> o1, final Pair<Float, Integer> o2) {
-                return Float.compare(o1.left.floatValue(), o2.left.floatValue());
-            }
-        } : new Comparator<Pair<Float, Integer>>() {
+        if (cmp == null) {
+            return Selection.top(a, fromIndex, toIndex, n);
+        }
+
+        final Comparator<Pair<Float, Integer>> pairCmp = new Comparator<Pair<Float, Integer>>() {
             @Override
             public int compare(final Pair<Float, Integer> o1, final Pair<Float, Integer> o2) {
                 return N.compare(o1.left, o2.left, cmp);
@@ -24508,12 +24997,11 @@ public final class N {
             return N.copyOfRange(a, fromIndex, toIndex);
         }
 
-        final Comparator<Pair<Double, Integer>> pairCmp = cmp == null ? new Comparator<Pair<Double, Integer>>() {
-            @Override
-            public int compare(final Pair<Double, Integer> o1, final Pair<Double, Integer> o2) {
-                return Double.compare(o1.left.doubleValue(), o2.left.doubleValue());
-            }
-        } : new Comparator<Pair<Double, Integer>>() {
+        if (cmp == null) {
+            return Selection.top(a, fromIndex, toIndex, n);
+        }
+
+        final Comparator<Pair<Double, Integer>> pairCmp = new Comparator<Pair<Double, Integer>>() {
             @Override
             public int compare(final Pair<Double, Integer> o1, final Pair<Double, Integer> o2) {
                 return N.compare(o1.left, o2.left, cmp);
@@ -28603,23 +29091,19 @@ public final class N {
             return remove(a, elements[0]);
         }
 
-        final Map<Character, MutableInt> occurrences = new HashMap<Character, MutableInt>(elements.length);
+        final IntIntMap occurrences = new IntIntMap(elements.length);
+
         for (final char v : elements) {
-            final Character boxed = Character.valueOf(v);
-            final MutableInt count = occurrences.get(boxed);
-            if (count == null) {
-                occurrences.put(boxed, new MutableInt(1));
-            } else {
-                count.increment();
-            }
+            occurrences.addAndGet(v, 1);
         }
 
         final IntList indices = new IntList(elements.length);
-        for (final Map.Entry<Character, MutableInt> e : occurrences.entrySet()) {
-            final Character v = e.getKey();
+
+        for (int k = 0, size = occurrences.size(); k < size; k++) {
+            final char v = (char) occurrences.keyAt(k);
             int found = 0;
 
-            for (int i = 0, ct = e.getValue().intValue(); i < ct; i++) {
+            for (int i = 0, ct = occurrences.valueAt(k); i < ct; i++) {
                 found = indexOf(a, found, v);
 
                 if (found < 0) {
@@ -28671,23 +29155,19 @@ public final class N {
             return remove(a, elements[0]);
         }
 
-        final Map<Byte, MutableInt> occurrences = new HashMap<Byte, MutableInt>(elements.length);
+        final IntIntMap occurrences = new IntIntMap(elements.length);
+
         for (final byte v : elements) {
-            final Byte boxed = Byte.valueOf(v);
-            final MutableInt count = occurrences.get(boxed);
-            if (count == null) {
-                occurrences.put(boxed, new MutableInt(1));
-            } else {
-                count.increment();
-            }
+            occurrences.addAndGet(v, 1);
         }
 
         final IntList indices = new IntList(elements.length);
-        for (final Map.Entry<Byte, MutableInt> e : occurrences.entrySet()) {
-            final Byte v = e.getKey();
+
+        for (int k = 0, size = occurrences.size(); k < size; k++) {
+            final byte v = (byte) occurrences.keyAt(k);
             int found = 0;
 
-            for (int i = 0, ct = e.getValue().intValue(); i < ct; i++) {
+            for (int i = 0, ct = occurrences.valueAt(k); i < ct; i++) {
                 found = indexOf(a, found, v);
 
                 if (found < 0) {
@@ -28739,23 +29219,19 @@ public final class N {
             return remove(a, elements[0]);
         }
 
-        final Map<Short, MutableInt> occurrences = new HashMap<Short, MutableInt>(elements.length);
+        final IntIntMap occurrences = new IntIntMap(elements.length);
+
         for (final short v : elements) {
-            final Short boxed = Short.valueOf(v);
-            final MutableInt count = occurrences.get(boxed);
-            if (count == null) {
-                occurrences.put(boxed, new MutableInt(1));
-            } else {
-                count.increment();
-            }
+            occurrences.addAndGet(v, 1);
         }
 
         final IntList indices = new IntList(elements.length);
-        for (final Map.Entry<Short, MutableInt> e : occurrences.entrySet()) {
-            final Short v = e.getKey();
+
+        for (int k = 0, size = occurrences.size(); k < size; k++) {
+            final short v = (short) occurrences.keyAt(k);
             int found = 0;
 
-            for (int i = 0, ct = e.getValue().intValue(); i < ct; i++) {
+            for (int i = 0, ct = occurrences.valueAt(k); i < ct; i++) {
                 found = indexOf(a, found, v);
 
                 if (found < 0) {
@@ -28807,30 +29283,19 @@ public final class N {
             return remove(a, elements[0]);
         }
 
-        final Map<Integer, MutableInt> occurrences = new HashMap<Integer, MutableInt>(elements.length);
+        final IntIntMap occurrences = new IntIntMap(elements.length);
+
         for (final int v : elements) {
-            final Integer boxed = Integer.valueOf(v);
-            final MutableInt count = occurrences.get(boxed);
-            if (count == null) {
-                occurrences.put(boxed, new MutableInt(1));
-            } else {
-                count.increment();
-            }
+            occurrences.addAndGet(v, 1);
         }
 
         final IntList indices = new IntList(elements.length);
-        for (final Map.Entry<Integer, MutableInt> e : occurrences.entrySet()) {
-            final Integer v = e.getKey();
-            int found = 0;
-
-            for (int i = 0, ct = e.getValue().intValue(); i < ct; i++) {
-                found = indexOf(a, found, v);
-
-                if (found < 0) {
-                    break;
-                }
 
-                indices.add(found++);
+        for (int i = 0, len = a.length, remaining = elements.length; i < len && remaining > 0; i++) {
+            if (occurrences.get(a[i], 0) > 0) {
+                occurrences.addAndGet(a[i], -1);
+                indices.add(i);
+                remaining--;
             }
         }
 
@@ -28875,30 +29340,19 @@ public final class N {
             return remove(a, elements[0]);
         }
 
-        final Map<Long, MutableInt> occurrences = new HashMap<Long, MutableInt>(elements.length);
+        final LongIntMap occurrences = new LongIntMap(elements.length);
+
         for (final long v : elements) {
-            final Long boxed = Long.valueOf(v);
-            final MutableInt count = occurrences.get(boxed);
-            if (count == null) {
-                occurrences.put(boxed, new MutableInt(1));
-            } else {
-                count.increment();
-            }
+            occurrences.addAndGet(v, 1);
         }
 
         final IntList indices = new IntList(elements.length);
-        for (final Map.Entry<Long, MutableInt> e : occurrences.entrySet()) {
-            final Long v = e.getKey();
-            int found = 0;
-
-            for (int i = 0, ct = e.getValue().intValue(); i < ct; i++) {
-                found = indexOf(a, found, v);
-
-                if (found < 0) {
-                    break;
-                }
 
-                indices.add(found++);
+        for (int i = 0, len = a.length, remaining = elements.length; i < len && remaining > 0; i++) {
+            if (occurrences.get(a[i], 0) > 0) {
+                occurrences.addAndGet(a[i], -1);
+                indices.add(i);
+                remaining--;
             }
         }
 
@@ -28942,23 +29396,19 @@ public final class N {
             return remove(a, elements[0]);
         }
 
-        final Map<Float, MutableInt> occurrences = new HashMap<Float, MutableInt>(elements.length);
+        final IntIntMap occurrences = new IntIntMap(elements.length);
+
         for (final float v : elements) {
-            final Float boxed = Float.valueOf(v);
-            final MutableInt count = occurrences.get(boxed);
-            if (count == null) {
-                occurrences.put(boxed, new MutableInt(1));
-            } else {
-                count.increment();
-            }
+            occurrences.addAndGet(Float.floatToIntBits(v), 1);
         }
 
         final IntList indices = new IntList(elements.length);
-        for (final Map.Entry<Float, MutableInt> e : occurrences.entrySet()) {
-            final Float v = e.getKey();
+
+        for (int k = 0, size = occurrences.size(); k < size; k++) {
+            final float v = Float.intBitsToFloat(occurrences.keyAt(k));
             int found = 0;
 
-            for (int i = 0, ct = e.getValue().intValue(); i < ct; i++) {
+            for (int i = 0, ct = occurrences.valueAt(k); i < ct; i++) {
                 found = indexOf(a, found, v);
 
                 if (found < 0) {
@@ -29009,24 +29459,19 @@ public final class N {
             return remove(a, elements[0]);
         }
 
-        final Map<Double, MutableInt> occurrences = new HashMap<Double, MutableInt>(elements.length);
-        for (final double v : elements) {
-            final Double boxed = Double.valueOf(v);
-            final MutableInt count = occurrences.get(boxed);
+        final LongIntMap occurrences = new LongIntMap(elements.length);
 
-            if (count == null) {
-                occurrences.put(boxed, new MutableInt(1));
-            } else {
-                count.increment();
-            }
+        for (final double v : elements) {
+            occurrences.addAndGet(Double.doubleToLongBits(v), 1);
         }
 
         final IntList indices = new IntList(elements.length);
-        for (final Map.Entry<Double, MutableInt> e : occurrences.entrySet()) {
-            final Double v = e.getKey();
+
+        for (int k = 0, size = occurrences.size(); k < size; k++) {
+            final double v = Double.longBitsToDouble(occurrences.keyAt(k));
             int found = 0;
 
-            for (int i = 0, ct = e.getValue().intValue(); i < ct; i++) {
+            for (int i = 0, ct = occurrences.valueAt(k); i < ct; i++) {
                 found = indexOf(a, found, v);
 
                 if (found < 0) {
@@ -29479,24 +29924,17 @@ public final class N {
 
             return idx == b.length ? b : N.copyOfRange(b, 0, idx);
         } else {
-            final Set<Character> set = new LinkedHashSet<>(N.initHashCapacity(a.length));
+            final IntHashSet set = new IntHashSet(to - from);
+            final char[] result = new char[to - from];
+            int idx = 0;
 
             for (int i = from; i < to; i++) {
-                set.add(a[i]);
-            }
-
-            if (set.size() == a.length) {
-                return a.clone();
-            } else {
-                final char[] result = new char[set.size()];
-                int i = 0;
-
-                for (char e : set) {
-                    result[i++] = e;
+                if (set.add(a[i])) {
+                    result[idx++] = a[i];
                 }
-
-                return result;
             }
+
+            return idx == result.length ? result : N.copyOfRange(result, 0, idx);
         }
     }
 
@@ -29527,24 +29965,18 @@ public final class N {
 
             return idx == b.length ? b : N.copyOfRange(b, 0, idx);
         } else {
-            final Set<Byte> set = new LinkedHashSet<>(N.initHashCapacity(a.length));
+            final boolean[] found = new boolean[256];
+            final byte[] result = new byte[to - from];
+            int idx = 0;
 
             for (int i = from; i < to; i++) {
-                set.add(a[i]);
-            }
-
-            if (set.size() == a.length) {
-                return a.clone();
-            } else {
-                final byte[] result = new byte[set.size()];
-                int i = 0;
-
-                for (byte e : set) {
-                    result[i++] = e;
+                if (found[a[i] & 0xFF] == false) {
+                    found[a[i] & 0xFF] = true;
+                    result[idx++] = a[i];
                 }
-
-                return result;
             }
+
+            return idx == result.length ? result : N.copyOfRange(result, 0, idx);
         }
     }
 
@@ -29575,24 +30007,17 @@ public final class N {
 
             return idx == b.length ? b : N.copyOfRange(b, 0, idx);
         } else {
-            final Set<Short> set = new LinkedHashSet<>(N.initHashCapacity(a.length));
+            final IntHashSet set = new IntHashSet(to - from);
+            final short[] result = new short[to - from];
+            int idx = 0;
 
             for (int i = from; i < to; i++) {
-                set.add(a[i]);
-            }
-
-            if (set.size() == a.length) {
-                return a.clone();
-            } else {
-                final short[] result = new short[set.size()];
-                int i = 0;
-
-                for (short e : set) {
-                    result[i++] = e;
+                if (set.add(a[i])) {
+                    result[idx++] = a[i];
                 }
-
-                return result;
             }
+
+            return idx == result.length ? result : N.copyOfRange(result, 0, idx);
         }
     }
 
@@ -29624,24 +30049,17 @@ public final class N {
             return idx == b.length ? b : N.copyOfRange(b, 0, idx);
         } else {
 
-            final Set<Integer> set = new LinkedHashSet<>(N.initHashCapacity(a.length));
+            final IntHashSet set = new IntHashSet(to - from);
+            final int[] result = new int[to - from];
+            int idx = 0;
 
             for (int i = from; i < to; i++) {
-                set.add(a[i]);
-            }
-
-            if (set.size() == a.length) {
-                return a.clone();
-            } else {
-                final int[] result = new int[set.size()];
-                int i = 0;
-
-                for (int e : set) {
-                    result[i++] = e;
+                if (set.add(a[i])) {
+                    result[idx++] = a[i];
                 }
-
-                return result;
             }
+
+            return idx == result.length ? result : N.copyOfRange(result, 0, idx);
         }
     }
 
@@ -29672,24 +30090,17 @@ public final class N {
 
             return idx == b.length ? b : N.copyOfRange(b, 0, idx);
         } else {
-            final Set<Long> set = new LinkedHashSet<>(N.initHashCapacity(a.length));
+            final LongHashSet set = new LongHashSet(to - from);
+            final long[] result = new long[to - from];
+            int idx = 0;
 
             for (int i = from; i < to; i++) {
-                set.add(a[i]);
-            }
-
-            if (set.size() == a.length) {
-                return a.clone();
-            } else {
-                final long[] result = new long[set.size()];
-                int i = 0;
-
-                for (long e : set) {
-                    result[i++] = e;
+                if (set.add(a[i])) {
+                    result[idx++] = a[i];
                 }
-
-                return result;
             }
+
+            return idx == result.length ? result : N.copyOfRange(result, 0, idx);
         }
     }
 
@@ -29721,24 +30132,17 @@ public final class N {
             return idx == b.length ? b : N.copyOfRange(b, 0, idx);
         } else {
 
-            final Set<Float> set = new LinkedHashSet<>(N.initHashCapacity(a.length));
+            final IntHashSet set = new IntHashSet(to - from);
+            final float[] result = new float[to - from];
+            int idx = 0;
 
             for (int i = from; i < to; i++) {
-                set.add(a[i]);
-            }
-
-            if (set.size() == a.length) {
-                return a.clone();
-            } else {
-                final float[] result = new float[set.size()];
-                int i = 0;
-
-                for (float e : set) {
-                    result[i++] = e;
+                if (set.add(Float.floatToIntBits(a[i]))) {
+                    result[idx++] = a[i];
                 }
-
-                return result;
             }
+
+            return idx == result.length ? result : N.copyOfRange(result, 0, idx);
         }
     }
 
@@ -29769,24 +30173,17 @@ public final class N {
 
             return idx == b.length ? b : N.copyOfRange(b, 0, idx);
         } else {
-            final Set<Double> set = new LinkedHashSet<>(N.initHashCapacity(a.length));
+            final LongHashSet set = new LongHashSet(to - from);
+            final double[] result = new double[to - from];
+            int idx = 0;
 
             for (int i = from; i < to; i++) {
-                set.add(a[i]);
-            }
-
-            if (set.size() == a.length) {
-                return a.clone();
-            } else {
-                final double[] result = new double[set.size()];
-                int i = 0;
-
-                for (double e : set) {
-                    result[i++] = e;
+                if (set.add(Double.doubleToLongBits(a[i]))) {
+                    result[idx++] = a[i];
                 }
-
-                return result;
             }
+
+            return idx == result.length ? result : N.copyOfRange(result, 0, idx);
         }
     }
 
@@ -29935,7 +30332,7 @@ public final class N {
 
             return false;
         } else {
-            final Set<Character> set = new HashSet<>(initHashCapacity(toIndex - fromIndex));
+            final IntHashSet set = new IntHashSet(toIndex - fromIndex);
 
             for (int i = fromIndex; i < toIndex; i++) {
                 if (set.add(a[i]) == false) {
@@ -29973,12 +30370,14 @@ public final class N {
 
             return false;
         } else {
-            final Set<Byte> set = new HashSet<>(initHashCapacity(toIndex - fromIndex));
+            final boolean[] found = new boolean[256];
 
             for (int i = fromIndex; i < toIndex; i++) {
-                if (set.add(a[i]) == false) {
+                if (found[a[i] & 0xFF]) {
                     return true;
                 }
+
+                found[a[i] & 0xFF] = true;
             }
 
             return false;
@@ -30011,7 +30410,7 @@ public final class N {
 
             return false;
         } else {
-            final Set<Short> set = new HashSet<>(initHashCapacity(toIndex - fromIndex));
+            final IntHashSet set = new IntHashSet(toIndex - fromIndex);
 
             for (int i = fromIndex; i < toIndex; i++) {
                 if (set.add(a[i]) == false) {
@@ -30049,7 +30448,7 @@ public final class N {
 
             return false;
         } else {
-            final Set<Integer> set = new HashSet<>(initHashCapacity(toIndex - fromIndex));
+            final IntHashSet set = new IntHashSet(toIndex - fromIndex);
 
             for (int i = fromIndex; i < toIndex; i++) {
                 if (set.add(a[i]) == false) {
@@ -30087,7 +30486,7 @@ public final class N {
 
             return false;
         } else {
-            final Set<Long> set = new HashSet<>(initHashCapacity(toIndex - fromIndex));
+            final LongHashSet set = new LongHashSet(toIndex - fromIndex);
 
             for (int i = fromIndex; i < toIndex; i++) {
                 if (set.add(a[i]) == false) {
@@ -30125,10 +30524,10 @@ public final class N {
 
             return false;
         } else {
-            final Set<Float> set = new HashSet<>(initHashCapacity(toIndex - fromIndex));
+            final IntHashSet set = new IntHashSet(toIndex - fromIndex);
 
             for (int i = fromIndex; i < toIndex; i++) {
-                if (set.add(a[i]) == false) {
+                if (set.add(Float.floatToIntBits(a[i])) == false) {
                     return true;
                 }
             }
@@ -30163,10 +30562,10 @@ public final class N {
 
             return false;
         } else {
-            final Set<Double> set = new HashSet<>(initHashCapacity(toIndex - fromIndex));
+            final LongHashSet set = new LongHashSet(toIndex - fromIndex);
 
             for (int i = fromIndex; i < toIndex; i++) {
-                if (set.add(a[i]) == false) {
+                if (set.add(Double.doubleToLongBits(a[i])) == false) {
                     return true;
                 }
             }
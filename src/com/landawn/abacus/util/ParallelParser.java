@@ -0,0 +1,349 @@
+/*
+ * Copyright (c) 2015, Haiyang Li.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.landawn.abacus.util;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.landawn.abacus.util.function.Consumer;
+
+/**
+ * Parses the elements from an iterator by multiple threads, for {@code IOUtil.parse} and {@code JdbcUtil.parse}.
+ * <br />
+ * The elements are read by the calling thread and handed over to the workers in batches. Each worker has its own bounded queue,
+ * and steals batches from the tail of the other queues when its own queue is empty. The workers are from a shared pool.
+ *
+ * @since 0.9.5
+ *
+ * @author Haiyang Li
+ */
+final class ParallelParser {
+    static final int DEFAULT_BATCH_SIZE = 64;
+
+    /**
+     * Threads are created on demand, reused, and released after 60 seconds idle.
+     */
+    private static final ExecutorService executorService = new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60L, TimeUnit.SECONDS,
+            new SynchronousQueue<Runnable>(), new ThreadFactory() {
+                private final AtomicInteger threadCounter = new AtomicInteger();
+
+                @Override
+                public Thread newThread(Runnable r) {
+                    final Thread thread = new Thread(r, "parser-" + threadCounter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+
+    private ParallelParser() {
+        // singleton.
+    }
+
+    /**
+     *
+     * @param iter
+     * @param processThreadNumber
+     * @param batchSize number of elements handed over to a worker at a time.
+     * @param queueSize max number of elements which are read but not processed yet.
+     * @param elementParser it's not called with <code>null</code> by this method.
+     */
+    static <T> void parse(final Iterator<? extends T> iter, final int processThreadNumber, final int batchSize, final int queueSize,
+            final Consumer<? super T> elementParser) {
+        parseBatches(iter, processThreadNumber, batchSize, queueSize, new Consumer<Object[]>() {
+            @Override
+            public void accept(Object[] batch) {
+                for (Object e : batch) {
+                    elementParser.accept((T) e);
+                }
+            }
+        });
+    }
+
+    /**
+     * Same as {@link #parse(Iterator, int, int, int, Consumer)}, but the parser is called with the batches.
+     *
+     * @param iter
+     * @param processThreadNumber
+     * @param batchSize
+     * @param queueSize
+     * @param batchParser
+     */
+    static void parseBatches(final Iterator<?> iter, final int processThreadNumber, final int batchSize, final int queueSize,
+            final Consumer<Object[]> batchParser) {
+        if (processThreadNumber < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("'processThreadNumber' and 'batchSize' must be bigger than 0");
+        }
+
+        final int capacity = N.max(2, queueSize / (batchSize * processThreadNumber));
+        final BatchQueue[] queues = new BatchQueue[processThreadNumber];
+        final CountDownLatch latch = new CountDownLatch(processThreadNumber);
+        final AtomicReference<Throwable> errorHolder = new AtomicReference<>();
+
+        for (int i = 0; i < processThreadNumber; i++) {
+            queues[i] = new BatchQueue(capacity);
+        }
+
+        for (int i = 0; i < processThreadNumber; i++) {
+            final int idx = i;
+
+            executorService.execute(new Runnable() {
+                @Override
+                public void run() {
+                    final BatchQueue queue = queues[idx];
+                    Object[] batch = null;
+
+                    try {
+                        while (errorHolder.get() == null) {
+                            if ((batch = queue.poll()) == null && (batch = steal(queues, idx)) == null && (batch = queue.take()) == null
+                                    && (batch = steal(queues, idx)) == null) {
+                                break;
+                            }
+
+                            batchParser.accept(batch);
+                        }
+                    } catch (Throwable e) {
+                        setError(errorHolder, e, queues);
+                    } finally {
+                        latch.countDown();
+                    }
+                }
+            });
+        }
+
+        try {
+            Object[] batch = new Object[batchSize];
+            int size = 0;
+            int batchNum = 0;
+
+            while (errorHolder.get() == null && iter.hasNext()) {
+                batch[size++] = iter.next();
+
+                if (size == batchSize) {
+                    dispatch(queues, batch, batchNum++);
+
+                    batch = new Object[batchSize];
+                    size = 0;
+                }
+            }
+
+            if (size > 0 && errorHolder.get() == null) {
+                dispatch(queues, N.copyOf(batch, size), batchNum);
+            }
+        } catch (Throwable e) {
+            setError(errorHolder, e, queues);
+        } finally {
+            for (BatchQueue queue : queues) {
+                queue.close();
+            }
+        }
+
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            setError(errorHolder, e, queues);
+        }
+
+        if (errorHolder.get() != null) {
+            throw N.toRuntimeException(errorHolder.get());
+        }
+    }
+
+    /**
+     * Put the batch to the queue with the least batches. The search starts from a different queue for each batch.
+     */
+    private static void dispatch(final BatchQueue[] queues, final Object[] batch, final int batchNum) throws InterruptedException {
+        final int len = queues.length;
+        final int start = (batchNum & Integer.MAX_VALUE) % len;
+        BatchQueue target = queues[start];
+        int minSize = target.size();
+
+        for (int i = 1; i < len && minSize > 0; i++) {
+            final int size = queues[(start + i) % len].size();
+
+            if (size < minSize) {
+                target = queues[(start + i) % len];
+                minSize = size;
+            }
+        }
+
+        target.put(batch);
+    }
+
+    private static Object[] steal(final BatchQueue[] queues, final int idx) {
+        Object[] batch = null;
+
+        for (int i = 1, len = queues.length; i < len; i++) {
+            if ((batch = queues[(idx + i) % len].pollLast()) != null) {
+                return batch;
+            }
+        }
+
+        return null;
+    }
+
+    private static void setError(final AtomicReference<Throwable> errorHolder, final Throwable e, final BatchQueue[] queues) {
+        if (errorHolder.compareAndSet(null, e) == false) {
+            errorHolder.get().addSuppressed(e);
+        }
+
+        for (BatchQueue queue : queues) {
+            queue.clearAndClose();
+        }
+    }
+
+    /**
+     * A bounded and closeable queue of batches.
+     */
+    static final class BatchQueue {
+        private final int capacity;
+        private final ArrayDeque<Object[]> deque;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition notEmpty = lock.newCondition();
+        private final Condition notFull = lock.newCondition();
+        private boolean closed = false;
+
+        BatchQueue(final int capacity) {
+            this.capacity = capacity;
+            this.deque = new ArrayDeque<>(capacity);
+        }
+
+        /**
+         * Blocks until there is space in the queue. The batch is discarded if the queue is closed.
+         */
+        void put(final Object[] batch) throws InterruptedException {
+            lock.lock();
+
+            try {
+                while (deque.size() == capacity && closed == false) {
+                    notFull.await();
+                }
+
+                if (closed == false) {
+                    deque.offerLast(batch);
+                    notEmpty.signal();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Blocks until a batch is available or the queue is closed.
+         *
+         * @return <code>null</code> if the queue is closed and empty.
+         */
+        Object[] take() throws InterruptedException {
+            lock.lock();
+
+            try {
+                while (deque.size() == 0 && closed == false) {
+                    notEmpty.await();
+                }
+
+                final Object[] batch = deque.pollFirst();
+
+                if (batch != null) {
+                    notFull.signal();
+                }
+
+                return batch;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        Object[] poll() {
+            lock.lock();
+
+            try {
+                final Object[] batch = deque.pollFirst();
+
+                if (batch != null) {
+                    notFull.signal();
+                }
+
+                return batch;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        Object[] pollLast() {
+            lock.lock();
+
+            try {
+                final Object[] batch = deque.pollLast();
+
+                if (batch != null) {
+                    notFull.signal();
+                }
+
+                return batch;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        int size() {
+            lock.lock();
+
+            try {
+                return deque.size();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * No more batch will be put. The workers blocked on {@code take()} are waked up after the queue is empty.
+         */
+        void close() {
+            lock.lock();
+
+            try {
+                closed = true;
+                notEmpty.signalAll();
+                notFull.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void clearAndClose() {
+            lock.lock();
+
+            try {
+                deque.clear();
+                closed = true;
+                notEmpty.signalAll();
+                notFull.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
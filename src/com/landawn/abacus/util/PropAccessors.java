@@ -0,0 +1,412 @@
+/*
+ * Copyright (c) 2015, Haiyang Li.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.landawn.abacus.util;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+import com.landawn.abacus.logging.Logger;
+import com.landawn.abacus.logging.LoggerFactory;
+import com.landawn.abacus.util.function.BiConsumer;
+import com.landawn.abacus.util.function.Function;
+import com.landawn.abacus.util.function.ObjDoubleConsumer;
+import com.landawn.abacus.util.function.ObjIntConsumer;
+import com.landawn.abacus.util.function.ObjLongConsumer;
+import com.landawn.abacus.util.function.ToDoubleFunction;
+import com.landawn.abacus.util.function.ToIntFunction;
+import com.landawn.abacus.util.function.ToLongFunction;
+
+/**
+ * Creates the getter/setter functions of the properties. The functions call the methods by {@code MethodHandle.invokeExact}, adapted to the
+ * exact types of the functions, so the <code>int/long/double</code> values are not boxed, if it's available (not on Android) and the method
+ * and its declaring class are public. Otherwise the functions call {@code Method.invoke}.
+ * <br />
+ * The functions should be created once for each method and cached.
+ *
+ * @since 0.9.5
+ *
+ * @author Haiyang Li
+ */
+final class PropAccessors {
+    private static final Logger logger = LoggerFactory.getLogger(PropAccessors.class);
+
+    private static final boolean isMethodHandleAvailable;
+
+    static {
+        boolean available = false;
+
+        if (N.IS_PLATFORM_ANDROID == false) {
+            try {
+                Class.forName("java.lang.invoke.MethodHandle");
+                available = true;
+            } catch (Throwable e) {
+                // ignore.
+            }
+        }
+
+        isMethodHandleAvailable = available;
+    }
+
+    private PropAccessors() {
+        // utility class.
+    }
+
+    static Function<Object, Object> getter(final Method getMethod) {
+        if (isGeneratable(getMethod)) {
+            try {
+                return Handles.getter(getMethod);
+            } catch (Throwable e) {
+                logGenerationFailure(getMethod, e);
+            }
+        }
+
+        return new Function<Object, Object>() {
+            @Override
+            public Object apply(Object entity) {
+                return invoke(getMethod, entity, N.EMPTY_OBJECT_ARRAY);
+            }
+        };
+    }
+
+    static BiConsumer<Object, Object> setter(final Method setMethod) {
+        if (isGeneratable(setMethod)) {
+            try {
+                return Handles.setter(setMethod);
+            } catch (Throwable e) {
+                logGenerationFailure(setMethod, e);
+            }
+        }
+
+        return new BiConsumer<Object, Object>() {
+            @Override
+            public void accept(Object entity, Object propValue) {
+                invoke(setMethod, entity, new Object[] { propValue });
+            }
+        };
+    }
+
+    /**
+     * The property type must be <code>int</code> or {@code Integer}, or another type of {@code Number}.
+     * The value is unboxed without creating {@code Integer} if the property type is <code>int</code>. <code>null</code> is returned as 0.
+     *
+     * @param getMethod
+     * @return
+     */
+    static ToIntFunction<Object> intGetter(final Method getMethod) {
+        if (int.class.equals(getMethod.getReturnType()) && isGeneratable(getMethod)) {
+            try {
+                return Handles.intGetter(getMethod);
+            } catch (Throwable e) {
+                logGenerationFailure(getMethod, e);
+            }
+        }
+
+        final Function<Object, Object> getter = getter(getMethod);
+
+        return new ToIntFunction<Object>() {
+            @Override
+            public int applyAsInt(Object entity) {
+                final Object propValue = getter.apply(entity);
+                return propValue == null ? 0 : ((Number) propValue).intValue();
+            }
+        };
+    }
+
+    /**
+     *
+     * @param getMethod
+     * @return
+     * @see #intGetter(Method)
+     */
+    static ToLongFunction<Object> longGetter(final Method getMethod) {
+        if (long.class.equals(getMethod.getReturnType()) && isGeneratable(getMethod)) {
+            try {
+                return Handles.longGetter(getMethod);
+            } catch (Throwable e) {
+                logGenerationFailure(getMethod, e);
+            }
+        }
+
+        final Function<Object, Object> getter = getter(getMethod);
+
+        return new ToLongFunction<Object>() {
+            @Override
+            public long applyAsLong(Object entity) {
+                final Object propValue = getter.apply(entity);
+                return propValue == null ? 0 : ((Number) propValue).longValue();
+            }
+        };
+    }
+
+    /**
+     *
+     * @param getMethod
+     * @return
+     * @see #intGetter(Method)
+     */
+    static ToDoubleFunction<Object> doubleGetter(final Method getMethod) {
+        if (double.class.equals(getMethod.getReturnType()) && isGeneratable(getMethod)) {
+            try {
+                return Handles.doubleGetter(getMethod);
+            } catch (Throwable e) {
+                logGenerationFailure(getMethod, e);
+            }
+        }
+
+        final Function<Object, Object> getter = getter(getMethod);
+
+        return new ToDoubleFunction<Object>() {
+            @Override
+            public double applyAsDouble(Object entity) {
+                final Object propValue = getter.apply(entity);
+                return propValue == null ? 0 : ((Number) propValue).doubleValue();
+            }
+        };
+    }
+
+    /**
+     * The parameter type of the set method must be <code>int</code>. The value is set without creating {@code Integer}.
+     *
+     * @param setMethod
+     * @return
+     */
+    static ObjIntConsumer<Object> intSetter(final Method setMethod) {
+        checkParameterType(setMethod, int.class);
+
+        if (isGeneratable(setMethod)) {
+            try {
+                return Handles.intSetter(setMethod);
+            } catch (Throwable e) {
+                logGenerationFailure(setMethod, e);
+            }
+        }
+
+        return new ObjIntConsumer<Object>() {
+            @Override
+            public void accept(Object entity, int propValue) {
+                invoke(setMethod, entity, new Object[] { propValue });
+            }
+        };
+    }
+
+    /**
+     *
+     * @param setMethod
+     * @return
+     * @see #intSetter(Method)
+     */
+    static ObjLongConsumer<Object> longSetter(final Method setMethod) {
+        checkParameterType(setMethod, long.class);
+
+        if (isGeneratable(setMethod)) {
+            try {
+                return Handles.longSetter(setMethod);
+            } catch (Throwable e) {
+                logGenerationFailure(setMethod, e);
+            }
+        }
+
+        return new ObjLongConsumer<Object>() {
+            @Override
+            public void accept(Object entity, long propValue) {
+                invoke(setMethod, entity, new Object[] { propValue });
+            }
+        };
+    }
+
+    /**
+     *
+     * @param setMethod
+     * @return
+     * @see #intSetter(Method)
+     */
+    static ObjDoubleConsumer<Object> doubleSetter(final Method setMethod) {
+        checkParameterType(setMethod, double.class);
+
+        if (isGeneratable(setMethod)) {
+            try {
+                return Handles.doubleSetter(setMethod);
+            } catch (Throwable e) {
+                logGenerationFailure(setMethod, e);
+            }
+        }
+
+        return new ObjDoubleConsumer<Object>() {
+            @Override
+            public void accept(Object entity, double propValue) {
+                invoke(setMethod, entity, new Object[] { propValue });
+            }
+        };
+    }
+
+    private static void checkParameterType(final Method setMethod, final Class<?> paramClass) {
+        if (setMethod.getParameterTypes().length != 1 || setMethod.getParameterTypes()[0].equals(paramClass) == false) {
+            throw new IllegalArgumentException("The parameter type of method: " + setMethod + " is not " + paramClass);
+        }
+    }
+
+    private static boolean isGeneratable(final Method method) {
+        return isMethodHandleAvailable && Modifier.isStatic(method.getModifiers()) == false && Modifier.isPublic(method.getModifiers())
+                && Modifier.isPublic(method.getDeclaringClass().getModifiers());
+    }
+
+    private static void logGenerationFailure(final Method method, final Throwable e) {
+        if (logger.isWarnEnabled()) {
+            logger.warn("Failed to generate accessor for method: " + method + ". Method.invoke is used", e);
+        }
+    }
+
+    private static Object invoke(final Method method, final Object entity, final Object[] args) {
+        try {
+            return method.invoke(entity, args);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw N.toRuntimeException(e);
+        }
+    }
+
+    /**
+     * Only loaded if {@code MethodHandle} is available. Each handle is adapted by {@code asType} to the exact type of the call site,
+     * as required by {@code invokeExact}.
+     */
+    private static final class Handles {
+        private static final MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+        static Function<Object, Object> getter(final Method getMethod) throws IllegalAccessException {
+            final MethodHandle handle = lookup.unreflect(getMethod).asType(MethodType.methodType(Object.class, Object.class));
+
+            return new Function<Object, Object>() {
+                @Override
+                public Object apply(Object entity) {
+                    try {
+                        return (Object) handle.invokeExact(entity);
+                    } catch (Throwable e) {
+                        throw N.toRuntimeException(e);
+                    }
+                }
+            };
+        }
+
+        static BiConsumer<Object, Object> setter(final Method setMethod) throws IllegalAccessException {
+            final MethodHandle handle = lookup.unreflect(setMethod).asType(MethodType.methodType(void.class, Object.class, Object.class));
+
+            return new BiConsumer<Object, Object>() {
+                @Override
+                public void accept(Object entity, Object propValue) {
+                    try {
+                        handle.invokeExact(entity, propValue);
+                    } catch (Throwable e) {
+                        throw N.toRuntimeException(e);
+                    }
+                }
+            };
+        }
+
+        static ToIntFunction<Object> intGetter(final Method getMethod) throws IllegalAccessException {
+            final MethodHandle handle = lookup.unreflect(getMethod).asType(MethodType.methodType(int.class, Object.class));
+
+            return new ToIntFunction<Object>() {
+                @Override
+                public int applyAsInt(Object entity) {
+                    try {
+                        return (int) handle.invokeExact(entity);
+                    } catch (Throwable e) {
+                        throw N.toRuntimeException(e);
+                    }
+                }
+            };
+        }
+
+        static ToLongFunction<Object> longGetter(final Method getMethod) throws IllegalAccessException {
+            final MethodHandle handle = lookup.unreflect(getMethod).asType(MethodType.methodType(long.class, Object.class));
+
+            return new ToLongFunction<Object>() {
+                @Override
+                public long applyAsLong(Object entity) {
+                    try {
+                        return (long) handle.invokeExact(entity);
+                    } catch (Throwable e) {
+                        throw N.toRuntimeException(e);
+                    }
+                }
+            };
+        }
+
+        static ToDoubleFunction<Object> doubleGetter(final Method getMethod) throws IllegalAccessException {
+            final MethodHandle handle = lookup.unreflect(getMethod).asType(MethodType.methodType(double.class, Object.class));
+
+            return new ToDoubleFunction<Object>() {
+                @Override
+                public double applyAsDouble(Object entity) {
+                    try {
+                        return (double) handle.invokeExact(entity);
+                    } catch (Throwable e) {
+                        throw N.toRuntimeException(e);
+                    }
+                }
+            };
+        }
+
+        static ObjIntConsumer<Object> intSetter(final Method setMethod) throws IllegalAccessException {
+            final MethodHandle handle = lookup.unreflect(setMethod).asType(MethodType.methodType(void.class, Object.class, int.class));
+
+            return new ObjIntConsumer<Object>() {
+                @Override
+                public void accept(Object entity, int propValue) {
+                    try {
+                        handle.invokeExact(entity, propValue);
+                    } catch (Throwable e) {
+                        throw N.toRuntimeException(e);
+                    }
+                }
+            };
+        }
+
+        static ObjLongConsumer<Object> longSetter(final Method setMethod) throws IllegalAccessException {
+            final MethodHandle handle = lookup.unreflect(setMethod).asType(MethodType.methodType(void.class, Object.class, long.class));
+
+            return new ObjLongConsumer<Object>() {
+                @Override
+                public void accept(Object entity, long propValue) {
+                    try {
+                        handle.invokeExact(entity, propValue);
+                    } catch (Throwable e) {
+                        throw N.toRuntimeException(e);
+                    }
+                }
+            };
+        }
+
+        static ObjDoubleConsumer<Object> doubleSetter(final Method setMethod) throws IllegalAccessException {
+            final MethodHandle handle = lookup.unreflect(setMethod).asType(MethodType.methodType(void.class, Object.class, double.class));
+
+            return new ObjDoubleConsumer<Object>() {
+                @Override
+                public void accept(Object entity, double propValue) {
+                    try {
+                        handle.invokeExact(entity, propValue);
+                    } catch (Throwable e) {
+                        throw N.toRuntimeException(e);
+                    }
+                }
+            };
+        }
+    }
+}
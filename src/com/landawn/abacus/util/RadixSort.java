@@ -0,0 +1,813 @@
+/*
+ * Copyright (c) 2015, Haiyang Li.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.landawn.abacus.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * Radix sort for the primitive arrays, behind {@code Array.bucketSort}.
+ * <br />
+ * The values in a narrow range (<code>max - min < length</code>) are sorted by counting sort. Others are sorted by LSD radix sort
+ * on 8-bit digits of <code>value - min</code>, so only the digits which can be different are sorted, and a pass is skipped
+ * if all the values have the same digit. One buffer of the same size is allocated for the whole sort.
+ * Arrays with {@link #MIN_PARALLEL_RADIX_SORT_SIZE} or more elements are first split by the highest digit (MSD),
+ * then the buckets are sorted in parallel by {@code Array.parallelSortExecutor}.
+ * <br />
+ * <code>float/double</code> values are sorted by their bits, mapped to the same order as {@code Float.compare/Double.compare}:
+ * <code>-0.0</code> is before <code>0.0</code> and <code>NaN</code> is at the end, which is the same as {@code Arrays.sort}.
+ *
+ * @since 0.9.5
+ *
+ * @author Haiyang Li
+ */
+final class RadixSort {
+    /**
+     * {@code Arrays.sort} is faster for the arrays shorter than this. See <code>RadixSortBenchmark</code>.
+     */
+    static final int MIN_RADIX_SORT_SIZE = 2048;
+
+    /**
+     * For <code>long/double</code> arrays, which need twice the passes.
+     */
+    static final int MIN_RADIX_SORT_SIZE_64 = 4096;
+
+    static final int MIN_PARALLEL_RADIX_SORT_SIZE = 1 << 20;
+
+    private static final int RADIX_BITS = 8;
+    private static final int RADIX = 1 << RADIX_BITS;
+    private static final int RADIX_MASK = RADIX - 1;
+
+    private RadixSort() {
+        // utility class.
+    }
+
+    static void sort(final char[] a, final int fromIndex, final int toIndex) {
+        final int len = toIndex - fromIndex;
+        int min = a[fromIndex], max = min;
+
+        for (int i = fromIndex + 1; i < toIndex; i++) {
+            if (a[i] < min) {
+                min = a[i];
+            } else if (a[i] > max) {
+                max = a[i];
+            }
+        }
+
+        final int range = max - min;
+
+        if (range == 0) {
+            return;
+        }
+
+        if (range < len) {
+            final int[] counts = new int[range + 1];
+
+            for (int i = fromIndex; i < toIndex; i++) {
+                counts[a[i] - min]++;
+            }
+
+            for (int v = 0, idx = fromIndex; v <= range; v++) {
+                for (int cnt = counts[v]; cnt > 0; cnt--) {
+                    a[idx++] = (char) (v + min);
+                }
+            }
+
+            return;
+        }
+
+        final char[] buffer = new char[len];
+        final int[] counts = new int[2 << RADIX_BITS];
+
+        for (int i = fromIndex; i < toIndex; i++) {
+            final int key = a[i] - min;
+            counts[key & RADIX_MASK]++;
+            counts[RADIX | (key >>> RADIX_BITS)]++;
+        }
+
+        boolean inBuffer = lsdPass(a, fromIndex, buffer, 0, len, min, counts, 0, 0);
+
+        if (inBuffer) {
+            inBuffer = lsdPass(buffer, 0, a, fromIndex, len, min, counts, 1, RADIX_BITS) == false;
+        } else {
+            inBuffer = lsdPass(a, fromIndex, buffer, 0, len, min, counts, 1, RADIX_BITS);
+        }
+
+        if (inBuffer) {
+            N.copy(buffer, 0, a, fromIndex, len);
+        }
+    }
+
+    /**
+     * Distributes the elements from <code>src</code> to <code>dst</code> by the digit of <code>pass</code>, unless all the elements have the same digit.
+     *
+     * @return <code>true</code> if the elements are moved to <code>dst</code>.
+     */
+    private static boolean lsdPass(final char[] src, final int srcOff, final char[] dst, final int dstOff, final int len, final int min, final int[] counts,
+            final int pass, final int shift) {
+        final int base = pass << RADIX_BITS;
+
+        if (counts[base + (((src[srcOff] - min) >>> shift) & RADIX_MASK)] == len) {
+            return false;
+        }
+
+        toOffsets(counts, base, dstOff);
+
+        for (int i = srcOff, to = srcOff + len; i < to; i++) {
+            final char v = src[i];
+            dst[counts[base + (((v - min) >>> shift) & RADIX_MASK)]++] = v;
+        }
+
+        return true;
+    }
+
+    static void sort(final byte[] a, final int fromIndex, final int toIndex) {
+        final int[] counts = new int[RADIX];
+
+        for (int i = fromIndex; i < toIndex; i++) {
+            counts[a[i] - Byte.MIN_VALUE]++;
+        }
+
+        for (int v = 0, idx = fromIndex; v < RADIX; v++) {
+            for (int cnt = counts[v]; cnt > 0; cnt--) {
+                a[idx++] = (byte) (v + Byte.MIN_VALUE);
+            }
+        }
+    }
+
+    static void sort(final short[] a, final int fromIndex, final int toIndex) {
+        final int len = toIndex - fromIndex;
+        int min = a[fromIndex], max = min;
+
+        for (int i = fromIndex + 1; i < toIndex; i++) {
+            if (a[i] < min) {
+                min = a[i];
+            } else if (a[i] > max) {
+                max = a[i];
+            }
+        }
+
+        final int range = max - min;
+
+        if (range == 0) {
+            return;
+        }
+
+        if (range < len) {
+            final int[] counts = new int[range + 1];
+
+            for (int i = fromIndex; i < toIndex; i++) {
+                counts[a[i] - min]++;
+            }
+
+            for (int v = 0, idx = fromIndex; v <= range; v++) {
+                for (int cnt = counts[v]; cnt > 0; cnt--) {
+                    a[idx++] = (short) (v + min);
+                }
+            }
+
+            return;
+        }
+
+        final short[] buffer = new short[len];
+        final int[] counts = new int[2 << RADIX_BITS];
+
+        for (int i = fromIndex; i < toIndex; i++) {
+            final int key = a[i] - min;
+            counts[key & RADIX_MASK]++;
+            counts[RADIX | (key >>> RADIX_BITS)]++;
+        }
+
+        boolean inBuffer = lsdPass(a, fromIndex, buffer, 0, len, min, counts, 0, 0);
+
+        if (inBuffer) {
+            inBuffer = lsdPass(buffer, 0, a, fromIndex, len, min, counts, 1, RADIX_BITS) == false;
+        } else {
+            inBuffer = lsdPass(a, fromIndex, buffer, 0, len, min, counts, 1, RADIX_BITS);
+        }
+
+        if (inBuffer) {
+            N.copy(buffer, 0, a, fromIndex, len);
+        }
+    }
+
+    private static boolean lsdPass(final short[] src, final int srcOff, final short[] dst, final int dstOff, final int len, final int min, final int[] counts,
+            final int pass, final int shift) {
+        final int base = pass << RADIX_BITS;
+
+        if (counts[base + (((src[srcOff] - min) >>> shift) & RADIX_MASK)] == len) {
+            return false;
+        }
+
+        toOffsets(counts, base, dstOff);
+
+        for (int i = srcOff, to = srcOff + len; i < to; i++) {
+            final short v = src[i];
+            dst[counts[base + (((v - min) >>> shift) & RADIX_MASK)]++] = v;
+        }
+
+        return true;
+    }
+
+    static void sort(final int[] a, final int fromIndex, final int toIndex) {
+        final int len = toIndex - fromIndex;
+        int min = a[fromIndex], max = min;
+
+        for (int i = fromIndex + 1; i < toIndex; i++) {
+            if (a[i] < min) {
+                min = a[i];
+            } else if (a[i] > max) {
+                max = a[i];
+            }
+        }
+
+        final long range = (long) max - min;
+
+        if (range == 0) {
+            return;
+        }
+
+        if (range < len) {
+            final int[] counts = new int[(int) range + 1];
+
+            for (int i = fromIndex; i < toIndex; i++) {
+                counts[a[i] - min]++;
+            }
+
+            for (int v = 0, idx = fromIndex; v <= range; v++) {
+                for (int cnt = counts[v]; cnt > 0; cnt--) {
+                    a[idx++] = v + min;
+                }
+            }
+
+            return;
+        }
+
+        final int bits = 64 - Long.numberOfLeadingZeros(range);
+        final int[] buffer = new int[len];
+
+        if (len >= MIN_PARALLEL_RADIX_SORT_SIZE && Array.CPU_CORES > 1) {
+            parallelSort(a, fromIndex, buffer, len, min, bits);
+        } else if (lsd(a, fromIndex, buffer, 0, len, min, bits) == false) {
+            N.copy(buffer, 0, a, fromIndex, len);
+        }
+    }
+
+    /**
+     * Sorts the <code>len</code> elements from <code>x[xOff]</code> by the lower <code>bits</code> of <code>(value - min)</code>,
+     * with the elements from <code>y[yOff]</code> as the buffer.
+     *
+     * @return <code>true</code> if the sorted elements are in <code>x</code>, <code>false</code> if they're in <code>y</code>.
+     */
+    private static boolean lsd(final int[] x, final int xOff, final int[] y, final int yOff, final int len, final int min, final int bits) {
+        final int passes = (bits + RADIX_BITS - 1) / RADIX_BITS;
+        final int[] counts = new int[passes << RADIX_BITS];
+
+        for (int i = xOff, to = xOff + len; i < to; i++) {
+            final int key = x[i] - min;
+
+            for (int pass = 0; pass < passes; pass++) {
+                counts[(pass << RADIX_BITS) | ((key >>> (pass * RADIX_BITS)) & RADIX_MASK)]++;
+            }
+        }
+
+        int[] src = x, dst = y, tmp = null;
+        int srcOff = xOff, dstOff = yOff, tmpOff = 0;
+        boolean inX = true;
+
+        for (int pass = 0; pass < passes; pass++) {
+            final int base = pass << RADIX_BITS;
+            final int shift = pass * RADIX_BITS;
+
+            if (counts[base + (((src[srcOff] - min) >>> shift) & RADIX_MASK)] == len) {
+                continue;
+            }
+
+            toOffsets(counts, base, dstOff);
+
+            for (int i = srcOff, to = srcOff + len; i < to; i++) {
+                final int v = src[i];
+                dst[counts[base + (((v - min) >>> shift) & RADIX_MASK)]++] = v;
+            }
+
+            tmp = src;
+            src = dst;
+            dst = tmp;
+            tmpOff = srcOff;
+            srcOff = dstOff;
+            dstOff = tmpOff;
+            inX = !inX;
+        }
+
+        return inX;
+    }
+
+    private static void parallelSort(final int[] a, final int fromIndex, final int[] buffer, final int len, final int min, final int bits) {
+        final int shift = bits - RADIX_BITS;
+        final int[] starts = new int[RADIX + 1];
+
+        for (int i = fromIndex, toIndex = fromIndex + len; i < toIndex; i++) {
+            starts[((a[i] - min) >>> shift) + 1]++;
+        }
+
+        for (int d = 1; d <= RADIX; d++) {
+            starts[d] += starts[d - 1];
+        }
+
+        final int[] offsets = N.copyOf(starts, RADIX);
+
+        for (int i = fromIndex, toIndex = fromIndex + len; i < toIndex; i++) {
+            final int v = a[i];
+            buffer[offsets[(v - min) >>> shift]++] = v;
+        }
+
+        parallelSortBuckets(starts, len, new BucketSorter() {
+            @Override
+            public void sort(final int from, final int to) {
+                final int n = to - from;
+
+                if (n < MIN_RADIX_SORT_SIZE) {
+                    Arrays.sort(buffer, from, to);
+                    N.copy(buffer, from, a, fromIndex + from, n);
+                } else if (lsd(buffer, from, a, fromIndex + from, n, min, shift)) {
+                    N.copy(buffer, from, a, fromIndex + from, n);
+                }
+            }
+        });
+    }
+
+    static void sort(final long[] a, final int fromIndex, final int toIndex) {
+        final int len = toIndex - fromIndex;
+        long min = a[fromIndex], max = min;
+
+        for (int i = fromIndex + 1; i < toIndex; i++) {
+            if (a[i] < min) {
+                min = a[i];
+            } else if (a[i] > max) {
+                max = a[i];
+            }
+        }
+
+        // unsigned, it may overflow.
+        final long range = max - min;
+
+        if (range == 0) {
+            return;
+        }
+
+        if (range > 0 && range < len) {
+            final int[] counts = new int[(int) range + 1];
+
+            for (int i = fromIndex; i < toIndex; i++) {
+                counts[(int) (a[i] - min)]++;
+            }
+
+            for (int v = 0, idx = fromIndex; v <= range; v++) {
+                for (int cnt = counts[v]; cnt > 0; cnt--) {
+                    a[idx++] = v + min;
+                }
+            }
+
+            return;
+        }
+
+        final int bits = 64 - Long.numberOfLeadingZeros(range);
+        final long[] buffer = new long[len];
+
+        if (len >= MIN_PARALLEL_RADIX_SORT_SIZE && Array.CPU_CORES > 1) {
+            parallelSort(a, fromIndex, buffer, len, min, bits);
+        } else if (lsd(a, fromIndex, buffer, 0, len, min, bits) == false) {
+            N.copy(buffer, 0, a, fromIndex, len);
+        }
+    }
+
+    private static boolean lsd(final long[] x, final int xOff, final long[] y, final int yOff, final int len, final long min, final int bits) {
+        final int passes = (bits + RADIX_BITS - 1) / RADIX_BITS;
+        final int[] counts = new int[passes << RADIX_BITS];
+
+        for (int i = xOff, to = xOff + len; i < to; i++) {
+            final long key = x[i] - min;
+
+            for (int pass = 0; pass < passes; pass++) {
+                counts[(pass << RADIX_BITS) | ((int) (key >>> (pass * RADIX_BITS)) & RADIX_MASK)]++;
+            }
+        }
+
+        long[] src = x, dst = y, tmp = null;
+        int srcOff = xOff, dstOff = yOff, tmpOff = 0;
+        boolean inX = true;
+
+        for (int pass = 0; pass < passes; pass++) {
+            final int base = pass << RADIX_BITS;
+            final int shift = pass * RADIX_BITS;
+
+            if (counts[base + ((int) ((src[srcOff] - min) >>> shift) & RADIX_MASK)] == len) {
+                continue;
+            }
+
+            toOffsets(counts, base, dstOff);
+
+            for (int i = srcOff, to = srcOff + len; i < to; i++) {
+                final long v = src[i];
+                dst[counts[base + ((int) ((v - min) >>> shift) & RADIX_MASK)]++] = v;
+            }
+
+            tmp = src;
+            src = dst;
+            dst = tmp;
+            tmpOff = srcOff;
+            srcOff = dstOff;
+            dstOff = tmpOff;
+            inX = !inX;
+        }
+
+        return inX;
+    }
+
+    private static void parallelSort(final long[] a, final int fromIndex, final long[] buffer, final int len, final long min, final int bits) {
+        final int shift = bits - RADIX_BITS;
+        final int[] starts = new int[RADIX + 1];
+
+        for (int i = fromIndex, toIndex = fromIndex + len; i < toIndex; i++) {
+            starts[(int) ((a[i] - min) >>> shift) + 1]++;
+        }
+
+        for (int d = 1; d <= RADIX; d++) {
+            starts[d] += starts[d - 1];
+        }
+
+        final int[] offsets = N.copyOf(starts, RADIX);
+
+        for (int i = fromIndex, toIndex = fromIndex + len; i < toIndex; i++) {
+            final long v = a[i];
+            buffer[offsets[(int) ((v - min) >>> shift)]++] = v;
+        }
+
+        parallelSortBuckets(starts, len, new BucketSorter() {
+            @Override
+            public void sort(final int from, final int to) {
+                final int n = to - from;
+
+                if (n < MIN_RADIX_SORT_SIZE) {
+                    Arrays.sort(buffer, from, to);
+                    N.copy(buffer, from, a, fromIndex + from, n);
+                } else if (lsd(buffer, from, a, fromIndex + from, n, min, shift)) {
+                    N.copy(buffer, from, a, fromIndex + from, n);
+                }
+            }
+        });
+    }
+
+    static void sort(final float[] a, final int fromIndex, int toIndex) {
+        toIndex = moveNaNToEnd(a, fromIndex, toIndex);
+
+        final int len = toIndex - fromIndex;
+
+        if (len < 2) {
+            return;
+        }
+
+        int min = key(a[fromIndex]), max = min, key = 0;
+
+        for (int i = fromIndex + 1; i < toIndex; i++) {
+            key = key(a[i]);
+
+            if (key < min) {
+                min = key;
+            } else if (key > max) {
+                max = key;
+            }
+        }
+
+        final long range = (long) max - min;
+
+        if (range == 0) {
+            return;
+        }
+
+        final int bits = 64 - Long.numberOfLeadingZeros(range);
+        final float[] buffer = new float[len];
+
+        if (len >= MIN_PARALLEL_RADIX_SORT_SIZE && Array.CPU_CORES > 1) {
+            parallelSort(a, fromIndex, buffer, len, min, bits);
+        } else if (lsd(a, fromIndex, buffer, 0, len, min, bits) == false) {
+            N.copy(buffer, 0, a, fromIndex, len);
+        }
+    }
+
+    /**
+     * Maps the bits of the float value to an <code>int</code> in the same order as {@code Float.compare}, except <code>NaN</code>.
+     */
+    private static int key(final float value) {
+        final int bits = Float.floatToRawIntBits(value);
+
+        return bits ^ ((bits >> 31) & Integer.MAX_VALUE);
+    }
+
+    /**
+     *
+     * @return the new <code>toIndex</code>, before the <code>NaN</code> values.
+     */
+    private static int moveNaNToEnd(final float[] a, final int fromIndex, int toIndex) {
+        while (toIndex > fromIndex && Float.isNaN(a[toIndex - 1])) {
+            toIndex--;
+        }
+
+        for (int i = toIndex - 1; --i >= fromIndex;) {
+            final float v = a[i];
+
+            if (v != v) {
+                a[i] = a[--toIndex];
+                a[toIndex] = v;
+            }
+        }
+
+        return toIndex;
+    }
+
+    private static boolean lsd(final float[] x, final int xOff, final float[] y, final int yOff, final int len, final int min, final int bits) {
+        final int passes = (bits + RADIX_BITS - 1) / RADIX_BITS;
+        final int[] counts = new int[passes << RADIX_BITS];
+
+        for (int i = xOff, to = xOff + len; i < to; i++) {
+            final int key = key(x[i]) - min;
+
+            for (int pass = 0; pass < passes; pass++) {
+                counts[(pass << RADIX_BITS) | ((key >>> (pass * RADIX_BITS)) & RADIX_MASK)]++;
+            }
+        }
+
+        float[] src = x, dst = y, tmp = null;
+        int srcOff = xOff, dstOff = yOff, tmpOff = 0;
+        boolean inX = true;
+
+        for (int pass = 0; pass < passes; pass++) {
+            final int base = pass << RADIX_BITS;
+            final int shift = pass * RADIX_BITS;
+
+            if (counts[base + (((key(src[srcOff]) - min) >>> shift) & RADIX_MASK)] == len) {
+                continue;
+            }
+
+            toOffsets(counts, base, dstOff);
+
+            for (int i = srcOff, to = srcOff + len; i < to; i++) {
+                final float v = src[i];
+                dst[counts[base + (((key(v) - min) >>> shift) & RADIX_MASK)]++] = v;
+            }
+
+            tmp = src;
+            src = dst;
+            dst = tmp;
+            tmpOff = srcOff;
+            srcOff = dstOff;
+            dstOff = tmpOff;
+            inX = !inX;
+        }
+
+        return inX;
+    }
+
+    private static void parallelSort(final float[] a, final int fromIndex, final float[] buffer, final int len, final int min, final int bits) {
+        final int shift = bits - RADIX_BITS;
+        final int[] starts = new int[RADIX + 1];
+
+        for (int i = fromIndex, toIndex = fromIndex + len; i < toIndex; i++) {
+            starts[((key(a[i]) - min) >>> shift) + 1]++;
+        }
+
+        for (int d = 1; d <= RADIX; d++) {
+            starts[d] += starts[d - 1];
+        }
+
+        final int[] offsets = N.copyOf(starts, RADIX);
+
+        for (int i = fromIndex, toIndex = fromIndex + len; i < toIndex; i++) {
+            final float v = a[i];
+            buffer[offsets[(key(v) - min) >>> shift]++] = v;
+        }
+
+        parallelSortBuckets(starts, len, new BucketSorter() {
+            @Override
+            public void sort(final int from, final int to) {
+                final int n = to - from;
+
+                if (n < MIN_RADIX_SORT_SIZE) {
+                    Arrays.sort(buffer, from, to);
+                    N.copy(buffer, from, a, fromIndex + from, n);
+                } else if (lsd(buffer, from, a, fromIndex + from, n, min, shift)) {
+                    N.copy(buffer, from, a, fromIndex + from, n);
+                }
+            }
+        });
+    }
+
+    static void sort(final double[] a, final int fromIndex, int toIndex) {
+        toIndex = moveNaNToEnd(a, fromIndex, toIndex);
+
+        final int len = toIndex - fromIndex;
+
+        if (len < 2) {
+            return;
+        }
+
+        long min = key(a[fromIndex]), max = min, key = 0;
+
+        for (int i = fromIndex + 1; i < toIndex; i++) {
+            key = key(a[i]);
+
+            if (key < min) {
+                min = key;
+            } else if (key > max) {
+                max = key;
+            }
+        }
+
+        // unsigned, it may overflow.
+        final long range = max - min;
+
+        if (range == 0) {
+            return;
+        }
+
+        final int bits = 64 - Long.numberOfLeadingZeros(range);
+        final double[] buffer = new double[len];
+
+        if (len >= MIN_PARALLEL_RADIX_SORT_SIZE && Array.CPU_CORES > 1) {
+            parallelSort(a, fromIndex, buffer, len, min, bits);
+        } else if (lsd(a, fromIndex, buffer, 0, len, min, bits) == false) {
+            N.copy(buffer, 0, a, fromIndex, len);
+        }
+    }
+
+    private static long key(final double value) {
+        final long bits = Double.doubleToRawLongBits(value);
+
+        return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+    }
+
+    private static int moveNaNToEnd(final double[] a, final int fromIndex, int toIndex) {
+        while (toIndex > fromIndex && Double.isNaN(a[toIndex - 1])) {
+            toIndex--;
+        }
+
+        for (int i = toIndex - 1; --i >= fromIndex;) {
+            final double v = a[i];
+
+            if (v != v) {
+                a[i] = a[--toIndex];
+                a[toIndex] = v;
+            }
+        }
+
+        return toIndex;
+    }
+
+    private static boolean lsd(final double[] x, final int xOff, final double[] y, final int yOff, final int len, final long min, final int bits) {
+        final int passes = (bits + RADIX_BITS - 1) / RADIX_BITS;
+        final int[] counts = new int[passes << RADIX_BITS];
+
+        for (int i = xOff, to = xOff + len; i < to; i++) {
+            final long key = key(x[i]) - min;
+
+            for (int pass = 0; pass < passes; pass++) {
+                counts[(pass << RADIX_BITS) | ((int) (key >>> (pass * RADIX_BITS)) & RADIX_MASK)]++;
+            }
+        }
+
+        double[] src = x, dst = y, tmp = null;
+        int srcOff = xOff, dstOff = yOff, tmpOff = 0;
+        boolean inX = true;
+
+        for (int pass = 0; pass < passes; pass++) {
+            final int base = pass << RADIX_BITS;
+            final int shift = pass * RADIX_BITS;
+
+            if (counts[base + ((int) ((key(src[srcOff]) - min) >>> shift) & RADIX_MASK)] == len) {
+                continue;
+            }
+
+            toOffsets(counts, base, dstOff);
+
+            for (int i = srcOff, to = srcOff + len; i < to; i++) {
+                final double v = src[i];
+                dst[counts[base + ((int) ((key(v) - min) >>> shift) & RADIX_MASK)]++] = v;
+            }
+
+            tmp = src;
+            src = dst;
+            dst = tmp;
+            tmpOff = srcOff;
+            srcOff = dstOff;
+            dstOff = tmpOff;
+            inX = !inX;
+        }
+
+        return inX;
+    }
+
+    private static void parallelSort(final double[] a, final int fromIndex, final double[] buffer, final int len, final long min, final int bits) {
+        final int shift = bits - RADIX_BITS;
+        final int[] starts = new int[RADIX + 1];
+
+        for (int i = fromIndex, toIndex = fromIndex + len; i < toIndex; i++) {
+            starts[(int) ((key(a[i]) - min) >>> shift) + 1]++;
+        }
+
+        for (int d = 1; d <= RADIX; d++) {
+            starts[d] += starts[d - 1];
+        }
+
+        final int[] offsets = N.copyOf(starts, RADIX);
+
+        for (int i = fromIndex, toIndex = fromIndex + len; i < toIndex; i++) {
+            final double v = a[i];
+            buffer[offsets[(int) ((key(v) - min) >>> shift)]++] = v;
+        }
+
+        parallelSortBuckets(starts, len, new BucketSorter() {
+            @Override
+            public void sort(final int from, final int to) {
+                final int n = to - from;
+
+                if (n < MIN_RADIX_SORT_SIZE) {
+                    Arrays.sort(buffer, from, to);
+                    N.copy(buffer, from, a, fromIndex + from, n);
+                } else if (lsd(buffer, from, a, fromIndex + from, n, min, shift)) {
+                    N.copy(buffer, from, a, fromIndex + from, n);
+                }
+            }
+        });
+    }
+
+    /**
+     * Converts the counts of the digits of a pass to the offsets where the elements with the digits start.
+     */
+    private static void toOffsets(final int[] counts, final int base, final int offset) {
+        for (int d = base, to = base + RADIX, sum = offset, cnt = 0; d < to; d++) {
+            cnt = counts[d];
+            counts[d] = sum;
+            sum += cnt;
+        }
+    }
+
+    /**
+     * Sorts the MSD buckets in parallel. The adjacent small buckets are sorted in one task.
+     *
+     * @param starts the start indexes of the buckets in the buffer, and the length at the end.
+     * @param len
+     * @param sorter
+     */
+    private static void parallelSortBuckets(final int[] starts, final int len, final BucketSorter sorter) {
+        final int taskSize = N.max(MIN_RADIX_SORT_SIZE, len / (Array.CPU_CORES * 4));
+        final List<Callable<Void>> tasks = new ArrayList<>();
+
+        for (int from = 0, to = 0; from < RADIX; from = to) {
+            to = from + 1;
+
+            while (to < RADIX && starts[to + 1] - starts[from] <= taskSize) {
+                to++;
+            }
+
+            final int fromBucket = from, toBucket = to;
+
+            tasks.add(new Callable<Void>() {
+                @Override
+                public Void call() {
+                    for (int d = fromBucket; d < toBucket; d++) {
+                        if (starts[d + 1] > starts[d]) {
+                            sorter.sort(starts[d], starts[d + 1]);
+                        }
+                    }
+
+                    return null;
+                }
+            });
+        }
+
+        Array.parallelSortExecutor.executeAll(tasks, Array.CPU_CORES);
+    }
+
+    private static interface BucketSorter {
+        /**
+         * Sorts the elements of a bucket from <code>buffer[from]</code> to <code>buffer[to]</code>, and moves them to the array.
+         */
+        void sort(int from, int to);
+    }
+}
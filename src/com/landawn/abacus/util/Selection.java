@@ -0,0 +1,530 @@
+/*
+ * Copyright (c) 2015, Haiyang Li.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.landawn.abacus.util;
+
+import java.util.Arrays;
+
+/**
+ * Selection of the kth largest value or the top n values in the primitive arrays, behind {@code N.kthLargest/N.top/N.median}.
+ * <br />
+ * If n (or k) is small compared to the length, the values are offered to {@link IntTopKSelector}/{@link LongTopKSelector},
+ * without copying the array. Otherwise the range is copied once and the kth value is found by introselect in the copy:
+ * quickselect with median-of-3 pivot, which sorts the remaining range if it doesn't converge after <code>2 * log2(length)</code> rounds.
+ * The top n values are collected by another pass over the range, with the nth largest value.
+ * <br />
+ * The top n values are returned in their original order. If there are equal values at the boundary, the ones in front are returned.
+ * <code>float/double</code> values are compared by the same order as {@code Float.compare/Double.compare}.
+ *
+ * @since 0.9.5
+ *
+ * @author Haiyang Li
+ */
+final class Selection {
+    /**
+     * {@code IntTopKSelector/LongTopKSelector} is used if n (or k) is not bigger than <code>length / TOP_K_SELECTOR_RATIO</code>.
+     */
+    static final int TOP_K_SELECTOR_RATIO = 16;
+
+    private static final int MIN_QUICK_SELECT_SIZE = 16;
+
+    private Selection() {
+        // utility class.
+    }
+
+    static boolean isTopKSelectorPreferred(final int len, final int n) {
+        return n <= len / TOP_K_SELECTOR_RATIO;
+    }
+
+    /**
+     * Maps the value to an <code>int</code> in the same order as {@code Float.compare}.
+     */
+    static int key(final float value) {
+        final int bits = Float.floatToIntBits(value);
+
+        return bits ^ ((bits >> 31) & Integer.MAX_VALUE);
+    }
+
+    static float floatOf(final int key) {
+        return Float.intBitsToFloat(key ^ ((key >> 31) & Integer.MAX_VALUE));
+    }
+
+    /**
+     * Maps the value to a <code>long</code> in the same order as {@code Double.compare}.
+     */
+    static long key(final double value) {
+        final long bits = Double.doubleToLongBits(value);
+
+        return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+    }
+
+    static double doubleOf(final long key) {
+        return Double.longBitsToDouble(key ^ ((key >> 63) & Long.MAX_VALUE));
+    }
+
+    /**
+     * Rearranges the range so that the value at <code>kth</code> is the one in the sorted range, the values before it are not bigger,
+     * and the values after it are not smaller.
+     *
+     * @param a
+     * @param fromIndex
+     * @param toIndex
+     * @param kth
+     * @return the value at <code>kth</code>.
+     */
+    static int select(final int[] a, int fromIndex, int toIndex, final int kth) {
+        int depth = 2 * (32 - Integer.numberOfLeadingZeros(toIndex - fromIndex));
+        int pivot = 0, tmp = 0;
+
+        while (toIndex - fromIndex > MIN_QUICK_SELECT_SIZE) {
+            if (depth-- == 0) {
+                break;
+            }
+
+            pivot = N.median(a[fromIndex], a[(fromIndex + toIndex) >>> 1], a[toIndex - 1]);
+            int i = fromIndex, j = toIndex - 1;
+
+            // the values equal to pivot are swapped too, so the range is split evenly if there are many equal values.
+            while (i <= j) {
+                while (a[i] < pivot) {
+                    i++;
+                }
+
+                while (a[j] > pivot) {
+                    j--;
+                }
+
+                if (i <= j) {
+                    tmp = a[i];
+                    a[i++] = a[j];
+                    a[j--] = tmp;
+                }
+            }
+
+            // [fromIndex, j] <= pivot, (j, i) == pivot, [i, toIndex) >= pivot.
+            if (kth <= j) {
+                toIndex = j + 1;
+            } else if (kth >= i) {
+                fromIndex = i;
+            } else {
+                return a[kth];
+            }
+        }
+
+        Arrays.sort(a, fromIndex, toIndex);
+
+        return a[kth];
+    }
+
+    static long select(final long[] a, int fromIndex, int toIndex, final int kth) {
+        int depth = 2 * (32 - Integer.numberOfLeadingZeros(toIndex - fromIndex));
+        long pivot = 0, tmp = 0;
+
+        while (toIndex - fromIndex > MIN_QUICK_SELECT_SIZE) {
+            if (depth-- == 0) {
+                break;
+            }
+
+            pivot = N.median(a[fromIndex], a[(fromIndex + toIndex) >>> 1], a[toIndex - 1]);
+            int i = fromIndex, j = toIndex - 1;
+
+            // the values equal to pivot are swapped too, so the range is split evenly if there are many equal values.
+            while (i <= j) {
+                while (a[i] < pivot) {
+                    i++;
+                }
+
+                while (a[j] > pivot) {
+                    j--;
+                }
+
+                if (i <= j) {
+                    tmp = a[i];
+                    a[i++] = a[j];
+                    a[j--] = tmp;
+                }
+            }
+
+            // [fromIndex, j] <= pivot, (j, i) == pivot, [i, toIndex) >= pivot.
+            if (kth <= j) {
+                toIndex = j + 1;
+            } else if (kth >= i) {
+                fromIndex = i;
+            } else {
+                return a[kth];
+            }
+        }
+
+        Arrays.sort(a, fromIndex, toIndex);
+
+        return a[kth];
+    }
+
+    static char kthLargest(final char[] a, final int fromIndex, final int toIndex, final int k) {
+        final int len = toIndex - fromIndex;
+        final int[] keys = new int[len];
+
+        for (int i = 0; i < len; i++) {
+            keys[i] = a[fromIndex + i];
+        }
+
+        return (char) select(keys, 0, len, len - k);
+    }
+
+    static byte kthLargest(final byte[] a, final int fromIndex, final int toIndex, final int k) {
+        final int len = toIndex - fromIndex;
+        final int[] keys = new int[len];
+
+        for (int i = 0; i < len; i++) {
+            keys[i] = a[fromIndex + i];
+        }
+
+        return (byte) select(keys, 0, len, len - k);
+    }
+
+    static short kthLargest(final short[] a, final int fromIndex, final int toIndex, final int k) {
+        final int len = toIndex - fromIndex;
+        final int[] keys = new int[len];
+
+        for (int i = 0; i < len; i++) {
+            keys[i] = a[fromIndex + i];
+        }
+
+        return (short) select(keys, 0, len, len - k);
+    }
+
+    static int kthLargest(final int[] a, final int fromIndex, final int toIndex, final int k) {
+        final int len = toIndex - fromIndex;
+
+        if (isTopKSelectorPreferred(len, k)) {
+            final IntTopKSelector selector = new IntTopKSelector(k);
+
+            for (int i = fromIndex; i < toIndex; i++) {
+                selector.offer(a[i]);
+            }
+
+            return selector.kth();
+        } else if (isTopKSelectorPreferred(len, len - k + 1)) {
+            // the (len - k + 1)th smallest.
+            final IntTopKSelector selector = new IntTopKSelector(len - k + 1);
+
+            for (int i = fromIndex; i < toIndex; i++) {
+                selector.offer(~a[i]);
+            }
+
+            return ~selector.kth();
+        }
+
+        return select(N.copyOfRange(a, fromIndex, toIndex), 0, len, len - k);
+    }
+
+    static long kthLargest(final long[] a, final int fromIndex, final int toIndex, final int k) {
+        final int len = toIndex - fromIndex;
+
+        if (isTopKSelectorPreferred(len, k)) {
+            final LongTopKSelector selector = new LongTopKSelector(k);
+
+            for (int i = fromIndex; i < toIndex; i++) {
+                selector.offer(a[i]);
+            }
+
+            return selector.kth();
+        } else if (isTopKSelectorPreferred(len, len - k + 1)) {
+            // the (len - k + 1)th smallest.
+            final LongTopKSelector selector = new LongTopKSelector(len - k + 1);
+
+            for (int i = fromIndex; i < toIndex; i++) {
+                selector.offer(~a[i]);
+            }
+
+            return ~selector.kth();
+        }
+
+        return select(N.copyOfRange(a, fromIndex, toIndex), 0, len, len - k);
+    }
+
+    static float kthLargest(final float[] a, final int fromIndex, final int toIndex, final int k) {
+        final int len = toIndex - fromIndex;
+
+        if (isTopKSelectorPreferred(len, k)) {
+            final IntTopKSelector selector = new IntTopKSelector(k);
+
+            for (int i = fromIndex; i < toIndex; i++) {
+                selector.offer(key(a[i]));
+            }
+
+            return floatOf(selector.kth());
+        } else if (isTopKSelectorPreferred(len, len - k + 1)) {
+            // the (len - k + 1)th smallest.
+            final IntTopKSelector selector = new IntTopKSelector(len - k + 1);
+
+            for (int i = fromIndex; i < toIndex; i++) {
+                selector.offer(~key(a[i]));
+            }
+
+            return floatOf(~selector.kth());
+        }
+
+        final int[] keys = new int[len];
+
+        for (int i = 0; i < len; i++) {
+            keys[i] = key(a[fromIndex + i]);
+        }
+
+        return floatOf(select(keys, 0, len, len - k));
+    }
+
+    static double kthLargest(final double[] a, final int fromIndex, final int toIndex, final int k) {
+        final int len = toIndex - fromIndex;
+
+        if (isTopKSelectorPreferred(len, k)) {
+            final LongTopKSelector selector = new LongTopKSelector(k);
+
+            for (int i = fromIndex; i < toIndex; i++) {
+                selector.offer(key(a[i]));
+            }
+
+            return doubleOf(selector.kth());
+        } else if (isTopKSelectorPreferred(len, len - k + 1)) {
+            // the (len - k + 1)th smallest.
+            final LongTopKSelector selector = new LongTopKSelector(len - k + 1);
+
+            for (int i = fromIndex; i < toIndex; i++) {
+                selector.offer(~key(a[i]));
+            }
+
+            return doubleOf(~selector.kth());
+        }
+
+        final long[] keys = new long[len];
+
+        for (int i = 0; i < len; i++) {
+            keys[i] = key(a[fromIndex + i]);
+        }
+
+        return doubleOf(select(keys, 0, len, len - k));
+    }
+
+    static short[] top(final short[] a, final int fromIndex, final int toIndex, final int n) {
+        final int len = toIndex - fromIndex;
+        int threshold = 0;
+        int quota = 0;
+
+        if (isTopKSelectorPreferred(len, n)) {
+            final IntTopKSelector selector = new IntTopKSelector(n);
+
+            for (int i = fromIndex; i < toIndex; i++) {
+                selector.offer(a[i]);
+            }
+
+            threshold = selector.kth();
+            quota = n - selector.countGreaterThanKth();
+        } else {
+            final int[] keys = new int[len];
+
+            for (int i = 0; i < len; i++) {
+                keys[i] = a[fromIndex + i];
+            }
+
+            threshold = select(keys, 0, len, len - n);
+            quota = n - countGreater(keys, len - n + 1, len, threshold);
+        }
+
+        // the values equal to the threshold are taken from the front.
+        final short[] result = new short[n];
+
+        for (int i = fromIndex, cnt = 0; cnt < n; i++) {
+            if (a[i] > threshold || (a[i] == threshold && quota-- > 0)) {
+                result[cnt++] = a[i];
+            }
+        }
+
+        return result;
+    }
+
+    static int[] top(final int[] a, final int fromIndex, final int toIndex, final int n) {
+        final int len = toIndex - fromIndex;
+        int threshold = 0;
+        int quota = 0;
+
+        if (isTopKSelectorPreferred(len, n)) {
+            final IntTopKSelector selector = new IntTopKSelector(n);
+
+            for (int i = fromIndex; i < toIndex; i++) {
+                selector.offer(a[i]);
+            }
+
+            threshold = selector.kth();
+            quota = n - selector.countGreaterThanKth();
+        } else {
+            final int[] keys = N.copyOfRange(a, fromIndex, toIndex);
+            threshold = select(keys, 0, len, len - n);
+            quota = n - countGreater(keys, len - n + 1, len, threshold);
+        }
+
+        // the values equal to the threshold are taken from the front.
+        final int[] result = new int[n];
+
+        for (int i = fromIndex, cnt = 0; cnt < n; i++) {
+            if (a[i] > threshold || (a[i] == threshold && quota-- > 0)) {
+                result[cnt++] = a[i];
+            }
+        }
+
+        return result;
+    }
+
+    static long[] top(final long[] a, final int fromIndex, final int toIndex, final int n) {
+        final int len = toIndex - fromIndex;
+        long threshold = 0;
+        int quota = 0;
+
+        if (isTopKSelectorPreferred(len, n)) {
+            final LongTopKSelector selector = new LongTopKSelector(n);
+
+            for (int i = fromIndex; i < toIndex; i++) {
+                selector.offer(a[i]);
+            }
+
+            threshold = selector.kth();
+            quota = n - selector.countGreaterThanKth();
+        } else {
+            final long[] keys = N.copyOfRange(a, fromIndex, toIndex);
+            threshold = select(keys, 0, len, len - n);
+            quota = n - countGreater(keys, len - n + 1, len, threshold);
+        }
+
+        // the values equal to the threshold are taken from the front.
+        final long[] result = new long[n];
+
+        for (int i = fromIndex, cnt = 0; cnt < n; i++) {
+            if (a[i] > threshold || (a[i] == threshold && quota-- > 0)) {
+                result[cnt++] = a[i];
+            }
+        }
+
+        return result;
+    }
+
+    static float[] top(final float[] a, final int fromIndex, final int toIndex, final int n) {
+        final int len = toIndex - fromIndex;
+        int threshold = 0;
+        int quota = 0;
+
+        if (isTopKSelectorPreferred(len, n)) {
+            final IntTopKSelector selector = new IntTopKSelector(n);
+
+            for (int i = fromIndex; i < toIndex; i++) {
+                selector.offer(key(a[i]));
+            }
+
+            threshold = selector.kth();
+            quota = n - selector.countGreaterThanKth();
+        } else {
+            final int[] keys = new int[len];
+
+            for (int i = 0; i < len; i++) {
+                keys[i] = key(a[fromIndex + i]);
+            }
+
+            threshold = select(keys, 0, len, len - n);
+            quota = n - countGreater(keys, len - n + 1, len, threshold);
+        }
+
+        // the values equal to the threshold are taken from the front.
+        final float[] result = new float[n];
+
+        int key = 0;
+
+        for (int i = fromIndex, cnt = 0; cnt < n; i++) {
+            key = key(a[i]);
+
+            if (key > threshold || (key == threshold && quota-- > 0)) {
+                result[cnt++] = a[i];
+            }
+        }
+
+        return result;
+    }
+
+    static double[] top(final double[] a, final int fromIndex, final int toIndex, final int n) {
+        final int len = toIndex - fromIndex;
+        long threshold = 0;
+        int quota = 0;
+
+        if (isTopKSelectorPreferred(len, n)) {
+            final LongTopKSelector selector = new LongTopKSelector(n);
+
+            for (int i = fromIndex; i < toIndex; i++) {
+                selector.offer(key(a[i]));
+            }
+
+            threshold = selector.kth();
+            quota = n - selector.countGreaterThanKth();
+        } else {
+            final long[] keys = new long[len];
+
+            for (int i = 0; i < len; i++) {
+                keys[i] = key(a[fromIndex + i]);
+            }
+
+            threshold = select(keys, 0, len, len - n);
+            quota = n - countGreater(keys, len - n + 1, len, threshold);
+        }
+
+        // the values equal to the threshold are taken from the front.
+        final double[] result = new double[n];
+
+        long key = 0;
+
+        for (int i = fromIndex, cnt = 0; cnt < n; i++) {
+            key = key(a[i]);
+
+            if (key > threshold || (key == threshold && quota-- > 0)) {
+                result[cnt++] = a[i];
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * After {@code select}, all the values bigger than the kth value are after it.
+     */
+    private static int countGreater(final int[] a, final int fromIndex, final int toIndex, final int value) {
+        int cnt = 0;
+
+        for (int i = fromIndex; i < toIndex; i++) {
+            if (a[i] > value) {
+                cnt++;
+            }
+        }
+
+        return cnt;
+    }
+
+    private static int countGreater(final long[] a, final int fromIndex, final int toIndex, final long value) {
+        int cnt = 0;
+
+        for (int i = fromIndex; i < toIndex; i++) {
+            if (a[i] > value) {
+                cnt++;
+            }
+        }
+
+        return cnt;
+    }
+}
@@ -0,0 +1,715 @@
+/*
+ * Copyright (c) 2015, Haiyang Li.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.landawn.abacus.util;
+
+/**
+ * Set operations (intersection/difference/disjoint/containsAll) on the <code>int/long</code> arrays, behind {@code N} and {@code IntList/LongList}.
+ * <br />
+ * All the operations are built on {@link #contains(int[], int, int, int[], int, int, boolean)}, which finds out which elements in the first range
+ * are contained in the second range, except <code>disjoint</code>, which stops at the first common element. Both use one of the strategies below,
+ * chosen by the sizes and the sortedness of the two ranges:
+ * <ul>
+ * <li>linear scan, if the product of the two sizes is not bigger than {@link #MAX_SIZE_FOR_SCAN}.</li>
+ * <li>sorted merge, if both ranges are sorted and their sizes are close.</li>
+ * <li>galloping search of the smaller range in the bigger one, if both ranges are sorted and one is {@link #GALLOP_RATIO} times bigger than the other.</li>
+ * <li>binary search in the sorted range, if the other one is small enough: <code>size * log2(sortedSize) <= sortedSize</code>.</li>
+ * <li>hash look up by {@link IntHashSet}/{@link LongHashSet} of the smaller range, otherwise.</li>
+ * </ul>
+ * The sortedness is checked by one pass, which stops at the first unsorted pair, unless it's specified by the caller.
+ * The elements are compared by <code>==</code>, and the duplicated elements in the first range are kept in the results.
+ *
+ * @since 0.9.5
+ *
+ * @author Haiyang Li
+ */
+final class SetAlgebra {
+    static final int MAX_SIZE_FOR_SCAN = 1024;
+
+    static final int GALLOP_RATIO = 8;
+
+    private SetAlgebra() {
+        // utility class.
+    }
+
+    /**
+     *
+     * @param a
+     * @param aFromIndex
+     * @param aToIndex
+     * @param b
+     * @param bFromIndex
+     * @param bToIndex
+     * @param isBSorted the second range is not checked if it's specified as sorted.
+     * @return an array with length <code>aToIndex - aFromIndex</code>, in which the element at <code>i</code> is <code>true</code> if
+     *         <code>a[aFromIndex + i]</code> is contained in the second range.
+     */
+    static boolean[] contains(final int[] a, final int aFromIndex, final int aToIndex, final int[] b, final int bFromIndex, final int bToIndex,
+            final boolean isBSorted) {
+        final int aLen = aToIndex - aFromIndex;
+        final int bLen = bToIndex - bFromIndex;
+        final boolean[] found = new boolean[aLen];
+
+        if (aLen == 0 || bLen == 0) {
+            return found;
+        }
+
+        if ((long) aLen * bLen <= MAX_SIZE_FOR_SCAN) {
+            for (int i = aFromIndex; i < aToIndex; i++) {
+                for (int j = bFromIndex; j < bToIndex; j++) {
+                    if (a[i] == b[j]) {
+                        found[i - aFromIndex] = true;
+                        break;
+                    }
+                }
+            }
+
+            return found;
+        }
+
+        final boolean isASorted = isSorted(a, aFromIndex, aToIndex);
+        final boolean isBSortedChecked = isBSorted || isSorted(b, bFromIndex, bToIndex);
+
+        if (isASorted && isBSortedChecked) {
+            if (bLen / aLen >= GALLOP_RATIO) {
+                gallop(a, aFromIndex, aToIndex, b, bFromIndex, bToIndex, found);
+            } else if (aLen / bLen >= GALLOP_RATIO) {
+                gallopInto(a, aFromIndex, aToIndex, b, bFromIndex, bToIndex, found);
+            } else {
+                merge(a, aFromIndex, aToIndex, b, bFromIndex, bToIndex, found);
+            }
+        } else if (isBSortedChecked && isBinarySearchPreferred(aLen, bLen)) {
+            for (int i = aFromIndex; i < aToIndex; i++) {
+                found[i - aFromIndex] = N.binarySearch(b, bFromIndex, bToIndex, a[i]) >= 0;
+            }
+        } else if (isASorted && isBinarySearchPreferred(bLen, aLen)) {
+            int idx = 0;
+
+            for (int j = bFromIndex; j < bToIndex; j++) {
+                idx = lowerBound(a, aFromIndex, aToIndex, b[j]);
+                mark(a, idx, aToIndex, b[j], aFromIndex, found);
+            }
+        } else if (bLen <= aLen) {
+            final IntHashSet set = new IntHashSet(bLen);
+
+            for (int j = bFromIndex; j < bToIndex; j++) {
+                set.add(b[j]);
+            }
+
+            for (int i = aFromIndex; i < aToIndex; i++) {
+                found[i - aFromIndex] = set.contains(a[i]);
+            }
+        } else {
+            // the bigger second range is not copied to a set. The elements of the first range found in it are collected instead.
+            final IntHashSet set = new IntHashSet(aLen);
+
+            for (int i = aFromIndex; i < aToIndex; i++) {
+                set.add(a[i]);
+            }
+
+            final IntHashSet hits = new IntHashSet();
+
+            for (int j = bFromIndex; j < bToIndex; j++) {
+                if (set.contains(b[j])) {
+                    hits.add(b[j]);
+                }
+            }
+
+            if (hits.size() > 0) {
+                for (int i = aFromIndex; i < aToIndex; i++) {
+                    found[i - aFromIndex] = hits.contains(a[i]);
+                }
+            }
+        }
+
+        return found;
+    }
+
+    /**
+     * Chooses the strategy as {@link #contains(int[], int, int, int[], int, int, boolean)} does, but returns at the first common element
+     * instead of marking all of them.
+     */
+    static boolean disjoint(final int[] a, final int aFromIndex, final int aToIndex, final int[] b, final int bFromIndex, final int bToIndex,
+            final boolean isBSorted) {
+        final int aLen = aToIndex - aFromIndex;
+        final int bLen = bToIndex - bFromIndex;
+
+        if (aLen == 0 || bLen == 0) {
+            return true;
+        }
+
+        if ((long) aLen * bLen <= MAX_SIZE_FOR_SCAN) {
+            for (int i = aFromIndex; i < aToIndex; i++) {
+                for (int j = bFromIndex; j < bToIndex; j++) {
+                    if (a[i] == b[j]) {
+                        return false;
+                    }
+                }
+            }
+
+            return true;
+        }
+
+        final boolean isASorted = isSorted(a, aFromIndex, aToIndex);
+        final boolean isBSortedChecked = isBSorted || isSorted(b, bFromIndex, bToIndex);
+
+        if (isASorted && isBSortedChecked) {
+            if (bLen / aLen >= GALLOP_RATIO) {
+                return disjointByGallop(a, aFromIndex, aToIndex, b, bFromIndex, bToIndex);
+            } else if (aLen / bLen >= GALLOP_RATIO) {
+                return disjointByGallop(b, bFromIndex, bToIndex, a, aFromIndex, aToIndex);
+            }
+
+            int i = aFromIndex;
+            int j = bFromIndex;
+
+            while (i < aToIndex && j < bToIndex) {
+                if (a[i] < b[j]) {
+                    i++;
+                } else if (a[i] > b[j]) {
+                    j++;
+                } else {
+                    return false;
+                }
+            }
+        } else if (isBSortedChecked && isBinarySearchPreferred(aLen, bLen)) {
+            for (int i = aFromIndex; i < aToIndex; i++) {
+                if (N.binarySearch(b, bFromIndex, bToIndex, a[i]) >= 0) {
+                    return false;
+                }
+            }
+        } else if (isASorted && isBinarySearchPreferred(bLen, aLen)) {
+            for (int j = bFromIndex; j < bToIndex; j++) {
+                if (N.binarySearch(a, aFromIndex, aToIndex, b[j]) >= 0) {
+                    return false;
+                }
+            }
+        } else if (bLen <= aLen) {
+            return disjointByHash(b, bFromIndex, bToIndex, a, aFromIndex, aToIndex);
+        } else {
+            return disjointByHash(a, aFromIndex, aToIndex, b, bFromIndex, bToIndex);
+        }
+
+        return true;
+    }
+
+    static boolean containsAll(final int[] a, final int aFromIndex, final int aToIndex, final int[] b, final int bFromIndex, final int bToIndex) {
+        return indexOf(contains(b, bFromIndex, bToIndex, a, aFromIndex, aToIndex, false), false) < 0;
+    }
+
+    /**
+     *
+     * @return the elements in the first range which are contained in the second range, in their original order.
+     */
+    static int[] intersection(final int[] a, final int aFromIndex, final int aToIndex, final int[] b, final int bFromIndex, final int bToIndex) {
+        final int[] result = N.copyOfRange(a, aFromIndex, aToIndex);
+
+        return N.copyOf(result, filter(result, 0, result.length, b, bFromIndex, bToIndex, true));
+    }
+
+    /**
+     *
+     * @return the elements in the first range which are not contained in the second range, in their original order.
+     */
+    static int[] difference(final int[] a, final int aFromIndex, final int aToIndex, final int[] b, final int bFromIndex, final int bToIndex) {
+        final int[] result = N.copyOfRange(a, aFromIndex, aToIndex);
+
+        return N.copyOf(result, filter(result, 0, result.length, b, bFromIndex, bToIndex, false));
+    }
+
+    /**
+     * Moves the elements in the first range, which are (or aren't if <code>retain</code> is <code>false</code>) contained in the second range,
+     * to the front of the first range in their original order. The two ranges can be in the same array.
+     *
+     * @return the index after the last moved element.
+     */
+    static int filter(final int[] a, final int aFromIndex, final int aToIndex, final int[] b, final int bFromIndex, final int bToIndex,
+            final boolean retain) {
+        final boolean[] found = contains(a, aFromIndex, aToIndex, b, bFromIndex, bToIndex, false);
+        int w = aFromIndex;
+
+        for (int i = aFromIndex; i < aToIndex; i++) {
+            if (found[i - aFromIndex] == retain) {
+                a[w++] = a[i];
+            }
+        }
+
+        return w;
+    }
+
+    /**
+     * Searches the elements in the sorted first range from the last found position in the sorted second range, which is much bigger.
+     */
+    private static boolean disjointByGallop(final int[] a, final int aFromIndex, final int aToIndex, final int[] b, final int bFromIndex,
+            final int bToIndex) {
+        int j = bFromIndex;
+
+        for (int i = aFromIndex; i < aToIndex; i++) {
+            j = gallop(b, j, bToIndex, a[i]);
+
+            if (j == bToIndex) {
+                return true;
+            } else if (b[j] == a[i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Builds the set of the smaller first range, and looks up the elements of the second range until the first hit.
+     */
+    private static boolean disjointByHash(final int[] a, final int aFromIndex, final int aToIndex, final int[] b, final int bFromIndex,
+            final int bToIndex) {
+        final IntHashSet set = new IntHashSet(aToIndex - aFromIndex);
+
+        for (int i = aFromIndex; i < aToIndex; i++) {
+            set.add(a[i]);
+        }
+
+        for (int j = bFromIndex; j < bToIndex; j++) {
+            if (set.contains(b[j])) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Searches the elements in the sorted first range from the last found position in the sorted second range, which is much bigger.
+     */
+    private static void gallop(final int[] a, final int aFromIndex, final int aToIndex, final int[] b, final int bFromIndex, final int bToIndex,
+            final boolean[] found) {
+        int j = bFromIndex;
+
+        for (int i = aFromIndex; i < aToIndex && j < bToIndex; i++) {
+            if (i > aFromIndex && a[i] == a[i - 1]) {
+                found[i - aFromIndex] = found[i - aFromIndex - 1];
+            } else {
+                j = gallop(b, j, bToIndex, a[i]);
+                found[i - aFromIndex] = j < bToIndex && b[j] == a[i];
+            }
+        }
+    }
+
+    /**
+     * Searches the elements in the sorted second range, which is much smaller, in the sorted first range, and marks the equal elements.
+     */
+    private static void gallopInto(final int[] a, final int aFromIndex, final int aToIndex, final int[] b, final int bFromIndex, final int bToIndex,
+            final boolean[] found) {
+        int i = aFromIndex;
+
+        for (int j = bFromIndex; j < bToIndex && i < aToIndex; j++) {
+            i = mark(a, gallop(a, i, aToIndex, b[j]), aToIndex, b[j], aFromIndex, found);
+        }
+    }
+
+    private static void merge(final int[] a, final int aFromIndex, final int aToIndex, final int[] b, final int bFromIndex, final int bToIndex,
+            final boolean[] found) {
+        int i = aFromIndex;
+        int j = bFromIndex;
+
+        while (i < aToIndex && j < bToIndex) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                found[i++ - aFromIndex] = true;
+            }
+        }
+    }
+
+    /**
+     * Marks the elements equal to the key from <code>fromIndex</code>.
+     *
+     * @return the index after the last marked element.
+     */
+    private static int mark(final int[] a, int fromIndex, final int toIndex, final int key, final int offset, final boolean[] found) {
+        while (fromIndex < toIndex && a[fromIndex] == key && found[fromIndex - offset] == false) {
+            found[fromIndex++ - offset] = true;
+        }
+
+        return fromIndex;
+    }
+
+    /**
+     *
+     * @return the index of the first element which is not less than the key in the sorted range, or <code>toIndex</code> if there is no such element.
+     */
+    private static int gallop(final int[] a, final int fromIndex, final int toIndex, final int key) {
+        int low = fromIndex;
+        int high = fromIndex;
+        int step = 1;
+
+        while (high < toIndex && a[high] < key) {
+            low = high + 1;
+            high = step < toIndex - high ? high + step : toIndex;
+            step <<= 1;
+        }
+
+        return lowerBound(a, low, high, key);
+    }
+
+    private static int lowerBound(final int[] a, int fromIndex, int toIndex, final int key) {
+        int mid = 0;
+
+        while (fromIndex < toIndex) {
+            mid = (fromIndex + toIndex) >>> 1;
+
+            if (a[mid] < key) {
+                fromIndex = mid + 1;
+            } else {
+                toIndex = mid;
+            }
+        }
+
+        return fromIndex;
+    }
+
+    private static boolean isSorted(final int[] a, final int fromIndex, final int toIndex) {
+        for (int i = fromIndex + 1; i < toIndex; i++) {
+            if (a[i] < a[i - 1]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     *
+     * @see #contains(int[], int, int, int[], int, int, boolean)
+     */
+    static boolean[] contains(final long[] a, final int aFromIndex, final int aToIndex, final long[] b, final int bFromIndex, final int bToIndex,
+            final boolean isBSorted) {
+        final int aLen = aToIndex - aFromIndex;
+        final int bLen = bToIndex - bFromIndex;
+        final boolean[] found = new boolean[aLen];
+
+        if (aLen == 0 || bLen == 0) {
+            return found;
+        }
+
+        if ((long) aLen * bLen <= MAX_SIZE_FOR_SCAN) {
+            for (int i = aFromIndex; i < aToIndex; i++) {
+                for (int j = bFromIndex; j < bToIndex; j++) {
+                    if (a[i] == b[j]) {
+                        found[i - aFromIndex] = true;
+                        break;
+                    }
+                }
+            }
+
+            return found;
+        }
+
+        final boolean isASorted = isSorted(a, aFromIndex, aToIndex);
+        final boolean isBSortedChecked = isBSorted || isSorted(b, bFromIndex, bToIndex);
+
+        if (isASorted && isBSortedChecked) {
+            if (bLen / aLen >= GALLOP_RATIO) {
+                gallop(a, aFromIndex, aToIndex, b, bFromIndex, bToIndex, found);
+            } else if (aLen / bLen >= GALLOP_RATIO) {
+                gallopInto(a, aFromIndex, aToIndex, b, bFromIndex, bToIndex, found);
+            } else {
+                merge(a, aFromIndex, aToIndex, b, bFromIndex, bToIndex, found);
+            }
+        } else if (isBSortedChecked && isBinarySearchPreferred(aLen, bLen)) {
+            for (int i = aFromIndex; i < aToIndex; i++) {
+                found[i - aFromIndex] = N.binarySearch(b, bFromIndex, bToIndex, a[i]) >= 0;
+            }
+        } else if (isASorted && isBinarySearchPreferred(bLen, aLen)) {
+            int idx = 0;
+
+            for (int j = bFromIndex; j < bToIndex; j++) {
+                idx = lowerBound(a, aFromIndex, aToIndex, b[j]);
+                mark(a, idx, aToIndex, b[j], aFromIndex, found);
+            }
+        } else if (bLen <= aLen) {
+            final LongHashSet set = new LongHashSet(bLen);
+
+            for (int j = bFromIndex; j < bToIndex; j++) {
+                set.add(b[j]);
+            }
+
+            for (int i = aFromIndex; i < aToIndex; i++) {
+                found[i - aFromIndex] = set.contains(a[i]);
+            }
+        } else {
+            final LongHashSet set = new LongHashSet(aLen);
+
+            for (int i = aFromIndex; i < aToIndex; i++) {
+                set.add(a[i]);
+            }
+
+            final LongHashSet hits = new LongHashSet();
+
+            for (int j = bFromIndex; j < bToIndex; j++) {
+                if (set.contains(b[j])) {
+                    hits.add(b[j]);
+                }
+            }
+
+            if (hits.size() > 0) {
+                for (int i = aFromIndex; i < aToIndex; i++) {
+                    found[i - aFromIndex] = hits.contains(a[i]);
+                }
+            }
+        }
+
+        return found;
+    }
+
+    /**
+     * Chooses the strategy as {@link #contains(long[], int, int, long[], int, int, boolean)} does, but returns at the first common element
+     * instead of marking all of them.
+     */
+    static boolean disjoint(final long[] a, final int aFromIndex, final int aToIndex, final long[] b, final int bFromIndex, final int bToIndex,
+            final boolean isBSorted) {
+        final int aLen = aToIndex - aFromIndex;
+        final int bLen = bToIndex - bFromIndex;
+
+        if (aLen == 0 || bLen == 0) {
+            return true;
+        }
+
+        if ((long) aLen * bLen <= MAX_SIZE_FOR_SCAN) {
+            for (int i = aFromIndex; i < aToIndex; i++) {
+                for (int j = bFromIndex; j < bToIndex; j++) {
+                    if (a[i] == b[j]) {
+                        return false;
+                    }
+                }
+            }
+
+            return true;
+        }
+
+        final boolean isASorted = isSorted(a, aFromIndex, aToIndex);
+        final boolean isBSortedChecked = isBSorted || isSorted(b, bFromIndex, bToIndex);
+
+        if (isASorted && isBSortedChecked) {
+            if (bLen / aLen >= GALLOP_RATIO) {
+                return disjointByGallop(a, aFromIndex, aToIndex, b, bFromIndex, bToIndex);
+            } else if (aLen / bLen >= GALLOP_RATIO) {
+                return disjointByGallop(b, bFromIndex, bToIndex, a, aFromIndex, aToIndex);
+            }
+
+            int i = aFromIndex;
+            int j = bFromIndex;
+
+            while (i < aToIndex && j < bToIndex) {
+                if (a[i] < b[j]) {
+                    i++;
+                } else if (a[i] > b[j]) {
+                    j++;
+                } else {
+                    return false;
+                }
+            }
+        } else if (isBSortedChecked && isBinarySearchPreferred(aLen, bLen)) {
+            for (int i = aFromIndex; i < aToIndex; i++) {
+                if (N.binarySearch(b, bFromIndex, bToIndex, a[i]) >= 0) {
+                    return false;
+                }
+            }
+        } else if (isASorted && isBinarySearchPreferred(bLen, aLen)) {
+            for (int j = bFromIndex; j < bToIndex; j++) {
+                if (N.binarySearch(a, aFromIndex, aToIndex, b[j]) >= 0) {
+                    return false;
+                }
+            }
+        } else if (bLen <= aLen) {
+            return disjointByHash(b, bFromIndex, bToIndex, a, aFromIndex, aToIndex);
+        } else {
+            return disjointByHash(a, aFromIndex, aToIndex, b, bFromIndex, bToIndex);
+        }
+
+        return true;
+    }
+
+    static boolean containsAll(final long[] a, final int aFromIndex, final int aToIndex, final long[] b, final int bFromIndex, final int bToIndex) {
+        return indexOf(contains(b, bFromIndex, bToIndex, a, aFromIndex, aToIndex, false), false) < 0;
+    }
+
+    static long[] intersection(final long[] a, final int aFromIndex, final int aToIndex, final long[] b, final int bFromIndex, final int bToIndex) {
+        final long[] result = N.copyOfRange(a, aFromIndex, aToIndex);
+
+        return N.copyOf(result, filter(result, 0, result.length, b, bFromIndex, bToIndex, true));
+    }
+
+    static long[] difference(final long[] a, final int aFromIndex, final int aToIndex, final long[] b, final int bFromIndex, final int bToIndex) {
+        final long[] result = N.copyOfRange(a, aFromIndex, aToIndex);
+
+        return N.copyOf(result, filter(result, 0, result.length, b, bFromIndex, bToIndex, false));
+    }
+
+    static int filter(final long[] a, final int aFromIndex, final int aToIndex, final long[] b, final int bFromIndex, final int bToIndex,
+            final boolean retain) {
+        final boolean[] found = contains(a, aFromIndex, aToIndex, b, bFromIndex, bToIndex, false);
+        int w = aFromIndex;
+
+        for (int i = aFromIndex; i < aToIndex; i++) {
+            if (found[i - aFromIndex] == retain) {
+                a[w++] = a[i];
+            }
+        }
+
+        return w;
+    }
+
+    private static boolean disjointByGallop(final long[] a, final int aFromIndex, final int aToIndex, final long[] b, final int bFromIndex,
+            final int bToIndex) {
+        int j = bFromIndex;
+
+        for (int i = aFromIndex; i < aToIndex; i++) {
+            j = gallop(b, j, bToIndex, a[i]);
+
+            if (j == bToIndex) {
+                return true;
+            } else if (b[j] == a[i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static boolean disjointByHash(final long[] a, final int aFromIndex, final int aToIndex, final long[] b, final int bFromIndex,
+            final int bToIndex) {
+        final LongHashSet set = new LongHashSet(aToIndex - aFromIndex);
+
+        for (int i = aFromIndex; i < aToIndex; i++) {
+            set.add(a[i]);
+        }
+
+        for (int j = bFromIndex; j < bToIndex; j++) {
+            if (set.contains(b[j])) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static void gallop(final long[] a, final int aFromIndex, final int aToIndex, final long[] b, final int bFromIndex, final int bToIndex,
+            final boolean[] found) {
+        int j = bFromIndex;
+
+        for (int i = aFromIndex; i < aToIndex && j < bToIndex; i++) {
+            if (i > aFromIndex && a[i] == a[i - 1]) {
+                found[i - aFromIndex] = found[i - aFromIndex - 1];
+            } else {
+                j = gallop(b, j, bToIndex, a[i]);
+                found[i - aFromIndex] = j < bToIndex && b[j] == a[i];
+            }
+        }
+    }
+
+    private static void gallopInto(final long[] a, final int aFromIndex, final int aToIndex, final long[] b, final int bFromIndex, final int bToIndex,
+            final boolean[] found) {
+        int i = aFromIndex;
+
+        for (int j = bFromIndex; j < bToIndex && i < aToIndex; j++) {
+            i = mark(a, gallop(a, i, aToIndex, b[j]), aToIndex, b[j], aFromIndex, found);
+        }
+    }
+
+    private static void merge(final long[] a, final int aFromIndex, final int aToIndex, final long[] b, final int bFromIndex, final int bToIndex,
+            final boolean[] found) {
+        int i = aFromIndex;
+        int j = bFromIndex;
+
+        while (i < aToIndex && j < bToIndex) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                found[i++ - aFromIndex] = true;
+            }
+        }
+    }
+
+    private static int mark(final long[] a, int fromIndex, final int toIndex, final long key, final int offset, final boolean[] found) {
+        while (fromIndex < toIndex && a[fromIndex] == key && found[fromIndex - offset] == false) {
+            found[fromIndex++ - offset] = true;
+        }
+
+        return fromIndex;
+    }
+
+    private static int gallop(final long[] a, final int fromIndex, final int toIndex, final long key) {
+        int low = fromIndex;
+        int high = fromIndex;
+        int step = 1;
+
+        while (high < toIndex && a[high] < key) {
+            low = high + 1;
+            high = step < toIndex - high ? high + step : toIndex;
+            step <<= 1;
+        }
+
+        return lowerBound(a, low, high, key);
+    }
+
+    private static int lowerBound(final long[] a, int fromIndex, int toIndex, final long key) {
+        int mid = 0;
+
+        while (fromIndex < toIndex) {
+            mid = (fromIndex + toIndex) >>> 1;
+
+            if (a[mid] < key) {
+                fromIndex = mid + 1;
+            } else {
+                toIndex = mid;
+            }
+        }
+
+        return fromIndex;
+    }
+
+    private static boolean isSorted(final long[] a, final int fromIndex, final int toIndex) {
+        for (int i = fromIndex + 1; i < toIndex; i++) {
+            if (a[i] < a[i - 1]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Binary search of each element is preferred to building a hash set of the sorted range if
+     * <code>size * log2(sortedSize) <= sortedSize</code>.
+     */
+    private static boolean isBinarySearchPreferred(final int size, final int sortedSize) {
+        return (long) size * (32 - Integer.numberOfLeadingZeros(sortedSize)) <= sortedSize;
+    }
+
+    private static int indexOf(final boolean[] a, final boolean value) {
+        for (int i = 0, len = a.length; i < len; i++) {
+            if (a[i] == value) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+}
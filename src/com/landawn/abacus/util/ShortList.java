@@ -923,9 +923,15 @@ public final class ShortList extends PrimitiveNumberList<ShortConsumer, ShortPre
         checkIndex(fromIndex, toIndex);
 
         final Multiset<Short> multiset = supplier.apply(N.min(16, toIndex - fromIndex));
+        // count the elements without boxing, then add the distinct elements to the multiset.
+        final IntIntMap occurrences = new IntIntMap(N.min(16, toIndex - fromIndex));
 
         for (int i = fromIndex; i < toIndex; i++) {
-            multiset.add(elementData[i]);
+            occurrences.addAndGet(elementData[i], 1);
+        }
+
+        for (int i = 0, size = occurrences.size(); i < size; i++) {
+            multiset.add((short) occurrences.keyAt(i), occurrences.valueAt(i));
         }
 
         return multiset;
@@ -29,12 +29,12 @@ import com.landawn.abacus.util.function.Supplier;
  * This class is a sequential, stateful and immutable stream implementation.
  *
  */
-final class ArrayDoubleStream extends DoubleStream {
-    private final double[] elements;
-    private final int fromIndex;
-    private final int toIndex;
-    private final boolean sorted;
-    private final Set<Runnable> closeHandlers;
+class ArrayDoubleStream extends DoubleStream {
+    final double[] elements;
+    final int fromIndex;
+    final int toIndex;
+    final boolean sorted;
+    final Set<Runnable> closeHandlers;
 
     ArrayDoubleStream(double[] values) {
         this(values, null);
@@ -468,6 +468,8 @@ final class ArrayDoubleStream extends DoubleStream {
             return this;
         } else if (sorted && (comparator == null || comparator == DOUBLE_COMPARATOR)) {
             return new ArrayDoubleStream(elements, N.max(fromIndex, toIndex - n), toIndex, closeHandlers, sorted);
+        } else if (comparator == null || comparator == DOUBLE_COMPARATOR) {
+            return new ArrayDoubleStream(N.top(elements, fromIndex, toIndex, n), closeHandlers);
         } else {
             return new ArrayDoubleStream(N.top(elements, fromIndex, toIndex, n, comparator), closeHandlers);
         }
@@ -803,6 +805,21 @@ final class ArrayDoubleStream extends DoubleStream {
         return new ArrayStream<Double>(Array.box(elements, fromIndex, toIndex), closeHandlers);
     }
 
+    @Override
+    public boolean isParallel() {
+        return false;
+    }
+
+    @Override
+    public DoubleStream sequential() {
+        return this;
+    }
+
+    @Override
+    public DoubleStream parallel(int maxThreadNum) {
+        return new ParallelArrayDoubleStream(elements, fromIndex, toIndex, closeHandlers, sorted, Stream.checkMaxThreadNum(maxThreadNum));
+    }
+
     @Override
     public Iterator<Double> iterator() {
         return new ImmutableIterator<Double>() {
@@ -468,6 +468,8 @@ final class ArrayFloatStream extends FloatStream {
             return this;
         } else if (sorted && (comparator == null || comparator == FLOAT_COMPARATOR)) {
             return new ArrayFloatStream(elements, N.max(fromIndex, toIndex - n), toIndex, closeHandlers, sorted);
+        } else if (comparator == null || comparator == FLOAT_COMPARATOR) {
+            return new ArrayFloatStream(N.top(elements, fromIndex, toIndex, n), closeHandlers);
         } else {
             return new ArrayFloatStream(N.top(elements, fromIndex, toIndex, n, comparator), closeHandlers);
         }
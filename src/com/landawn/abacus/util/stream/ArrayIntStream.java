@@ -33,12 +33,12 @@ import com.landawn.abacus.util.function.Supplier;
  * This class is a sequential, stateful and immutable stream implementation.
  *
  */
-final class ArrayIntStream extends IntStream {
-    private final int[] elements;
-    private final int fromIndex;
-    private final int toIndex;
-    private final boolean sorted;
-    private final Set<Runnable> closeHandlers;
+class ArrayIntStream extends IntStream {
+    final int[] elements;
+    final int fromIndex;
+    final int toIndex;
+    final boolean sorted;
+    final Set<Runnable> closeHandlers;
 
     ArrayIntStream(int[] values) {
         this(values, null);
@@ -637,6 +637,8 @@ final class ArrayIntStream extends IntStream {
             return this;
         } else if (sorted && (comparator == null || comparator == INT_COMPARATOR)) {
             return new ArrayIntStream(elements, N.max(fromIndex, toIndex - n), toIndex, closeHandlers, sorted);
+        } else if (comparator == null || comparator == INT_COMPARATOR) {
+            return new ArrayIntStream(N.top(elements, fromIndex, toIndex, n), closeHandlers);
         } else {
             return new ArrayIntStream(N.top(elements, fromIndex, toIndex, n, comparator), closeHandlers);
         }
@@ -923,6 +925,21 @@ final class ArrayIntStream extends IntStream {
         return new ArrayStream<Integer>(Array.box(elements, fromIndex, toIndex), closeHandlers);
     }
 
+    @Override
+    public boolean isParallel() {
+        return false;
+    }
+
+    @Override
+    public IntStream sequential() {
+        return this;
+    }
+
+    @Override
+    public IntStream parallel(int maxThreadNum) {
+        return new ParallelArrayIntStream(elements, fromIndex, toIndex, closeHandlers, sorted, Stream.checkMaxThreadNum(maxThreadNum));
+    }
+
     @Override
     public Iterator<Integer> iterator() {
         return new ImmutableIterator<Integer>() {
@@ -30,12 +30,12 @@ import com.landawn.abacus.util.function.Supplier;
  * This class is a sequential, stateful and immutable stream implementation.
  *
  */
-final class ArrayLongStream extends LongStream {
-    private final long[] elements;
-    private final int fromIndex;
-    private final int toIndex;
-    private final boolean sorted;
-    private final Set<Runnable> closeHandlers;
+class ArrayLongStream extends LongStream {
+    final long[] elements;
+    final int fromIndex;
+    final int toIndex;
+    final boolean sorted;
+    final Set<Runnable> closeHandlers;
 
     ArrayLongStream(long[] values) {
         this(values, null);
@@ -469,6 +469,8 @@ final class ArrayLongStream extends LongStream {
             return this;
         } else if (sorted && (comparator == null || comparator == LONG_COMPARATOR)) {
             return new ArrayLongStream(elements, N.max(fromIndex, toIndex - n), toIndex, closeHandlers, sorted);
+        } else if (comparator == null || comparator == LONG_COMPARATOR) {
+            return new ArrayLongStream(N.top(elements, fromIndex, toIndex, n), closeHandlers);
         } else {
             return new ArrayLongStream(N.top(elements, fromIndex, toIndex, n, comparator), closeHandlers);
         }
@@ -744,6 +746,21 @@ final class ArrayLongStream extends LongStream {
         return new ArrayStream<Long>(Array.box(elements, fromIndex, toIndex), closeHandlers);
     }
 
+    @Override
+    public boolean isParallel() {
+        return false;
+    }
+
+    @Override
+    public LongStream sequential() {
+        return this;
+    }
+
+    @Override
+    public LongStream parallel(int maxThreadNum) {
+        return new ParallelArrayLongStream(elements, fromIndex, toIndex, closeHandlers, sorted, Stream.checkMaxThreadNum(maxThreadNum));
+    }
+
     @Override
     public Iterator<Long> iterator() {
         return new ImmutableIterator<Long>() {
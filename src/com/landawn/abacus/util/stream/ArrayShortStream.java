@@ -357,6 +357,8 @@ final class ArrayShortStream extends ShortStream {
             return this;
         } else if (sorted && (comparator == null || comparator == SHORT_COMPARATOR)) {
             return new ArrayShortStream(elements, N.max(fromIndex, toIndex - n), toIndex, closeHandlers, sorted);
+        } else if (comparator == null || comparator == SHORT_COMPARATOR) {
+            return new ArrayShortStream(N.top(elements, fromIndex, toIndex, n), closeHandlers);
         } else {
             return new ArrayShortStream(N.top(elements, fromIndex, toIndex, n, comparator), closeHandlers);
         }
@@ -35,13 +35,13 @@ import com.landawn.abacus.util.function.ToShortFunction;
  *
  * @param <T>
  */
-final class ArrayStream<T> extends Stream<T> implements BaseStream<T, Stream<T>> {
-    private final T[] elements;
-    private final int fromIndex;
-    private final int toIndex;
-    private final boolean sorted;
-    private final Comparator<? super T> cmp;
-    private final Set<Runnable> closeHandlers;
+class ArrayStream<T> extends Stream<T> implements BaseStream<T, Stream<T>> {
+    final T[] elements;
+    final int fromIndex;
+    final int toIndex;
+    final boolean sorted;
+    final Comparator<? super T> cmp;
+    final Set<Runnable> closeHandlers;
 
     ArrayStream(T[] values) {
         this(values, null);
@@ -1269,61 +1269,77 @@ final class ArrayStream<T> extends Stream<T> implements BaseStream<T, Stream<T>>
     @Override
     public <K> Stream<Entry<K, List<T>>> groupBy(final Function<? super T, ? extends K> classifier) {
         final Map<K, List<T>> map = collect(Collectors.groupingBy(classifier));
+        @SuppressWarnings("unchecked")
+        final Entry<K, List<T>>[] entries = map.entrySet().toArray((Entry<K, List<T>>[]) new Entry<?, ?>[map.size()]);
 
-        return new IteratorStream<>(map.entrySet().iterator(), closeHandlers);
+        return new ArrayStream<>(entries, closeHandlers);
     }
 
     @Override
-    public <K> Stream<Entry<K, List<T>>> groupBy(final Function<? super T, ? extends K> classifier, Supplier<Map<K, List<T>>> mapFactory) {
+    public <K> Stream<Entry<K, List<T>>> groupBy(final Function<? super T, ? extends K> classifier, final Supplier<Map<K, List<T>>> mapFactory) {
         final Map<K, List<T>> map = collect(Collectors.groupingBy(classifier, mapFactory));
+        @SuppressWarnings("unchecked")
+        final Entry<K, List<T>>[] entries = map.entrySet().toArray((Entry<K, List<T>>[]) new Entry<?, ?>[map.size()]);
 
-        return new IteratorStream<>(map.entrySet().iterator(), closeHandlers);
+        return new ArrayStream<>(entries, closeHandlers);
     }
 
     @Override
-    public <K, A, D> Stream<Entry<K, D>> groupBy(final Function<? super T, ? extends K> classifier, Collector<? super T, A, D> downstream) {
+    public <K, A, D> Stream<Entry<K, D>> groupBy(final Function<? super T, ? extends K> classifier, final Collector<? super T, A, D> downstream) {
         final Map<K, D> map = collect(Collectors.groupingBy(classifier, downstream));
+        @SuppressWarnings("unchecked")
+        final Entry<K, D>[] entries = map.entrySet().toArray((Entry<K, D>[]) new Entry<?, ?>[map.size()]);
 
-        return new IteratorStream<>(map.entrySet().iterator(), closeHandlers);
+        return new ArrayStream<>(entries, closeHandlers);
     }
 
     @Override
-    public <K, D, A> Stream<Entry<K, D>> groupBy(final Function<? super T, ? extends K> classifier, Collector<? super T, A, D> downstream,
-            Supplier<Map<K, D>> mapFactory) {
+    public <K, D, A> Stream<Entry<K, D>> groupBy(final Function<? super T, ? extends K> classifier, final Collector<? super T, A, D> downstream,
+            final Supplier<Map<K, D>> mapFactory) {
         final Map<K, D> map = collect(Collectors.groupingBy(classifier, downstream, mapFactory));
+        @SuppressWarnings("unchecked")
+        final Entry<K, D>[] entries = map.entrySet().toArray((Entry<K, D>[]) new Entry<?, ?>[map.size()]);
 
-        return new IteratorStream<>(map.entrySet().iterator(), closeHandlers);
+        return new ArrayStream<>(entries, closeHandlers);
     }
 
     @Override
     public <K, U> Stream<Entry<K, U>> groupBy(final Function<? super T, ? extends K> keyMapper, final Function<? super T, ? extends U> valueMapper) {
         final Map<K, U> map = collect(Collectors.toMap(keyMapper, valueMapper));
+        @SuppressWarnings("unchecked")
+        final Entry<K, U>[] entries = map.entrySet().toArray((Entry<K, U>[]) new Entry<?, ?>[map.size()]);
 
-        return new IteratorStream<>(map.entrySet().iterator(), closeHandlers);
+        return new ArrayStream<>(entries, closeHandlers);
     }
 
     @Override
     public <K, U> Stream<Entry<K, U>> groupBy(final Function<? super T, ? extends K> keyMapper, final Function<? super T, ? extends U> valueMapper,
-            Supplier<Map<K, U>> mapFactory) {
+            final Supplier<Map<K, U>> mapFactory) {
         final Map<K, U> map = collect(Collectors.toMap(keyMapper, valueMapper, mapFactory));
+        @SuppressWarnings("unchecked")
+        final Entry<K, U>[] entries = map.entrySet().toArray((Entry<K, U>[]) new Entry<?, ?>[map.size()]);
 
-        return new IteratorStream<>(map.entrySet().iterator(), closeHandlers);
+        return new ArrayStream<>(entries, closeHandlers);
     }
 
     @Override
     public <K, U> Stream<Entry<K, U>> groupBy(final Function<? super T, ? extends K> keyMapper, final Function<? super T, ? extends U> valueMapper,
-            BinaryOperator<U> mergeFunction) {
+            final BinaryOperator<U> mergeFunction) {
         final Map<K, U> map = collect(Collectors.toMap(keyMapper, valueMapper, mergeFunction));
+        @SuppressWarnings("unchecked")
+        final Entry<K, U>[] entries = map.entrySet().toArray((Entry<K, U>[]) new Entry<?, ?>[map.size()]);
 
-        return new IteratorStream<>(map.entrySet().iterator(), closeHandlers);
+        return new ArrayStream<>(entries, closeHandlers);
     }
 
     @Override
     public <K, U> Stream<Entry<K, U>> groupBy(final Function<? super T, ? extends K> keyMapper, final Function<? super T, ? extends U> valueMapper,
-            BinaryOperator<U> mergeFunction, Supplier<Map<K, U>> mapFactory) {
+            final BinaryOperator<U> mergeFunction, final Supplier<Map<K, U>> mapFactory) {
         final Map<K, U> map = collect(Collectors.toMap(keyMapper, valueMapper, mergeFunction, mapFactory));
+        @SuppressWarnings("unchecked")
+        final Entry<K, U>[] entries = map.entrySet().toArray((Entry<K, U>[]) new Entry<?, ?>[map.size()]);
 
-        return new IteratorStream<>(map.entrySet().iterator(), closeHandlers);
+        return new ArrayStream<>(entries, closeHandlers);
     }
 
     @Override
@@ -1368,7 +1384,7 @@ final class ArrayStream<T> extends Stream<T> implements BaseStream<T, Stream<T>>
     }
 
     @Override
-    public Stream<T> distinct(Comparator<? super T> comparator) {
+    public Stream<T> distinct(final Comparator<? super T> comparator) {
         final List<T> list = N.distinct(elements, fromIndex, toIndex, comparator);
         final T[] a = list.toArray((T[]) N.newArray(elements.getClass().getComponentType(), list.size()));
         return new ArrayStream<T>(a, closeHandlers);
@@ -1387,7 +1403,7 @@ final class ArrayStream<T> extends Stream<T> implements BaseStream<T, Stream<T>>
     }
 
     @Override
-    public Stream<T> top(int n, Comparator<? super T> comparator) {
+    public Stream<T> top(final int n, final Comparator<? super T> comparator) {
         if (n < 1) {
             throw new IllegalArgumentException("'n' can not be less than 1");
         }
@@ -1407,7 +1423,7 @@ final class ArrayStream<T> extends Stream<T> implements BaseStream<T, Stream<T>>
     }
 
     @Override
-    public Stream<T> sorted(Comparator<? super T> comparator) {
+    public Stream<T> sorted(final Comparator<? super T> comparator) {
         if (sorted && this.cmp == comparator) {
             return new ArrayStream<T>(elements, fromIndex, toIndex, closeHandlers, sorted, cmp);
         }
@@ -1423,7 +1439,7 @@ final class ArrayStream<T> extends Stream<T> implements BaseStream<T, Stream<T>>
     }
 
     @Override
-    public Stream<T> parallelSorted(Comparator<? super T> comparator) {
+    public Stream<T> parallelSorted(final Comparator<? super T> comparator) {
         if (sorted && this.cmp == comparator) {
             return new ArrayStream<T>(elements, fromIndex, toIndex, closeHandlers, sorted, cmp);
         }
@@ -1434,13 +1450,26 @@ final class ArrayStream<T> extends Stream<T> implements BaseStream<T, Stream<T>>
     }
 
     @Override
-    public Stream<T> peek(Consumer<? super T> action) {
-        for (int i = fromIndex; i < toIndex; i++) {
-            action.accept(elements[i]);
-        }
+    public Stream<T> peek(final Consumer<? super T> action) {
+        return new IteratorStream<T>(new ImmutableIterator<T>() {
+            int cursor = fromIndex;
 
-        // return new ArrayStream<T>(values, fromIndex, toIndex, sorted, closeHandlers);
-        return this;
+            @Override
+            public boolean hasNext() {
+                return cursor < toIndex;
+            }
+
+            @Override
+            public T next() {
+                if (cursor >= toIndex) {
+                    throw new NoSuchElementException();
+                }
+
+                action.accept(elements[cursor]);
+
+                return elements[cursor++];
+            }
+        }, closeHandlers, sorted, cmp);
     }
 
     @Override
@@ -1689,6 +1718,21 @@ final class ArrayStream<T> extends Stream<T> implements BaseStream<T, Stream<T>>
         return (Optional<T>) Optional.empty();
     }
 
+    @Override
+    public boolean isParallel() {
+        return false;
+    }
+
+    @Override
+    public Stream<T> sequential() {
+        return this;
+    }
+
+    @Override
+    public Stream<T> parallel(int maxThreadNum) {
+        return new ParallelArrayStream<T>(elements, fromIndex, toIndex, closeHandlers, sorted, cmp, Stream.checkMaxThreadNum(maxThreadNum));
+    }
+
     @Override
     public Iterator<T> iterator() {
         return ImmutableIterator.of(elements, fromIndex, toIndex);
@@ -763,6 +763,45 @@ public abstract class DoubleStream implements BaseStream<Double, DoubleStream> {
 
     public abstract OptionalDouble findAny(DoublePredicate predicate);
 
+    /**
+     * Returns whether this stream, if a terminal operation were to be executed,
+     * would execute in parallel.
+     *
+     * @return {@code true} if this stream would execute in parallel if executed
+     */
+    public abstract boolean isParallel();
+
+    /**
+     * Returns an equivalent stream that is sequential.  May return
+     * itself, either because the stream was already sequential, or because
+     * the underlying stream state was modified to be sequential.
+     *
+     * <p>This is an <a href="package-summary.html#StreamOps">intermediate
+     * operation</a>.
+     *
+     * @return a sequential stream
+     */
+    public abstract DoubleStream sequential();
+
+    /**
+     * Returns an equivalent stream that is parallel, with the number of the threads specified by {@code N.CPU_CORES}.
+     * 
+     * @return
+     * @see #parallel(int)
+     */
+    public DoubleStream parallel() {
+        return parallel(Stream.DEFAULT_MAX_THREAD_NUM);
+    }
+
+    /**
+     * Returns an equivalent stream that is executed by at most {@code maxThreadNum} threads.
+     * 
+     * @param maxThreadNum
+     * @return
+     * @see Stream#parallel(int)
+     */
+    public abstract DoubleStream parallel(int maxThreadNum);
+
     /**
      * Returns a {@code Stream} consisting of the elements of this stream,
      * boxed to {@code Double}.
@@ -787,6 +826,16 @@ public abstract class DoubleStream implements BaseStream<Double, DoubleStream> {
         return Stream.from(a);
     }
 
+    /**
+     * Returns a sequential <code>DoubleStream</code> over the values from the specified iterator.
+     * 
+     * @param iterator
+     * @return
+     */
+    public static DoubleStream of(final ImmutableDoubleIterator iterator) {
+        return new IteratorDoubleStream(iterator);
+    }
+
     public static DoubleStream of(final double[] a, final int startIndex, final int endIndex) {
         return new ArrayDoubleStream(a, startIndex, endIndex);
     }
@@ -0,0 +1,190 @@
+package com.landawn.abacus.util.stream;
+
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.landawn.abacus.util.N;
+
+/**
+ * Bounded queues used to hand elements over from the reading threads to the consumer in <code>parallelConcat/parallelZip</code>.
+ * All the queues of one operation share one lock, so the consumer is waked up immediately by data, end of input, error or close on any of them.
+ * <br />
+ * Elements can't be <code>null</code>. {@link #take(int)} returns <code>null</code> when the queue is empty and all its producers are done, or the queue is closed.
+ */
+final class HandOffQueue {
+    private final int capacity;
+    private final Object[][] buffers;
+    private final int[] heads;
+    private final int[] sizes;
+    private final int[] producerNums;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private boolean consumerWaiting = false;
+    private int producerWaitingNum = 0;
+    private volatile boolean closed = false;
+    private Throwable error;
+
+    /**
+     *
+     * @param queueNum
+     * @param capacity of each queue.
+     * @param producerNum of each queue.
+     */
+    HandOffQueue(final int queueNum, final int capacity, final int producerNum) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("'queueSize' must be bigger than 0: " + capacity);
+        }
+
+        this.capacity = capacity;
+        this.buffers = new Object[queueNum][capacity];
+        this.heads = new int[queueNum];
+        this.sizes = new int[queueNum];
+        this.producerNums = new int[queueNum];
+
+        N.fill(producerNums, producerNum);
+    }
+
+    /**
+     * Blocks until there is space in the queue or this is closed.
+     *
+     * @param idx
+     * @param e
+     * @return false if this is closed and the element is not added.
+     */
+    boolean put(final int idx, final Object e) {
+        lock.lock();
+
+        try {
+            while (sizes[idx] == capacity && closed == false) {
+                producerWaitingNum++;
+
+                try {
+                    notFull.await();
+                } finally {
+                    producerWaitingNum--;
+                }
+            }
+
+            if (closed) {
+                return false;
+            }
+
+            buffers[idx][(heads[idx] + sizes[idx]) % capacity] = e;
+            sizes[idx]++;
+
+            if (consumerWaiting) {
+                notEmpty.signal();
+            }
+
+            return true;
+        } catch (InterruptedException ie) {
+            setError(ie);
+
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Blocks until an element is available, all the producers of the queue are done, or this is closed.
+     *
+     * @param idx
+     * @return <code>null</code> if there is no more element.
+     * @throws RuntimeException the error set by the producers.
+     */
+    Object take(final int idx) {
+        lock.lock();
+
+        try {
+            while (sizes[idx] == 0 && producerNums[idx] > 0 && closed == false) {
+                consumerWaiting = true;
+
+                try {
+                    notEmpty.await();
+                } finally {
+                    consumerWaiting = false;
+                }
+            }
+
+            if (error != null) {
+                throw N.toRuntimeException(error);
+            }
+
+            if (sizes[idx] == 0) {
+                return null;
+            }
+
+            final Object e = buffers[idx][heads[idx]];
+            buffers[idx][heads[idx]] = null;
+            heads[idx] = (heads[idx] + 1) % capacity;
+            sizes[idx]--;
+
+            if (producerWaitingNum > 0) {
+                notFull.signalAll();
+            }
+
+            return e;
+        } catch (InterruptedException ie) {
+            setError(ie);
+
+            throw N.toRuntimeException(ie);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void producerDone(final int idx) {
+        lock.lock();
+
+        try {
+            if (--producerNums[idx] == 0 && consumerWaiting) {
+                notEmpty.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Records the error and closes this queue.
+     *
+     * @param e
+     */
+    void setError(final Throwable e) {
+        lock.lock();
+
+        try {
+            if (error == null) {
+                error = e;
+            } else if (error != e) {
+                error.addSuppressed(e);
+            }
+
+            close();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stops the producers and wakes up all the waiting threads.
+     */
+    void close() {
+        lock.lock();
+
+        try {
+            closed = true;
+
+            notEmpty.signalAll();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+}
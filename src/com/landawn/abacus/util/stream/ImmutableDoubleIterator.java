@@ -2,7 +2,10 @@ package com.landawn.abacus.util.stream;
 
 import com.landawn.abacus.util.DoubleList;
 
-abstract class ImmutableDoubleIterator {
+/**
+ * An iterator over primitive <code>double</code> values, which can be used to create an <code>DoubleStream</code> by {@link DoubleStream#of(ImmutableDoubleIterator)}.
+ */
+public abstract class ImmutableDoubleIterator {
     public abstract boolean hasNext();
 
     public abstract double next();
@@ -2,7 +2,10 @@ package com.landawn.abacus.util.stream;
 
 import com.landawn.abacus.util.IntList;
 
-abstract class ImmutableIntIterator {
+/**
+ * An iterator over primitive <code>int</code> values, which can be used to create an <code>IntStream</code> by {@link IntStream#of(ImmutableIntIterator)}.
+ */
+public abstract class ImmutableIntIterator {
     public abstract boolean hasNext();
 
     public abstract int next();
@@ -2,7 +2,10 @@ package com.landawn.abacus.util.stream;
 
 import com.landawn.abacus.util.LongList;
 
-abstract class ImmutableLongIterator {
+/**
+ * An iterator over primitive <code>long</code> values, which can be used to create an <code>LongStream</code> by {@link LongStream#of(ImmutableLongIterator)}.
+ */
+public abstract class ImmutableLongIterator {
     public abstract boolean hasNext();
 
     public abstract long next();
@@ -726,6 +726,45 @@ public abstract class IntStream implements BaseStream<Integer, IntStream> {
 
     public abstract OptionalInt findAny(IntPredicate predicate);
 
+    /**
+     * Returns whether this stream, if a terminal operation were to be executed,
+     * would execute in parallel.
+     *
+     * @return {@code true} if this stream would execute in parallel if executed
+     */
+    public abstract boolean isParallel();
+
+    /**
+     * Returns an equivalent stream that is sequential.  May return
+     * itself, either because the stream was already sequential, or because
+     * the underlying stream state was modified to be sequential.
+     *
+     * <p>This is an <a href="package-summary.html#StreamOps">intermediate
+     * operation</a>.
+     *
+     * @return a sequential stream
+     */
+    public abstract IntStream sequential();
+
+    /**
+     * Returns an equivalent stream that is parallel, with the number of the threads specified by {@code N.CPU_CORES}.
+     * 
+     * @return
+     * @see #parallel(int)
+     */
+    public IntStream parallel() {
+        return parallel(Stream.DEFAULT_MAX_THREAD_NUM);
+    }
+
+    /**
+     * Returns an equivalent stream that is executed by at most {@code maxThreadNum} threads.
+     * 
+     * @param maxThreadNum
+     * @return
+     * @see Stream#parallel(int)
+     */
+    public abstract IntStream parallel(int maxThreadNum);
+
     /**
      * Returns a {@code LongStream} consisting of the elements of this stream,
      * converted to {@code long}.
@@ -786,6 +825,16 @@ public abstract class IntStream implements BaseStream<Integer, IntStream> {
         return Stream.from(a);
     }
 
+    /**
+     * Returns a sequential <code>IntStream</code> over the values from the specified iterator.
+     * 
+     * @param iterator
+     * @return
+     */
+    public static IntStream of(final ImmutableIntIterator iterator) {
+        return new IteratorIntStream(iterator);
+    }
+
     public static IntStream of(final int[] a, final int startIndex, final int endIndex) {
         return new ArrayIntStream(a, startIndex, endIndex);
     }
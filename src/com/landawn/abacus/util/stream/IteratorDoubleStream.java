@@ -30,10 +30,10 @@ import com.landawn.abacus.util.function.ToDoubleFunction;
  * This class is a sequential, stateful and immutable stream implementation.
  *
  */
-final class IteratorDoubleStream extends DoubleStream {
-    private final ImmutableDoubleIterator elements;
-    private final boolean sorted;
-    private final Set<Runnable> closeHandlers;
+class IteratorDoubleStream extends DoubleStream {
+    final ImmutableDoubleIterator elements;
+    final boolean sorted;
+    final Set<Runnable> closeHandlers;
 
     IteratorDoubleStream(ImmutableDoubleIterator values) {
         this(values, null);
@@ -1109,6 +1109,21 @@ final class IteratorDoubleStream extends DoubleStream {
         return new IteratorStream<Double>(iterator(), closeHandlers, sorted, sorted ? DOUBLE_COMPARATOR : null);
     }
 
+    @Override
+    public boolean isParallel() {
+        return false;
+    }
+
+    @Override
+    public DoubleStream sequential() {
+        return this;
+    }
+
+    @Override
+    public DoubleStream parallel(int maxThreadNum) {
+        return new ParallelIteratorDoubleStream(elements, closeHandlers, sorted, Stream.checkMaxThreadNum(maxThreadNum));
+    }
+
     @Override
     public Iterator<Double> iterator() {
         return new ImmutableIterator<Double>() {
@@ -11,7 +11,6 @@ import java.util.Set;
 
 import com.landawn.abacus.util.IntList;
 import com.landawn.abacus.util.N;
-import com.landawn.abacus.util.Optional;
 import com.landawn.abacus.util.OptionalDouble;
 import com.landawn.abacus.util.OptionalInt;
 import com.landawn.abacus.util.function.BiConsumer;
@@ -34,10 +33,12 @@ import com.landawn.abacus.util.function.ToIntFunction;
  * This class is a sequential, stateful and immutable stream implementation.
  *
  */
-final class IteratorIntStream extends IntStream {
-    private final ImmutableIntIterator elements;
-    private final boolean sorted;
-    private final Set<Runnable> closeHandlers;
+class IteratorIntStream extends IntStream {
+    private static final int TOP_CHUNK_SIZE = 8192;
+
+    final ImmutableIntIterator elements;
+    final boolean sorted;
+    final Set<Runnable> closeHandlers;
 
     IteratorIntStream(ImmutableIntIterator values) {
         this(values, null);
@@ -664,17 +665,108 @@ final class IteratorIntStream extends IntStream {
     }
 
     @Override
-    public IntStream top(int n, Comparator<? super Integer> comparator) {
+    public IntStream top(final int n, final Comparator<? super Integer> comparator) {
         if (n < 1) {
             throw new IllegalArgumentException("'n' can not be less than 1");
         }
 
-        return boxed().top(n, comparator).mapToInt(new ToIntFunction<Integer>() {
+        if (comparator != null && comparator != INT_COMPARATOR) {
+            return boxed().top(n, comparator).mapToInt(new ToIntFunction<Integer>() {
+                @Override
+                public int applyAsInt(Integer value) {
+                    return value.intValue();
+                }
+            });
+        }
+
+        return new IteratorIntStream(new ImmutableIntIterator() {
+            int[] a = null;
+            int cursor = 0;
+
+            @Override
+            public boolean hasNext() {
+                if (a == null) {
+                    getResult();
+                }
+
+                return cursor < a.length;
+            }
+
+            @Override
+            public int next() {
+                if (a == null) {
+                    getResult();
+                }
+
+                if (cursor >= a.length) {
+                    throw new NoSuchElementException();
+                }
+
+                return a[cursor++];
+            }
+
+            @Override
+            public long count() {
+                if (a == null) {
+                    getResult();
+                }
+
+                return a.length - cursor;
+            }
+
+            @Override
+            public void skip(long n) {
+                if (a == null) {
+                    getResult();
+                }
+
+                cursor = n >= a.length - cursor ? a.length : cursor + (int) n;
+            }
+
             @Override
-            public int applyAsInt(Integer value) {
-                return value.intValue();
+            public int[] toArray() {
+                if (a == null) {
+                    getResult();
+                }
+
+                if (cursor == 0) {
+                    return a;
+                } else {
+                    return N.copyOfRange(a, cursor, a.length);
+                }
+            }
+
+            private void getResult() {
+                a = topElements(n);
+            }
+        }, closeHandlers);
+    }
+
+    /**
+     * Returns the <code>n</code> largest elements, in their order in this stream. The elements are read in chunks,
+     * and only the top <code>n</code> of the elements read so far are kept, by {@code N.top(int[], int, int, int)}.
+     *
+     * @param n
+     * @return
+     */
+    private int[] topElements(final int n) {
+        int[] a = new int[N.min(n, TOP_CHUNK_SIZE) + TOP_CHUNK_SIZE];
+        int size = 0;
+
+        while (elements.hasNext()) {
+            if (size == a.length) {
+                if (size - n >= TOP_CHUNK_SIZE) {
+                    N.copy(N.top(a, 0, size, n), 0, a, 0, n);
+                    size = n;
+                } else {
+                    a = N.copyOf(a, (int) N.min(Integer.MAX_VALUE - 8, size * 2L));
+                }
             }
-        });
+
+            a[size++] = elements.next();
+        }
+
+        return size > n ? N.top(a, 0, size, n) : N.copyOf(a, size);
     }
 
     @Override
@@ -1065,9 +1157,9 @@ final class IteratorIntStream extends IntStream {
             return OptionalInt.empty();
         }
 
-        final Optional<Integer> optional = boxed().kthLargest(k, INT_COMPARATOR);
+        final int[] a = topElements(k);
 
-        return optional.isPresent() ? OptionalInt.of(optional.get()) : OptionalInt.empty();
+        return a.length < k ? OptionalInt.empty() : OptionalInt.of(N.min(a));
     }
 
     @Override
@@ -1248,6 +1340,21 @@ final class IteratorIntStream extends IntStream {
         return new IteratorStream<Integer>(iterator(), closeHandlers, sorted, sorted ? INT_COMPARATOR : null);
     }
 
+    @Override
+    public boolean isParallel() {
+        return false;
+    }
+
+    @Override
+    public IntStream sequential() {
+        return this;
+    }
+
+    @Override
+    public IntStream parallel(int maxThreadNum) {
+        return new ParallelIteratorIntStream(elements, closeHandlers, sorted, Stream.checkMaxThreadNum(maxThreadNum));
+    }
+
     @Override
     public Iterator<Integer> iterator() {
         return new ImmutableIterator<Integer>() {
@@ -31,10 +31,10 @@ import com.landawn.abacus.util.function.ToLongFunction;
  * This class is a sequential, stateful and immutable stream implementation.
  *
  */
-final class IteratorLongStream extends LongStream {
-    private final ImmutableLongIterator elements;
-    private final boolean sorted;
-    private final Set<Runnable> closeHandlers;
+class IteratorLongStream extends LongStream {
+    final ImmutableLongIterator elements;
+    final boolean sorted;
+    final Set<Runnable> closeHandlers;
 
     IteratorLongStream(ImmutableLongIterator values) {
         this(values, null);
@@ -1080,6 +1080,21 @@ final class IteratorLongStream extends LongStream {
         return new IteratorStream<Long>(iterator(), closeHandlers, sorted, sorted ? LONG_COMPARATOR : null);
     }
 
+    @Override
+    public boolean isParallel() {
+        return false;
+    }
+
+    @Override
+    public LongStream sequential() {
+        return this;
+    }
+
+    @Override
+    public LongStream parallel(int maxThreadNum) {
+        return new ParallelIteratorLongStream(elements, closeHandlers, sorted, Stream.checkMaxThreadNum(maxThreadNum));
+    }
+
     @Override
     public Iterator<Long> iterator() {
         return new ImmutableIterator<Long>() {
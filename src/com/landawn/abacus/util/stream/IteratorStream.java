@@ -41,11 +41,11 @@ import com.landawn.abacus.util.function.ToShortFunction;
  *
  * @param <T>
  */
-final class IteratorStream<T> extends Stream<T> implements BaseStream<T, Stream<T>> {
-    private final ImmutableIterator<T> elements;
-    private final boolean sorted;
-    private final Comparator<? super T> cmp;
-    private final Set<Runnable> closeHandlers;
+class IteratorStream<T> extends Stream<T> implements BaseStream<T, Stream<T>> {
+    final ImmutableIterator<T> elements;
+    final boolean sorted;
+    final Comparator<? super T> cmp;
+    final Set<Runnable> closeHandlers;
 
     IteratorStream(final Iterator<? extends T> iterator) {
         this(iterator, null);
@@ -2091,6 +2091,21 @@ final class IteratorStream<T> extends Stream<T> implements BaseStream<T, Stream<
         return (Optional<T>) Optional.empty();
     }
 
+    @Override
+    public boolean isParallel() {
+        return false;
+    }
+
+    @Override
+    public Stream<T> sequential() {
+        return this;
+    }
+
+    @Override
+    public Stream<T> parallel(int maxThreadNum) {
+        return new ParallelIteratorStream<T>(elements, closeHandlers, sorted, cmp, Stream.checkMaxThreadNum(maxThreadNum));
+    }
+
     @Override
     public Iterator<T> iterator() {
         return elements;
@@ -711,6 +711,45 @@ public abstract class LongStream implements BaseStream<Long, LongStream> {
 
     public abstract OptionalLong findAny(LongPredicate predicate);
 
+    /**
+     * Returns whether this stream, if a terminal operation were to be executed,
+     * would execute in parallel.
+     *
+     * @return {@code true} if this stream would execute in parallel if executed
+     */
+    public abstract boolean isParallel();
+
+    /**
+     * Returns an equivalent stream that is sequential.  May return
+     * itself, either because the stream was already sequential, or because
+     * the underlying stream state was modified to be sequential.
+     *
+     * <p>This is an <a href="package-summary.html#StreamOps">intermediate
+     * operation</a>.
+     *
+     * @return a sequential stream
+     */
+    public abstract LongStream sequential();
+
+    /**
+     * Returns an equivalent stream that is parallel, with the number of the threads specified by {@code N.CPU_CORES}.
+     * 
+     * @return
+     * @see #parallel(int)
+     */
+    public LongStream parallel() {
+        return parallel(Stream.DEFAULT_MAX_THREAD_NUM);
+    }
+
+    /**
+     * Returns an equivalent stream that is executed by at most {@code maxThreadNum} threads.
+     * 
+     * @param maxThreadNum
+     * @return
+     * @see Stream#parallel(int)
+     */
+    public abstract LongStream parallel(int maxThreadNum);
+
     /**
      * Returns a {@code FloatStream} consisting of the elements of this stream,
      * converted to {@code double}.
@@ -759,6 +798,16 @@ public abstract class LongStream implements BaseStream<Long, LongStream> {
         return Stream.from(a);
     }
 
+    /**
+     * Returns a sequential <code>LongStream</code> over the values from the specified iterator.
+     * 
+     * @param iterator
+     * @return
+     */
+    public static LongStream of(final ImmutableLongIterator iterator) {
+        return new IteratorLongStream(iterator);
+    }
+
     public static LongStream of(final long[] a, final int startIndex, final int endIndex) {
         return new ArrayLongStream(a, startIndex, endIndex);
     }
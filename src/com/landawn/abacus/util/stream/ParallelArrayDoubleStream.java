@@ -0,0 +1,408 @@
+package com.landawn.abacus.util.stream;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.landawn.abacus.util.N;
+import com.landawn.abacus.util.OptionalDouble;
+import com.landawn.abacus.util.function.BiConsumer;
+import com.landawn.abacus.util.function.DoubleBinaryOperator;
+import com.landawn.abacus.util.function.DoubleConsumer;
+import com.landawn.abacus.util.function.DoubleFunction;
+import com.landawn.abacus.util.function.DoublePredicate;
+import com.landawn.abacus.util.function.DoubleToIntFunction;
+import com.landawn.abacus.util.function.DoubleToLongFunction;
+import com.landawn.abacus.util.function.DoubleUnaryOperator;
+import com.landawn.abacus.util.function.ObjDoubleConsumer;
+import com.landawn.abacus.util.function.Supplier;
+
+/**
+ * This class is a parallel, stateful and immutable stream implementation.
+ * The range {@code [fromIndex, toIndex)} is split into at most {@code maxThreadNum} sub-ranges which are executed in {@code Stream.PARALLEL_EXECUTOR}.
+ *
+ */
+final class ParallelArrayDoubleStream extends ArrayDoubleStream {
+    private final int maxThreadNum;
+
+    ParallelArrayDoubleStream(double[] values, int fromIndex, int toIndex, Collection<Runnable> closeHandlers, boolean sorted, int maxThreadNum) {
+        super(values, fromIndex, toIndex, closeHandlers, sorted);
+
+        this.maxThreadNum = maxThreadNum;
+    }
+
+    @Override
+    public DoubleStream filter(final DoublePredicate predicate, final long max) {
+        return sourceStream().filter(predicate, max);
+    }
+
+    @Override
+    public DoubleStream takeWhile(final DoublePredicate predicate, final long max) {
+        return super.takeWhile(predicate, max).parallel(maxThreadNum);
+    }
+
+    @Override
+    public DoubleStream dropWhile(final DoublePredicate predicate, final long max) {
+        return super.dropWhile(predicate, max).parallel(maxThreadNum);
+    }
+
+    @Override
+    public DoubleStream map(final DoubleUnaryOperator mapper) {
+        return sourceStream().map(mapper);
+    }
+
+    @Override
+    public IntStream mapToInt(final DoubleToIntFunction mapper) {
+        return sourceStream().mapToInt(mapper);
+    }
+
+    @Override
+    public LongStream mapToLong(final DoubleToLongFunction mapper) {
+        return sourceStream().mapToLong(mapper);
+    }
+
+    @Override
+    public <U> Stream<U> mapToObj(final DoubleFunction<? extends U> mapper) {
+        return sourceStream().<U> mapToObj(mapper);
+    }
+
+    @Override
+    public DoubleStream flatMap(final DoubleFunction<? extends DoubleStream> mapper) {
+        return sourceStream().flatMap(mapper);
+    }
+
+    @Override
+    public IntStream flatMapToInt(final DoubleFunction<? extends IntStream> mapper) {
+        return sourceStream().flatMapToInt(mapper);
+    }
+
+    @Override
+    public LongStream flatMapToLong(final DoubleFunction<? extends LongStream> mapper) {
+        return sourceStream().flatMapToLong(mapper);
+    }
+
+    @Override
+    public <U> Stream<U> flatMapToObj(final DoubleFunction<? extends Stream<U>> mapper) {
+        return sourceStream().<U> flatMapToObj(mapper);
+    }
+
+    @Override
+    public Stream<DoubleStream> split(final int size) {
+        return super.split(size).parallel(maxThreadNum);
+    }
+
+    @Override
+    public DoubleStream distinct() {
+        return super.distinct().parallel(maxThreadNum);
+    }
+
+    @Override
+    public DoubleStream top(final int n, final Comparator<? super Double> comparator) {
+        return super.top(n, comparator).parallel(maxThreadNum);
+    }
+
+    @Override
+    public DoubleStream sorted() {
+        return super.parallelSorted().parallel(maxThreadNum);
+    }
+
+    @Override
+    public DoubleStream parallelSorted() {
+        return super.parallelSorted().parallel(maxThreadNum);
+    }
+
+    @Override
+    public DoubleStream peek(final DoubleConsumer action) {
+        return sourceStream().peek(action);
+    }
+
+    @Override
+    public DoubleStream limit(final long maxSize) {
+        return super.limit(maxSize).parallel(maxThreadNum);
+    }
+
+    @Override
+    public DoubleStream skip(final long n) {
+        return super.skip(n).parallel(maxThreadNum);
+    }
+
+    @Override
+    public void forEach(final DoubleConsumer action) {
+        Stream.parallelRange(fromIndex, toIndex, maxThreadNum, new Stream.RangeFunction<Void>() {
+            @Override
+            public Void apply(int from, int to) {
+                for (int i = from; i < to; i++) {
+                    action.accept(elements[i]);
+                }
+
+                return null;
+            }
+        });
+    }
+
+    @Override
+    public double reduce(final double identity, final DoubleBinaryOperator op) {
+        final List<Double> results = Stream.parallelRange(fromIndex, toIndex, maxThreadNum, new Stream.RangeFunction<Double>() {
+            @Override
+            public Double apply(int from, int to) {
+                double result = identity;
+
+                for (int i = from; i < to; i++) {
+                    result = op.applyAsDouble(result, elements[i]);
+                }
+
+                return result;
+            }
+        });
+
+        double result = results.get(0);
+
+        for (int i = 1, size = results.size(); i < size; i++) {
+            result = op.applyAsDouble(result, results.get(i));
+        }
+
+        return result;
+    }
+
+    @Override
+    public OptionalDouble reduce(final DoubleBinaryOperator op) {
+        if (count() == 0) {
+            return OptionalDouble.empty();
+        }
+
+        final List<Double> results = Stream.parallelRange(fromIndex, toIndex, maxThreadNum, new Stream.RangeFunction<Double>() {
+            @Override
+            public Double apply(int from, int to) {
+                double result = elements[from];
+
+                for (int i = from + 1; i < to; i++) {
+                    result = op.applyAsDouble(result, elements[i]);
+                }
+
+                return result;
+            }
+        });
+
+        double result = results.get(0);
+
+        for (int i = 1, size = results.size(); i < size; i++) {
+            result = op.applyAsDouble(result, results.get(i));
+        }
+
+        return OptionalDouble.of(result);
+    }
+
+    @Override
+    public <R> R collect(final Supplier<R> supplier, final ObjDoubleConsumer<R> accumulator, final BiConsumer<R, R> combiner) {
+        final List<R> results = Stream.parallelRange(fromIndex, toIndex, maxThreadNum, new Stream.RangeFunction<R>() {
+            @Override
+            public R apply(int from, int to) {
+                final R result = supplier.get();
+
+                for (int i = from; i < to; i++) {
+                    accumulator.accept(result, elements[i]);
+                }
+
+                return result;
+            }
+        });
+
+        final R result = results.get(0);
+
+        for (int i = 1, size = results.size(); i < size; i++) {
+            combiner.accept(result, results.get(i));
+        }
+
+        return result;
+    }
+
+    @Override
+    public Double sum() {
+        final double[] summation = collect(new Supplier<double[]>() {
+            @Override
+            public double[] get() {
+                return new double[3];
+            }
+        }, new ObjDoubleConsumer<double[]>() {
+            @Override
+            public void accept(double[] ll, double d) {
+                Collectors.sumWithCompensation(ll, d);
+                ll[2] += d;
+            }
+        }, new BiConsumer<double[], double[]>() {
+            @Override
+            public void accept(double[] ll, double[] rr) {
+                Collectors.sumWithCompensation(ll, rr[0]);
+                Collectors.sumWithCompensation(ll, rr[1]);
+                ll[2] += rr[2];
+            }
+        });
+
+        return Collectors.computeFinalSum(summation);
+    }
+
+    @Override
+    public OptionalDouble average() {
+        if (count() == 0) {
+            return OptionalDouble.empty();
+        }
+
+        return OptionalDouble.of(sum() / count());
+    }
+
+    @Override
+    public OptionalDouble min() {
+        if (count() == 0) {
+            return OptionalDouble.empty();
+        }
+
+        final List<Double> results = Stream.parallelRange(fromIndex, toIndex, maxThreadNum, new Stream.RangeFunction<Double>() {
+            @Override
+            public Double apply(int from, int to) {
+                return N.min(elements, from, to);
+            }
+        });
+
+        double result = results.get(0);
+
+        for (int i = 1, size = results.size(); i < size; i++) {
+            result = N.min(result, results.get(i));
+        }
+
+        return OptionalDouble.of(result);
+    }
+
+    @Override
+    public OptionalDouble max() {
+        if (count() == 0) {
+            return OptionalDouble.empty();
+        }
+
+        final List<Double> results = Stream.parallelRange(fromIndex, toIndex, maxThreadNum, new Stream.RangeFunction<Double>() {
+            @Override
+            public Double apply(int from, int to) {
+                return N.max(elements, from, to);
+            }
+        });
+
+        double result = results.get(0);
+
+        for (int i = 1, size = results.size(); i < size; i++) {
+            result = N.max(result, results.get(i));
+        }
+
+        return OptionalDouble.of(result);
+    }
+
+    @Override
+    public boolean anyMatch(final DoublePredicate predicate) {
+        final AtomicBoolean result = new AtomicBoolean(false);
+
+        Stream.parallelRange(fromIndex, toIndex, maxThreadNum, new Stream.RangeFunction<Void>() {
+            @Override
+            public Void apply(int from, int to) {
+                for (int i = from; i < to && result.get() == false; i++) {
+                    if (predicate.test(elements[i])) {
+                        result.set(true);
+                    }
+                }
+
+                return null;
+            }
+        });
+
+        return result.get();
+    }
+
+    @Override
+    public boolean allMatch(final DoublePredicate predicate) {
+        final AtomicBoolean result = new AtomicBoolean(true);
+
+        Stream.parallelRange(fromIndex, toIndex, maxThreadNum, new Stream.RangeFunction<Void>() {
+            @Override
+            public Void apply(int from, int to) {
+                for (int i = from; i < to && result.get(); i++) {
+                    if (predicate.test(elements[i]) == false) {
+                        result.set(false);
+                    }
+                }
+
+                return null;
+            }
+        });
+
+        return result.get();
+    }
+
+    @Override
+    public boolean noneMatch(final DoublePredicate predicate) {
+        return anyMatch(predicate) == false;
+    }
+
+    @Override
+    public OptionalDouble findAny(final DoublePredicate predicate) {
+        final AtomicBoolean found = new AtomicBoolean(false);
+        final double[] holder = new double[1];
+
+        Stream.parallelRange(fromIndex, toIndex, maxThreadNum, new Stream.RangeFunction<Void>() {
+            @Override
+            public Void apply(int from, int to) {
+                for (int i = from; i < to && found.get() == false; i++) {
+                    if (predicate.test(elements[i]) && found.compareAndSet(false, true)) {
+                        holder[0] = elements[i];
+                    }
+                }
+
+                return null;
+            }
+        });
+
+        return found.get() ? OptionalDouble.of(holder[0]) : OptionalDouble.empty();
+    }
+
+    @Override
+    public Stream<Double> boxed() {
+        return super.boxed().parallel(maxThreadNum);
+    }
+
+    @Override
+    public boolean isParallel() {
+        return true;
+    }
+
+    @Override
+    public DoubleStream sequential() {
+        return new ArrayDoubleStream(elements, fromIndex, toIndex, closeHandlers, sorted);
+    }
+
+    @Override
+    public DoubleStream parallel(final int maxThreadNum) {
+        if (this.maxThreadNum == Stream.checkMaxThreadNum(maxThreadNum)) {
+            return this;
+        }
+
+        return new ParallelArrayDoubleStream(elements, fromIndex, toIndex, closeHandlers, sorted, maxThreadNum);
+    }
+
+    @Override
+    public DoubleStream onClose(final Runnable closeHandler) {
+        final List<Runnable> closeHandlerList = new ArrayList<>(N.isNullOrEmpty(this.closeHandlers) ? 1 : this.closeHandlers.size() + 1);
+
+        if (N.notNullOrEmpty(this.closeHandlers)) {
+            closeHandlerList.addAll(this.closeHandlers);
+        }
+
+        closeHandlerList.add(closeHandler);
+
+        return new ParallelArrayDoubleStream(elements, fromIndex, toIndex, closeHandlerList, sorted, maxThreadNum);
+    }
+
+    /**
+     * The stateless operations are applied by the worker threads which read the elements in batches, when the terminal operation is executed.
+     */
+    private DoubleStream sourceStream() {
+        return new ParallelIteratorDoubleStream(ParallelSource.of(elements, fromIndex, toIndex), closeHandlers, sorted, maxThreadNum);
+    }
+}
@@ -0,0 +1,412 @@
+package com.landawn.abacus.util.stream;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.landawn.abacus.util.N;
+import com.landawn.abacus.util.OptionalDouble;
+import com.landawn.abacus.util.OptionalInt;
+import com.landawn.abacus.util.function.BiConsumer;
+import com.landawn.abacus.util.function.IntBinaryOperator;
+import com.landawn.abacus.util.function.IntConsumer;
+import com.landawn.abacus.util.function.IntFunction;
+import com.landawn.abacus.util.function.IntPredicate;
+import com.landawn.abacus.util.function.IntToDoubleFunction;
+import com.landawn.abacus.util.function.IntToLongFunction;
+import com.landawn.abacus.util.function.IntUnaryOperator;
+import com.landawn.abacus.util.function.ObjIntConsumer;
+import com.landawn.abacus.util.function.Supplier;
+
+/**
+ * This class is a parallel, stateful and immutable stream implementation.
+ * The range {@code [fromIndex, toIndex)} is split into at most {@code maxThreadNum} sub-ranges which are executed in {@code Stream.PARALLEL_EXECUTOR}.
+ *
+ */
+final class ParallelArrayIntStream extends ArrayIntStream {
+    private final int maxThreadNum;
+
+    ParallelArrayIntStream(int[] values, int fromIndex, int toIndex, Collection<Runnable> closeHandlers, boolean sorted, int maxThreadNum) {
+        super(values, fromIndex, toIndex, closeHandlers, sorted);
+
+        this.maxThreadNum = maxThreadNum;
+    }
+
+    @Override
+    public IntStream filter(final IntPredicate predicate, final long max) {
+        return sourceStream().filter(predicate, max);
+    }
+
+    @Override
+    public IntStream takeWhile(final IntPredicate predicate, final long max) {
+        return super.takeWhile(predicate, max).parallel(maxThreadNum);
+    }
+
+    @Override
+    public IntStream dropWhile(final IntPredicate predicate, final long max) {
+        return super.dropWhile(predicate, max).parallel(maxThreadNum);
+    }
+
+    @Override
+    public IntStream map(final IntUnaryOperator mapper) {
+        return sourceStream().map(mapper);
+    }
+
+    @Override
+    public LongStream mapToLong(final IntToLongFunction mapper) {
+        return sourceStream().mapToLong(mapper);
+    }
+
+    @Override
+    public DoubleStream mapToDouble(final IntToDoubleFunction mapper) {
+        return sourceStream().mapToDouble(mapper);
+    }
+
+    @Override
+    public <U> Stream<U> mapToObj(final IntFunction<? extends U> mapper) {
+        return sourceStream().<U> mapToObj(mapper);
+    }
+
+    @Override
+    public IntStream flatMap(final IntFunction<? extends IntStream> mapper) {
+        return sourceStream().flatMap(mapper);
+    }
+
+    @Override
+    public LongStream flatMapToLong(final IntFunction<? extends LongStream> mapper) {
+        return sourceStream().flatMapToLong(mapper);
+    }
+
+    @Override
+    public DoubleStream flatMapToDouble(final IntFunction<? extends DoubleStream> mapper) {
+        return sourceStream().flatMapToDouble(mapper);
+    }
+
+    @Override
+    public <U> Stream<U> flatMapToObj(final IntFunction<? extends Stream<U>> mapper) {
+        return sourceStream().<U> flatMapToObj(mapper);
+    }
+
+    @Override
+    public Stream<IntStream> split(final int size) {
+        return super.split(size).parallel(maxThreadNum);
+    }
+
+    @Override
+    public IntStream distinct() {
+        return super.distinct().parallel(maxThreadNum);
+    }
+
+    @Override
+    public IntStream top(final int n, final Comparator<? super Integer> comparator) {
+        return super.top(n, comparator).parallel(maxThreadNum);
+    }
+
+    @Override
+    public IntStream sorted() {
+        return super.parallelSorted().parallel(maxThreadNum);
+    }
+
+    @Override
+    public IntStream parallelSorted() {
+        return super.parallelSorted().parallel(maxThreadNum);
+    }
+
+    @Override
+    public IntStream peek(final IntConsumer action) {
+        return sourceStream().peek(action);
+    }
+
+    @Override
+    public IntStream limit(final long maxSize) {
+        return super.limit(maxSize).parallel(maxThreadNum);
+    }
+
+    @Override
+    public IntStream skip(final long n) {
+        return super.skip(n).parallel(maxThreadNum);
+    }
+
+    @Override
+    public void forEach(final IntConsumer action) {
+        Stream.parallelRange(fromIndex, toIndex, maxThreadNum, new Stream.RangeFunction<Void>() {
+            @Override
+            public Void apply(int from, int to) {
+                for (int i = from; i < to; i++) {
+                    action.accept(elements[i]);
+                }
+
+                return null;
+            }
+        });
+    }
+
+    @Override
+    public int reduce(final int identity, final IntBinaryOperator op) {
+        final List<Integer> results = Stream.parallelRange(fromIndex, toIndex, maxThreadNum, new Stream.RangeFunction<Integer>() {
+            @Override
+            public Integer apply(int from, int to) {
+                int result = identity;
+
+                for (int i = from; i < to; i++) {
+                    result = op.applyAsInt(result, elements[i]);
+                }
+
+                return result;
+            }
+        });
+
+        int result = results.get(0);
+
+        for (int i = 1, size = results.size(); i < size; i++) {
+            result = op.applyAsInt(result, results.get(i));
+        }
+
+        return result;
+    }
+
+    @Override
+    public OptionalInt reduce(final IntBinaryOperator op) {
+        if (count() == 0) {
+            return OptionalInt.empty();
+        }
+
+        final List<Integer> results = Stream.parallelRange(fromIndex, toIndex, maxThreadNum, new Stream.RangeFunction<Integer>() {
+            @Override
+            public Integer apply(int from, int to) {
+                int result = elements[from];
+
+                for (int i = from + 1; i < to; i++) {
+                    result = op.applyAsInt(result, elements[i]);
+                }
+
+                return result;
+            }
+        });
+
+        int result = results.get(0);
+
+        for (int i = 1, size = results.size(); i < size; i++) {
+            result = op.applyAsInt(result, results.get(i));
+        }
+
+        return OptionalInt.of(result);
+    }
+
+    @Override
+    public <R> R collect(final Supplier<R> supplier, final ObjIntConsumer<R> accumulator, final BiConsumer<R, R> combiner) {
+        final List<R> results = Stream.parallelRange(fromIndex, toIndex, maxThreadNum, new Stream.RangeFunction<R>() {
+            @Override
+            public R apply(int from, int to) {
+                final R result = supplier.get();
+
+                for (int i = from; i < to; i++) {
+                    accumulator.accept(result, elements[i]);
+                }
+
+                return result;
+            }
+        });
+
+        final R result = results.get(0);
+
+        for (int i = 1, size = results.size(); i < size; i++) {
+            combiner.accept(result, results.get(i));
+        }
+
+        return result;
+    }
+
+    @Override
+    public Long sum() {
+        final List<Long> results = Stream.parallelRange(fromIndex, toIndex, maxThreadNum, new Stream.RangeFunction<Long>() {
+            @Override
+            public Long apply(int from, int to) {
+                return N.sum(elements, from, to);
+            }
+        });
+
+        long result = 0;
+
+        for (Long e : results) {
+            result += e.longValue();
+        }
+
+        return result;
+    }
+
+    @Override
+    public OptionalDouble average() {
+        if (count() == 0) {
+            return OptionalDouble.empty();
+        }
+
+        return OptionalDouble.of(sum().doubleValue() / count());
+    }
+
+    @Override
+    public OptionalInt min() {
+        if (count() == 0) {
+            return OptionalInt.empty();
+        }
+
+        final List<Integer> results = Stream.parallelRange(fromIndex, toIndex, maxThreadNum, new Stream.RangeFunction<Integer>() {
+            @Override
+            public Integer apply(int from, int to) {
+                return N.min(elements, from, to);
+            }
+        });
+
+        int result = results.get(0);
+
+        for (int i = 1, size = results.size(); i < size; i++) {
+            result = N.min(result, results.get(i));
+        }
+
+        return OptionalInt.of(result);
+    }
+
+    @Override
+    public OptionalInt max() {
+        if (count() == 0) {
+            return OptionalInt.empty();
+        }
+
+        final List<Integer> results = Stream.parallelRange(fromIndex, toIndex, maxThreadNum, new Stream.RangeFunction<Integer>() {
+            @Override
+            public Integer apply(int from, int to) {
+                return N.max(elements, from, to);
+            }
+        });
+
+        int result = results.get(0);
+
+        for (int i = 1, size = results.size(); i < size; i++) {
+            result = N.max(result, results.get(i));
+        }
+
+        return OptionalInt.of(result);
+    }
+
+    @Override
+    public boolean anyMatch(final IntPredicate predicate) {
+        final AtomicBoolean result = new AtomicBoolean(false);
+
+        Stream.parallelRange(fromIndex, toIndex, maxThreadNum, new Stream.RangeFunction<Void>() {
+            @Override
+            public Void apply(int from, int to) {
+                for (int i = from; i < to && result.get() == false; i++) {
+                    if (predicate.test(elements[i])) {
+                        result.set(true);
+                    }
+                }
+
+                return null;
+            }
+        });
+
+        return result.get();
+    }
+
+    @Override
+    public boolean allMatch(final IntPredicate predicate) {
+        final AtomicBoolean result = new AtomicBoolean(true);
+
+        Stream.parallelRange(fromIndex, toIndex, maxThreadNum, new Stream.RangeFunction<Void>() {
+            @Override
+            public Void apply(int from, int to) {
+                for (int i = from; i < to && result.get(); i++) {
+                    if (predicate.test(elements[i]) == false) {
+                        result.set(false);
+                    }
+                }
+
+                return null;
+            }
+        });
+
+        return result.get();
+    }
+
+    @Override
+    public boolean noneMatch(final IntPredicate predicate) {
+        return anyMatch(predicate) == false;
+    }
+
+    @Override
+    public OptionalInt findAny(final IntPredicate predicate) {
+        final AtomicBoolean found = new AtomicBoolean(false);
+        final int[] holder = new int[1];
+
+        Stream.parallelRange(fromIndex, toIndex, maxThreadNum, new Stream.RangeFunction<Void>() {
+            @Override
+            public Void apply(int from, int to) {
+                for (int i = from; i < to && found.get() == false; i++) {
+                    if (predicate.test(elements[i]) && found.compareAndSet(false, true)) {
+                        holder[0] = elements[i];
+                    }
+                }
+
+                return null;
+            }
+        });
+
+        return found.get() ? OptionalInt.of(holder[0]) : OptionalInt.empty();
+    }
+
+    @Override
+    public LongStream asLongStream() {
+        return super.asLongStream().parallel(maxThreadNum);
+    }
+
+    @Override
+    public DoubleStream asDoubleStream() {
+        return super.asDoubleStream().parallel(maxThreadNum);
+    }
+
+    @Override
+    public Stream<Integer> boxed() {
+        return super.boxed().parallel(maxThreadNum);
+    }
+
+    @Override
+    public boolean isParallel() {
+        return true;
+    }
+
+    @Override
+    public IntStream sequential() {
+        return new ArrayIntStream(elements, fromIndex, toIndex, closeHandlers, sorted);
+    }
+
+    @Override
+    public IntStream parallel(final int maxThreadNum) {
+        if (this.maxThreadNum == Stream.checkMaxThreadNum(maxThreadNum)) {
+            return this;
+        }
+
+        return new ParallelArrayIntStream(elements, fromIndex, toIndex, closeHandlers, sorted, maxThreadNum);
+    }
+
+    @Override
+    public IntStream onClose(final Runnable closeHandler) {
+        final List<Runnable> closeHandlerList = new ArrayList<>(N.isNullOrEmpty(this.closeHandlers) ? 1 : this.closeHandlers.size() + 1);
+
+        if (N.notNullOrEmpty(this.closeHandlers)) {
+            closeHandlerList.addAll(this.closeHandlers);
+        }
+
+        closeHandlerList.add(closeHandler);
+
+        return new ParallelArrayIntStream(elements, fromIndex, toIndex, closeHandlerList, sorted, maxThreadNum);
+    }
+
+    /**
+     * The stateless operations are applied by the worker threads which read the elements in batches, when the terminal operation is executed.
+     */
+    private IntStream sourceStream() {
+        return new ParallelIteratorIntStream(ParallelSource.of(elements, fromIndex, toIndex), closeHandlers, sorted, maxThreadNum);
+    }
+}
@@ -0,0 +1,407 @@
+package com.landawn.abacus.util.stream;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.landawn.abacus.util.N;
+import com.landawn.abacus.util.OptionalDouble;
+import com.landawn.abacus.util.OptionalLong;
+import com.landawn.abacus.util.function.BiConsumer;
+import com.landawn.abacus.util.function.LongBinaryOperator;
+import com.landawn.abacus.util.function.LongConsumer;
+import com.landawn.abacus.util.function.LongFunction;
+import com.landawn.abacus.util.function.LongPredicate;
+import com.landawn.abacus.util.function.LongToDoubleFunction;
+import com.landawn.abacus.util.function.LongToIntFunction;
+import com.landawn.abacus.util.function.LongUnaryOperator;
+import com.landawn.abacus.util.function.ObjLongConsumer;
+import com.landawn.abacus.util.function.Supplier;
+
+/**
+ * This class is a parallel, stateful and immutable stream implementation.
+ * The range {@code [fromIndex, toIndex)} is split into at most {@code maxThreadNum} sub-ranges which are executed in {@code Stream.PARALLEL_EXECUTOR}.
+ *
+ */
+final class ParallelArrayLongStream extends ArrayLongStream {
+    private final int maxThreadNum;
+
+    ParallelArrayLongStream(long[] values, int fromIndex, int toIndex, Collection<Runnable> closeHandlers, boolean sorted, int maxThreadNum) {
+        super(values, fromIndex, toIndex, closeHandlers, sorted);
+
+        this.maxThreadNum = maxThreadNum;
+    }
+
+    @Override
+    public LongStream filter(final LongPredicate predicate, final long max) {
+        return sourceStream().filter(predicate, max);
+    }
+
+    @Override
+    public LongStream takeWhile(final LongPredicate predicate, final long max) {
+        return super.takeWhile(predicate, max).parallel(maxThreadNum);
+    }
+
+    @Override
+    public LongStream dropWhile(final LongPredicate predicate, final long max) {
+        return super.dropWhile(predicate, max).parallel(maxThreadNum);
+    }
+
+    @Override
+    public LongStream map(final LongUnaryOperator mapper) {
+        return sourceStream().map(mapper);
+    }
+
+    @Override
+    public IntStream mapToInt(final LongToIntFunction mapper) {
+        return sourceStream().mapToInt(mapper);
+    }
+
+    @Override
+    public DoubleStream mapToDouble(final LongToDoubleFunction mapper) {
+        return sourceStream().mapToDouble(mapper);
+    }
+
+    @Override
+    public <U> Stream<U> mapToObj(final LongFunction<? extends U> mapper) {
+        return sourceStream().<U> mapToObj(mapper);
+    }
+
+    @Override
+    public LongStream flatMap(final LongFunction<? extends LongStream> mapper) {
+        return sourceStream().flatMap(mapper);
+    }
+
+    @Override
+    public IntStream flatMapToInt(final LongFunction<? extends IntStream> mapper) {
+        return sourceStream().flatMapToInt(mapper);
+    }
+
+    @Override
+    public DoubleStream flatMapToDouble(final LongFunction<? extends DoubleStream> mapper) {
+        return sourceStream().flatMapToDouble(mapper);
+    }
+
+    @Override
+    public <U> Stream<U> flatMapToObj(final LongFunction<? extends Stream<U>> mapper) {
+        return sourceStream().<U> flatMapToObj(mapper);
+    }
+
+    @Override
+    public Stream<LongStream> split(final int size) {
+        return super.split(size).parallel(maxThreadNum);
+    }
+
+    @Override
+    public LongStream distinct() {
+        return super.distinct().parallel(maxThreadNum);
+    }
+
+    @Override
+    public LongStream top(final int n, final Comparator<? super Long> comparator) {
+        return super.top(n, comparator).parallel(maxThreadNum);
+    }
+
+    @Override
+    public LongStream sorted() {
+        return super.parallelSorted().parallel(maxThreadNum);
+    }
+
+    @Override
+    public LongStream parallelSorted() {
+        return super.parallelSorted().parallel(maxThreadNum);
+    }
+
+    @Override
+    public LongStream peek(final LongConsumer action) {
+        return sourceStream().peek(action);
+    }
+
+    @Override
+    public LongStream limit(final long maxSize) {
+        return super.limit(maxSize).parallel(maxThreadNum);
+    }
+
+    @Override
+    public LongStream skip(final long n) {
+        return super.skip(n).parallel(maxThreadNum);
+    }
+
+    @Override
+    public void forEach(final LongConsumer action) {
+        Stream.parallelRange(fromIndex, toIndex, maxThreadNum, new Stream.RangeFunction<Void>() {
+            @Override
+            public Void apply(int from, int to) {
+                for (int i = from; i < to; i++) {
+                    action.accept(elements[i]);
+                }
+
+                return null;
+            }
+        });
+    }
+
+    @Override
+    public long reduce(final long identity, final LongBinaryOperator op) {
+        final List<Long> results = Stream.parallelRange(fromIndex, toIndex, maxThreadNum, new Stream.RangeFunction<Long>() {
+            @Override
+            public Long apply(int from, int to) {
+                long result = identity;
+
+                for (int i = from; i < to; i++) {
+                    result = op.applyAsLong(result, elements[i]);
+                }
+
+                return result;
+            }
+        });
+
+        long result = results.get(0);
+
+        for (int i = 1, size = results.size(); i < size; i++) {
+            result = op.applyAsLong(result, results.get(i));
+        }
+
+        return result;
+    }
+
+    @Override
+    public OptionalLong reduce(final LongBinaryOperator op) {
+        if (count() == 0) {
+            return OptionalLong.empty();
+        }
+
+        final List<Long> results = Stream.parallelRange(fromIndex, toIndex, maxThreadNum, new Stream.RangeFunction<Long>() {
+            @Override
+            public Long apply(int from, int to) {
+                long result = elements[from];
+
+                for (int i = from + 1; i < to; i++) {
+                    result = op.applyAsLong(result, elements[i]);
+                }
+
+                return result;
+            }
+        });
+
+        long result = results.get(0);
+
+        for (int i = 1, size = results.size(); i < size; i++) {
+            result = op.applyAsLong(result, results.get(i));
+        }
+
+        return OptionalLong.of(result);
+    }
+
+    @Override
+    public <R> R collect(final Supplier<R> supplier, final ObjLongConsumer<R> accumulator, final BiConsumer<R, R> combiner) {
+        final List<R> results = Stream.parallelRange(fromIndex, toIndex, maxThreadNum, new Stream.RangeFunction<R>() {
+            @Override
+            public R apply(int from, int to) {
+                final R result = supplier.get();
+
+                for (int i = from; i < to; i++) {
+                    accumulator.accept(result, elements[i]);
+                }
+
+                return result;
+            }
+        });
+
+        final R result = results.get(0);
+
+        for (int i = 1, size = results.size(); i < size; i++) {
+            combiner.accept(result, results.get(i));
+        }
+
+        return result;
+    }
+
+    @Override
+    public Long sum() {
+        final List<Long> results = Stream.parallelRange(fromIndex, toIndex, maxThreadNum, new Stream.RangeFunction<Long>() {
+            @Override
+            public Long apply(int from, int to) {
+                return N.sum(elements, from, to);
+            }
+        });
+
+        long result = 0;
+
+        for (Long e : results) {
+            result += e.longValue();
+        }
+
+        return result;
+    }
+
+    @Override
+    public OptionalDouble average() {
+        if (count() == 0) {
+            return OptionalDouble.empty();
+        }
+
+        return OptionalDouble.of(sum().doubleValue() / count());
+    }
+
+    @Override
+    public OptionalLong min() {
+        if (count() == 0) {
+            return OptionalLong.empty();
+        }
+
+        final List<Long> results = Stream.parallelRange(fromIndex, toIndex, maxThreadNum, new Stream.RangeFunction<Long>() {
+            @Override
+            public Long apply(int from, int to) {
+                return N.min(elements, from, to);
+            }
+        });
+
+        long result = results.get(0);
+
+        for (int i = 1, size = results.size(); i < size; i++) {
+            result = N.min(result, results.get(i));
+        }
+
+        return OptionalLong.of(result);
+    }
+
+    @Override
+    public OptionalLong max() {
+        if (count() == 0) {
+            return OptionalLong.empty();
+        }
+
+        final List<Long> results = Stream.parallelRange(fromIndex, toIndex, maxThreadNum, new Stream.RangeFunction<Long>() {
+            @Override
+            public Long apply(int from, int to) {
+                return N.max(elements, from, to);
+            }
+        });
+
+        long result = results.get(0);
+
+        for (int i = 1, size = results.size(); i < size; i++) {
+            result = N.max(result, results.get(i));
+        }
+
+        return OptionalLong.of(result);
+    }
+
+    @Override
+    public boolean anyMatch(final LongPredicate predicate) {
+        final AtomicBoolean result = new AtomicBoolean(false);
+
+        Stream.parallelRange(fromIndex, toIndex, maxThreadNum, new Stream.RangeFunction<Void>() {
+            @Override
+            public Void apply(int from, int to) {
+                for (int i = from; i < to && result.get() == false; i++) {
+                    if (predicate.test(elements[i])) {
+                        result.set(true);
+                    }
+                }
+
+                return null;
+            }
+        });
+
+        return result.get();
+    }
+
+    @Override
+    public boolean allMatch(final LongPredicate predicate) {
+        final AtomicBoolean result = new AtomicBoolean(true);
+
+        Stream.parallelRange(fromIndex, toIndex, maxThreadNum, new Stream.RangeFunction<Void>() {
+            @Override
+            public Void apply(int from, int to) {
+                for (int i = from; i < to && result.get(); i++) {
+                    if (predicate.test(elements[i]) == false) {
+                        result.set(false);
+                    }
+                }
+
+                return null;
+            }
+        });
+
+        return result.get();
+    }
+
+    @Override
+    public boolean noneMatch(final LongPredicate predicate) {
+        return anyMatch(predicate) == false;
+    }
+
+    @Override
+    public OptionalLong findAny(final LongPredicate predicate) {
+        final AtomicBoolean found = new AtomicBoolean(false);
+        final long[] holder = new long[1];
+
+        Stream.parallelRange(fromIndex, toIndex, maxThreadNum, new Stream.RangeFunction<Void>() {
+            @Override
+            public Void apply(int from, int to) {
+                for (int i = from; i < to && found.get() == false; i++) {
+                    if (predicate.test(elements[i]) && found.compareAndSet(false, true)) {
+                        holder[0] = elements[i];
+                    }
+                }
+
+                return null;
+            }
+        });
+
+        return found.get() ? OptionalLong.of(holder[0]) : OptionalLong.empty();
+    }
+
+    @Override
+    public DoubleStream asDoubleStream() {
+        return super.asDoubleStream().parallel(maxThreadNum);
+    }
+
+    @Override
+    public Stream<Long> boxed() {
+        return super.boxed().parallel(maxThreadNum);
+    }
+
+    @Override
+    public boolean isParallel() {
+        return true;
+    }
+
+    @Override
+    public LongStream sequential() {
+        return new ArrayLongStream(elements, fromIndex, toIndex, closeHandlers, sorted);
+    }
+
+    @Override
+    public LongStream parallel(final int maxThreadNum) {
+        if (this.maxThreadNum == Stream.checkMaxThreadNum(maxThreadNum)) {
+            return this;
+        }
+
+        return new ParallelArrayLongStream(elements, fromIndex, toIndex, closeHandlers, sorted, maxThreadNum);
+    }
+
+    @Override
+    public LongStream onClose(final Runnable closeHandler) {
+        final List<Runnable> closeHandlerList = new ArrayList<>(N.isNullOrEmpty(this.closeHandlers) ? 1 : this.closeHandlers.size() + 1);
+
+        if (N.notNullOrEmpty(this.closeHandlers)) {
+            closeHandlerList.addAll(this.closeHandlers);
+        }
+
+        closeHandlerList.add(closeHandler);
+
+        return new ParallelArrayLongStream(elements, fromIndex, toIndex, closeHandlerList, sorted, maxThreadNum);
+    }
+
+    /**
+     * The stateless operations are applied by the worker threads which read the elements in batches, when the terminal operation is executed.
+     */
+    private LongStream sourceStream() {
+        return new ParallelIteratorLongStream(ParallelSource.of(elements, fromIndex, toIndex), closeHandlers, sorted, maxThreadNum);
+    }
+}
@@ -0,0 +1,454 @@
+package com.landawn.abacus.util.stream;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.landawn.abacus.util.Holder;
+import com.landawn.abacus.util.N;
+import com.landawn.abacus.util.Optional;
+import com.landawn.abacus.util.function.BiConsumer;
+import com.landawn.abacus.util.function.BiFunction;
+import com.landawn.abacus.util.function.BinaryOperator;
+import com.landawn.abacus.util.function.Consumer;
+import com.landawn.abacus.util.function.Function;
+import com.landawn.abacus.util.function.Predicate;
+import com.landawn.abacus.util.function.Supplier;
+import com.landawn.abacus.util.function.ToDoubleFunction;
+import com.landawn.abacus.util.function.ToIntFunction;
+import com.landawn.abacus.util.function.ToLongFunction;
+
+/**
+ * This class is a parallel, stateful and immutable stream implementation.
+ * The range {@code [fromIndex, toIndex)} is split into at most {@code maxThreadNum} sub-ranges which are executed in {@code Stream.PARALLEL_EXECUTOR}.
+ *
+ * @param <T>
+ */
+final class ParallelArrayStream<T> extends ArrayStream<T> {
+    private final int maxThreadNum;
+
+    ParallelArrayStream(T[] values, int fromIndex, int toIndex, Collection<Runnable> closeHandlers, int maxThreadNum) {
+        this(values, fromIndex, toIndex, closeHandlers, false, null, maxThreadNum);
+    }
+
+    ParallelArrayStream(T[] values, int fromIndex, int toIndex, Collection<Runnable> closeHandlers, boolean sorted, Comparator<? super T> cmp,
+            int maxThreadNum) {
+        super(values, fromIndex, toIndex, closeHandlers, sorted, cmp);
+
+        this.maxThreadNum = maxThreadNum;
+    }
+
+    @Override
+    public Stream<T> filter(final Predicate<? super T> predicate, final long max) {
+        return sourceStream().filter(predicate, max);
+    }
+
+    @Override
+    public Stream<T> takeWhile(final Predicate<? super T> predicate, final long max) {
+        return super.takeWhile(predicate, max).parallel(maxThreadNum);
+    }
+
+    @Override
+    public Stream<T> dropWhile(final Predicate<? super T> predicate, final long max) {
+        return super.dropWhile(predicate, max).parallel(maxThreadNum);
+    }
+
+    @Override
+    public <R> Stream<R> map(final Function<? super T, ? extends R> mapper) {
+        return sourceStream().<R> map(mapper);
+    }
+
+    @Override
+    public IntStream mapToInt(final ToIntFunction<? super T> mapper) {
+        return sourceStream().mapToInt(mapper);
+    }
+
+    @Override
+    public LongStream mapToLong(final ToLongFunction<? super T> mapper) {
+        return sourceStream().mapToLong(mapper);
+    }
+
+    @Override
+    public DoubleStream mapToDouble(final ToDoubleFunction<? super T> mapper) {
+        return sourceStream().mapToDouble(mapper);
+    }
+
+    @Override
+    public <R> Stream<R> flatMap(final Function<? super T, ? extends Stream<? extends R>> mapper) {
+        return sourceStream().<R> flatMap(mapper);
+    }
+
+    @Override
+    public <R> Stream<R> flatMap2(final Function<? super T, ? extends R[]> mapper) {
+        return sourceStream().<R> flatMap2(mapper);
+    }
+
+    @Override
+    public <R> Stream<R> flatMap3(final Function<? super T, ? extends Collection<? extends R>> mapper) {
+        return sourceStream().<R> flatMap3(mapper);
+    }
+
+    @Override
+    public IntStream flatMapToInt(final Function<? super T, ? extends IntStream> mapper) {
+        return sourceStream().flatMapToInt(mapper);
+    }
+
+    @Override
+    public LongStream flatMapToLong(final Function<? super T, ? extends LongStream> mapper) {
+        return sourceStream().flatMapToLong(mapper);
+    }
+
+    @Override
+    public DoubleStream flatMapToDouble(final Function<? super T, ? extends DoubleStream> mapper) {
+        return sourceStream().flatMapToDouble(mapper);
+    }
+
+    @Override
+    public Stream<Stream<T>> split(final int size) {
+        return super.split(size).parallel(maxThreadNum);
+    }
+
+    @Override
+    public Stream<List<T>> splitIntoList(final int size) {
+        return super.splitIntoList(size).parallel(maxThreadNum);
+    }
+
+    @Override
+    public Stream<Set<T>> splitIntoSet(final int size) {
+        return super.splitIntoSet(size).parallel(maxThreadNum);
+    }
+
+    @Override
+    public Stream<T> distinct() {
+        return super.distinct().parallel(maxThreadNum);
+    }
+
+    @Override
+    public Stream<T> distinct(final Comparator<? super T> comparator) {
+        return super.distinct(comparator).parallel(maxThreadNum);
+    }
+
+    @Override
+    public Stream<T> distinct(final Function<? super T, ?> keyMapper) {
+        return super.distinct(keyMapper).parallel(maxThreadNum);
+    }
+
+    @Override
+    public Stream<T> top(final int n, final Comparator<? super T> comparator) {
+        return super.top(n, comparator).parallel(maxThreadNum);
+    }
+
+    @Override
+    public Stream<T> sorted(final Comparator<? super T> comparator) {
+        return parallelSorted(comparator);
+    }
+
+    @Override
+    public Stream<T> parallelSorted(final Comparator<? super T> comparator) {
+        if (sorted && this.cmp == comparator) {
+            return this;
+        }
+
+        // sorted eagerly: the parallel operations after it split the array by index.
+        final T[] a = N.copyOfRange(elements, fromIndex, toIndex);
+        N.parallelSort(a, comparator);
+        return new ParallelArrayStream<T>(a, 0, a.length, closeHandlers, true, comparator, maxThreadNum);
+    }
+
+    @Override
+    public Stream<T> peek(final Consumer<? super T> action) {
+        return sourceStream().peek(action);
+    }
+
+    @Override
+    public Stream<T> limit(final long maxSize) {
+        return super.limit(maxSize).parallel(maxThreadNum);
+    }
+
+    @Override
+    public Stream<T> skip(final long n) {
+        return super.skip(n).parallel(maxThreadNum);
+    }
+
+    @Override
+    public void forEach(final Consumer<? super T> action) {
+        Stream.parallelRange(fromIndex, toIndex, maxThreadNum, new RangeFunction<Void>() {
+            @Override
+            public Void apply(int from, int to) {
+                for (int i = from; i < to; i++) {
+                    action.accept(elements[i]);
+                }
+
+                return null;
+            }
+        });
+    }
+
+    @Override
+    public T reduce(final T identity, final BinaryOperator<T> accumulator) {
+        final List<T> results = Stream.parallelRange(fromIndex, toIndex, maxThreadNum, new RangeFunction<T>() {
+            @Override
+            public T apply(int from, int to) {
+                T result = identity;
+
+                for (int i = from; i < to; i++) {
+                    result = accumulator.apply(result, elements[i]);
+                }
+
+                return result;
+            }
+        });
+
+        T result = results.get(0);
+
+        for (int i = 1, size = results.size(); i < size; i++) {
+            result = accumulator.apply(result, results.get(i));
+        }
+
+        return result;
+    }
+
+    @Override
+    public Optional<T> reduce(final BinaryOperator<T> accumulator) {
+        if (count() == 0) {
+            return Optional.empty();
+        }
+
+        final List<T> results = Stream.parallelRange(fromIndex, toIndex, maxThreadNum, new RangeFunction<T>() {
+            @Override
+            public T apply(int from, int to) {
+                T result = elements[from];
+
+                for (int i = from + 1; i < to; i++) {
+                    result = accumulator.apply(result, elements[i]);
+                }
+
+                return result;
+            }
+        });
+
+        T result = results.get(0);
+
+        for (int i = 1, size = results.size(); i < size; i++) {
+            result = accumulator.apply(result, results.get(i));
+        }
+
+        return Optional.of(result);
+    }
+
+    @Override
+    public <U> U reduce(final U identity, final BiFunction<U, ? super T, U> accumulator, final BinaryOperator<U> combiner) {
+        final List<U> results = Stream.parallelRange(fromIndex, toIndex, maxThreadNum, new RangeFunction<U>() {
+            @Override
+            public U apply(int from, int to) {
+                U result = identity;
+
+                for (int i = from; i < to; i++) {
+                    result = accumulator.apply(result, elements[i]);
+                }
+
+                return result;
+            }
+        });
+
+        U result = results.get(0);
+
+        for (int i = 1, size = results.size(); i < size; i++) {
+            result = combiner.apply(result, results.get(i));
+        }
+
+        return result;
+    }
+
+    @Override
+    public <R> R collect(final Supplier<R> supplier, final BiConsumer<R, ? super T> accumulator, final BiConsumer<R, R> combiner) {
+        final List<R> results = Stream.parallelRange(fromIndex, toIndex, maxThreadNum, new RangeFunction<R>() {
+            @Override
+            public R apply(int from, int to) {
+                final R result = supplier.get();
+
+                for (int i = from; i < to; i++) {
+                    accumulator.accept(result, elements[i]);
+                }
+
+                return result;
+            }
+        });
+
+        final R result = results.get(0);
+
+        for (int i = 1, size = results.size(); i < size; i++) {
+            combiner.accept(result, results.get(i));
+        }
+
+        return result;
+    }
+
+    @Override
+    public <R, A> R collect(final Collector<? super T, A, R> collector) {
+        final Supplier<A> supplier = collector.supplier();
+        final BiConsumer<A, ? super T> accumulator = collector.accumulator();
+
+        final List<A> containers = Stream.parallelRange(fromIndex, toIndex, maxThreadNum, new RangeFunction<A>() {
+            @Override
+            public A apply(int from, int to) {
+                final A container = supplier.get();
+
+                for (int i = from; i < to; i++) {
+                    accumulator.accept(container, elements[i]);
+                }
+
+                return container;
+            }
+        });
+
+        final BinaryOperator<A> combiner = collector.combiner();
+        A container = containers.get(0);
+
+        for (int i = 1, size = containers.size(); i < size; i++) {
+            container = combiner.apply(container, containers.get(i));
+        }
+
+        return collector.finisher().apply(container);
+    }
+
+    @Override
+    public Optional<T> min(final Comparator<? super T> comparator) {
+        if (count() == 0) {
+            return Optional.empty();
+        }
+
+        final List<T> results = Stream.parallelRange(fromIndex, toIndex, maxThreadNum, new RangeFunction<T>() {
+            @Override
+            public T apply(int from, int to) {
+                return N.min(elements, from, to, comparator);
+            }
+        });
+
+        return Optional.of(N.min(results, comparator));
+    }
+
+    @Override
+    public Optional<T> max(final Comparator<? super T> comparator) {
+        if (count() == 0) {
+            return Optional.empty();
+        }
+
+        final List<T> results = Stream.parallelRange(fromIndex, toIndex, maxThreadNum, new RangeFunction<T>() {
+            @Override
+            public T apply(int from, int to) {
+                return N.max(elements, from, to, comparator);
+            }
+        });
+
+        return Optional.of(N.max(results, comparator));
+    }
+
+    @Override
+    public boolean anyMatch(final Predicate<? super T> predicate) {
+        final AtomicBoolean result = new AtomicBoolean(false);
+
+        Stream.parallelRange(fromIndex, toIndex, maxThreadNum, new RangeFunction<Void>() {
+            @Override
+            public Void apply(int from, int to) {
+                for (int i = from; i < to && result.get() == false; i++) {
+                    if (predicate.test(elements[i])) {
+                        result.set(true);
+                    }
+                }
+
+                return null;
+            }
+        });
+
+        return result.get();
+    }
+
+    @Override
+    public boolean allMatch(final Predicate<? super T> predicate) {
+        final AtomicBoolean result = new AtomicBoolean(true);
+
+        Stream.parallelRange(fromIndex, toIndex, maxThreadNum, new RangeFunction<Void>() {
+            @Override
+            public Void apply(int from, int to) {
+                for (int i = from; i < to && result.get(); i++) {
+                    if (predicate.test(elements[i]) == false) {
+                        result.set(false);
+                    }
+                }
+
+                return null;
+            }
+        });
+
+        return result.get();
+    }
+
+    @Override
+    public boolean noneMatch(final Predicate<? super T> predicate) {
+        return anyMatch(predicate) == false;
+    }
+
+    @Override
+    public Optional<T> findAny(final Predicate<? super T> predicate) {
+        final Holder<T> holder = new Holder<>();
+        final AtomicBoolean found = new AtomicBoolean(false);
+
+        Stream.parallelRange(fromIndex, toIndex, maxThreadNum, new RangeFunction<Void>() {
+            @Override
+            public Void apply(int from, int to) {
+                for (int i = from; i < to && found.get() == false; i++) {
+                    if (predicate.test(elements[i]) && found.compareAndSet(false, true)) {
+                        holder.setValue(elements[i]);
+                    }
+                }
+
+                return null;
+            }
+        });
+
+        return found.get() ? Optional.of(holder.value()) : (Optional<T>) Optional.empty();
+    }
+
+    @Override
+    public boolean isParallel() {
+        return true;
+    }
+
+    @Override
+    public Stream<T> sequential() {
+        return new ArrayStream<T>(elements, fromIndex, toIndex, closeHandlers, sorted, cmp);
+    }
+
+    @Override
+    public Stream<T> parallel(final int maxThreadNum) {
+        if (this.maxThreadNum == Stream.checkMaxThreadNum(maxThreadNum)) {
+            return this;
+        }
+
+        return new ParallelArrayStream<T>(elements, fromIndex, toIndex, closeHandlers, sorted, cmp, maxThreadNum);
+    }
+
+    @Override
+    public Stream<T> onClose(final Runnable closeHandler) {
+        final List<Runnable> closeHandlerList = new ArrayList<>(N.isNullOrEmpty(this.closeHandlers) ? 1 : this.closeHandlers.size() + 1);
+
+        if (N.notNullOrEmpty(this.closeHandlers)) {
+            closeHandlerList.addAll(this.closeHandlers);
+        }
+
+        closeHandlerList.add(closeHandler);
+
+        return new ParallelArrayStream<T>(elements, fromIndex, toIndex, closeHandlerList, sorted, cmp, maxThreadNum);
+    }
+
+    /**
+     * The stateless operations are applied by the worker threads which read the elements in batches, when the terminal operation is executed.
+     */
+    private Stream<T> sourceStream() {
+        return new ParallelIteratorStream<T>(ParallelSource.of(elements, fromIndex, toIndex), closeHandlers, sorted, cmp, maxThreadNum);
+    }
+}
@@ -0,0 +1,521 @@
+package com.landawn.abacus.util.stream;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.landawn.abacus.util.N;
+import com.landawn.abacus.util.OptionalDouble;
+import com.landawn.abacus.util.function.BiConsumer;
+import com.landawn.abacus.util.function.DoubleBinaryOperator;
+import com.landawn.abacus.util.function.DoubleConsumer;
+import com.landawn.abacus.util.function.DoubleFunction;
+import com.landawn.abacus.util.function.DoublePredicate;
+import com.landawn.abacus.util.function.DoubleToIntFunction;
+import com.landawn.abacus.util.function.DoubleToLongFunction;
+import com.landawn.abacus.util.function.DoubleUnaryOperator;
+import com.landawn.abacus.util.function.ObjDoubleConsumer;
+import com.landawn.abacus.util.function.Supplier;
+
+/**
+ * This class is a parallel, stateful and immutable stream implementation.
+ * The elements are handed off from the iterator to at most {@code maxThreadNum} worker threads in batches of {@code Stream.PARALLEL_BATCH_SIZE}.
+ *
+ */
+final class ParallelIteratorDoubleStream extends IteratorDoubleStream {
+    private final ParallelSource<double[]> source;
+    private final int maxThreadNum;
+
+    ParallelIteratorDoubleStream(ImmutableDoubleIterator values, Collection<Runnable> closeHandlers, boolean sorted, int maxThreadNum) {
+        super(values, closeHandlers, sorted);
+
+        this.source = ParallelSource.of(elements);
+        this.maxThreadNum = maxThreadNum;
+    }
+
+    ParallelIteratorDoubleStream(ParallelSource<double[]> source, Collection<Runnable> closeHandlers, boolean sorted, int maxThreadNum) {
+        super(ParallelSource.doubleIterator(source), closeHandlers, sorted);
+
+        this.source = source;
+        this.maxThreadNum = maxThreadNum;
+    }
+
+    @Override
+    public DoubleStream filter(final DoublePredicate predicate, final long max) {
+        if (max != Long.MAX_VALUE) {
+            return super.filter(predicate, max).parallel(maxThreadNum);
+        }
+
+        return new ParallelIteratorDoubleStream(new ParallelSource.Stage<double[], double[]>(source) {
+            @Override
+            double[] newBatch(double[] upstreamBatch) {
+                return upstreamBatch;
+            }
+
+            @Override
+            int apply(double[] upstreamBatch, int n, double[] batch) {
+                int w = 0;
+
+                for (int i = 0; i < n; i++) {
+                    if (predicate.test(batch[i])) {
+                        batch[w++] = batch[i];
+                    }
+                }
+
+                return w;
+            }
+        }, closeHandlers, sorted, maxThreadNum);
+    }
+
+    @Override
+    public DoubleStream takeWhile(final DoublePredicate predicate, final long max) {
+        return super.takeWhile(predicate, max).parallel(maxThreadNum);
+    }
+
+    @Override
+    public DoubleStream dropWhile(final DoublePredicate predicate, final long max) {
+        return super.dropWhile(predicate, max).parallel(maxThreadNum);
+    }
+
+    @Override
+    public DoubleStream map(final DoubleUnaryOperator mapper) {
+        return new ParallelIteratorDoubleStream(new ParallelSource.Stage<double[], double[]>(source) {
+            @Override
+            double[] newBatch(double[] upstreamBatch) {
+                return upstreamBatch;
+            }
+
+            @Override
+            int apply(double[] upstreamBatch, int n, double[] batch) {
+                for (int i = 0; i < n; i++) {
+                    batch[i] = mapper.applyAsDouble(batch[i]);
+                }
+
+                return n;
+            }
+        }, closeHandlers, false, maxThreadNum);
+    }
+
+    @Override
+    public IntStream mapToInt(final DoubleToIntFunction mapper) {
+        return new ParallelIteratorIntStream(new ParallelSource.Stage<double[], int[]>(source) {
+            @Override
+            int[] newBatch(double[] upstreamBatch) {
+                return new int[upstreamBatch.length];
+            }
+
+            @Override
+            int apply(double[] upstreamBatch, int n, int[] batch) {
+                for (int i = 0; i < n; i++) {
+                    batch[i] = mapper.applyAsInt(upstreamBatch[i]);
+                }
+
+                return n;
+            }
+        }, closeHandlers, false, maxThreadNum);
+    }
+
+    @Override
+    public LongStream mapToLong(final DoubleToLongFunction mapper) {
+        return new ParallelIteratorLongStream(new ParallelSource.Stage<double[], long[]>(source) {
+            @Override
+            long[] newBatch(double[] upstreamBatch) {
+                return new long[upstreamBatch.length];
+            }
+
+            @Override
+            int apply(double[] upstreamBatch, int n, long[] batch) {
+                for (int i = 0; i < n; i++) {
+                    batch[i] = mapper.applyAsLong(upstreamBatch[i]);
+                }
+
+                return n;
+            }
+        }, closeHandlers, false, maxThreadNum);
+    }
+
+    @Override
+    public <U> Stream<U> mapToObj(final DoubleFunction<? extends U> mapper) {
+        return new ParallelIteratorStream<U>(mapToObjInWorker(mapper), closeHandlers, false, null, maxThreadNum);
+    }
+
+    @Override
+    public DoubleStream flatMap(final DoubleFunction<? extends DoubleStream> mapper) {
+        return new ParallelIteratorDoubleStream(ParallelSource.flattenToDouble(mapToObjInWorker(new DoubleFunction<ImmutableDoubleIterator>() {
+            @Override
+            public ImmutableDoubleIterator apply(double value) {
+                return mapper.apply(value).doubleIterator();
+            }
+        })), closeHandlers, false, maxThreadNum);
+    }
+
+    @Override
+    public IntStream flatMapToInt(final DoubleFunction<? extends IntStream> mapper) {
+        return new ParallelIteratorIntStream(ParallelSource.flattenToInt(mapToObjInWorker(new DoubleFunction<ImmutableIntIterator>() {
+            @Override
+            public ImmutableIntIterator apply(double value) {
+                return mapper.apply(value).intIterator();
+            }
+        })), closeHandlers, false, maxThreadNum);
+    }
+
+    @Override
+    public LongStream flatMapToLong(final DoubleFunction<? extends LongStream> mapper) {
+        return new ParallelIteratorLongStream(ParallelSource.flattenToLong(mapToObjInWorker(new DoubleFunction<ImmutableLongIterator>() {
+            @Override
+            public ImmutableLongIterator apply(double value) {
+                return mapper.apply(value).longIterator();
+            }
+        })), closeHandlers, false, maxThreadNum);
+    }
+
+    @Override
+    public <U> Stream<U> flatMapToObj(final DoubleFunction<? extends Stream<U>> mapper) {
+        return new ParallelIteratorStream<U>(ParallelSource.flatten(mapToObjInWorker(new DoubleFunction<Iterator<U>>() {
+            @Override
+            public Iterator<U> apply(double value) {
+                return mapper.apply(value).iterator();
+            }
+        })), closeHandlers, false, null, maxThreadNum);
+    }
+
+    @Override
+    public Stream<DoubleStream> split(final int size) {
+        return super.split(size).parallel(maxThreadNum);
+    }
+
+    @Override
+    public DoubleStream distinct() {
+        return super.distinct().parallel(maxThreadNum);
+    }
+
+    @Override
+    public DoubleStream top(final int n, final Comparator<? super Double> comparator) {
+        return super.top(n, comparator).parallel(maxThreadNum);
+    }
+
+    @Override
+    public DoubleStream sorted() {
+        return super.parallelSorted().parallel(maxThreadNum);
+    }
+
+    @Override
+    public DoubleStream parallelSorted() {
+        return super.parallelSorted().parallel(maxThreadNum);
+    }
+
+    @Override
+    public DoubleStream peek(final DoubleConsumer action) {
+        return new ParallelIteratorDoubleStream(new ParallelSource.Stage<double[], double[]>(source) {
+            @Override
+            double[] newBatch(double[] upstreamBatch) {
+                return upstreamBatch;
+            }
+
+            @Override
+            int apply(double[] upstreamBatch, int n, double[] batch) {
+                for (int i = 0; i < n; i++) {
+                    action.accept(batch[i]);
+                }
+
+                return n;
+            }
+        }, closeHandlers, sorted, maxThreadNum);
+    }
+
+    @Override
+    public DoubleStream limit(final long maxSize) {
+        return super.limit(maxSize).parallel(maxThreadNum);
+    }
+
+    @Override
+    public DoubleStream skip(final long n) {
+        return super.skip(n).parallel(maxThreadNum);
+    }
+
+    @Override
+    public void forEach(final DoubleConsumer action) {
+        Stream.parallelExecute(maxThreadNum, new Callable<Void>() {
+            @Override
+            public Void call() {
+                final ParallelSource.Reader<double[]> reader = source.reader();
+                final double[] batch = reader.batch;
+                int n = 0;
+
+                while ((n = reader.next()) >= 0) {
+                    for (int i = 0; i < n; i++) {
+                        action.accept(batch[i]);
+                    }
+                }
+
+                return null;
+            }
+        });
+    }
+
+    @Override
+    public double reduce(final double identity, final DoubleBinaryOperator op) {
+        final List<Double> results = ParallelSource.reduceBatches(source, maxThreadNum, new ParallelSource.BatchReducer<double[], Double>() {
+            @Override
+            public Double reduce(double[] batch, int n) {
+                double result = identity;
+
+                for (int i = 0; i < n; i++) {
+                    result = op.applyAsDouble(result, batch[i]);
+                }
+
+                return result;
+            }
+        });
+
+        double result = identity;
+
+        for (Double e : results) {
+            result = op.applyAsDouble(result, e);
+        }
+
+        return result;
+    }
+
+    @Override
+    public OptionalDouble reduce(final DoubleBinaryOperator op) {
+        final List<Double> results = ParallelSource.reduceBatches(source, maxThreadNum, new ParallelSource.BatchReducer<double[], Double>() {
+            @Override
+            public Double reduce(double[] batch, int n) {
+                double result = batch[0];
+
+                for (int i = 1; i < n; i++) {
+                    result = op.applyAsDouble(result, batch[i]);
+                }
+
+                return result;
+            }
+        });
+
+        if (results.size() == 0) {
+            return OptionalDouble.empty();
+        }
+
+        double result = results.get(0);
+
+        for (int i = 1, size = results.size(); i < size; i++) {
+            result = op.applyAsDouble(result, results.get(i));
+        }
+
+        return OptionalDouble.of(result);
+    }
+
+    @Override
+    public <R> R collect(final Supplier<R> supplier, final ObjDoubleConsumer<R> accumulator, final BiConsumer<R, R> combiner) {
+        final List<R> results = ParallelSource.reduceBatches(source, maxThreadNum, new ParallelSource.BatchReducer<double[], R>() {
+            @Override
+            public R reduce(double[] batch, int n) {
+                final R result = supplier.get();
+
+                for (int i = 0; i < n; i++) {
+                    accumulator.accept(result, batch[i]);
+                }
+
+                return result;
+            }
+        });
+
+        if (results.size() == 0) {
+            return supplier.get();
+        }
+
+        final R result = results.get(0);
+
+        for (int i = 1, size = results.size(); i < size; i++) {
+            combiner.accept(result, results.get(i));
+        }
+
+        return result;
+    }
+
+    @Override
+    public OptionalDouble min() {
+        return reduce(new DoubleBinaryOperator() {
+            @Override
+            public double applyAsDouble(double left, double right) {
+                return N.min(left, right);
+            }
+        });
+    }
+
+    @Override
+    public OptionalDouble max() {
+        return reduce(new DoubleBinaryOperator() {
+            @Override
+            public double applyAsDouble(double left, double right) {
+                return N.max(left, right);
+            }
+        });
+    }
+
+    @Override
+    public boolean anyMatch(final DoublePredicate predicate) {
+        final AtomicBoolean result = new AtomicBoolean(false);
+
+        Stream.parallelExecute(maxThreadNum, new Callable<Void>() {
+            @Override
+            public Void call() {
+                final ParallelSource.Reader<double[]> reader = source.reader();
+                final double[] batch = reader.batch;
+                int n = 0;
+
+                while (result.get() == false && (n = reader.next()) >= 0) {
+                    for (int i = 0; i < n; i++) {
+                        if (predicate.test(batch[i])) {
+                            result.set(true);
+                            break;
+                        }
+                    }
+                }
+
+                return null;
+            }
+        });
+
+        return result.get();
+    }
+
+    @Override
+    public boolean allMatch(final DoublePredicate predicate) {
+        final AtomicBoolean result = new AtomicBoolean(true);
+
+        Stream.parallelExecute(maxThreadNum, new Callable<Void>() {
+            @Override
+            public Void call() {
+                final ParallelSource.Reader<double[]> reader = source.reader();
+                final double[] batch = reader.batch;
+                int n = 0;
+
+                while (result.get() && (n = reader.next()) >= 0) {
+                    for (int i = 0; i < n; i++) {
+                        if (predicate.test(batch[i]) == false) {
+                            result.set(false);
+                            break;
+                        }
+                    }
+                }
+
+                return null;
+            }
+        });
+
+        return result.get();
+    }
+
+    @Override
+    public boolean noneMatch(final DoublePredicate predicate) {
+        return anyMatch(predicate) == false;
+    }
+
+    @Override
+    public OptionalDouble findAny(final DoublePredicate predicate) {
+        final AtomicBoolean found = new AtomicBoolean(false);
+        final double[] holder = new double[1];
+
+        Stream.parallelExecute(maxThreadNum, new Callable<Void>() {
+            @Override
+            public Void call() {
+                final ParallelSource.Reader<double[]> reader = source.reader();
+                final double[] batch = reader.batch;
+                int n = 0;
+
+                while (found.get() == false && (n = reader.next()) >= 0) {
+                    for (int i = 0; i < n; i++) {
+                        if (predicate.test(batch[i])) {
+                            if (found.compareAndSet(false, true)) {
+                                holder[0] = batch[i];
+                            }
+
+                            break;
+                        }
+                    }
+                }
+
+                return null;
+            }
+        });
+
+        return found.get() ? OptionalDouble.of(holder[0]) : OptionalDouble.empty();
+    }
+
+    @Override
+    public Stream<Double> boxed() {
+        return new ParallelIteratorStream<Double>(new ParallelSource.Stage<double[], Object[]>(source) {
+            @Override
+            Object[] newBatch(double[] upstreamBatch) {
+                return new Object[upstreamBatch.length];
+            }
+
+            @Override
+            int apply(double[] upstreamBatch, int n, Object[] batch) {
+                for (int i = 0; i < n; i++) {
+                    batch[i] = upstreamBatch[i];
+                }
+
+                return n;
+            }
+        }, closeHandlers, sorted, null, maxThreadNum);
+    }
+
+    @Override
+    public boolean isParallel() {
+        return true;
+    }
+
+    @Override
+    public DoubleStream sequential() {
+        return new IteratorDoubleStream(elements, closeHandlers, sorted);
+    }
+
+    @Override
+    public DoubleStream parallel(final int maxThreadNum) {
+        if (this.maxThreadNum == Stream.checkMaxThreadNum(maxThreadNum)) {
+            return this;
+        }
+
+        return new ParallelIteratorDoubleStream(source, closeHandlers, sorted, maxThreadNum);
+    }
+
+    @Override
+    public DoubleStream onClose(final Runnable closeHandler) {
+        final List<Runnable> closeHandlerList = new ArrayList<>(N.isNullOrEmpty(this.closeHandlers) ? 1 : this.closeHandlers.size() + 1);
+
+        if (N.notNullOrEmpty(this.closeHandlers)) {
+            closeHandlerList.addAll(this.closeHandlers);
+        }
+
+        closeHandlerList.add(closeHandler);
+
+        return new ParallelIteratorDoubleStream(source, closeHandlerList, sorted, maxThreadNum);
+    }
+
+    /**
+     * Applies the mapper to each element by the worker thread which reads the batch.
+     */
+    private ParallelSource<Object[]> mapToObjInWorker(final DoubleFunction<?> mapper) {
+        return new ParallelSource.Stage<double[], Object[]>(source) {
+            @Override
+            Object[] newBatch(double[] upstreamBatch) {
+                return new Object[upstreamBatch.length];
+            }
+
+            @Override
+            int apply(double[] upstreamBatch, int n, Object[] batch) {
+                for (int i = 0; i < n; i++) {
+                    batch[i] = mapper.apply(upstreamBatch[i]);
+                }
+
+                return n;
+            }
+        };
+    }
+}
@@ -0,0 +1,606 @@
+package com.landawn.abacus.util.stream;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.landawn.abacus.util.N;
+import com.landawn.abacus.util.OptionalDouble;
+import com.landawn.abacus.util.OptionalInt;
+import com.landawn.abacus.util.function.BiConsumer;
+import com.landawn.abacus.util.function.IntBinaryOperator;
+import com.landawn.abacus.util.function.IntConsumer;
+import com.landawn.abacus.util.function.IntFunction;
+import com.landawn.abacus.util.function.IntPredicate;
+import com.landawn.abacus.util.function.IntToDoubleFunction;
+import com.landawn.abacus.util.function.IntToLongFunction;
+import com.landawn.abacus.util.function.IntUnaryOperator;
+import com.landawn.abacus.util.function.ObjIntConsumer;
+import com.landawn.abacus.util.function.Supplier;
+
+/**
+ * This class is a parallel, stateful and immutable stream implementation.
+ * The elements are handed off from the iterator to at most {@code maxThreadNum} worker threads in batches of {@code Stream.PARALLEL_BATCH_SIZE}.
+ *
+ */
+final class ParallelIteratorIntStream extends IteratorIntStream {
+    private final ParallelSource<int[]> source;
+    private final int maxThreadNum;
+
+    ParallelIteratorIntStream(ImmutableIntIterator values, Collection<Runnable> closeHandlers, boolean sorted, int maxThreadNum) {
+        super(values, sorted, closeHandlers);
+
+        this.source = ParallelSource.of(elements);
+        this.maxThreadNum = maxThreadNum;
+    }
+
+    ParallelIteratorIntStream(ParallelSource<int[]> source, Collection<Runnable> closeHandlers, boolean sorted, int maxThreadNum) {
+        super(ParallelSource.intIterator(source), sorted, closeHandlers);
+
+        this.source = source;
+        this.maxThreadNum = maxThreadNum;
+    }
+
+    @Override
+    public IntStream filter(final IntPredicate predicate, final long max) {
+        if (max != Long.MAX_VALUE) {
+            return super.filter(predicate, max).parallel(maxThreadNum);
+        }
+
+        return new ParallelIteratorIntStream(new ParallelSource.Stage<int[], int[]>(source) {
+            @Override
+            int[] newBatch(int[] upstreamBatch) {
+                return upstreamBatch;
+            }
+
+            @Override
+            int apply(int[] upstreamBatch, int n, int[] batch) {
+                int w = 0;
+
+                for (int i = 0; i < n; i++) {
+                    if (predicate.test(batch[i])) {
+                        batch[w++] = batch[i];
+                    }
+                }
+
+                return w;
+            }
+        }, closeHandlers, sorted, maxThreadNum);
+    }
+
+    @Override
+    public IntStream takeWhile(final IntPredicate predicate, final long max) {
+        return super.takeWhile(predicate, max).parallel(maxThreadNum);
+    }
+
+    @Override
+    public IntStream dropWhile(final IntPredicate predicate, final long max) {
+        return super.dropWhile(predicate, max).parallel(maxThreadNum);
+    }
+
+    @Override
+    public IntStream map(final IntUnaryOperator mapper) {
+        return new ParallelIteratorIntStream(new ParallelSource.Stage<int[], int[]>(source) {
+            @Override
+            int[] newBatch(int[] upstreamBatch) {
+                return upstreamBatch;
+            }
+
+            @Override
+            int apply(int[] upstreamBatch, int n, int[] batch) {
+                for (int i = 0; i < n; i++) {
+                    batch[i] = mapper.applyAsInt(batch[i]);
+                }
+
+                return n;
+            }
+        }, closeHandlers, false, maxThreadNum);
+    }
+
+    @Override
+    public LongStream mapToLong(final IntToLongFunction mapper) {
+        return new ParallelIteratorLongStream(new ParallelSource.Stage<int[], long[]>(source) {
+            @Override
+            long[] newBatch(int[] upstreamBatch) {
+                return new long[upstreamBatch.length];
+            }
+
+            @Override
+            int apply(int[] upstreamBatch, int n, long[] batch) {
+                for (int i = 0; i < n; i++) {
+                    batch[i] = mapper.applyAsLong(upstreamBatch[i]);
+                }
+
+                return n;
+            }
+        }, closeHandlers, false, maxThreadNum);
+    }
+
+    @Override
+    public DoubleStream mapToDouble(final IntToDoubleFunction mapper) {
+        return new ParallelIteratorDoubleStream(new ParallelSource.Stage<int[], double[]>(source) {
+            @Override
+            double[] newBatch(int[] upstreamBatch) {
+                return new double[upstreamBatch.length];
+            }
+
+            @Override
+            int apply(int[] upstreamBatch, int n, double[] batch) {
+                for (int i = 0; i < n; i++) {
+                    batch[i] = mapper.applyAsDouble(upstreamBatch[i]);
+                }
+
+                return n;
+            }
+        }, closeHandlers, false, maxThreadNum);
+    }
+
+    @Override
+    public <U> Stream<U> mapToObj(final IntFunction<? extends U> mapper) {
+        return new ParallelIteratorStream<U>(mapToObjInWorker(mapper), closeHandlers, false, null, maxThreadNum);
+    }
+
+    @Override
+    public IntStream flatMap(final IntFunction<? extends IntStream> mapper) {
+        return new ParallelIteratorIntStream(ParallelSource.flattenToInt(mapToObjInWorker(new IntFunction<ImmutableIntIterator>() {
+            @Override
+            public ImmutableIntIterator apply(int value) {
+                return mapper.apply(value).intIterator();
+            }
+        })), closeHandlers, false, maxThreadNum);
+    }
+
+    @Override
+    public LongStream flatMapToLong(final IntFunction<? extends LongStream> mapper) {
+        return new ParallelIteratorLongStream(ParallelSource.flattenToLong(mapToObjInWorker(new IntFunction<ImmutableLongIterator>() {
+            @Override
+            public ImmutableLongIterator apply(int value) {
+                return mapper.apply(value).longIterator();
+            }
+        })), closeHandlers, false, maxThreadNum);
+    }
+
+    @Override
+    public DoubleStream flatMapToDouble(final IntFunction<? extends DoubleStream> mapper) {
+        return new ParallelIteratorDoubleStream(ParallelSource.flattenToDouble(mapToObjInWorker(new IntFunction<ImmutableDoubleIterator>() {
+            @Override
+            public ImmutableDoubleIterator apply(int value) {
+                return mapper.apply(value).doubleIterator();
+            }
+        })), closeHandlers, false, maxThreadNum);
+    }
+
+    @Override
+    public <U> Stream<U> flatMapToObj(final IntFunction<? extends Stream<U>> mapper) {
+        return new ParallelIteratorStream<U>(ParallelSource.flatten(mapToObjInWorker(new IntFunction<Iterator<U>>() {
+            @Override
+            public Iterator<U> apply(int value) {
+                return mapper.apply(value).iterator();
+            }
+        })), closeHandlers, false, null, maxThreadNum);
+    }
+
+    @Override
+    public Stream<IntStream> split(final int size) {
+        return super.split(size).parallel(maxThreadNum);
+    }
+
+    @Override
+    public IntStream distinct() {
+        return super.distinct().parallel(maxThreadNum);
+    }
+
+    @Override
+    public IntStream top(final int n, final Comparator<? super Integer> comparator) {
+        return super.top(n, comparator).parallel(maxThreadNum);
+    }
+
+    @Override
+    public IntStream sorted() {
+        return super.parallelSorted().parallel(maxThreadNum);
+    }
+
+    @Override
+    public IntStream parallelSorted() {
+        return super.parallelSorted().parallel(maxThreadNum);
+    }
+
+    @Override
+    public IntStream peek(final IntConsumer action) {
+        return new ParallelIteratorIntStream(new ParallelSource.Stage<int[], int[]>(source) {
+            @Override
+            int[] newBatch(int[] upstreamBatch) {
+                return upstreamBatch;
+            }
+
+            @Override
+            int apply(int[] upstreamBatch, int n, int[] batch) {
+                for (int i = 0; i < n; i++) {
+                    action.accept(batch[i]);
+                }
+
+                return n;
+            }
+        }, closeHandlers, sorted, maxThreadNum);
+    }
+
+    @Override
+    public IntStream limit(final long maxSize) {
+        return super.limit(maxSize).parallel(maxThreadNum);
+    }
+
+    @Override
+    public IntStream skip(final long n) {
+        return super.skip(n).parallel(maxThreadNum);
+    }
+
+    @Override
+    public void forEach(final IntConsumer action) {
+        Stream.parallelExecute(maxThreadNum, new Callable<Void>() {
+            @Override
+            public Void call() {
+                final ParallelSource.Reader<int[]> reader = source.reader();
+                final int[] batch = reader.batch;
+                int n = 0;
+
+                while ((n = reader.next()) >= 0) {
+                    for (int i = 0; i < n; i++) {
+                        action.accept(batch[i]);
+                    }
+                }
+
+                return null;
+            }
+        });
+    }
+
+    @Override
+    public int reduce(final int identity, final IntBinaryOperator op) {
+        final List<Integer> results = ParallelSource.reduceBatches(source, maxThreadNum, new ParallelSource.BatchReducer<int[], Integer>() {
+            @Override
+            public Integer reduce(int[] batch, int n) {
+                int result = identity;
+
+                for (int i = 0; i < n; i++) {
+                    result = op.applyAsInt(result, batch[i]);
+                }
+
+                return result;
+            }
+        });
+
+        int result = identity;
+
+        for (Integer e : results) {
+            result = op.applyAsInt(result, e);
+        }
+
+        return result;
+    }
+
+    @Override
+    public OptionalInt reduce(final IntBinaryOperator op) {
+        final List<Integer> results = ParallelSource.reduceBatches(source, maxThreadNum, new ParallelSource.BatchReducer<int[], Integer>() {
+            @Override
+            public Integer reduce(int[] batch, int n) {
+                int result = batch[0];
+
+                for (int i = 1; i < n; i++) {
+                    result = op.applyAsInt(result, batch[i]);
+                }
+
+                return result;
+            }
+        });
+
+        if (results.size() == 0) {
+            return OptionalInt.empty();
+        }
+
+        int result = results.get(0);
+
+        for (int i = 1, size = results.size(); i < size; i++) {
+            result = op.applyAsInt(result, results.get(i));
+        }
+
+        return OptionalInt.of(result);
+    }
+
+    @Override
+    public <R> R collect(final Supplier<R> supplier, final ObjIntConsumer<R> accumulator, final BiConsumer<R, R> combiner) {
+        final List<R> results = ParallelSource.reduceBatches(source, maxThreadNum, new ParallelSource.BatchReducer<int[], R>() {
+            @Override
+            public R reduce(int[] batch, int n) {
+                final R result = supplier.get();
+
+                for (int i = 0; i < n; i++) {
+                    accumulator.accept(result, batch[i]);
+                }
+
+                return result;
+            }
+        });
+
+        if (results.size() == 0) {
+            return supplier.get();
+        }
+
+        final R result = results.get(0);
+
+        for (int i = 1, size = results.size(); i < size; i++) {
+            combiner.accept(result, results.get(i));
+        }
+
+        return result;
+    }
+
+    @Override
+    public Long sum() {
+        final long[] summation = collect(new Supplier<long[]>() {
+            @Override
+            public long[] get() {
+                return new long[1];
+            }
+        }, new ObjIntConsumer<long[]>() {
+            @Override
+            public void accept(long[] ll, int e) {
+                ll[0] += e;
+            }
+        }, new BiConsumer<long[], long[]>() {
+            @Override
+            public void accept(long[] ll, long[] rr) {
+                ll[0] += rr[0];
+            }
+        });
+
+        return summation[0];
+    }
+
+    @Override
+    public OptionalDouble average() {
+        final long[] avg = collect(new Supplier<long[]>() {
+            @Override
+            public long[] get() {
+                return new long[2];
+            }
+        }, new ObjIntConsumer<long[]>() {
+            @Override
+            public void accept(long[] ll, int e) {
+                ll[0] += e;
+                ll[1]++;
+            }
+        }, new BiConsumer<long[], long[]>() {
+            @Override
+            public void accept(long[] ll, long[] rr) {
+                ll[0] += rr[0];
+                ll[1] += rr[1];
+            }
+        });
+
+        return avg[1] > 0 ? OptionalDouble.of(((double) avg[0]) / avg[1]) : OptionalDouble.empty();
+    }
+
+    @Override
+    public OptionalInt min() {
+        return reduce(new IntBinaryOperator() {
+            @Override
+            public int applyAsInt(int left, int right) {
+                return N.min(left, right);
+            }
+        });
+    }
+
+    @Override
+    public OptionalInt max() {
+        return reduce(new IntBinaryOperator() {
+            @Override
+            public int applyAsInt(int left, int right) {
+                return N.max(left, right);
+            }
+        });
+    }
+
+    @Override
+    public boolean anyMatch(final IntPredicate predicate) {
+        final AtomicBoolean result = new AtomicBoolean(false);
+
+        Stream.parallelExecute(maxThreadNum, new Callable<Void>() {
+            @Override
+            public Void call() {
+                final ParallelSource.Reader<int[]> reader = source.reader();
+                final int[] batch = reader.batch;
+                int n = 0;
+
+                while (result.get() == false && (n = reader.next()) >= 0) {
+                    for (int i = 0; i < n; i++) {
+                        if (predicate.test(batch[i])) {
+                            result.set(true);
+                            break;
+                        }
+                    }
+                }
+
+                return null;
+            }
+        });
+
+        return result.get();
+    }
+
+    @Override
+    public boolean allMatch(final IntPredicate predicate) {
+        final AtomicBoolean result = new AtomicBoolean(true);
+
+        Stream.parallelExecute(maxThreadNum, new Callable<Void>() {
+            @Override
+            public Void call() {
+                final ParallelSource.Reader<int[]> reader = source.reader();
+                final int[] batch = reader.batch;
+                int n = 0;
+
+                while (result.get() && (n = reader.next()) >= 0) {
+                    for (int i = 0; i < n; i++) {
+                        if (predicate.test(batch[i]) == false) {
+                            result.set(false);
+                            break;
+                        }
+                    }
+                }
+
+                return null;
+            }
+        });
+
+        return result.get();
+    }
+
+    @Override
+    public boolean noneMatch(final IntPredicate predicate) {
+        return anyMatch(predicate) == false;
+    }
+
+    @Override
+    public OptionalInt findAny(final IntPredicate predicate) {
+        final AtomicBoolean found = new AtomicBoolean(false);
+        final int[] holder = new int[1];
+
+        Stream.parallelExecute(maxThreadNum, new Callable<Void>() {
+            @Override
+            public Void call() {
+                final ParallelSource.Reader<int[]> reader = source.reader();
+                final int[] batch = reader.batch;
+                int n = 0;
+
+                while (found.get() == false && (n = reader.next()) >= 0) {
+                    for (int i = 0; i < n; i++) {
+                        if (predicate.test(batch[i])) {
+                            if (found.compareAndSet(false, true)) {
+                                holder[0] = batch[i];
+                            }
+
+                            break;
+                        }
+                    }
+                }
+
+                return null;
+            }
+        });
+
+        return found.get() ? OptionalInt.of(holder[0]) : OptionalInt.empty();
+    }
+
+    @Override
+    public LongStream asLongStream() {
+        return new ParallelIteratorLongStream(new ParallelSource.Stage<int[], long[]>(source) {
+            @Override
+            long[] newBatch(int[] upstreamBatch) {
+                return new long[upstreamBatch.length];
+            }
+
+            @Override
+            int apply(int[] upstreamBatch, int n, long[] batch) {
+                for (int i = 0; i < n; i++) {
+                    batch[i] = upstreamBatch[i];
+                }
+
+                return n;
+            }
+        }, closeHandlers, sorted, maxThreadNum);
+    }
+
+    @Override
+    public DoubleStream asDoubleStream() {
+        return new ParallelIteratorDoubleStream(new ParallelSource.Stage<int[], double[]>(source) {
+            @Override
+            double[] newBatch(int[] upstreamBatch) {
+                return new double[upstreamBatch.length];
+            }
+
+            @Override
+            int apply(int[] upstreamBatch, int n, double[] batch) {
+                for (int i = 0; i < n; i++) {
+                    batch[i] = upstreamBatch[i];
+                }
+
+                return n;
+            }
+        }, closeHandlers, sorted, maxThreadNum);
+    }
+
+    @Override
+    public Stream<Integer> boxed() {
+        return new ParallelIteratorStream<Integer>(new ParallelSource.Stage<int[], Object[]>(source) {
+            @Override
+            Object[] newBatch(int[] upstreamBatch) {
+                return new Object[upstreamBatch.length];
+            }
+
+            @Override
+            int apply(int[] upstreamBatch, int n, Object[] batch) {
+                for (int i = 0; i < n; i++) {
+                    batch[i] = upstreamBatch[i];
+                }
+
+                return n;
+            }
+        }, closeHandlers, sorted, null, maxThreadNum);
+    }
+
+    @Override
+    public boolean isParallel() {
+        return true;
+    }
+
+    @Override
+    public IntStream sequential() {
+        return new IteratorIntStream(elements, sorted, closeHandlers);
+    }
+
+    @Override
+    public IntStream parallel(final int maxThreadNum) {
+        if (this.maxThreadNum == Stream.checkMaxThreadNum(maxThreadNum)) {
+            return this;
+        }
+
+        return new ParallelIteratorIntStream(source, closeHandlers, sorted, maxThreadNum);
+    }
+
+    @Override
+    public IntStream onClose(final Runnable closeHandler) {
+        final List<Runnable> closeHandlerList = new ArrayList<>(N.isNullOrEmpty(this.closeHandlers) ? 1 : this.closeHandlers.size() + 1);
+
+        if (N.notNullOrEmpty(this.closeHandlers)) {
+            closeHandlerList.addAll(this.closeHandlers);
+        }
+
+        closeHandlerList.add(closeHandler);
+
+        return new ParallelIteratorIntStream(source, closeHandlerList, sorted, maxThreadNum);
+    }
+
+    /**
+     * Applies the mapper to each element by the worker thread which reads the batch.
+     */
+    private ParallelSource<Object[]> mapToObjInWorker(final IntFunction<?> mapper) {
+        return new ParallelSource.Stage<int[], Object[]>(source) {
+            @Override
+            Object[] newBatch(int[] upstreamBatch) {
+                return new Object[upstreamBatch.length];
+            }
+
+            @Override
+            int apply(int[] upstreamBatch, int n, Object[] batch) {
+                for (int i = 0; i < n; i++) {
+                    batch[i] = mapper.apply(upstreamBatch[i]);
+                }
+
+                return n;
+            }
+        };
+    }
+}
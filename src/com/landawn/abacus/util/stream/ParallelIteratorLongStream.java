@@ -0,0 +1,587 @@
+package com.landawn.abacus.util.stream;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.landawn.abacus.util.N;
+import com.landawn.abacus.util.OptionalDouble;
+import com.landawn.abacus.util.OptionalLong;
+import com.landawn.abacus.util.function.BiConsumer;
+import com.landawn.abacus.util.function.LongBinaryOperator;
+import com.landawn.abacus.util.function.LongConsumer;
+import com.landawn.abacus.util.function.LongFunction;
+import com.landawn.abacus.util.function.LongPredicate;
+import com.landawn.abacus.util.function.LongToDoubleFunction;
+import com.landawn.abacus.util.function.LongToIntFunction;
+import com.landawn.abacus.util.function.LongUnaryOperator;
+import com.landawn.abacus.util.function.ObjLongConsumer;
+import com.landawn.abacus.util.function.Supplier;
+
+/**
+ * This class is a parallel, stateful and immutable stream implementation.
+ * The elements are handed off from the iterator to at most {@code maxThreadNum} worker threads in batches of {@code Stream.PARALLEL_BATCH_SIZE}.
+ *
+ */
+final class ParallelIteratorLongStream extends IteratorLongStream {
+    private final ParallelSource<long[]> source;
+    private final int maxThreadNum;
+
+    ParallelIteratorLongStream(ImmutableLongIterator values, Collection<Runnable> closeHandlers, boolean sorted, int maxThreadNum) {
+        super(values, closeHandlers, sorted);
+
+        this.source = ParallelSource.of(elements);
+        this.maxThreadNum = maxThreadNum;
+    }
+
+    ParallelIteratorLongStream(ParallelSource<long[]> source, Collection<Runnable> closeHandlers, boolean sorted, int maxThreadNum) {
+        super(ParallelSource.longIterator(source), closeHandlers, sorted);
+
+        this.source = source;
+        this.maxThreadNum = maxThreadNum;
+    }
+
+    @Override
+    public LongStream filter(final LongPredicate predicate, final long max) {
+        if (max != Long.MAX_VALUE) {
+            return super.filter(predicate, max).parallel(maxThreadNum);
+        }
+
+        return new ParallelIteratorLongStream(new ParallelSource.Stage<long[], long[]>(source) {
+            @Override
+            long[] newBatch(long[] upstreamBatch) {
+                return upstreamBatch;
+            }
+
+            @Override
+            int apply(long[] upstreamBatch, int n, long[] batch) {
+                int w = 0;
+
+                for (int i = 0; i < n; i++) {
+                    if (predicate.test(batch[i])) {
+                        batch[w++] = batch[i];
+                    }
+                }
+
+                return w;
+            }
+        }, closeHandlers, sorted, maxThreadNum);
+    }
+
+    @Override
+    public LongStream takeWhile(final LongPredicate predicate, final long max) {
+        return super.takeWhile(predicate, max).parallel(maxThreadNum);
+    }
+
+    @Override
+    public LongStream dropWhile(final LongPredicate predicate, final long max) {
+        return super.dropWhile(predicate, max).parallel(maxThreadNum);
+    }
+
+    @Override
+    public LongStream map(final LongUnaryOperator mapper) {
+        return new ParallelIteratorLongStream(new ParallelSource.Stage<long[], long[]>(source) {
+            @Override
+            long[] newBatch(long[] upstreamBatch) {
+                return upstreamBatch;
+            }
+
+            @Override
+            int apply(long[] upstreamBatch, int n, long[] batch) {
+                for (int i = 0; i < n; i++) {
+                    batch[i] = mapper.applyAsLong(batch[i]);
+                }
+
+                return n;
+            }
+        }, closeHandlers, false, maxThreadNum);
+    }
+
+    @Override
+    public IntStream mapToInt(final LongToIntFunction mapper) {
+        return new ParallelIteratorIntStream(new ParallelSource.Stage<long[], int[]>(source) {
+            @Override
+            int[] newBatch(long[] upstreamBatch) {
+                return new int[upstreamBatch.length];
+            }
+
+            @Override
+            int apply(long[] upstreamBatch, int n, int[] batch) {
+                for (int i = 0; i < n; i++) {
+                    batch[i] = mapper.applyAsInt(upstreamBatch[i]);
+                }
+
+                return n;
+            }
+        }, closeHandlers, false, maxThreadNum);
+    }
+
+    @Override
+    public DoubleStream mapToDouble(final LongToDoubleFunction mapper) {
+        return new ParallelIteratorDoubleStream(new ParallelSource.Stage<long[], double[]>(source) {
+            @Override
+            double[] newBatch(long[] upstreamBatch) {
+                return new double[upstreamBatch.length];
+            }
+
+            @Override
+            int apply(long[] upstreamBatch, int n, double[] batch) {
+                for (int i = 0; i < n; i++) {
+                    batch[i] = mapper.applyAsDouble(upstreamBatch[i]);
+                }
+
+                return n;
+            }
+        }, closeHandlers, false, maxThreadNum);
+    }
+
+    @Override
+    public <U> Stream<U> mapToObj(final LongFunction<? extends U> mapper) {
+        return new ParallelIteratorStream<U>(mapToObjInWorker(mapper), closeHandlers, false, null, maxThreadNum);
+    }
+
+    @Override
+    public LongStream flatMap(final LongFunction<? extends LongStream> mapper) {
+        return new ParallelIteratorLongStream(ParallelSource.flattenToLong(mapToObjInWorker(new LongFunction<ImmutableLongIterator>() {
+            @Override
+            public ImmutableLongIterator apply(long value) {
+                return mapper.apply(value).longIterator();
+            }
+        })), closeHandlers, false, maxThreadNum);
+    }
+
+    @Override
+    public IntStream flatMapToInt(final LongFunction<? extends IntStream> mapper) {
+        return new ParallelIteratorIntStream(ParallelSource.flattenToInt(mapToObjInWorker(new LongFunction<ImmutableIntIterator>() {
+            @Override
+            public ImmutableIntIterator apply(long value) {
+                return mapper.apply(value).intIterator();
+            }
+        })), closeHandlers, false, maxThreadNum);
+    }
+
+    @Override
+    public DoubleStream flatMapToDouble(final LongFunction<? extends DoubleStream> mapper) {
+        return new ParallelIteratorDoubleStream(ParallelSource.flattenToDouble(mapToObjInWorker(new LongFunction<ImmutableDoubleIterator>() {
+            @Override
+            public ImmutableDoubleIterator apply(long value) {
+                return mapper.apply(value).doubleIterator();
+            }
+        })), closeHandlers, false, maxThreadNum);
+    }
+
+    @Override
+    public <U> Stream<U> flatMapToObj(final LongFunction<? extends Stream<U>> mapper) {
+        return new ParallelIteratorStream<U>(ParallelSource.flatten(mapToObjInWorker(new LongFunction<Iterator<U>>() {
+            @Override
+            public Iterator<U> apply(long value) {
+                return mapper.apply(value).iterator();
+            }
+        })), closeHandlers, false, null, maxThreadNum);
+    }
+
+    @Override
+    public Stream<LongStream> split(final int size) {
+        return super.split(size).parallel(maxThreadNum);
+    }
+
+    @Override
+    public LongStream distinct() {
+        return super.distinct().parallel(maxThreadNum);
+    }
+
+    @Override
+    public LongStream top(final int n, final Comparator<? super Long> comparator) {
+        return super.top(n, comparator).parallel(maxThreadNum);
+    }
+
+    @Override
+    public LongStream sorted() {
+        return super.parallelSorted().parallel(maxThreadNum);
+    }
+
+    @Override
+    public LongStream parallelSorted() {
+        return super.parallelSorted().parallel(maxThreadNum);
+    }
+
+    @Override
+    public LongStream peek(final LongConsumer action) {
+        return new ParallelIteratorLongStream(new ParallelSource.Stage<long[], long[]>(source) {
+            @Override
+            long[] newBatch(long[] upstreamBatch) {
+                return upstreamBatch;
+            }
+
+            @Override
+            int apply(long[] upstreamBatch, int n, long[] batch) {
+                for (int i = 0; i < n; i++) {
+                    action.accept(batch[i]);
+                }
+
+                return n;
+            }
+        }, closeHandlers, sorted, maxThreadNum);
+    }
+
+    @Override
+    public LongStream limit(final long maxSize) {
+        return super.limit(maxSize).parallel(maxThreadNum);
+    }
+
+    @Override
+    public LongStream skip(final long n) {
+        return super.skip(n).parallel(maxThreadNum);
+    }
+
+    @Override
+    public void forEach(final LongConsumer action) {
+        Stream.parallelExecute(maxThreadNum, new Callable<Void>() {
+            @Override
+            public Void call() {
+                final ParallelSource.Reader<long[]> reader = source.reader();
+                final long[] batch = reader.batch;
+                int n = 0;
+
+                while ((n = reader.next()) >= 0) {
+                    for (int i = 0; i < n; i++) {
+                        action.accept(batch[i]);
+                    }
+                }
+
+                return null;
+            }
+        });
+    }
+
+    @Override
+    public long reduce(final long identity, final LongBinaryOperator op) {
+        final List<Long> results = ParallelSource.reduceBatches(source, maxThreadNum, new ParallelSource.BatchReducer<long[], Long>() {
+            @Override
+            public Long reduce(long[] batch, int n) {
+                long result = identity;
+
+                for (int i = 0; i < n; i++) {
+                    result = op.applyAsLong(result, batch[i]);
+                }
+
+                return result;
+            }
+        });
+
+        long result = identity;
+
+        for (Long e : results) {
+            result = op.applyAsLong(result, e);
+        }
+
+        return result;
+    }
+
+    @Override
+    public OptionalLong reduce(final LongBinaryOperator op) {
+        final List<Long> results = ParallelSource.reduceBatches(source, maxThreadNum, new ParallelSource.BatchReducer<long[], Long>() {
+            @Override
+            public Long reduce(long[] batch, int n) {
+                long result = batch[0];
+
+                for (int i = 1; i < n; i++) {
+                    result = op.applyAsLong(result, batch[i]);
+                }
+
+                return result;
+            }
+        });
+
+        if (results.size() == 0) {
+            return OptionalLong.empty();
+        }
+
+        long result = results.get(0);
+
+        for (int i = 1, size = results.size(); i < size; i++) {
+            result = op.applyAsLong(result, results.get(i));
+        }
+
+        return OptionalLong.of(result);
+    }
+
+    @Override
+    public <R> R collect(final Supplier<R> supplier, final ObjLongConsumer<R> accumulator, final BiConsumer<R, R> combiner) {
+        final List<R> results = ParallelSource.reduceBatches(source, maxThreadNum, new ParallelSource.BatchReducer<long[], R>() {
+            @Override
+            public R reduce(long[] batch, int n) {
+                final R result = supplier.get();
+
+                for (int i = 0; i < n; i++) {
+                    accumulator.accept(result, batch[i]);
+                }
+
+                return result;
+            }
+        });
+
+        if (results.size() == 0) {
+            return supplier.get();
+        }
+
+        final R result = results.get(0);
+
+        for (int i = 1, size = results.size(); i < size; i++) {
+            combiner.accept(result, results.get(i));
+        }
+
+        return result;
+    }
+
+    @Override
+    public Long sum() {
+        final long[] summation = collect(new Supplier<long[]>() {
+            @Override
+            public long[] get() {
+                return new long[1];
+            }
+        }, new ObjLongConsumer<long[]>() {
+            @Override
+            public void accept(long[] ll, long e) {
+                ll[0] += e;
+            }
+        }, new BiConsumer<long[], long[]>() {
+            @Override
+            public void accept(long[] ll, long[] rr) {
+                ll[0] += rr[0];
+            }
+        });
+
+        return summation[0];
+    }
+
+    @Override
+    public OptionalDouble average() {
+        final long[] avg = collect(new Supplier<long[]>() {
+            @Override
+            public long[] get() {
+                return new long[2];
+            }
+        }, new ObjLongConsumer<long[]>() {
+            @Override
+            public void accept(long[] ll, long e) {
+                ll[0] += e;
+                ll[1]++;
+            }
+        }, new BiConsumer<long[], long[]>() {
+            @Override
+            public void accept(long[] ll, long[] rr) {
+                ll[0] += rr[0];
+                ll[1] += rr[1];
+            }
+        });
+
+        return avg[1] > 0 ? OptionalDouble.of(((double) avg[0]) / avg[1]) : OptionalDouble.empty();
+    }
+
+    @Override
+    public OptionalLong min() {
+        return reduce(new LongBinaryOperator() {
+            @Override
+            public long applyAsLong(long left, long right) {
+                return N.min(left, right);
+            }
+        });
+    }
+
+    @Override
+    public OptionalLong max() {
+        return reduce(new LongBinaryOperator() {
+            @Override
+            public long applyAsLong(long left, long right) {
+                return N.max(left, right);
+            }
+        });
+    }
+
+    @Override
+    public boolean anyMatch(final LongPredicate predicate) {
+        final AtomicBoolean result = new AtomicBoolean(false);
+
+        Stream.parallelExecute(maxThreadNum, new Callable<Void>() {
+            @Override
+            public Void call() {
+                final ParallelSource.Reader<long[]> reader = source.reader();
+                final long[] batch = reader.batch;
+                int n = 0;
+
+                while (result.get() == false && (n = reader.next()) >= 0) {
+                    for (int i = 0; i < n; i++) {
+                        if (predicate.test(batch[i])) {
+                            result.set(true);
+                            break;
+                        }
+                    }
+                }
+
+                return null;
+            }
+        });
+
+        return result.get();
+    }
+
+    @Override
+    public boolean allMatch(final LongPredicate predicate) {
+        final AtomicBoolean result = new AtomicBoolean(true);
+
+        Stream.parallelExecute(maxThreadNum, new Callable<Void>() {
+            @Override
+            public Void call() {
+                final ParallelSource.Reader<long[]> reader = source.reader();
+                final long[] batch = reader.batch;
+                int n = 0;
+
+                while (result.get() && (n = reader.next()) >= 0) {
+                    for (int i = 0; i < n; i++) {
+                        if (predicate.test(batch[i]) == false) {
+                            result.set(false);
+                            break;
+                        }
+                    }
+                }
+
+                return null;
+            }
+        });
+
+        return result.get();
+    }
+
+    @Override
+    public boolean noneMatch(final LongPredicate predicate) {
+        return anyMatch(predicate) == false;
+    }
+
+    @Override
+    public OptionalLong findAny(final LongPredicate predicate) {
+        final AtomicBoolean found = new AtomicBoolean(false);
+        final long[] holder = new long[1];
+
+        Stream.parallelExecute(maxThreadNum, new Callable<Void>() {
+            @Override
+            public Void call() {
+                final ParallelSource.Reader<long[]> reader = source.reader();
+                final long[] batch = reader.batch;
+                int n = 0;
+
+                while (found.get() == false && (n = reader.next()) >= 0) {
+                    for (int i = 0; i < n; i++) {
+                        if (predicate.test(batch[i])) {
+                            if (found.compareAndSet(false, true)) {
+                                holder[0] = batch[i];
+                            }
+
+                            break;
+                        }
+                    }
+                }
+
+                return null;
+            }
+        });
+
+        return found.get() ? OptionalLong.of(holder[0]) : OptionalLong.empty();
+    }
+
+    @Override
+    public DoubleStream asDoubleStream() {
+        return new ParallelIteratorDoubleStream(new ParallelSource.Stage<long[], double[]>(source) {
+            @Override
+            double[] newBatch(long[] upstreamBatch) {
+                return new double[upstreamBatch.length];
+            }
+
+            @Override
+            int apply(long[] upstreamBatch, int n, double[] batch) {
+                for (int i = 0; i < n; i++) {
+                    batch[i] = upstreamBatch[i];
+                }
+
+                return n;
+            }
+        }, closeHandlers, sorted, maxThreadNum);
+    }
+
+    @Override
+    public Stream<Long> boxed() {
+        return new ParallelIteratorStream<Long>(new ParallelSource.Stage<long[], Object[]>(source) {
+            @Override
+            Object[] newBatch(long[] upstreamBatch) {
+                return new Object[upstreamBatch.length];
+            }
+
+            @Override
+            int apply(long[] upstreamBatch, int n, Object[] batch) {
+                for (int i = 0; i < n; i++) {
+                    batch[i] = upstreamBatch[i];
+                }
+
+                return n;
+            }
+        }, closeHandlers, sorted, null, maxThreadNum);
+    }
+
+    @Override
+    public boolean isParallel() {
+        return true;
+    }
+
+    @Override
+    public LongStream sequential() {
+        return new IteratorLongStream(elements, closeHandlers, sorted);
+    }
+
+    @Override
+    public LongStream parallel(final int maxThreadNum) {
+        if (this.maxThreadNum == Stream.checkMaxThreadNum(maxThreadNum)) {
+            return this;
+        }
+
+        return new ParallelIteratorLongStream(source, closeHandlers, sorted, maxThreadNum);
+    }
+
+    @Override
+    public LongStream onClose(final Runnable closeHandler) {
+        final List<Runnable> closeHandlerList = new ArrayList<>(N.isNullOrEmpty(this.closeHandlers) ? 1 : this.closeHandlers.size() + 1);
+
+        if (N.notNullOrEmpty(this.closeHandlers)) {
+            closeHandlerList.addAll(this.closeHandlers);
+        }
+
+        closeHandlerList.add(closeHandler);
+
+        return new ParallelIteratorLongStream(source, closeHandlerList, sorted, maxThreadNum);
+    }
+
+    /**
+     * Applies the mapper to each element by the worker thread which reads the batch.
+     */
+    private ParallelSource<Object[]> mapToObjInWorker(final LongFunction<?> mapper) {
+        return new ParallelSource.Stage<long[], Object[]>(source) {
+            @Override
+            Object[] newBatch(long[] upstreamBatch) {
+                return new Object[upstreamBatch.length];
+            }
+
+            @Override
+            int apply(long[] upstreamBatch, int n, Object[] batch) {
+                for (int i = 0; i < n; i++) {
+                    batch[i] = mapper.apply(upstreamBatch[i]);
+                }
+
+                return n;
+            }
+        };
+    }
+}
@@ -0,0 +1,664 @@
+package com.landawn.abacus.util.stream;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.landawn.abacus.util.Holder;
+import com.landawn.abacus.util.N;
+import com.landawn.abacus.util.Optional;
+import com.landawn.abacus.util.function.BiConsumer;
+import com.landawn.abacus.util.function.BiFunction;
+import com.landawn.abacus.util.function.BinaryOperator;
+import com.landawn.abacus.util.function.Consumer;
+import com.landawn.abacus.util.function.Function;
+import com.landawn.abacus.util.function.Predicate;
+import com.landawn.abacus.util.function.Supplier;
+import com.landawn.abacus.util.function.ToDoubleFunction;
+import com.landawn.abacus.util.function.ToIntFunction;
+import com.landawn.abacus.util.function.ToLongFunction;
+
+/**
+ * This class is a parallel, stateful and immutable stream implementation.
+ * The elements are handed off from the iterator to at most {@code maxThreadNum} worker threads in batches of {@code Stream.PARALLEL_BATCH_SIZE}.
+ * {@code reduce/collect/toArray} keep the encounter order: the partial result of each batch is combined in the order of the batches.
+ *
+ * @param <T>
+ */
+final class ParallelIteratorStream<T> extends IteratorStream<T> {
+    private final ParallelSource<Object[]> source;
+    private final int maxThreadNum;
+
+    ParallelIteratorStream(final Iterator<? extends T> iterator, Collection<Runnable> closeHandlers, int maxThreadNum) {
+        this(iterator, closeHandlers, false, null, maxThreadNum);
+    }
+
+    ParallelIteratorStream(final Iterator<? extends T> iterator, Collection<Runnable> closeHandlers, boolean sorted, Comparator<? super T> cmp,
+            int maxThreadNum) {
+        super(iterator, closeHandlers, sorted, cmp);
+
+        this.source = ParallelSource.of(elements);
+        this.maxThreadNum = maxThreadNum;
+    }
+
+    ParallelIteratorStream(final ParallelSource<Object[]> source, Collection<Runnable> closeHandlers, boolean sorted, Comparator<? super T> cmp,
+            int maxThreadNum) {
+        super(ParallelSource.<T> iterator(source), closeHandlers, sorted, cmp);
+
+        this.source = source;
+        this.maxThreadNum = maxThreadNum;
+    }
+
+    @Override
+    public Stream<T> filter(final Predicate<? super T> predicate, final long max) {
+        if (max != Long.MAX_VALUE) {
+            return super.filter(predicate, max).parallel(maxThreadNum);
+        }
+
+        return new ParallelIteratorStream<T>(new ParallelSource.Stage<Object[], Object[]>(source) {
+            @Override
+            Object[] newBatch(Object[] upstreamBatch) {
+                return upstreamBatch;
+            }
+
+            @Override
+            int apply(Object[] upstreamBatch, int n, Object[] batch) {
+                int w = 0;
+
+                for (int i = 0; i < n; i++) {
+                    if (predicate.test((T) batch[i])) {
+                        batch[w++] = batch[i];
+                    }
+                }
+
+                return w;
+            }
+        }, closeHandlers, sorted, cmp, maxThreadNum);
+    }
+
+    @Override
+    public Stream<T> takeWhile(final Predicate<? super T> predicate, final long max) {
+        return super.takeWhile(predicate, max).parallel(maxThreadNum);
+    }
+
+    @Override
+    public Stream<T> dropWhile(final Predicate<? super T> predicate, final long max) {
+        return super.dropWhile(predicate, max).parallel(maxThreadNum);
+    }
+
+    @Override
+    public <R> Stream<R> map(final Function<? super T, ? extends R> mapper) {
+        return new ParallelIteratorStream<R>(mapInPlace(mapper), closeHandlers, false, null, maxThreadNum);
+    }
+
+    @Override
+    public IntStream mapToInt(final ToIntFunction<? super T> mapper) {
+        return new ParallelIteratorIntStream(new ParallelSource.Stage<Object[], int[]>(source) {
+            @Override
+            int[] newBatch(Object[] upstreamBatch) {
+                return new int[upstreamBatch.length];
+            }
+
+            @Override
+            int apply(Object[] upstreamBatch, int n, int[] batch) {
+                for (int i = 0; i < n; i++) {
+                    batch[i] = mapper.applyAsInt((T) upstreamBatch[i]);
+                }
+
+                return n;
+            }
+        }, closeHandlers, false, maxThreadNum);
+    }
+
+    @Override
+    public LongStream mapToLong(final ToLongFunction<? super T> mapper) {
+        return new ParallelIteratorLongStream(new ParallelSource.Stage<Object[], long[]>(source) {
+            @Override
+            long[] newBatch(Object[] upstreamBatch) {
+                return new long[upstreamBatch.length];
+            }
+
+            @Override
+            int apply(Object[] upstreamBatch, int n, long[] batch) {
+                for (int i = 0; i < n; i++) {
+                    batch[i] = mapper.applyAsLong((T) upstreamBatch[i]);
+                }
+
+                return n;
+            }
+        }, closeHandlers, false, maxThreadNum);
+    }
+
+    @Override
+    public DoubleStream mapToDouble(final ToDoubleFunction<? super T> mapper) {
+        return new ParallelIteratorDoubleStream(new ParallelSource.Stage<Object[], double[]>(source) {
+            @Override
+            double[] newBatch(Object[] upstreamBatch) {
+                return new double[upstreamBatch.length];
+            }
+
+            @Override
+            int apply(Object[] upstreamBatch, int n, double[] batch) {
+                for (int i = 0; i < n; i++) {
+                    batch[i] = mapper.applyAsDouble((T) upstreamBatch[i]);
+                }
+
+                return n;
+            }
+        }, closeHandlers, false, maxThreadNum);
+    }
+
+    @Override
+    public <R> Stream<R> flatMap(final Function<? super T, ? extends Stream<? extends R>> mapper) {
+        return new ParallelIteratorStream<R>(ParallelSource.flatten(mapInPlace(new Function<T, Iterator<? extends R>>() {
+            @Override
+            public Iterator<? extends R> apply(T t) {
+                return mapper.apply(t).iterator();
+            }
+        })), closeHandlers, false, null, maxThreadNum);
+    }
+
+    @Override
+    public <R> Stream<R> flatMap2(final Function<? super T, ? extends R[]> mapper) {
+        return new ParallelIteratorStream<R>(ParallelSource.flatten(mapInPlace(new Function<T, Iterator<? extends R>>() {
+            @Override
+            public Iterator<? extends R> apply(T t) {
+                return ImmutableIterator.of(mapper.apply(t));
+            }
+        })), closeHandlers, false, null, maxThreadNum);
+    }
+
+    @Override
+    public <R> Stream<R> flatMap3(final Function<? super T, ? extends Collection<? extends R>> mapper) {
+        return new ParallelIteratorStream<R>(ParallelSource.flatten(mapInPlace(new Function<T, Iterator<? extends R>>() {
+            @Override
+            public Iterator<? extends R> apply(T t) {
+                return mapper.apply(t).iterator();
+            }
+        })), closeHandlers, false, null, maxThreadNum);
+    }
+
+    @Override
+    public IntStream flatMapToInt(final Function<? super T, ? extends IntStream> mapper) {
+        return new ParallelIteratorIntStream(ParallelSource.flattenToInt(mapInPlace(new Function<T, ImmutableIntIterator>() {
+            @Override
+            public ImmutableIntIterator apply(T t) {
+                return mapper.apply(t).intIterator();
+            }
+        })), closeHandlers, false, maxThreadNum);
+    }
+
+    @Override
+    public LongStream flatMapToLong(final Function<? super T, ? extends LongStream> mapper) {
+        return new ParallelIteratorLongStream(ParallelSource.flattenToLong(mapInPlace(new Function<T, ImmutableLongIterator>() {
+            @Override
+            public ImmutableLongIterator apply(T t) {
+                return mapper.apply(t).longIterator();
+            }
+        })), closeHandlers, false, maxThreadNum);
+    }
+
+    @Override
+    public DoubleStream flatMapToDouble(final Function<? super T, ? extends DoubleStream> mapper) {
+        return new ParallelIteratorDoubleStream(ParallelSource.flattenToDouble(mapInPlace(new Function<T, ImmutableDoubleIterator>() {
+            @Override
+            public ImmutableDoubleIterator apply(T t) {
+                return mapper.apply(t).doubleIterator();
+            }
+        })), closeHandlers, false, maxThreadNum);
+    }
+
+    @Override
+    public Stream<Stream<T>> split(final int size) {
+        return super.split(size).parallel(maxThreadNum);
+    }
+
+    @Override
+    public Stream<List<T>> splitIntoList(final int size) {
+        return super.splitIntoList(size).parallel(maxThreadNum);
+    }
+
+    @Override
+    public Stream<Set<T>> splitIntoSet(final int size) {
+        return super.splitIntoSet(size).parallel(maxThreadNum);
+    }
+
+    @Override
+    public Stream<T> distinct() {
+        return super.distinct().parallel(maxThreadNum);
+    }
+
+    @Override
+    public Stream<T> distinct(final Comparator<? super T> comparator) {
+        return super.distinct(comparator).parallel(maxThreadNum);
+    }
+
+    @Override
+    public Stream<T> distinct(final Function<? super T, ?> keyMapper) {
+        return super.distinct(keyMapper).parallel(maxThreadNum);
+    }
+
+    @Override
+    public Stream<T> top(final int n, final Comparator<? super T> comparator) {
+        return super.top(n, comparator).parallel(maxThreadNum);
+    }
+
+    @Override
+    public Stream<T> sorted(final Comparator<? super T> comparator) {
+        return super.parallelSorted(comparator).parallel(maxThreadNum);
+    }
+
+    @Override
+    public Stream<T> parallelSorted(final Comparator<? super T> comparator) {
+        return super.parallelSorted(comparator).parallel(maxThreadNum);
+    }
+
+    @Override
+    public Stream<T> peek(final Consumer<? super T> action) {
+        return new ParallelIteratorStream<T>(new ParallelSource.Stage<Object[], Object[]>(source) {
+            @Override
+            Object[] newBatch(Object[] upstreamBatch) {
+                return upstreamBatch;
+            }
+
+            @Override
+            int apply(Object[] upstreamBatch, int n, Object[] batch) {
+                for (int i = 0; i < n; i++) {
+                    action.accept((T) batch[i]);
+                }
+
+                return n;
+            }
+        }, closeHandlers, sorted, cmp, maxThreadNum);
+    }
+
+    @Override
+    public Stream<T> limit(final long maxSize) {
+        return super.limit(maxSize).parallel(maxThreadNum);
+    }
+
+    @Override
+    public Stream<T> skip(final long n) {
+        return super.skip(n).parallel(maxThreadNum);
+    }
+
+    @Override
+    public void forEach(final Consumer<? super T> action) {
+        Stream.parallelExecute(maxThreadNum, new Callable<Void>() {
+            @Override
+            public Void call() {
+                final ParallelSource.Reader<Object[]> reader = source.reader();
+                final Object[] batch = reader.batch;
+                int n = 0;
+
+                while ((n = reader.next()) >= 0) {
+                    for (int i = 0; i < n; i++) {
+                        action.accept((T) batch[i]);
+                    }
+                }
+
+                return null;
+            }
+        });
+    }
+
+    @Override
+    public T reduce(final T identity, final BinaryOperator<T> accumulator) {
+        final List<T> results = ParallelSource.reduceBatches(source, maxThreadNum, new ParallelSource.BatchReducer<Object[], T>() {
+            @Override
+            public T reduce(Object[] batch, int n) {
+                T result = identity;
+
+                for (int i = 0; i < n; i++) {
+                    result = accumulator.apply(result, (T) batch[i]);
+                }
+
+                return result;
+            }
+        });
+
+        T result = identity;
+
+        for (T e : results) {
+            result = accumulator.apply(result, e);
+        }
+
+        return result;
+    }
+
+    @Override
+    public Optional<T> reduce(final BinaryOperator<T> accumulator) {
+        final List<T> results = ParallelSource.reduceBatches(source, maxThreadNum, new ParallelSource.BatchReducer<Object[], T>() {
+            @Override
+            public T reduce(Object[] batch, int n) {
+                T result = (T) batch[0];
+
+                for (int i = 1; i < n; i++) {
+                    result = accumulator.apply(result, (T) batch[i]);
+                }
+
+                return result;
+            }
+        });
+
+        if (results.size() == 0) {
+            return Optional.empty();
+        }
+
+        T result = results.get(0);
+
+        for (int i = 1, size = results.size(); i < size; i++) {
+            result = accumulator.apply(result, results.get(i));
+        }
+
+        return Optional.of(result);
+    }
+
+    @Override
+    public <U> U reduce(final U identity, final BiFunction<U, ? super T, U> accumulator, final BinaryOperator<U> combiner) {
+        final List<U> results = ParallelSource.reduceBatches(source, maxThreadNum, new ParallelSource.BatchReducer<Object[], U>() {
+            @Override
+            public U reduce(Object[] batch, int n) {
+                U result = identity;
+
+                for (int i = 0; i < n; i++) {
+                    result = accumulator.apply(result, (T) batch[i]);
+                }
+
+                return result;
+            }
+        });
+
+        if (results.size() == 0) {
+            return identity;
+        }
+
+        U result = results.get(0);
+
+        for (int i = 1, size = results.size(); i < size; i++) {
+            result = combiner.apply(result, results.get(i));
+        }
+
+        return result;
+    }
+
+    @Override
+    public <R> R collect(final Supplier<R> supplier, final BiConsumer<R, ? super T> accumulator, final BiConsumer<R, R> combiner) {
+        final List<R> results = ParallelSource.reduceBatches(source, maxThreadNum, new ParallelSource.BatchReducer<Object[], R>() {
+            @Override
+            public R reduce(Object[] batch, int n) {
+                final R result = supplier.get();
+
+                for (int i = 0; i < n; i++) {
+                    accumulator.accept(result, (T) batch[i]);
+                }
+
+                return result;
+            }
+        });
+
+        if (results.size() == 0) {
+            return supplier.get();
+        }
+
+        final R result = results.get(0);
+
+        for (int i = 1, size = results.size(); i < size; i++) {
+            combiner.accept(result, results.get(i));
+        }
+
+        return result;
+    }
+
+    @Override
+    public <R, A> R collect(final Collector<? super T, A, R> collector) {
+        final Supplier<A> supplier = collector.supplier();
+        final BiConsumer<A, ? super T> accumulator = collector.accumulator();
+
+        final List<A> containers = ParallelSource.reduceBatches(source, maxThreadNum, new ParallelSource.BatchReducer<Object[], A>() {
+            @Override
+            public A reduce(Object[] batch, int n) {
+                final A container = supplier.get();
+
+                for (int i = 0; i < n; i++) {
+                    accumulator.accept(container, (T) batch[i]);
+                }
+
+                return container;
+            }
+        });
+
+        if (containers.size() == 0) {
+            return collector.finisher().apply(supplier.get());
+        }
+
+        final BinaryOperator<A> combiner = collector.combiner();
+        A container = containers.get(0);
+
+        for (int i = 1, size = containers.size(); i < size; i++) {
+            container = combiner.apply(container, containers.get(i));
+        }
+
+        return collector.finisher().apply(container);
+    }
+
+    @Override
+    <A> A[] toArray(A[] a) {
+        final List<Object[]> results = ParallelSource.reduceBatches(source, maxThreadNum, new ParallelSource.BatchReducer<Object[], Object[]>() {
+            @Override
+            public Object[] reduce(Object[] batch, int n) {
+                return N.copyOfRange(batch, 0, n);
+            }
+        });
+
+        int size = 0;
+
+        for (Object[] e : results) {
+            size += e.length;
+        }
+
+        a = a.length >= size ? a : (A[]) N.newArray(a.getClass().getComponentType(), size);
+        int offset = 0;
+
+        for (Object[] e : results) {
+            N.copy(e, 0, a, offset, e.length);
+            offset += e.length;
+        }
+
+        return a;
+    }
+
+    @Override
+    public long count() {
+        final List<Long> results = Stream.parallelExecute(maxThreadNum, new Callable<Long>() {
+            @Override
+            public Long call() {
+                final ParallelSource.Reader<Object[]> reader = source.reader();
+                long count = 0;
+                int n = 0;
+
+                while ((n = reader.next()) >= 0) {
+                    count += n;
+                }
+
+                return count;
+            }
+        });
+
+        long count = 0;
+
+        for (Long e : results) {
+            count += e;
+        }
+
+        return count;
+    }
+
+    @Override
+    public Optional<T> min(final Comparator<? super T> comparator) {
+        return reduce(new BinaryOperator<T>() {
+            @Override
+            public T apply(T a, T b) {
+                return N.compare(a, b, comparator) <= 0 ? a : b;
+            }
+        });
+    }
+
+    @Override
+    public Optional<T> max(final Comparator<? super T> comparator) {
+        return reduce(new BinaryOperator<T>() {
+            @Override
+            public T apply(T a, T b) {
+                return N.compare(a, b, comparator) >= 0 ? a : b;
+            }
+        });
+    }
+
+    @Override
+    public boolean anyMatch(final Predicate<? super T> predicate) {
+        final AtomicBoolean result = new AtomicBoolean(false);
+
+        Stream.parallelExecute(maxThreadNum, new Callable<Void>() {
+            @Override
+            public Void call() {
+                final ParallelSource.Reader<Object[]> reader = source.reader();
+                final Object[] batch = reader.batch;
+                int n = 0;
+
+                while (result.get() == false && (n = reader.next()) >= 0) {
+                    for (int i = 0; i < n; i++) {
+                        if (predicate.test((T) batch[i])) {
+                            result.set(true);
+                            break;
+                        }
+                    }
+                }
+
+                return null;
+            }
+        });
+
+        return result.get();
+    }
+
+    @Override
+    public boolean allMatch(final Predicate<? super T> predicate) {
+        final AtomicBoolean result = new AtomicBoolean(true);
+
+        Stream.parallelExecute(maxThreadNum, new Callable<Void>() {
+            @Override
+            public Void call() {
+                final ParallelSource.Reader<Object[]> reader = source.reader();
+                final Object[] batch = reader.batch;
+                int n = 0;
+
+                while (result.get() && (n = reader.next()) >= 0) {
+                    for (int i = 0; i < n; i++) {
+                        if (predicate.test((T) batch[i]) == false) {
+                            result.set(false);
+                            break;
+                        }
+                    }
+                }
+
+                return null;
+            }
+        });
+
+        return result.get();
+    }
+
+    @Override
+    public boolean noneMatch(final Predicate<? super T> predicate) {
+        return anyMatch(predicate) == false;
+    }
+
+    @Override
+    public Optional<T> findAny(final Predicate<? super T> predicate) {
+        final Holder<T> holder = new Holder<>();
+        final AtomicBoolean found = new AtomicBoolean(false);
+
+        Stream.parallelExecute(maxThreadNum, new Callable<Void>() {
+            @Override
+            public Void call() {
+                final ParallelSource.Reader<Object[]> reader = source.reader();
+                final Object[] batch = reader.batch;
+                int n = 0;
+
+                while (found.get() == false && (n = reader.next()) >= 0) {
+                    for (int i = 0; i < n; i++) {
+                        if (predicate.test((T) batch[i])) {
+                            if (found.compareAndSet(false, true)) {
+                                holder.setValue((T) batch[i]);
+                            }
+
+                            break;
+                        }
+                    }
+                }
+
+                return null;
+            }
+        });
+
+        return found.get() ? Optional.of(holder.value()) : (Optional<T>) Optional.empty();
+    }
+
+    @Override
+    public boolean isParallel() {
+        return true;
+    }
+
+    @Override
+    public Stream<T> sequential() {
+        return new IteratorStream<T>(elements, closeHandlers, sorted, cmp);
+    }
+
+    @Override
+    public Stream<T> parallel(final int maxThreadNum) {
+        if (this.maxThreadNum == Stream.checkMaxThreadNum(maxThreadNum)) {
+            return this;
+        }
+
+        return new ParallelIteratorStream<T>(source, closeHandlers, sorted, cmp, maxThreadNum);
+    }
+
+    @Override
+    public Stream<T> onClose(final Runnable closeHandler) {
+        final List<Runnable> closeHandlerList = new ArrayList<>(N.isNullOrEmpty(this.closeHandlers) ? 1 : this.closeHandlers.size() + 1);
+
+        if (N.notNullOrEmpty(this.closeHandlers)) {
+            closeHandlerList.addAll(this.closeHandlers);
+        }
+
+        closeHandlerList.add(closeHandler);
+
+        return new ParallelIteratorStream<T>(source, closeHandlerList, sorted, cmp, maxThreadNum);
+    }
+
+    /**
+     * Applies the mapper to each element in place, by the worker thread which reads the batch.
+     */
+    private <R> ParallelSource<Object[]> mapInPlace(final Function<? super T, ? extends R> mapper) {
+        return new ParallelSource.Stage<Object[], Object[]>(source) {
+            @Override
+            Object[] newBatch(Object[] upstreamBatch) {
+                return upstreamBatch;
+            }
+
+            @Override
+            int apply(Object[] upstreamBatch, int n, Object[] batch) {
+                for (int i = 0; i < n; i++) {
+                    batch[i] = mapper.apply((T) batch[i]);
+                }
+
+                return n;
+            }
+        };
+    }
+}
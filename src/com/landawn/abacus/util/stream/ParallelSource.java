@@ -0,0 +1,776 @@
+package com.landawn.abacus.util.stream;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The source of the parallel iterator streams. Each worker thread reads the elements by its own {@link Reader}:
+ * only the raw elements are pulled from the shared iterator under its lock (or claimed from the shared array range), then the stateless operations ({@code filter/map/peek/flatMap...})
+ * are applied to the batch by the worker thread which pulled it, out of the lock.
+ * Each batch is tagged with its position in the encounter order, by which {@link #reduceBatches(ParallelSource, int, BatchReducer)} puts the partial
+ * results of the batches back in order.
+ *
+ * @param <A> the type of the batch: <code>Object[]</code>, <code>int[]</code>, <code>long[]</code> or <code>double[]</code>.
+ */
+abstract class ParallelSource<A> {
+    private static final Comparator<long[]> KEY_COMPARATOR = new Comparator<long[]>() {
+        @Override
+        public int compare(long[] a, long[] b) {
+            for (int i = 0, len = Math.min(a.length, b.length); i < len; i++) {
+                if (a[i] != b[i]) {
+                    return a[i] < b[i] ? -1 : 1;
+                }
+            }
+
+            return a.length - b.length;
+        }
+    };
+
+    /**
+     * Creates a reader with its own buffer. A reader is only used by one thread.
+     *
+     * @return
+     */
+    abstract Reader<A> reader();
+
+    static ParallelSource<Object[]> of(final Iterator<?> iterator) {
+        return new ParallelSource<Object[]>() {
+            private long batchCount = 0;
+
+            @Override
+            Reader<Object[]> reader() {
+                return new Reader<Object[]>(new Object[Stream.PARALLEL_BATCH_SIZE]) {
+                    @Override
+                    int next() {
+                        int n = 0;
+
+                        synchronized (iterator) {
+                            while (n < batch.length && iterator.hasNext()) {
+                                batch[n++] = iterator.next();
+                            }
+
+                            key = new long[] { batchCount++ };
+                        }
+
+                        return n > 0 ? n : -1;
+                    }
+                };
+            }
+        };
+    }
+
+    static ParallelSource<int[]> of(final ImmutableIntIterator iterator) {
+        return new ParallelSource<int[]>() {
+            private long batchCount = 0;
+
+            @Override
+            Reader<int[]> reader() {
+                return new Reader<int[]>(new int[Stream.PARALLEL_BATCH_SIZE]) {
+                    @Override
+                    int next() {
+                        int n = 0;
+
+                        synchronized (iterator) {
+                            while (n < batch.length && iterator.hasNext()) {
+                                batch[n++] = iterator.next();
+                            }
+
+                            key = new long[] { batchCount++ };
+                        }
+
+                        return n > 0 ? n : -1;
+                    }
+                };
+            }
+        };
+    }
+
+    static ParallelSource<long[]> of(final ImmutableLongIterator iterator) {
+        return new ParallelSource<long[]>() {
+            private long batchCount = 0;
+
+            @Override
+            Reader<long[]> reader() {
+                return new Reader<long[]>(new long[Stream.PARALLEL_BATCH_SIZE]) {
+                    @Override
+                    int next() {
+                        int n = 0;
+
+                        synchronized (iterator) {
+                            while (n < batch.length && iterator.hasNext()) {
+                                batch[n++] = iterator.next();
+                            }
+
+                            key = new long[] { batchCount++ };
+                        }
+
+                        return n > 0 ? n : -1;
+                    }
+                };
+            }
+        };
+    }
+
+    static ParallelSource<double[]> of(final ImmutableDoubleIterator iterator) {
+        return new ParallelSource<double[]>() {
+            private long batchCount = 0;
+
+            @Override
+            Reader<double[]> reader() {
+                return new Reader<double[]>(new double[Stream.PARALLEL_BATCH_SIZE]) {
+                    @Override
+                    int next() {
+                        int n = 0;
+
+                        synchronized (iterator) {
+                            while (n < batch.length && iterator.hasNext()) {
+                                batch[n++] = iterator.next();
+                            }
+
+                            key = new long[] { batchCount++ };
+                        }
+
+                        return n > 0 ? n : -1;
+                    }
+                };
+            }
+        };
+    }
+
+    /**
+     * The range {@code [fromIndex, toIndex)} is claimed by the readers in batches without lock. Nothing is read until the terminal operation.
+     *
+     * @param a
+     * @param fromIndex
+     * @param toIndex
+     * @return
+     */
+    static ParallelSource<Object[]> of(final Object[] a, final int fromIndex, final int toIndex) {
+        final AtomicInteger cursor = new AtomicInteger(fromIndex);
+
+        return new ParallelSource<Object[]>() {
+            @Override
+            Reader<Object[]> reader() {
+                return new Reader<Object[]>(new Object[Stream.PARALLEL_BATCH_SIZE]) {
+                    @Override
+                    int next() {
+                        int from = 0, n = 0;
+
+                        do {
+                            from = cursor.get();
+
+                            if (from >= toIndex) {
+                                return -1;
+                            }
+
+                            n = Math.min(batch.length, toIndex - from);
+                        } while (cursor.compareAndSet(from, from + n) == false);
+
+                        System.arraycopy(a, from, batch, 0, n);
+                        key = new long[] { from };
+
+                        return n;
+                    }
+                };
+            }
+        };
+    }
+
+    static ParallelSource<int[]> of(final int[] a, final int fromIndex, final int toIndex) {
+        final AtomicInteger cursor = new AtomicInteger(fromIndex);
+
+        return new ParallelSource<int[]>() {
+            @Override
+            Reader<int[]> reader() {
+                return new Reader<int[]>(new int[Stream.PARALLEL_BATCH_SIZE]) {
+                    @Override
+                    int next() {
+                        int from = 0, n = 0;
+
+                        do {
+                            from = cursor.get();
+
+                            if (from >= toIndex) {
+                                return -1;
+                            }
+
+                            n = Math.min(batch.length, toIndex - from);
+                        } while (cursor.compareAndSet(from, from + n) == false);
+
+                        System.arraycopy(a, from, batch, 0, n);
+                        key = new long[] { from };
+
+                        return n;
+                    }
+                };
+            }
+        };
+    }
+
+    static ParallelSource<long[]> of(final long[] a, final int fromIndex, final int toIndex) {
+        final AtomicInteger cursor = new AtomicInteger(fromIndex);
+
+        return new ParallelSource<long[]>() {
+            @Override
+            Reader<long[]> reader() {
+                return new Reader<long[]>(new long[Stream.PARALLEL_BATCH_SIZE]) {
+                    @Override
+                    int next() {
+                        int from = 0, n = 0;
+
+                        do {
+                            from = cursor.get();
+
+                            if (from >= toIndex) {
+                                return -1;
+                            }
+
+                            n = Math.min(batch.length, toIndex - from);
+                        } while (cursor.compareAndSet(from, from + n) == false);
+
+                        System.arraycopy(a, from, batch, 0, n);
+                        key = new long[] { from };
+
+                        return n;
+                    }
+                };
+            }
+        };
+    }
+
+    static ParallelSource<double[]> of(final double[] a, final int fromIndex, final int toIndex) {
+        final AtomicInteger cursor = new AtomicInteger(fromIndex);
+
+        return new ParallelSource<double[]>() {
+            @Override
+            Reader<double[]> reader() {
+                return new Reader<double[]>(new double[Stream.PARALLEL_BATCH_SIZE]) {
+                    @Override
+                    int next() {
+                        int from = 0, n = 0;
+
+                        do {
+                            from = cursor.get();
+
+                            if (from >= toIndex) {
+                                return -1;
+                            }
+
+                            n = Math.min(batch.length, toIndex - from);
+                        } while (cursor.compareAndSet(from, from + n) == false);
+
+                        System.arraycopy(a, from, batch, 0, n);
+                        key = new long[] { from };
+
+                        return n;
+                    }
+                };
+            }
+        };
+    }
+
+    /**
+     * The elements in the source must be {@code Iterator}s, which are flattened by the reader.
+     * A batch doesn't span two upstream batches, which can be far apart in the encounter order. The batches flattened from one upstream batch
+     * are tagged with the key of the upstream batch, followed by their index.
+     *
+     * @param iterators
+     * @return
+     */
+    static ParallelSource<Object[]> flatten(final ParallelSource<Object[]> iterators) {
+        return new ParallelSource<Object[]>() {
+            @Override
+            Reader<Object[]> reader() {
+                final Reader<Object[]> reader = iterators.reader();
+
+                return new Reader<Object[]>(new Object[Stream.PARALLEL_BATCH_SIZE]) {
+                    private Iterator<?> cur = null;
+                    private int index = 0;
+                    private int size = 0;
+                    private int part = 0;
+
+                    @Override
+                    int next() {
+                        int n = 0;
+
+                        while (n < batch.length) {
+                            if (cur != null && cur.hasNext()) {
+                                batch[n++] = cur.next();
+                            } else if (index < size) {
+                                cur = (Iterator<?>) reader.batch[index++];
+                            } else if (n > 0) {
+                                break;
+                            } else if ((size = reader.next()) >= 0) {
+                                index = 0;
+                                part = 0;
+                            } else {
+                                return -1;
+                            }
+                        }
+
+                        key = subKey(reader.key, part++);
+
+                        return n;
+                    }
+                };
+            }
+        };
+    }
+
+    /**
+     * The elements in the source must be {@code ImmutableIntIterator}s, which are flattened by the reader.
+     *
+     * @param iterators
+     * @return
+     */
+    static ParallelSource<int[]> flattenToInt(final ParallelSource<Object[]> iterators) {
+        return new ParallelSource<int[]>() {
+            @Override
+            Reader<int[]> reader() {
+                final Reader<Object[]> reader = iterators.reader();
+
+                return new Reader<int[]>(new int[Stream.PARALLEL_BATCH_SIZE]) {
+                    private ImmutableIntIterator cur = null;
+                    private int index = 0;
+                    private int size = 0;
+                    private int part = 0;
+
+                    @Override
+                    int next() {
+                        int n = 0;
+
+                        while (n < batch.length) {
+                            if (cur != null && cur.hasNext()) {
+                                batch[n++] = cur.next();
+                            } else if (index < size) {
+                                cur = (ImmutableIntIterator) reader.batch[index++];
+                            } else if (n > 0) {
+                                break;
+                            } else if ((size = reader.next()) >= 0) {
+                                index = 0;
+                                part = 0;
+                            } else {
+                                return -1;
+                            }
+                        }
+
+                        key = subKey(reader.key, part++);
+
+                        return n;
+                    }
+                };
+            }
+        };
+    }
+
+    /**
+     * The elements in the source must be {@code ImmutableLongIterator}s, which are flattened by the reader.
+     *
+     * @param iterators
+     * @return
+     */
+    static ParallelSource<long[]> flattenToLong(final ParallelSource<Object[]> iterators) {
+        return new ParallelSource<long[]>() {
+            @Override
+            Reader<long[]> reader() {
+                final Reader<Object[]> reader = iterators.reader();
+
+                return new Reader<long[]>(new long[Stream.PARALLEL_BATCH_SIZE]) {
+                    private ImmutableLongIterator cur = null;
+                    private int index = 0;
+                    private int size = 0;
+                    private int part = 0;
+
+                    @Override
+                    int next() {
+                        int n = 0;
+
+                        while (n < batch.length) {
+                            if (cur != null && cur.hasNext()) {
+                                batch[n++] = cur.next();
+                            } else if (index < size) {
+                                cur = (ImmutableLongIterator) reader.batch[index++];
+                            } else if (n > 0) {
+                                break;
+                            } else if ((size = reader.next()) >= 0) {
+                                index = 0;
+                                part = 0;
+                            } else {
+                                return -1;
+                            }
+                        }
+
+                        key = subKey(reader.key, part++);
+
+                        return n;
+                    }
+                };
+            }
+        };
+    }
+
+    /**
+     * The elements in the source must be {@code ImmutableDoubleIterator}s, which are flattened by the reader.
+     *
+     * @param iterators
+     * @return
+     */
+    static ParallelSource<double[]> flattenToDouble(final ParallelSource<Object[]> iterators) {
+        return new ParallelSource<double[]>() {
+            @Override
+            Reader<double[]> reader() {
+                final Reader<Object[]> reader = iterators.reader();
+
+                return new Reader<double[]>(new double[Stream.PARALLEL_BATCH_SIZE]) {
+                    private ImmutableDoubleIterator cur = null;
+                    private int index = 0;
+                    private int size = 0;
+                    private int part = 0;
+
+                    @Override
+                    int next() {
+                        int n = 0;
+
+                        while (n < batch.length) {
+                            if (cur != null && cur.hasNext()) {
+                                batch[n++] = cur.next();
+                            } else if (index < size) {
+                                cur = (ImmutableDoubleIterator) reader.batch[index++];
+                            } else if (n > 0) {
+                                break;
+                            } else if ((size = reader.next()) >= 0) {
+                                index = 0;
+                                part = 0;
+                            } else {
+                                return -1;
+                            }
+                        }
+
+                        key = subKey(reader.key, part++);
+
+                        return n;
+                    }
+                };
+            }
+        };
+    }
+
+    /**
+     * Returns a sequential iterator over the elements of the source, which is used by the sequential and order-dependent operations.
+     * Nothing is read from the source until the first call of {@code hasNext/next}.
+     *
+     * @param source
+     * @return
+     */
+    static <T> ImmutableIterator<T> iterator(final ParallelSource<Object[]> source) {
+        return new ImmutableIterator<T>() {
+            private Reader<Object[]> reader = null;
+            private int index = 0;
+            private int size = 0;
+
+            @Override
+            public boolean hasNext() {
+                if (reader == null) {
+                    reader = source.reader();
+                }
+
+                while (index >= size) {
+                    if ((size = reader.next()) < 0) {
+                        size = 0;
+                        return false;
+                    }
+
+                    index = 0;
+                }
+
+                return true;
+            }
+
+            @Override
+            public T next() {
+                if (hasNext() == false) {
+                    throw new NoSuchElementException();
+                }
+
+                return (T) reader.batch[index++];
+            }
+        };
+    }
+
+    /**
+     *
+     * @param source
+     * @return
+     * @see #iterator(ParallelSource)
+     */
+    static ImmutableIntIterator intIterator(final ParallelSource<int[]> source) {
+        return new ImmutableIntIterator() {
+            private Reader<int[]> reader = null;
+            private int index = 0;
+            private int size = 0;
+
+            @Override
+            public boolean hasNext() {
+                if (reader == null) {
+                    reader = source.reader();
+                }
+
+                while (index >= size) {
+                    if ((size = reader.next()) < 0) {
+                        size = 0;
+                        return false;
+                    }
+
+                    index = 0;
+                }
+
+                return true;
+            }
+
+            @Override
+            public int next() {
+                if (hasNext() == false) {
+                    throw new NoSuchElementException();
+                }
+
+                return reader.batch[index++];
+            }
+        };
+    }
+
+    /**
+     *
+     * @param source
+     * @return
+     * @see #iterator(ParallelSource)
+     */
+    static ImmutableLongIterator longIterator(final ParallelSource<long[]> source) {
+        return new ImmutableLongIterator() {
+            private Reader<long[]> reader = null;
+            private int index = 0;
+            private int size = 0;
+
+            @Override
+            public boolean hasNext() {
+                if (reader == null) {
+                    reader = source.reader();
+                }
+
+                while (index >= size) {
+                    if ((size = reader.next()) < 0) {
+                        size = 0;
+                        return false;
+                    }
+
+                    index = 0;
+                }
+
+                return true;
+            }
+
+            @Override
+            public long next() {
+                if (hasNext() == false) {
+                    throw new NoSuchElementException();
+                }
+
+                return reader.batch[index++];
+            }
+        };
+    }
+
+    /**
+     *
+     * @param source
+     * @return
+     * @see #iterator(ParallelSource)
+     */
+    static ImmutableDoubleIterator doubleIterator(final ParallelSource<double[]> source) {
+        return new ImmutableDoubleIterator() {
+            private Reader<double[]> reader = null;
+            private int index = 0;
+            private int size = 0;
+
+            @Override
+            public boolean hasNext() {
+                if (reader == null) {
+                    reader = source.reader();
+                }
+
+                while (index >= size) {
+                    if ((size = reader.next()) < 0) {
+                        size = 0;
+                        return false;
+                    }
+
+                    index = 0;
+                }
+
+                return true;
+            }
+
+            @Override
+            public double next() {
+                if (hasNext() == false) {
+                    throw new NoSuchElementException();
+                }
+
+                return reader.batch[index++];
+            }
+        };
+    }
+
+    /**
+     * Reads the batches by at most {@code maxThreadNum} worker threads, and reduces each non-empty batch to a partial result.
+     *
+     * @param source
+     * @param maxThreadNum
+     * @param reducer
+     * @return the partial results, in the encounter order of their batches.
+     */
+    static <A, R> List<R> reduceBatches(final ParallelSource<A> source, final int maxThreadNum, final BatchReducer<A, R> reducer) {
+        final List<List<Partial<R>>> results = Stream.parallelExecute(maxThreadNum, new Callable<List<Partial<R>>>() {
+            @Override
+            public List<Partial<R>> call() {
+                final Reader<A> reader = source.reader();
+                final List<Partial<R>> partials = new ArrayList<>();
+                int n = 0;
+
+                while ((n = reader.next()) >= 0) {
+                    if (n > 0) {
+                        partials.add(new Partial<>(reader.key, reducer.reduce(reader.batch, n)));
+                    }
+                }
+
+                return partials;
+            }
+        });
+
+        final List<Partial<R>> partials = new ArrayList<>();
+
+        for (List<Partial<R>> e : results) {
+            partials.addAll(e);
+        }
+
+        Collections.sort(partials, new Comparator<Partial<R>>() {
+            @Override
+            public int compare(Partial<R> a, Partial<R> b) {
+                return KEY_COMPARATOR.compare(a.key, b.key);
+            }
+        });
+
+        final List<R> result = new ArrayList<>(partials.size());
+
+        for (Partial<R> partial : partials) {
+            result.add(partial.value);
+        }
+
+        return result;
+    }
+
+    private static long[] subKey(final long[] key, final int part) {
+        final long[] subKey = new long[key.length + 1];
+        System.arraycopy(key, 0, subKey, 0, key.length);
+        subKey[key.length] = part;
+        return subKey;
+    }
+
+    /**
+     * Reads the batches of elements for one worker thread.
+     *
+     * @param <A>
+     */
+    abstract static class Reader<A> {
+        final A batch;
+
+        /**
+         * The position of the last batch in the encounter order, set by {@link #next()}.
+         */
+        long[] key;
+
+        Reader(final A batch) {
+            this.batch = batch;
+        }
+
+        /**
+         * Reads the next batch of elements to {@code batch}.
+         *
+         * @return the number of the elements read, which can be 0 if all the elements pulled from the source are filtered out,
+         *         or -1 if there is no more element in the source.
+         */
+        abstract int next();
+    }
+
+    /**
+     * A stateless operation applied to each batch read by the upstream reader.
+     *
+     * @param <U> the type of the upstream batch.
+     * @param <A> the type of the batch.
+     */
+    abstract static class Stage<U, A> extends ParallelSource<A> {
+        private final ParallelSource<U> upstream;
+
+        Stage(final ParallelSource<U> upstream) {
+            this.upstream = upstream;
+        }
+
+        /**
+         * Returns the upstream batch if the operation is applied in place, otherwise a new batch with the same length.
+         *
+         * @param upstreamBatch
+         * @return
+         */
+        abstract A newBatch(U upstreamBatch);
+
+        /**
+         * Applies the operation to the first {@code n} elements in the upstream batch.
+         *
+         * @param upstreamBatch
+         * @param n
+         * @param batch
+         * @return the number of the elements in the batch.
+         */
+        abstract int apply(U upstreamBatch, int n, A batch);
+
+        @Override
+        Reader<A> reader() {
+            final Reader<U> reader = upstream.reader();
+
+            return new Reader<A>(newBatch(reader.batch)) {
+                @Override
+                int next() {
+                    final int n = reader.next();
+                    key = reader.key;
+
+                    return n <= 0 ? n : apply(reader.batch, n, batch);
+                }
+            };
+        }
+    }
+
+    /**
+     * Reduces the first {@code n} elements in a batch to a partial result. The batch is reused after it returns.
+     *
+     * @param <A>
+     * @param <R>
+     */
+    static interface BatchReducer<A, R> {
+        R reduce(A batch, int n);
+    }
+
+    private static final class Partial<R> {
+        final long[] key;
+        final R value;
+
+        Partial(final long[] key, final R value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+}
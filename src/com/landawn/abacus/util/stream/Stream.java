@@ -42,19 +42,21 @@ import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import com.landawn.abacus.exception.AbacusIOException;
 import com.landawn.abacus.util.Array;
-import com.landawn.abacus.util.AsyncExecutor;
-import com.landawn.abacus.util.Holder;
 import com.landawn.abacus.util.IOUtil;
 import com.landawn.abacus.util.LineIterator;
-import com.landawn.abacus.util.MutableBoolean;
 import com.landawn.abacus.util.N;
 import com.landawn.abacus.util.ObjectList;
 import com.landawn.abacus.util.Optional;
@@ -186,6 +188,32 @@ import com.landawn.abacus.util.function.UnaryOperator;
 public abstract class Stream<T> implements BaseStream<T, Stream<T>> {
     private static final int DEFAULT_READING_THREAD_NUM = 64;
 
+    static final int DEFAULT_MAX_THREAD_NUM = N.CPU_CORES;
+    static final int MAX_THREAD_NUM_PER_OPERATION = 1024;
+    static final int PARALLEL_BATCH_SIZE = 256;
+
+    /**
+     * Shared by all the parallel streams. Threads are created on demand and released after 60 seconds idle.
+     */
+    static final ForkJoinPool PARALLEL_EXECUTOR = new ForkJoinPool(N.max(DEFAULT_READING_THREAD_NUM, N.CPU_CORES));
+
+    /**
+     * Shared by the threads reading iterators in <code>parallelConcat/parallelZip</code>. 
+     * It's not bounded because the reading threads are blocked when the queue is full: a bounded pool could be used up by the streams which are not consumed.
+     * Idle threads are reused and released after 60 seconds.
+     */
+    static final ExecutorService READING_EXECUTOR = new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60L, TimeUnit.SECONDS, new SynchronousQueue<Runnable>(),
+            new ThreadFactory() {
+                private final AtomicInteger threadCounter = new AtomicInteger();
+
+                @Override
+                public Thread newThread(Runnable r) {
+                    final Thread thread = new Thread(r, "stream-reading-" + threadCounter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+
     @SuppressWarnings("rawtypes")
     static final Comparator OBJECT_COMPARATOR = new Comparator<Comparable>() {
         @Override
@@ -1181,6 +1209,53 @@ public abstract class Stream<T> implements BaseStream<T, Stream<T>> {
 
     public abstract Optional<T> findAny(Predicate<? super T> predicate);
 
+    /**
+     * Returns whether this stream, if a terminal operation were to be executed,
+     * would execute in parallel.
+     *
+     * @return {@code true} if this stream would execute in parallel if executed
+     */
+    public abstract boolean isParallel();
+
+    /**
+     * Returns an equivalent stream that is sequential. May return itself,
+     * either because the stream was already sequential, or because the
+     * underlying stream state was modified to be sequential.
+     *
+     * <p>This is an <a href="package-summary.html#StreamOps">intermediate
+     * operation</a>.
+     *
+     * @return a sequential stream
+     */
+    public abstract Stream<T> sequential();
+
+    /**
+     * Returns an equivalent stream that is parallel, with the number of the threads specified by {@code N.CPU_CORES}.
+     * 
+     * @return
+     * @see #parallel(int)
+     */
+    public Stream<T> parallel() {
+        return parallel(DEFAULT_MAX_THREAD_NUM);
+    }
+
+    /**
+     * Returns an equivalent stream that is executed by at most {@code maxThreadNum} threads.
+     * <br />
+     * For the stream backed by an array, the range {@code [fromIndex, toIndex)} is split into at most {@code maxThreadNum} sub-ranges which are executed in a shared fork-join pool.
+     * For the stream backed by an iterator, the elements are handed off to the worker threads in batches. 
+     * The intermediate operations before {@code parallel} are evaluated by the worker who holds the iterator. 
+     * Only the elements are pulled from the iterator under its lock, the stateless operations after {@code parallel} are applied to each batch by the worker which pulled it.
+     * <br />
+     * Only the stateless operations ({@code filter/map/...}) and the terminal operations ({@code forEach/reduce/collect/min/max/anyMatch/...}) are executed in parallel. 
+     * The order of elements is kept by {@code map/filter/collect}, but not by {@code forEach}. 
+     * The operations which depend on the encounter order ({@code findFirst/findLast/takeWhile/dropWhile...}) are executed sequentially.
+     * 
+     * @param maxThreadNum
+     * @return
+     */
+    public abstract Stream<T> parallel(int maxThreadNum);
+
     // Static factories
 
     // Static factories
@@ -1856,36 +1931,32 @@ public abstract class Stream<T> implements BaseStream<T, Stream<T>> {
             return Stream.empty();
         }
 
-        final AsyncExecutor asyncExecutor = new AsyncExecutor(N.min(iteratorReadThreadNum, c.size()), 300L, TimeUnit.SECONDS);
-        final AtomicInteger threadCounter = new AtomicInteger(c.size());
-        final BlockingQueue<T> queue = new ArrayBlockingQueue<T>(queueSize);
-        final Holder<Throwable> errorHolder = new Holder<>();
-        final MutableBoolean onGoing = MutableBoolean.of(true);
-
-        for (Iterator<? extends T> e : c) {
-            final Iterator<? extends T> iter = e;
+        final int threadNum = N.min(iteratorReadThreadNum, c.size());
+        final HandOffQueue queue = new HandOffQueue(1, queueSize, threadNum);
+        final Iterator<? extends Iterator<? extends T>> iters = c.iterator();
 
-            asyncExecutor.execute(new Runnable() {
+        for (int i = 0; i < threadNum; i++) {
+            READING_EXECUTOR.execute(new Runnable() {
                 @Override
                 public void run() {
                     try {
-                        T next = null;
+                        Iterator<? extends T> iter = null;
 
-                        while (onGoing.booleanValue() && iter.hasNext()) {
-                            next = iter.next();
+                        while (queue.isClosed() == false) {
+                            synchronized (iters) {
+                                if (iters.hasNext() == false) {
+                                    break;
+                                }
 
-                            if (next == null) {
-                                next = (T) NONE;
+                                iter = iters.next();
                             }
 
-                            while (onGoing.booleanValue() && queue.offer(next, 100, TimeUnit.MILLISECONDS) == false) {
-                                // continue.
-                            }
+                            transfer(iter, queue, 0);
                         }
                     } catch (Throwable e) {
-                        setError(errorHolder, e, onGoing);
+                        queue.setError(e);
                     } finally {
-                        threadCounter.decrementAndGet();
+                        queue.producerDone(0);
                     }
                 }
             });
@@ -1896,16 +1967,8 @@ public abstract class Stream<T> implements BaseStream<T, Stream<T>> {
 
             @Override
             public boolean hasNext() {
-                try {
-                    while (next == null && onGoing.booleanValue() && (threadCounter.get() > 0 || queue.size() > 0)) { // (queue.size() > 0 || counter.get() > 0) is wrong. has to check counter first
-                        next = queue.poll(100, TimeUnit.MILLISECONDS);
-                    }
-                } catch (Throwable e) {
-                    setError(errorHolder, e, onGoing);
-                }
-
-                if (errorHolder.value() != null) {
-                    throwError(errorHolder, onGoing);
+                if (next == null) {
+                    next = (T) queue.take(0);
                 }
 
                 return next != null;
@@ -1924,7 +1987,7 @@ public abstract class Stream<T> implements BaseStream<T, Stream<T>> {
         }).onClose(new Runnable() {
             @Override
             public void run() {
-                onGoing.setFalse();
+                queue.close();
             }
         });
     }
@@ -2219,15 +2282,10 @@ public abstract class Stream<T> implements BaseStream<T, Stream<T>> {
      */
     public static <A, B, R> Stream<R> parallelZip(final Iterator<? extends A> a, final Iterator<? extends B> b, final BiFunction<A, B, R> combiner,
             final int queueSize) {
-        final AsyncExecutor asyncExecutor = new AsyncExecutor(2, 300L, TimeUnit.SECONDS);
-        final AtomicInteger threadCounterA = new AtomicInteger(1);
-        final AtomicInteger threadCounterB = new AtomicInteger(1);
-        final BlockingQueue<A> queueA = new ArrayBlockingQueue<>(queueSize);
-        final BlockingQueue<B> queueB = new ArrayBlockingQueue<>(queueSize);
-        final Holder<Throwable> errorHolder = new Holder<>();
-        final MutableBoolean onGoing = MutableBoolean.of(true);
+        final HandOffQueue queue = new HandOffQueue(2, queueSize, 1);
 
-        readToQueue(a, b, asyncExecutor, threadCounterA, threadCounterB, queueA, queueB, errorHolder, onGoing);
+        readToQueue(a, queue, 0);
+        readToQueue(b, queue, 1);
 
         return of(new QueuedImmutableIterator<R>(queueSize) {
             A nextA = null;
@@ -2235,32 +2293,16 @@ public abstract class Stream<T> implements BaseStream<T, Stream<T>> {
 
             @Override
             public boolean hasNext() {
-                try {
-                    while (nextA == null && onGoing.booleanValue() && (threadCounterA.get() > 0 || queueA.size() > 0)) { // (threadCounterA.get() > 0 || queueA.size() > 0) is wrong. has to check counter first
-                        nextA = queueA.poll(100, TimeUnit.MILLISECONDS);
-                    }
-
-                    if (nextA == null) {
-                        onGoing.setFalse();
-
-                        return false;
-                    }
-
-                    while (nextB == null && onGoing.booleanValue() && (threadCounterB.get() > 0 || queueB.size() > 0)) { // (threadCounterB.get() > 0 || queueB.size() > 0) is wrong. has to check counter first
-                        nextB = queueB.poll(100, TimeUnit.MILLISECONDS);
-                    }
-
-                    if (nextB == null) {
-                        onGoing.setFalse();
+                if (nextA == null && (nextA = (A) queue.take(0)) == null) {
+                    queue.close();
 
-                        return false;
-                    }
-                } catch (Throwable e) {
-                    setError(errorHolder, e, onGoing);
+                    return false;
                 }
 
-                if (errorHolder.value() != null) {
-                    throwError(errorHolder, onGoing);
+                if (nextB == null && (nextB = (B) queue.take(1)) == null) {
+                    queue.close();
+
+                    return false;
                 }
 
                 return true;
@@ -2283,14 +2325,14 @@ public abstract class Stream<T> implements BaseStream<T, Stream<T>> {
                 } finally {
                     // error happened
                     if (isOK == false) {
-                        onGoing.setFalse();
+                        queue.close();
                     }
                 }
             }
         }).onClose(new Runnable() {
             @Override
             public void run() {
-                onGoing.setFalse();
+                queue.close();
             }
         });
     }
@@ -2318,17 +2360,11 @@ public abstract class Stream<T> implements BaseStream<T, Stream<T>> {
      */
     public static <A, B, C, R> Stream<R> parallelZip(final Iterator<? extends A> a, final Iterator<? extends B> b, final Iterator<? extends C> c,
             final TriFunction<A, B, C, R> combiner, final int queueSize) {
-        final AsyncExecutor asyncExecutor = new AsyncExecutor(3, 300L, TimeUnit.SECONDS);
-        final AtomicInteger threadCounterA = new AtomicInteger(1);
-        final AtomicInteger threadCounterB = new AtomicInteger(1);
-        final AtomicInteger threadCounterC = new AtomicInteger(1);
-        final BlockingQueue<A> queueA = new ArrayBlockingQueue<>(queueSize);
-        final BlockingQueue<B> queueB = new ArrayBlockingQueue<>(queueSize);
-        final BlockingQueue<C> queueC = new ArrayBlockingQueue<>(queueSize);
-        final Holder<Throwable> errorHolder = new Holder<>();
-        final MutableBoolean onGoing = MutableBoolean.of(true);
-
-        readToQueue(a, b, c, asyncExecutor, threadCounterA, threadCounterB, threadCounterC, queueA, queueB, queueC, errorHolder, onGoing);
+        final HandOffQueue queue = new HandOffQueue(3, queueSize, 1);
+
+        readToQueue(a, queue, 0);
+        readToQueue(b, queue, 1);
+        readToQueue(c, queue, 2);
 
         return of(new QueuedImmutableIterator<R>(queueSize) {
             A nextA = null;
@@ -2337,42 +2373,22 @@ public abstract class Stream<T> implements BaseStream<T, Stream<T>> {
 
             @Override
             public boolean hasNext() {
-                try {
-                    while (nextA == null && onGoing.booleanValue() && (threadCounterA.get() > 0 || queueA.size() > 0)) { // (threadCounterA.get() > 0 || queueA.size() > 0) is wrong. has to check counter first
-                        nextA = queueA.poll(100, TimeUnit.MILLISECONDS);
-                    }
-
-                    if (nextA == null) {
-                        onGoing.setFalse();
-
-                        return false;
-                    }
+                if (nextA == null && (nextA = (A) queue.take(0)) == null) {
+                    queue.close();
 
-                    while (nextB == null && onGoing.booleanValue() && (threadCounterB.get() > 0 || queueB.size() > 0)) { // (threadCounterB.get() > 0 || queueB.size() > 0) is wrong. has to check counter first
-                        nextB = queueB.poll(100, TimeUnit.MILLISECONDS);
-                    }
-
-                    if (nextB == null) {
-                        onGoing.setFalse();
-
-                        return false;
-                    }
-
-                    while (nextC == null && onGoing.booleanValue() && (threadCounterC.get() > 0 || queueC.size() > 0)) { // (threadCounterC.get() > 0 || queueC.size() > 0) is wrong. has to check counter first
-                        nextC = queueC.poll(100, TimeUnit.MILLISECONDS);
-                    }
+                    return false;
+                }
 
-                    if (nextC == null) {
-                        onGoing.setFalse();
+                if (nextB == null && (nextB = (B) queue.take(1)) == null) {
+                    queue.close();
 
-                        return false;
-                    }
-                } catch (Throwable e) {
-                    setError(errorHolder, e, onGoing);
+                    return false;
                 }
 
-                if (errorHolder.value() != null) {
-                    throwError(errorHolder, onGoing);
+                if (nextC == null && (nextC = (C) queue.take(2)) == null) {
+                    queue.close();
+
+                    return false;
                 }
 
                 return true;
@@ -2396,14 +2412,14 @@ public abstract class Stream<T> implements BaseStream<T, Stream<T>> {
                 } finally {
                     // error happened
                     if (isOK == false) {
-                        onGoing.setFalse();
+                        queue.close();
                     }
                 }
             }
         }).onClose(new Runnable() {
             @Override
             public void run() {
-                onGoing.setFalse();
+                queue.close();
             }
         });
     }
@@ -2447,13 +2463,12 @@ public abstract class Stream<T> implements BaseStream<T, Stream<T>> {
         }
 
         final int len = c.size();
-        final AsyncExecutor asyncExecutor = new AsyncExecutor(len, 300L, TimeUnit.SECONDS);
-        final AtomicInteger[] counters = new AtomicInteger[len];
-        final BlockingQueue<Object>[] queues = new ArrayBlockingQueue[len];
-        final Holder<Throwable> errorHolder = new Holder<>();
-        final MutableBoolean onGoing = MutableBoolean.of(true);
+        final HandOffQueue queue = new HandOffQueue(len, queueSize, 1);
+        int idx = 0;
 
-        readToQueue(c, queueSize, asyncExecutor, counters, queues, errorHolder, onGoing);
+        for (Iterator<?> e : c) {
+            readToQueue(e, queue, idx++);
+        }
 
         return of(new QueuedImmutableIterator<R>(queueSize) {
             Object[] next = null;
@@ -2465,22 +2480,10 @@ public abstract class Stream<T> implements BaseStream<T, Stream<T>> {
                 }
 
                 for (int i = 0; i < len; i++) {
-                    try {
-                        while (next[i] == null && onGoing.booleanValue() && (counters[i].get() > 0 || queues[i].size() > 0)) { // (counters[i].get() > 0 || queues[i].size() > 0) is wrong. has to check counter first
-                            next[i] = queues[i].poll(100, TimeUnit.MILLISECONDS);
-                        }
-
-                        if (next[i] == null) {
-                            onGoing.setFalse();
-
-                            return false;
-                        }
-                    } catch (Throwable e) {
-                        setError(errorHolder, e, onGoing);
-                    }
+                    if (next[i] == null && (next[i] = queue.take(i)) == null) {
+                        queue.close();
 
-                    if (errorHolder.value() != null) {
-                        throwError(errorHolder, onGoing);
+                        return false;
                     }
                 }
 
@@ -2521,14 +2524,14 @@ public abstract class Stream<T> implements BaseStream<T, Stream<T>> {
                 } finally {
                     // error happened
                     if (isOK == false) {
-                        onGoing.setFalse();
+                        queue.close();
                     }
                 }
             }
         }).onClose(new Runnable() {
             @Override
             public void run() {
-                onGoing.setFalse();
+                queue.close();
             }
         });
     }
@@ -2573,15 +2576,10 @@ public abstract class Stream<T> implements BaseStream<T, Stream<T>> {
      */
     public static <A, B, R> Stream<R> parallelZip(final Iterator<? extends A> a, final Iterator<? extends B> b, final BiFunction<A, B, R> combiner,
             final int queueSize, final A valueForNoneA, final B valueForNoneB) {
-        final AsyncExecutor asyncExecutor = new AsyncExecutor(2, 300L, TimeUnit.SECONDS);
-        final AtomicInteger threadCounterA = new AtomicInteger(1);
-        final AtomicInteger threadCounterB = new AtomicInteger(1);
-        final BlockingQueue<A> queueA = new ArrayBlockingQueue<>(queueSize);
-        final BlockingQueue<B> queueB = new ArrayBlockingQueue<>(queueSize);
-        final Holder<Throwable> errorHolder = new Holder<>();
-        final MutableBoolean onGoing = MutableBoolean.of(true);
+        final HandOffQueue queue = new HandOffQueue(2, queueSize, 1);
 
-        readToQueue(a, b, asyncExecutor, threadCounterA, threadCounterB, queueA, queueB, errorHolder, onGoing);
+        readToQueue(a, queue, 0);
+        readToQueue(b, queue, 1);
 
         return of(new QueuedImmutableIterator<R>(queueSize) {
             A nextA = null;
@@ -2589,26 +2587,19 @@ public abstract class Stream<T> implements BaseStream<T, Stream<T>> {
 
             @Override
             public boolean hasNext() {
-                try {
-                    while (nextA == null && onGoing.booleanValue() && (threadCounterA.get() > 0 || queueA.size() > 0)) { // (threadCounterA.get() > 0 || queueA.size() > 0) is wrong. has to check counter first
-                        nextA = queueA.poll(100, TimeUnit.MILLISECONDS);
-                    }
-
-                    while (nextB == null && onGoing.booleanValue() && (threadCounterB.get() > 0 || queueB.size() > 0)) { // (threadCounterB.get() > 0 || queueB.size() > 0) is wrong. has to check counter first
-                        nextB = queueB.poll(100, TimeUnit.MILLISECONDS);
-                    }
-                } catch (Throwable e) {
-                    setError(errorHolder, e, onGoing);
+                if (nextA == null) {
+                    nextA = (A) queue.take(0);
                 }
 
-                if (errorHolder.value() != null) {
-                    throwError(errorHolder, onGoing);
+                if (nextB == null) {
+                    nextB = (B) queue.take(1);
                 }
 
                 if (nextA != null || nextB != null) {
                     return true;
                 } else {
-                    onGoing.setFalse();
+                    queue.close();
+
                     return false;
                 }
             }
@@ -2632,14 +2623,14 @@ public abstract class Stream<T> implements BaseStream<T, Stream<T>> {
                 } finally {
                     // error happened
                     if (isOK == false) {
-                        onGoing.setFalse();
+                        queue.close();
                     }
                 }
             }
         }).onClose(new Runnable() {
             @Override
             public void run() {
-                onGoing.setFalse();
+                queue.close();
             }
         });
     }
@@ -2688,17 +2679,11 @@ public abstract class Stream<T> implements BaseStream<T, Stream<T>> {
      */
     public static <A, B, C, R> Stream<R> parallelZip(final Iterator<? extends A> a, final Iterator<? extends B> b, final Iterator<? extends C> c,
             final TriFunction<A, B, C, R> combiner, final int queueSize, final A valueForNoneA, final B valueForNoneB, final C valueForNoneC) {
-        final AsyncExecutor asyncExecutor = new AsyncExecutor(3, 300L, TimeUnit.SECONDS);
-        final AtomicInteger threadCounterA = new AtomicInteger(1);
-        final AtomicInteger threadCounterB = new AtomicInteger(1);
-        final AtomicInteger threadCounterC = new AtomicInteger(1);
-        final BlockingQueue<A> queueA = new ArrayBlockingQueue<>(queueSize);
-        final BlockingQueue<B> queueB = new ArrayBlockingQueue<>(queueSize);
-        final BlockingQueue<C> queueC = new ArrayBlockingQueue<>(queueSize);
-        final Holder<Throwable> errorHolder = new Holder<>();
-        final MutableBoolean onGoing = MutableBoolean.of(true);
-
-        readToQueue(a, b, c, asyncExecutor, threadCounterA, threadCounterB, threadCounterC, queueA, queueB, queueC, errorHolder, onGoing);
+        final HandOffQueue queue = new HandOffQueue(3, queueSize, 1);
+
+        readToQueue(a, queue, 0);
+        readToQueue(b, queue, 1);
+        readToQueue(c, queue, 2);
 
         return of(new QueuedImmutableIterator<R>(queueSize) {
             A nextA = null;
@@ -2707,30 +2692,22 @@ public abstract class Stream<T> implements BaseStream<T, Stream<T>> {
 
             @Override
             public boolean hasNext() {
-                try {
-                    while (nextA == null && onGoing.booleanValue() && (threadCounterA.get() > 0 || queueA.size() > 0)) { // (threadCounterA.get() > 0 || queueA.size() > 0) is wrong. has to check counter first
-                        nextA = queueA.poll(100, TimeUnit.MILLISECONDS);
-                    }
-
-                    while (nextB == null && onGoing.booleanValue() && (threadCounterB.get() > 0 || queueB.size() > 0)) { // (threadCounterB.get() > 0 || queueB.size() > 0) is wrong. has to check counter first
-                        nextB = queueB.poll(100, TimeUnit.MILLISECONDS);
-                    }
+                if (nextA == null) {
+                    nextA = (A) queue.take(0);
+                }
 
-                    while (nextC == null && onGoing.booleanValue() && (threadCounterC.get() > 0 || queueC.size() > 0)) { // (threadCounterC.get() > 0 || queueC.size() > 0) is wrong. has to check counter first
-                        nextC = queueC.poll(100, TimeUnit.MILLISECONDS);
-                    }
-                } catch (Throwable e) {
-                    setError(errorHolder, e, onGoing);
+                if (nextB == null) {
+                    nextB = (B) queue.take(1);
                 }
 
-                if (errorHolder.value() != null) {
-                    throwError(errorHolder, onGoing);
+                if (nextC == null) {
+                    nextC = (C) queue.take(2);
                 }
 
                 if (nextA != null || nextB != null || nextC != null) {
                     return true;
                 } else {
-                    onGoing.setFalse();
+                    queue.close();
 
                     return false;
                 }
@@ -2757,14 +2734,14 @@ public abstract class Stream<T> implements BaseStream<T, Stream<T>> {
                 } finally {
                     // error happened
                     if (isOK == false) {
-                        onGoing.setFalse();
+                        queue.close();
                     }
                 }
             }
         }).onClose(new Runnable() {
             @Override
             public void run() {
-                onGoing.setFalse();
+                queue.close();
             }
         });
     }
@@ -2813,13 +2790,12 @@ public abstract class Stream<T> implements BaseStream<T, Stream<T>> {
         }
 
         final int len = c.size();
-        final AsyncExecutor asyncExecutor = new AsyncExecutor(len, 300L, TimeUnit.SECONDS);
-        final Holder<Throwable> errorHolder = new Holder<>();
-        final MutableBoolean onGoing = MutableBoolean.of(true);
-        final AtomicInteger[] counters = new AtomicInteger[len];
-        final BlockingQueue<Object>[] queues = new ArrayBlockingQueue[len];
+        final HandOffQueue queue = new HandOffQueue(len, queueSize, 1);
+        int idx = 0;
 
-        readToQueue(c, queueSize, asyncExecutor, counters, queues, errorHolder, onGoing);
+        for (Iterator<?> e : c) {
+            readToQueue(e, queue, idx++);
+        }
 
         return of(new QueuedImmutableIterator<R>(queueSize) {
             Object[] next = null;
@@ -2831,16 +2807,8 @@ public abstract class Stream<T> implements BaseStream<T, Stream<T>> {
                 }
 
                 for (int i = 0; i < len; i++) {
-                    try {
-                        while (next[i] == null && onGoing.booleanValue() && (counters[i].get() > 0 || queues[i].size() > 0)) { // (counters[i].get() > 0 || queues[i].size() > 0) is wrong. has to check counter first
-                            next[i] = queues[i].poll(100, TimeUnit.MILLISECONDS);
-                        }
-                    } catch (Throwable e) {
-                        setError(errorHolder, e, onGoing);
-                    }
-
-                    if (errorHolder.value() != null) {
-                        throwError(errorHolder, onGoing);
+                    if (next[i] == null) {
+                        next[i] = queue.take(i);
                     }
                 }
 
@@ -2850,7 +2818,7 @@ public abstract class Stream<T> implements BaseStream<T, Stream<T>> {
                     }
                 }
 
-                onGoing.setFalse();
+                queue.close();
                 return false;
             }
 
@@ -2885,209 +2853,149 @@ public abstract class Stream<T> implements BaseStream<T, Stream<T>> {
                 } finally {
                     // error happened
                     if (isOK == false) {
-                        onGoing.setFalse();
+                        queue.close();
                     }
                 }
             }
         }).onClose(new Runnable() {
             @Override
             public void run() {
-                onGoing.setFalse();
+                queue.close();
             }
         });
     }
 
-    private static <B, A> void readToQueue(final Iterator<? extends A> a, final Iterator<? extends B> b, final AsyncExecutor asyncExecutor,
-            final AtomicInteger threadCounterA, final AtomicInteger threadCounterB, final BlockingQueue<A> queueA, final BlockingQueue<B> queueB,
-            final Holder<Throwable> errorHolder, final MutableBoolean onGoing) {
-        asyncExecutor.execute(new Runnable() {
+    private static void readToQueue(final Iterator<?> iter, final HandOffQueue queue, final int idx) {
+        READING_EXECUTOR.execute(new Runnable() {
             @Override
             public void run() {
                 try {
-                    A nextA = null;
-
-                    while (onGoing.booleanValue() && a.hasNext()) {
-                        nextA = a.next();
-
-                        if (nextA == null) {
-                            nextA = (A) NONE;
-                        }
-
-                        while (onGoing.booleanValue() && queueA.offer(nextA, 100, TimeUnit.MILLISECONDS) == false) {
-                            // continue
-                        }
-                    }
+                    transfer(iter, queue, idx);
                 } catch (Throwable e) {
-                    setError(errorHolder, e, onGoing);
+                    queue.setError(e);
                 } finally {
-                    threadCounterA.decrementAndGet();
+                    queue.producerDone(idx);
                 }
             }
         });
+    }
 
-        asyncExecutor.execute(new Runnable() {
-            @Override
-            public void run() {
-                try {
-                    B nextB = null;
-
-                    while (onGoing.booleanValue() && b.hasNext()) {
-                        nextB = b.next();
+    private static void transfer(final Iterator<?> iter, final HandOffQueue queue, final int idx) {
+        Object next = null;
 
-                        if (nextB == null) {
-                            nextB = (B) NONE;
-                        }
+        while (queue.isClosed() == false && iter.hasNext()) {
+            next = iter.next();
 
-                        while (onGoing.booleanValue() && queueB.offer(nextB, 100, TimeUnit.MILLISECONDS) == false) {
-                            // continue
-                        }
-                    }
-                } catch (Throwable e) {
-                    setError(errorHolder, e, onGoing);
-                } finally {
-                    threadCounterB.decrementAndGet();
-                }
+            if (queue.put(idx, next == null ? NONE : next) == false) {
+                break;
             }
-        });
+        }
     }
 
-    private static <B, C, A> void readToQueue(final Iterator<? extends A> a, final Iterator<? extends B> b, final Iterator<? extends C> c,
-            final AsyncExecutor asyncExecutor, final AtomicInteger threadCounterA, final AtomicInteger threadCounterB, final AtomicInteger threadCounterC,
-            final BlockingQueue<A> queueA, final BlockingQueue<B> queueB, final BlockingQueue<C> queueC, final Holder<Throwable> errorHolder,
-            final MutableBoolean onGoing) {
-        asyncExecutor.execute(new Runnable() {
-            @Override
-            public void run() {
-                try {
-                    A nextA = null;
+    /**
+     * Splits {@code [fromIndex, toIndex)} into at most {@code maxThreadNum} continuous sub-ranges and executes them with {@code PARALLEL_EXECUTOR}.
+     * The first sub-range is executed in the calling thread. 
+     * 
+     * @param fromIndex
+     * @param toIndex
+     * @param maxThreadNum
+     * @param func
+     * @return the results of the sub-ranges, in the order of the sub-ranges.
+     */
+    static <R> List<R> parallelRange(final int fromIndex, final int toIndex, final int maxThreadNum, final RangeFunction<R> func) {
+        final int len = toIndex - fromIndex;
+        final int rangeNum = N.min(maxThreadNum, len);
+
+        if (rangeNum <= 1) {
+            return N.asList(func.apply(fromIndex, toIndex));
+        }
 
-                    while (onGoing.booleanValue() && a.hasNext()) {
-                        nextA = a.next();
+        final int rangeSize = len % rangeNum == 0 ? len / rangeNum : len / rangeNum + 1;
+        final List<Callable<R>> tasks = new ArrayList<>(rangeNum);
 
-                        if (nextA == null) {
-                            nextA = (A) NONE;
-                        }
+        for (int i = 0; i < rangeNum; i++) {
+            final int from = fromIndex + i * rangeSize;
+            final int to = N.min(toIndex, from + rangeSize);
 
-                        while (onGoing.booleanValue() && queueA.offer(nextA, 100, TimeUnit.MILLISECONDS) == false) {
-                            // continue
-                        }
-                    }
-                } catch (Throwable e) {
-                    setError(errorHolder, e, onGoing);
-                } finally {
-                    threadCounterA.decrementAndGet();
-                }
+            if (from >= to) {
+                break;
             }
-        });
-
-        asyncExecutor.execute(new Runnable() {
-            @Override
-            public void run() {
-                try {
-                    B nextB = null;
-
-                    while (onGoing.booleanValue() && b.hasNext()) {
-                        nextB = b.next();
 
-                        if (nextB == null) {
-                            nextB = (B) NONE;
-                        }
-
-                        while (onGoing.booleanValue() && queueB.offer(nextB, 100, TimeUnit.MILLISECONDS) == false) {
-                            // continue
-                        }
-                    }
-                } catch (Throwable e) {
-                    setError(errorHolder, e, onGoing);
-                } finally {
-                    threadCounterB.decrementAndGet();
+            tasks.add(new Callable<R>() {
+                @Override
+                public R call() {
+                    return func.apply(from, to);
                 }
-            }
-        });
+            });
+        }
 
-        asyncExecutor.execute(new Runnable() {
-            @Override
-            public void run() {
-                try {
-                    C nextC = null;
+        return parallelExecute(tasks);
+    }
 
-                    while (onGoing.booleanValue() && c.hasNext()) {
-                        nextC = c.next();
+    /**
+     * Executes the specified {@code worker} by {@code threadNum} threads, including the calling thread.
+     * 
+     * @param threadNum
+     * @param worker
+     * @return
+     */
+    static <R> List<R> parallelExecute(final int threadNum, final Callable<R> worker) {
+        final List<Callable<R>> tasks = new ArrayList<>(threadNum);
 
-                        if (nextC == null) {
-                            nextC = (C) NONE;
-                        }
+        for (int i = 0; i < threadNum; i++) {
+            tasks.add(worker);
+        }
 
-                        while (onGoing.booleanValue() && queueC.offer(nextC, 100, TimeUnit.MILLISECONDS) == false) {
-                            // continue
-                        }
-                    }
-                } catch (Throwable e) {
-                    setError(errorHolder, e, onGoing);
-                } finally {
-                    threadCounterC.decrementAndGet();
-                }
-            }
-        });
+        return parallelExecute(tasks);
     }
 
-    private static void readToQueue(final Collection<? extends Iterator<?>> c, final int queueSize, final AsyncExecutor asyncExecutor,
-            final AtomicInteger[] counters, final BlockingQueue<Object>[] queues, final Holder<Throwable> errorHolder, final MutableBoolean onGoing) {
-        int idx = 0;
+    private static <R> List<R> parallelExecute(final List<Callable<R>> tasks) {
+        final int taskNum = tasks.size();
+        final List<ForkJoinTask<R>> futures = new ArrayList<>(taskNum);
 
-        for (Iterator<?> e : c) {
-            counters[idx] = new AtomicInteger(1);
-            queues[idx] = new ArrayBlockingQueue<>(queueSize);
+        for (int i = 1; i < taskNum; i++) {
+            futures.add(PARALLEL_EXECUTOR.submit(tasks.get(i)));
+        }
 
-            final Iterator<?> iter = e;
-            final AtomicInteger count = counters[idx];
-            final BlockingQueue<Object> queue = queues[idx];
+        final List<R> result = new ArrayList<>(taskNum);
+        Throwable error = null;
 
-            asyncExecutor.execute(new Runnable() {
-                @Override
-                public void run() {
-                    try {
-                        Object next = null;
-
-                        while (onGoing.booleanValue() && iter.hasNext()) {
-                            next = iter.next();
+        try {
+            result.add(tasks.get(0).call());
+        } catch (Throwable e) {
+            error = e;
+        }
 
-                            if (next == null) {
-                                next = NONE;
-                            }
+        for (ForkJoinTask<R> future : futures) {
+            if (error != null) {
+                future.cancel(false);
+                continue;
+            }
 
-                            while (onGoing.booleanValue() && queue.offer(next, 100, TimeUnit.MILLISECONDS) == false) {
-                                // continue
-                            }
-                        }
-                    } catch (Throwable e) {
-                        setError(errorHolder, e, onGoing);
-                    } finally {
-                        count.decrementAndGet();
-                    }
-                }
-            });
+            try {
+                result.add(future.join());
+            } catch (Throwable e) {
+                error = e;
+            }
+        }
 
-            idx++;
+        if (error != null) {
+            throw N.toRuntimeException(error);
         }
-    }
 
-    private static void setError(final Holder<Throwable> errorHolder, Throwable e, final MutableBoolean onGoing) {
-        onGoing.setFalse();
+        return result;
+    }
 
-        synchronized (errorHolder) {
-            if (errorHolder.value() == null) {
-                errorHolder.setValue(e);
-            } else {
-                errorHolder.value().addSuppressed(e);
-            }
+    static int checkMaxThreadNum(final int maxThreadNum) {
+        if (maxThreadNum < 1 || maxThreadNum > MAX_THREAD_NUM_PER_OPERATION) {
+            throw new IllegalArgumentException("'maxThreadNum' must be in the range of [1, " + MAX_THREAD_NUM_PER_OPERATION + "]: " + maxThreadNum);
         }
-    }
 
-    private static void throwError(final Holder<Throwable> errorHolder, final MutableBoolean onGoing) {
-        onGoing.setFalse();
+        return maxThreadNum;
+    }
 
-        throw N.toRuntimeException(errorHolder.value());
+    static interface RangeFunction<R> {
+        R apply(int fromIndex, int toIndex);
     }
 
     static void checkIndex(int fromIndex, int toIndex, int length) {
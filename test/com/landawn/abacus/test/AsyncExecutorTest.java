@@ -0,0 +1,572 @@
+package com.landawn.abacus.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+import com.landawn.abacus.util.AsyncExecutor;
+import com.landawn.abacus.util.AsyncExecutor.RejectionPolicy;
+import com.landawn.abacus.util.AsyncExecutor.Stats;
+import com.landawn.abacus.util.CompletableFuture;
+import com.landawn.abacus.util.N;
+import com.landawn.abacus.util.stream.Collectors;
+import com.landawn.abacus.util.stream.Stream;
+
+public class AsyncExecutorTest {
+
+    @Test
+    public void test_executeAll() {
+        final AsyncExecutor asyncExecutor = new AsyncExecutor(4, 16, RejectionPolicy.BLOCK, 60, TimeUnit.SECONDS);
+        final List<Callable<Integer>> commands = new ArrayList<>();
+
+        for (int i = 0; i < 100; i++) {
+            final int value = i;
+
+            commands.add(new Callable<Integer>() {
+                @Override
+                public Integer call() {
+                    return value * 2;
+                }
+            });
+        }
+
+        final List<Integer> results = asyncExecutor.executeAll(commands, 8, 10, TimeUnit.SECONDS);
+
+        assertEquals(100, results.size());
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i * 2, results.get(i).intValue());
+        }
+    }
+
+    @Test
+    public void test_executeAll_timeout_caller_runs() {
+        // one thread and no space in the queue: the second worker is executed in the calling thread.
+        final AsyncExecutor asyncExecutor = new AsyncExecutor(1, 1, RejectionPolicy.CALLER_RUNS, 60, TimeUnit.SECONDS);
+        final List<Callable<Integer>> commands = new ArrayList<>();
+
+        for (int i = 0; i < 10; i++) {
+            commands.add(new Callable<Integer>() {
+                @Override
+                public Integer call() {
+                    N.sleep(300);
+                    return 0;
+                }
+            });
+        }
+
+        final long startTime = System.currentTimeMillis();
+
+        try {
+            asyncExecutor.executeAll(commands, 5, 200, TimeUnit.MILLISECONDS);
+            fail("Should throw RuntimeException caused by TimeoutException");
+        } catch (RuntimeException e) {
+            assertTrue(e.getCause() instanceof TimeoutException);
+        }
+
+        final long elapsed = System.currentTimeMillis() - startTime;
+
+        // the deadline is exceeded by at most one command executed in the calling thread, instead of all the 10 commands.
+        assertTrue("elapsed: " + elapsed, elapsed < 1000);
+    }
+
+    @Test
+    public void test_rejection_fail_fast() throws Exception {
+        final AsyncExecutor asyncExecutor = new AsyncExecutor(1, 1, RejectionPolicy.FAIL_FAST, 60, TimeUnit.SECONDS);
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        final CompletableFuture<Void> running = asyncExecutor.execute(blocker(started, release));
+        started.await();
+
+        try {
+            final CompletableFuture<Void> queued = asyncExecutor.execute(noop());
+
+            try {
+                asyncExecutor.execute(noop());
+                fail("Should throw RejectedExecutionException");
+            } catch (RejectedExecutionException e) {
+            }
+
+            assertStats(asyncExecutor.getStats(), 1, 1, 0, 1);
+
+            release.countDown();
+            running.get();
+            queued.get();
+
+            assertStats(awaitCompleted(asyncExecutor, 2), 0, 0, 2, 1);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    public void test_rejection_caller_runs() throws Exception {
+        final AsyncExecutor asyncExecutor = new AsyncExecutor(1, 1, RejectionPolicy.CALLER_RUNS, 60, TimeUnit.SECONDS);
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        final CompletableFuture<Void> running = asyncExecutor.execute(blocker(started, release));
+        started.await();
+
+        try {
+            final CompletableFuture<Void> queued = asyncExecutor.execute(noop());
+
+            final AtomicReference<Thread> thread = new AtomicReference<>();
+            final CompletableFuture<Void> callerRuns = asyncExecutor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    thread.set(Thread.currentThread());
+                }
+            });
+
+            // executed in the calling thread before execute returns, and not counted as rejected.
+            assertEquals(Thread.currentThread(), thread.get());
+            assertTrue(callerRuns.isDone());
+            assertStats(asyncExecutor.getStats(), 1, 1, 1, 0);
+
+            release.countDown();
+            running.get();
+            queued.get();
+
+            assertStats(awaitCompleted(asyncExecutor, 3), 0, 0, 3, 0);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    public void test_rejection_block() throws Exception {
+        final AsyncExecutor asyncExecutor = new AsyncExecutor(1, 1, RejectionPolicy.BLOCK, 60, TimeUnit.SECONDS);
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        final CompletableFuture<Void> running = asyncExecutor.execute(blocker(started, release));
+        started.await();
+
+        try {
+            final CompletableFuture<Void> queued = asyncExecutor.execute(noop());
+
+            final AtomicReference<CompletableFuture<Void>> blocked = new AtomicReference<>();
+            final Thread submitter = new Thread() {
+                @Override
+                public void run() {
+                    blocked.set(asyncExecutor.execute(noop()));
+                }
+            };
+
+            submitter.start();
+            awaitWaiting(submitter);
+
+            // the submitter waits for space in the queue.
+            assertEquals(null, blocked.get());
+            assertStats(asyncExecutor.getStats(), 1, 2, 0, 0);
+
+            release.countDown();
+            submitter.join(10000);
+            running.get();
+            queued.get();
+            blocked.get().get();
+
+            assertStats(awaitCompleted(asyncExecutor, 3), 0, 0, 3, 0);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    public void test_rejection_block_shutdown() throws Exception {
+        final AsyncExecutor asyncExecutor = new AsyncExecutor(1, 1, RejectionPolicy.BLOCK, 60, TimeUnit.SECONDS);
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch started2 = new CountDownLatch(1);
+        final CountDownLatch release2 = new CountDownLatch(1);
+
+        final CompletableFuture<Void> running = asyncExecutor.execute(blocker(started, release));
+        started.await();
+
+        try {
+            final CompletableFuture<Void> queued = asyncExecutor.execute(blocker(started2, release2));
+
+            final AtomicBoolean executed = new AtomicBoolean();
+            final AtomicReference<Throwable> error = new AtomicReference<>();
+            final Thread submitter = new Thread() {
+                @Override
+                public void run() {
+                    try {
+                        asyncExecutor.execute(new Runnable() {
+                            @Override
+                            public void run() {
+                                executed.set(true);
+                            }
+                        });
+                    } catch (Throwable e) {
+                        error.set(e);
+                    }
+                }
+            };
+
+            submitter.start();
+            awaitWaiting(submitter);
+
+            // shut down while the submitter waits for space in the queue. The space is freed when the worker takes the second task.
+            final ExecutorService executorService = executorService(asyncExecutor);
+            executorService.shutdown();
+            release.countDown();
+            submitter.join(10000);
+
+            assertTrue(String.valueOf(error.get()), error.get() instanceof RejectedExecutionException);
+
+            // rejected right away after shutdown.
+            try {
+                asyncExecutor.execute(noop());
+                fail("Should throw RejectedExecutionException");
+            } catch (RejectedExecutionException e) {
+            }
+
+            release2.countDown();
+            running.get();
+            queued.get();
+            assertTrue(executorService.awaitTermination(10, TimeUnit.SECONDS));
+
+            assertEquals(false, executed.get());
+            assertStats(asyncExecutor.getStats(), 0, 0, 2, 2);
+        } finally {
+            release.countDown();
+            release2.countDown();
+        }
+    }
+
+    @Test
+    public void test_workStealing() throws Exception {
+        final AsyncExecutor asyncExecutor = AsyncExecutor.newWorkStealingExecutor(2);
+        final List<Callable<Integer>> commands = new ArrayList<>();
+
+        for (int i = 0; i < 100; i++) {
+            final int value = i;
+
+            commands.add(new Callable<Integer>() {
+                @Override
+                public Integer call() {
+                    assertTrue(Thread.currentThread() instanceof ForkJoinWorkerThread);
+                    return value * 2;
+                }
+            });
+        }
+
+        final List<Integer> results = asyncExecutor.executeAll(commands, 4, 10, TimeUnit.SECONDS);
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i * 2, results.get(i).intValue());
+        }
+
+        // the tasks submitted by the other tasks.
+        final CountDownLatch latch = new CountDownLatch(10);
+
+        for (int i = 0; i < 10; i++) {
+            asyncExecutor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    asyncExecutor.execute(new Runnable() {
+                        @Override
+                        public void run() {
+                            latch.countDown();
+                        }
+                    });
+                }
+            });
+        }
+
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+
+        // 4 workers of executeAll, 10 tasks and 10 sub tasks.
+        assertStats(awaitCompleted(asyncExecutor, 24), 0, 0, 24, 0);
+    }
+
+    @Test
+    public void test_stats_queueWait() throws Exception {
+        final AsyncExecutor asyncExecutor = new AsyncExecutor(1, 60, TimeUnit.SECONDS);
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        asyncExecutor.execute(blocker(started, release));
+        started.await();
+
+        try {
+
+            for (int i = 0; i < 99; i++) {
+                asyncExecutor.execute(noop());
+            }
+
+            assertStats(asyncExecutor.getStats(), 1, 99, 0, 0);
+
+            N.sleep(300);
+            release.countDown();
+
+            final Stats stats = awaitCompleted(asyncExecutor, 100);
+            assertStats(stats, 0, 0, 100, 0);
+
+            // 99 of the 100 tasks waited at least 300 milliseconds. The p99 is accurate within 25%.
+            final long millis = TimeUnit.MILLISECONDS.toNanos(1);
+            assertTrue(stats.toString(), stats.getMaxQueueWait() >= 300 * millis);
+            assertTrue(stats.toString(), stats.getP99QueueWait() >= 225 * millis);
+            assertTrue(stats.toString(), stats.getP99QueueWait() <= stats.getMaxQueueWait() * 5 / 4);
+            assertTrue(stats.toString(), stats.getAvgQueueWait() >= 99 * 300 * millis / 100);
+            assertTrue(stats.toString(), stats.getAvgQueueWait() <= stats.getMaxQueueWait());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    public void test_firstN_failures() {
+        final AsyncExecutor asyncExecutor = new AsyncExecutor(4, 60, TimeUnit.SECONDS);
+        final List<Callable<Integer>> commands = new ArrayList<>();
+
+        // 0, 2 and 4 fail.
+        for (int i = 0; i < 5; i++) {
+            commands.add(i % 2 == 0 ? this.<Integer> failing(i) : constant(i));
+        }
+
+        // the failures are ignored while enough commands can succeed.
+        final List<Integer> results = asyncExecutor.firstN(commands, 2, 2, 10, TimeUnit.SECONDS);
+        assertEquals(2, results.size());
+        assertTrue(results.contains(1) && results.contains(3));
+
+        // only 2 of the 5 commands can succeed.
+        try {
+            asyncExecutor.firstN(commands, 3, 2, 10, TimeUnit.SECONDS);
+            fail("Should throw IllegalStateException");
+        } catch (IllegalStateException e) {
+        }
+
+        try {
+            asyncExecutor.anyOf(N.asList(this.<Integer> failing(0), this.<Integer> failing(1)), 10, TimeUnit.SECONDS);
+            fail("Should throw IllegalStateException");
+        } catch (IllegalStateException e) {
+        }
+    }
+
+    @Test
+    public void test_firstN_cancel() {
+        final AsyncExecutor asyncExecutor = new AsyncExecutor(4, 60, TimeUnit.SECONDS);
+        final AtomicInteger startedCount = new AtomicInteger();
+        final AtomicInteger interruptedCount = new AtomicInteger();
+        final List<Callable<Integer>> commands = new ArrayList<>();
+
+        commands.add(constant(0));
+
+        for (int i = 1; i < 10; i++) {
+            commands.add(this.<Integer> sleeping(startedCount, interruptedCount));
+        }
+
+        final long startTime = System.currentTimeMillis();
+
+        assertEquals(N.asList(0), asyncExecutor.firstN(commands, 1, 2, 10, TimeUnit.SECONDS));
+        assertStopped(startedCount, interruptedCount, 2);
+        assertTrue(System.currentTimeMillis() - startTime < 5000);
+
+        startedCount.set(0);
+        interruptedCount.set(0);
+
+        assertEquals(0, asyncExecutor.anyOf(commands, 10, TimeUnit.SECONDS).intValue());
+        assertStopped(startedCount, interruptedCount, commands.size() - 1);
+    }
+
+    @Test
+    public void test_executeAndStream() {
+        final AsyncExecutor asyncExecutor = new AsyncExecutor(4, 60, TimeUnit.SECONDS);
+        final List<Callable<Integer>> commands = new ArrayList<>();
+
+        for (int i = 0; i < 4; i++) {
+            final int value = i;
+
+            commands.add(new Callable<Integer>() {
+                @Override
+                public Integer call() {
+                    N.sleep((4 - value) * 200);
+                    return value;
+                }
+            });
+        }
+
+        final Stream<Integer> stream = asyncExecutor.executeAndStream(commands, 4);
+
+        try {
+            // in the order they complete.
+            assertEquals(N.asList(3, 2, 1, 0), stream.collect(Collectors.<Integer> toList()));
+        } finally {
+            stream.close();
+        }
+
+        // the exception is thrown when the failed result is read.
+        final Stream<Integer> failed = asyncExecutor.executeAndStream(N.asList(constant(0), this.<Integer> failing(1)), 1);
+
+        try {
+            final Iterator<Integer> iter = failed.iterator();
+            assertEquals(0, iter.next().intValue());
+
+            try {
+                iter.next();
+                fail("Should throw IllegalStateException");
+            } catch (IllegalStateException e) {
+            }
+        } finally {
+            failed.close();
+        }
+    }
+
+    @Test
+    public void test_executeAndStream_close() {
+        final AsyncExecutor asyncExecutor = new AsyncExecutor(4, 60, TimeUnit.SECONDS);
+        final AtomicInteger startedCount = new AtomicInteger();
+        final AtomicInteger interruptedCount = new AtomicInteger();
+        final List<Callable<Integer>> commands = new ArrayList<>();
+
+        commands.add(constant(0));
+
+        for (int i = 1; i < 10; i++) {
+            commands.add(this.<Integer> sleeping(startedCount, interruptedCount));
+        }
+
+        final Stream<Integer> stream = asyncExecutor.executeAndStream(commands, 2);
+        assertEquals(0, stream.iterator().next().intValue());
+
+        stream.close();
+
+        assertStopped(startedCount, interruptedCount, 2);
+    }
+
+    /**
+     * Waits until the running commands are interrupted, and checks that at most <code>maxStarted</code> commands were started.
+     */
+    static void assertStopped(final AtomicInteger startedCount, final AtomicInteger interruptedCount, final int maxStarted) {
+        final long endTime = System.currentTimeMillis() + 5000;
+
+        while (interruptedCount.get() < startedCount.get() && System.currentTimeMillis() < endTime) {
+            N.sleep(1);
+        }
+
+        // no more commands are started after the running ones are interrupted.
+        N.sleep(100);
+
+        assertEquals(startedCount.get(), interruptedCount.get());
+        assertTrue("started: " + startedCount.get(), startedCount.get() <= maxStarted);
+    }
+
+    <T> Callable<T> constant(final T value) {
+        return new Callable<T>() {
+            @Override
+            public T call() {
+                return value;
+            }
+        };
+    }
+
+    <T> Callable<T> failing(final int index) {
+        return new Callable<T>() {
+            @Override
+            public T call() {
+                throw new IllegalStateException("command " + index + " failed");
+            }
+        };
+    }
+
+    /**
+     * A command which runs for 10 seconds, unless it's interrupted.
+     */
+    <T> Callable<T> sleeping(final AtomicInteger startedCount, final AtomicInteger interruptedCount) {
+        return new Callable<T>() {
+            @Override
+            public T call() throws InterruptedException {
+                startedCount.incrementAndGet();
+
+                try {
+                    Thread.sleep(10000);
+                } catch (InterruptedException e) {
+                    interruptedCount.incrementAndGet();
+                    throw e;
+                }
+
+                return null;
+            }
+        };
+    }
+
+    static Runnable blocker(final CountDownLatch started, final CountDownLatch release) {
+        return new Runnable() {
+            @Override
+            public void run() {
+                started.countDown();
+
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        };
+    }
+
+    static Runnable noop() {
+        return new Runnable() {
+            @Override
+            public void run() {
+            }
+        };
+    }
+
+    static void assertStats(final Stats stats, final int activeCount, final int queueSize, final long completedCount, final long rejectedCount) {
+        assertEquals(stats.toString(), activeCount, stats.getActiveCount());
+        assertEquals(stats.toString(), queueSize, stats.getQueueSize());
+        assertEquals(stats.toString(), completedCount, stats.getCompletedCount());
+        assertEquals(stats.toString(), rejectedCount, stats.getRejectedCount());
+    }
+
+    /**
+     * The future is done before the task is counted as completed.
+     */
+    static Stats awaitCompleted(final AsyncExecutor asyncExecutor, final long completedCount) {
+        final long endTime = System.currentTimeMillis() + 10000;
+        Stats stats = null;
+
+        while ((stats = asyncExecutor.getStats()).getCompletedCount() < completedCount && System.currentTimeMillis() < endTime) {
+            N.sleep(1);
+        }
+
+        return stats;
+    }
+
+    static void awaitWaiting(final Thread thread) {
+        final long endTime = System.currentTimeMillis() + 10000;
+
+        while (thread.getState() != Thread.State.WAITING && System.currentTimeMillis() < endTime) {
+            N.sleep(1);
+        }
+
+        assertEquals(Thread.State.WAITING, thread.getState());
+    }
+
+    static ExecutorService executorService(final AsyncExecutor asyncExecutor) throws Exception {
+        final Method method = AsyncExecutor.class.getDeclaredMethod("getExecutorService");
+        method.setAccessible(true);
+        return (ExecutorService) method.invoke(asyncExecutor);
+    }
+}
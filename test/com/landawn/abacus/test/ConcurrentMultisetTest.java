@@ -0,0 +1,253 @@
+package com.landawn.abacus.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+import com.landawn.abacus.util.ConcurrentIntMultiset;
+import com.landawn.abacus.util.ConcurrentLongMultiset;
+import com.landawn.abacus.util.ConcurrentMultiset;
+
+/**
+ * Runs concurrent adds and removes on a few hot keys, so the counters drop to 0 and are replaced while other threads update them,
+ * and checks that every key ends with <code>adds - successful removes</code>.
+ */
+public class ConcurrentMultisetTest {
+    static final int THREAD_NUM = 8;
+    static final int OPS_PER_THREAD = 200000;
+    static final int KEY_NUM = 4;
+
+    @Test
+    public void test_concurrentMultiset() throws Exception {
+        final ConcurrentMultiset<String> multiset = new ConcurrentMultiset<>();
+
+        verify(new Ops() {
+            @Override
+            public void add(int key) {
+                multiset.add(String.valueOf(key));
+            }
+
+            @Override
+            public boolean remove(int key) {
+                return multiset.getAndRemove(String.valueOf(key)) > 0;
+            }
+
+            @Override
+            public int get(int key) {
+                return multiset.get(String.valueOf(key));
+            }
+
+            @Override
+            public int size() {
+                return multiset.size();
+            }
+
+            @Override
+            public long sumOfOccurrences() {
+                return multiset.sumOfOccurrences();
+            }
+
+            @Override
+            public Map<?, Integer> toMap() {
+                return multiset.toMap();
+            }
+        });
+    }
+
+    @Test
+    public void test_concurrentIntMultiset() throws Exception {
+        final ConcurrentIntMultiset multiset = new ConcurrentIntMultiset(2);
+
+        verify(new Ops() {
+            @Override
+            public void add(int key) {
+                multiset.add(key);
+            }
+
+            @Override
+            public boolean remove(int key) {
+                return multiset.getAndRemove(key) > 0;
+            }
+
+            @Override
+            public int get(int key) {
+                return multiset.get(key);
+            }
+
+            @Override
+            public int size() {
+                return multiset.size();
+            }
+
+            @Override
+            public long sumOfOccurrences() {
+                return multiset.sumOfOccurrences();
+            }
+
+            @Override
+            public Map<?, Integer> toMap() {
+                return multiset.toMap();
+            }
+        });
+    }
+
+    @Test
+    public void test_concurrentLongMultiset() throws Exception {
+        final ConcurrentLongMultiset multiset = new ConcurrentLongMultiset(2);
+
+        verify(new Ops() {
+            @Override
+            public void add(int key) {
+                multiset.add(key * 3000000000L);
+            }
+
+            @Override
+            public boolean remove(int key) {
+                return multiset.getAndRemove(key * 3000000000L) > 0;
+            }
+
+            @Override
+            public int get(int key) {
+                return multiset.get(key * 3000000000L);
+            }
+
+            @Override
+            public int size() {
+                return multiset.size();
+            }
+
+            @Override
+            public long sumOfOccurrences() {
+                return multiset.sumOfOccurrences();
+            }
+
+            @Override
+            public Map<?, Integer> toMap() {
+                return multiset.toMap();
+            }
+        });
+    }
+
+    private void verify(final Ops ops) throws Exception {
+        final AtomicInteger[] adds = new AtomicInteger[KEY_NUM];
+        final AtomicInteger[] removes = new AtomicInteger[KEY_NUM];
+
+        for (int i = 0; i < KEY_NUM; i++) {
+            adds[i] = new AtomicInteger();
+            removes[i] = new AtomicInteger();
+        }
+
+        final CountDownLatch startLatch = new CountDownLatch(1);
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+        final Thread[] threads = new Thread[THREAD_NUM];
+
+        for (int t = 0; t < THREAD_NUM; t++) {
+            final Random rand = new Random(t);
+
+            threads[t] = new Thread() {
+                @Override
+                public void run() {
+                    try {
+                        startLatch.await();
+
+                        for (int i = 0; i < OPS_PER_THREAD; i++) {
+                            final int key = rand.nextInt(KEY_NUM);
+
+                            // removes are about as frequent as adds, so the counts often drop to 0.
+                            if (rand.nextInt(100) < 52) {
+                                ops.add(key);
+                                adds[key].incrementAndGet();
+                            } else if (ops.remove(key)) {
+                                removes[key].incrementAndGet();
+                            }
+
+                            if (i % 1000 == 0) {
+                                // the snapshot never has a count of 0 or less.
+                                for (Integer count : ops.toMap().values()) {
+                                    assertTrue(count > 0);
+                                }
+                            }
+                        }
+                    } catch (Throwable e) {
+                        error.compareAndSet(null, e);
+                    }
+                }
+            };
+
+            threads[t].start();
+        }
+
+        startLatch.countDown();
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        if (error.get() != null) {
+            throw new AssertionError(error.get());
+        }
+
+        long sum = 0;
+        int size = 0;
+
+        for (int key = 0; key < KEY_NUM; key++) {
+            final int expected = adds[key].get() - removes[key].get();
+
+            assertTrue(expected >= 0);
+            assertEquals(expected, ops.get(key));
+
+            sum += expected;
+            size += expected > 0 ? 1 : 0;
+        }
+
+        assertEquals(sum, ops.sumOfOccurrences());
+        assertEquals(size, ops.size());
+
+        // drain concurrently: exactly as many removes succeed as the occurrences left.
+        final AtomicInteger drained = new AtomicInteger();
+
+        for (int t = 0; t < THREAD_NUM; t++) {
+            threads[t] = new Thread() {
+                @Override
+                public void run() {
+                    for (int key = 0; key < KEY_NUM; key++) {
+                        while (ops.remove(key)) {
+                            drained.incrementAndGet();
+                        }
+                    }
+                }
+            };
+
+            threads[t].start();
+        }
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(sum, drained.get());
+        assertEquals(0, ops.size());
+        assertEquals(0, ops.sumOfOccurrences());
+    }
+
+    static interface Ops {
+        void add(int key);
+
+        boolean remove(int key);
+
+        int get(int key);
+
+        int size();
+
+        long sumOfOccurrences();
+
+        Map<?, Integer> toMap();
+    }
+}
@@ -0,0 +1,175 @@
+package com.landawn.abacus.test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.landawn.abacus.util.IntList;
+import com.landawn.abacus.util.function.BiConsumer;
+import com.landawn.abacus.util.function.BiFunction;
+import com.landawn.abacus.util.function.BinaryOperator;
+import com.landawn.abacus.util.function.Function;
+import com.landawn.abacus.util.function.IntUnaryOperator;
+import com.landawn.abacus.util.function.ObjIntConsumer;
+import com.landawn.abacus.util.function.Predicate;
+import com.landawn.abacus.util.function.Supplier;
+import com.landawn.abacus.util.stream.Collectors;
+import com.landawn.abacus.util.stream.IntStream;
+import com.landawn.abacus.util.stream.Stream;
+
+/**
+ * Checks that <code>reduce/collect/toArray</code> on the parallel streams keep the encounter order, while the worker threads take the batches
+ * in any order. The mappers yield now and then, so the threads interleave even on one core.
+ */
+public class ParallelStreamTest {
+    static final int SIZE = 100000;
+    static final int THREAD_NUM = 4;
+
+    static final Function<Integer, Integer> slowIdentity = new Function<Integer, Integer>() {
+        @Override
+        public Integer apply(Integer t) {
+            if (t % 97 == 0) {
+                Thread.yield();
+            }
+
+            return t;
+        }
+    };
+
+    static final Predicate<Integer> isEven = new Predicate<Integer>() {
+        @Override
+        public boolean test(Integer t) {
+            return t % 2 == 0;
+        }
+    };
+
+    final Integer[] a = new Integer[SIZE];
+
+    {
+        for (int i = 0; i < SIZE; i++) {
+            a[i] = i;
+        }
+    }
+
+    @Test
+    public void test_collect() {
+        assertEquals(Arrays.asList(a), Stream.of(a).parallel(THREAD_NUM).map(slowIdentity).collect(Collectors.<Integer> toList()));
+
+        // from an iterator.
+        assertEquals(Arrays.asList(a), Stream.of(Arrays.asList(a).iterator()).parallel(THREAD_NUM).map(slowIdentity).collect(new Supplier<List<Integer>>() {
+            @Override
+            public List<Integer> get() {
+                return new ArrayList<>();
+            }
+        }, new BiConsumer<List<Integer>, Integer>() {
+            @Override
+            public void accept(List<Integer> list, Integer t) {
+                list.add(t);
+            }
+        }, new BiConsumer<List<Integer>, List<Integer>>() {
+            @Override
+            public void accept(List<Integer> list, List<Integer> other) {
+                list.addAll(other);
+            }
+        }));
+
+        assertEquals(0, Stream.of(new Integer[0]).parallel(THREAD_NUM).map(slowIdentity).collect(Collectors.<Integer> toList()).size());
+    }
+
+    @Test
+    public void test_toArray_count() {
+        final Integer[] evens = new Integer[SIZE / 2];
+
+        for (int i = 0; i < evens.length; i++) {
+            evens[i] = i * 2;
+        }
+
+        assertArrayEquals(evens, Stream.of(a).parallel(THREAD_NUM).map(slowIdentity).filter(isEven).toArray());
+        assertEquals(SIZE / 2, Stream.of(a).parallel(THREAD_NUM).filter(isEven).count());
+        assertEquals(0, Stream.of(new Integer[0]).parallel(THREAD_NUM).map(slowIdentity).toArray().length);
+    }
+
+    @Test
+    public void test_flatMap() {
+        final List<Integer> expected = new ArrayList<>();
+
+        for (int i = 0; i < SIZE; i++) {
+            expected.addAll(i % 1000 == 0 ? Collections.nCopies(700, i) : Arrays.asList(i));
+        }
+
+        // some elements are flattened to more than one batch.
+        assertEquals(expected, Stream.of(a).parallel(THREAD_NUM).flatMap3(new Function<Integer, Collection<Integer>>() {
+            @Override
+            public Collection<Integer> apply(Integer t) {
+                return t % 1000 == 0 ? Collections.nCopies(700, t) : Arrays.asList(slowIdentity.apply(t));
+            }
+        }).collect(Collectors.<Integer> toList()));
+    }
+
+    @Test
+    public void test_reduce() {
+        final StringBuilder sb = new StringBuilder();
+
+        for (int i = 0; i < 2000; i++) {
+            sb.append(i).append(',');
+        }
+
+        // the concatenation is associative, but not commutative.
+        assertEquals(sb.toString(), Stream.of(a).parallel(THREAD_NUM).limit(2000).map(slowIdentity).reduce("", new BiFunction<String, Integer, String>() {
+            @Override
+            public String apply(String result, Integer t) {
+                return result + t + ",";
+            }
+        }, new BinaryOperator<String>() {
+            @Override
+            public String apply(String result, String other) {
+                return result + other;
+            }
+        }));
+
+        assertEquals(false, Stream.of(new Integer[0]).parallel(THREAD_NUM).map(slowIdentity).reduce(new BinaryOperator<Integer>() {
+            @Override
+            public Integer apply(Integer t, Integer u) {
+                return t + u;
+            }
+        }).isPresent());
+    }
+
+    @Test
+    public void test_intStream() {
+        final IntList list = IntStream.range(0, SIZE).parallel(THREAD_NUM).map(new IntUnaryOperator() {
+            @Override
+            public int applyAsInt(int t) {
+                return slowIdentity.apply(t);
+            }
+        }).collect(new Supplier<IntList>() {
+            @Override
+            public IntList get() {
+                return new IntList();
+            }
+        }, new ObjIntConsumer<IntList>() {
+            @Override
+            public void accept(IntList list, int t) {
+                list.add(t);
+            }
+        }, new BiConsumer<IntList, IntList>() {
+            @Override
+            public void accept(IntList list, IntList other) {
+                list.addAll(other);
+            }
+        });
+
+        assertEquals(SIZE, list.size());
+
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(i, list.get(i));
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.landawn.abacus.test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.landawn.abacus.util.N;
+
+/**
+ * Checks <code>N.kthLargest/N.top/N.median</code> against a sorted copy, with ties and degenerate ranges.
+ */
+public class SelectionTest {
+    // both the top-k selector (n <= length / 16) and the introselect paths are covered.
+    static final int[] SIZES = { 1, 2, 3, 17, 100, 1000, 10000 };
+
+    final Random rand = new Random(7);
+
+    @Test
+    public void test_kthLargest_int() {
+        for (int size : SIZES) {
+            for (int bound : new int[] { 2, 10, Integer.MAX_VALUE }) {
+                final int[] a = ints(size, bound);
+                final int[] sorted = a.clone();
+                Arrays.sort(sorted);
+
+                for (int k : ks(size)) {
+                    assertEquals(sorted[size - k], N.kthLargest(a, k));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void test_kthLargest_long() {
+        for (int size : SIZES) {
+            final long[] a = new long[size];
+
+            for (int i = 0; i < size; i++) {
+                a[i] = rand.nextInt(5) == 0 ? Long.MIN_VALUE : rand.nextLong();
+            }
+
+            final long[] sorted = a.clone();
+            Arrays.sort(sorted);
+
+            for (int k : ks(size)) {
+                assertEquals(sorted[size - k], N.kthLargest(a, k));
+            }
+        }
+    }
+
+    @Test
+    public void test_kthLargest_double() {
+        final double[] special = { -0.0d, 0.0d, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY };
+
+        for (int size : SIZES) {
+            final double[] a = new double[size];
+
+            for (int i = 0; i < size; i++) {
+                a[i] = rand.nextInt(4) == 0 ? special[rand.nextInt(special.length)] : rand.nextInt(100) - 50;
+            }
+
+            final double[] sorted = a.clone();
+            Arrays.sort(sorted);
+
+            for (int k : ks(size)) {
+                assertEquals(Double.doubleToLongBits(sorted[size - k]), Double.doubleToLongBits(N.kthLargest(a, k)));
+            }
+        }
+    }
+
+    @Test
+    public void test_kthLargest_range() {
+        final int[] a = ints(1000, 10);
+
+        for (int[] range : new int[][] { { 0, 1 }, { 999, 1000 }, { 100, 102 }, { 100, 900 } }) {
+            final int[] sorted = N.copyOfRange(a, range[0], range[1]);
+            Arrays.sort(sorted);
+
+            for (int k : ks(sorted.length)) {
+                assertEquals(sorted[sorted.length - k], N.kthLargest(a, range[0], range[1], k));
+            }
+        }
+
+        try {
+            N.kthLargest(a, 10, 10, 1);
+            fail("Should throw IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+        }
+
+        try {
+            N.kthLargest(a, 0);
+            fail("Should throw IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+        }
+
+        try {
+            N.kthLargest(a, 1001);
+            fail("Should throw IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+        }
+
+        try {
+            N.kthLargest(new int[0], 1);
+            fail("Should throw IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+        }
+    }
+
+    @Test
+    public void test_median() {
+        for (int size : SIZES) {
+            final int[] a = ints(size, 10);
+            final int[] sorted = a.clone();
+            Arrays.sort(sorted);
+
+            final int expected = size == 2 ? sorted[0] : sorted[size - (size / 2 + 1)];
+            assertEquals(expected, N.median(a));
+        }
+    }
+
+    @Test
+    public void test_top_int() {
+        for (int size : SIZES) {
+            for (int bound : new int[] { 1, 3, Integer.MAX_VALUE }) {
+                final int[] a = ints(size, bound);
+
+                for (int n : ks(size)) {
+                    assertArrayEquals(expectedTop(a, 0, size, n), N.top(a, n));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void test_top_long() {
+        for (int size : SIZES) {
+            final long[] a = new long[size];
+
+            for (int i = 0; i < size; i++) {
+                a[i] = rand.nextInt(3) - 1L;
+            }
+
+            for (int n : ks(size)) {
+                final int[] expected = expectedTop(toInts(a), 0, size, n);
+                final long[] top = N.top(a, n);
+
+                assertEquals(expected.length, top.length);
+
+                for (int i = 0; i < top.length; i++) {
+                    assertEquals(expected[i], top[i]);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void test_top_range() {
+        final int[] a = ints(1000, 5);
+
+        for (int[] range : new int[][] { { 0, 1 }, { 999, 1000 }, { 100, 102 }, { 100, 900 } }) {
+            for (int n : ks(range[1] - range[0])) {
+                assertArrayEquals(expectedTop(a, range[0], range[1], n), N.top(a, range[0], range[1], n));
+            }
+        }
+
+        // n is bigger than the length of the range.
+        assertArrayEquals(N.copyOfRange(a, 10, 20), N.top(a, 10, 20, 100));
+        assertArrayEquals(new int[0], N.top(a, 10, 10, 1));
+
+        try {
+            N.top(a, 0);
+            fail("Should throw IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+        }
+    }
+
+    /**
+     * The top n values in their original order. Of the values equal to the nth largest one, the ones in front are taken.
+     */
+    static int[] expectedTop(final int[] a, final int fromIndex, final int toIndex, final int n) {
+        final Integer[] indices = new Integer[toIndex - fromIndex];
+
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = fromIndex + i;
+        }
+
+        // stable: the equal values keep the order of their indices.
+        Arrays.sort(indices, new Comparator<Integer>() {
+            @Override
+            public int compare(Integer i, Integer j) {
+                return Integer.compare(a[j], a[i]);
+            }
+        });
+
+        final Integer[] topIndices = Arrays.copyOf(indices, N.min(n, indices.length));
+        Arrays.sort(topIndices);
+
+        final int[] result = new int[topIndices.length];
+
+        for (int i = 0; i < result.length; i++) {
+            result[i] = a[topIndices[i]];
+        }
+
+        return result;
+    }
+
+    int[] ints(final int size, final int bound) {
+        final int[] a = new int[size];
+
+        for (int i = 0; i < size; i++) {
+            a[i] = bound == Integer.MAX_VALUE ? rand.nextInt() : rand.nextInt(bound);
+        }
+
+        return a;
+    }
+
+    static int[] ks(final int size) {
+        return N.removeDuplicates(new int[] { 1, N.min(2, size), N.max(1, size / 16), N.max(1, size / 16 + 1), N.max(1, size / 2), N.max(1, size - 1), size },
+                false);
+    }
+
+    static int[] toInts(final long[] a) {
+        final int[] result = new int[a.length];
+
+        for (int i = 0; i < a.length; i++) {
+            result[i] = (int) a[i];
+        }
+
+        return result;
+    }
+}
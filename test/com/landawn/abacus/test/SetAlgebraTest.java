@@ -0,0 +1,218 @@
+package com.landawn.abacus.test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.landawn.abacus.util.Array;
+import com.landawn.abacus.util.IntList;
+import com.landawn.abacus.util.LongList;
+import com.landawn.abacus.util.N;
+
+/**
+ * Checks <code>intersection/difference/disjoint/containsAll/retainAll/removeAll</code> on the <code>int/long</code> arrays and lists against a nested loop,
+ * with the inputs chosen for each strategy: scan, sorted merge, galloping, binary search and hash.
+ */
+public class SetAlgebraTest {
+    final Random rand = new Random(3);
+
+    @Test
+    public void test_int_array() {
+        for (int[][] pair : pairs()) {
+            final int[] a = pair[0];
+            final int[] b = pair[1];
+
+            assertArrayEquals(expected(a, b, true), N.intersection(a, b));
+            assertArrayEquals(expected(a, b, false), N.difference(a, b));
+            assertEquals(expected(a, b, true).length == 0, N.disjoint(a, b));
+
+            if (isSorted(b)) {
+                assertEquals(expected(a, b, true).length == 0, N.disjoint(a, b, true));
+            }
+        }
+    }
+
+    @Test
+    public void test_long_array() {
+        for (int[][] pair : pairs()) {
+            final long[] a = toLongs(pair[0]);
+            final long[] b = toLongs(pair[1]);
+
+            assertArrayEquals(toLongs(expected(pair[0], pair[1], true)), N.intersection(a, b));
+            assertArrayEquals(toLongs(expected(pair[0], pair[1], false)), N.difference(a, b));
+            assertEquals(expected(pair[0], pair[1], true).length == 0, N.disjoint(a, b));
+        }
+    }
+
+    @Test
+    public void test_int_list() {
+        for (int[][] pair : pairs()) {
+            final int[] a = pair[0];
+            final int[] b = pair[1];
+
+            assertArrayEquals(expected(a, b, true), list(a).intersection(list(b)).trimToSize().array());
+            assertArrayEquals(expected(a, b, false), list(a).difference(list(b)).trimToSize().array());
+            assertEquals(expected(a, b, true).length == 0, list(a).disjoint(list(b)));
+            assertEquals(expected(b, a, false).length == 0, list(a).containsAll(list(b)));
+
+            final IntList retained = list(a);
+            assertEquals(expected(a, b, true).length < a.length, retained.retainAll(list(b)));
+            assertArrayEquals(expected(a, b, true), retained.trimToSize().array());
+
+            final IntList removed = list(a);
+            assertEquals(expected(a, b, false).length < a.length, removed.removeAll(list(b)));
+            assertArrayEquals(expected(a, b, false), removed.trimToSize().array());
+        }
+    }
+
+    @Test
+    public void test_long_list() {
+        for (int[][] pair : pairs()) {
+            final long[] a = toLongs(pair[0]);
+            final long[] b = toLongs(pair[1]);
+
+            assertArrayEquals(toLongs(expected(pair[0], pair[1], true)), LongList.of(a).intersection(LongList.of(b)).trimToSize().array());
+            assertArrayEquals(toLongs(expected(pair[0], pair[1], false)), LongList.of(a).difference(LongList.of(b)).trimToSize().array());
+            assertEquals(expected(pair[0], pair[1], true).length == 0, LongList.of(a).disjoint(LongList.of(b)));
+            assertEquals(expected(pair[1], pair[0], false).length == 0, LongList.of(a).containsAll(LongList.of(b)));
+
+            final LongList retained = LongList.of(a.clone());
+            retained.retainAll(LongList.of(b));
+            assertArrayEquals(toLongs(expected(pair[0], pair[1], true)), retained.trimToSize().array());
+        }
+    }
+
+    @Test
+    public void test_self() {
+        final int[] a = ints(5000, 1000, false);
+
+        final IntList list = list(a);
+        assertEquals(false, list.retainAll(list));
+        assertArrayEquals(a, list.trimToSize().array());
+
+        assertEquals(true, list.removeAll(list));
+        assertEquals(0, list.size());
+
+        assertArrayEquals(a, N.intersection(a, a));
+        assertArrayEquals(new int[0], N.difference(a, a));
+        assertEquals(false, N.disjoint(a, a));
+    }
+
+    /**
+     * The pairs of arrays for each strategy, plus the empty, identical and non-overlapping ones.
+     */
+    List<int[][]> pairs() {
+        final List<int[][]> pairs = new ArrayList<>();
+
+        // empty.
+        pairs.add(new int[][] { {}, {} });
+        pairs.add(new int[][] { {}, ints(100, 10, false) });
+        pairs.add(new int[][] { ints(100, 10, false), {} });
+        pairs.add(new int[][] { { 0 }, { 0 } });
+        pairs.add(new int[][] { { Integer.MIN_VALUE, Integer.MAX_VALUE }, { Integer.MAX_VALUE } });
+
+        // scan, with duplicates.
+        pairs.add(new int[][] { ints(20, 10, false), ints(30, 10, false) });
+
+        // sorted merge.
+        pairs.add(new int[][] { ints(5000, 10000, true), ints(4000, 10000, true) });
+        pairs.add(new int[][] { ints(5000, 100, true), ints(5000, 100, true) });
+
+        // galloping, in both directions.
+        pairs.add(new int[][] { ints(100, 100000, true), ints(100000, 100000, true) });
+        pairs.add(new int[][] { ints(100000, 100000, true), ints(100, 100000, true) });
+
+        // binary search in the sorted one.
+        pairs.add(new int[][] { ints(20, 100000, false), ints(100000, 100000, true) });
+        pairs.add(new int[][] { ints(100000, 100000, true), ints(20, 100000, false) });
+
+        // hash.
+        pairs.add(new int[][] { ints(5000, 10000, false), ints(5000, 10000, false) });
+        pairs.add(new int[][] { ints(100000, Integer.MAX_VALUE, false), ints(3000, Integer.MAX_VALUE, false) });
+
+        // identical and non-overlapping.
+        final int[] a = ints(5000, 10000, true);
+        pairs.add(new int[][] { a, a.clone() });
+        pairs.add(new int[][] { ints(5000, 10000, true), Array.range(20000, 25000) });
+        pairs.add(new int[][] { ints(5000, 10000, false), Array.range(-5000, 0) });
+
+        return pairs;
+    }
+
+    int[] ints(final int size, final int bound, final boolean sorted) {
+        final int[] a = new int[size];
+
+        for (int i = 0; i < size; i++) {
+            a[i] = bound == Integer.MAX_VALUE ? rand.nextInt() : rand.nextInt(bound);
+        }
+
+        if (sorted) {
+            Arrays.sort(a);
+        }
+
+        return a;
+    }
+
+    /**
+     * A list over a bigger array, with the values of <code>a</code> in front and garbage after its size.
+     */
+    IntList list(final int[] a) {
+        final int[] array = Arrays.copyOf(a, a.length + 10);
+
+        for (int i = a.length; i < array.length; i++) {
+            array[i] = rand.nextInt(10);
+        }
+
+        return IntList.of(array, a.length);
+    }
+
+    static int[] expected(final int[] a, final int[] b, final boolean retain) {
+        final IntList result = new IntList();
+
+        for (int x : a) {
+            boolean found = false;
+
+            for (int y : b) {
+                if (x == y) {
+                    found = true;
+                    break;
+                }
+            }
+
+            if (found == retain) {
+                result.add(x);
+            }
+        }
+
+        return result.trimToSize().array();
+    }
+
+    static boolean isSorted(final int[] a) {
+        for (int i = 1; i < a.length; i++) {
+            if (a[i] < a[i - 1]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Spreads the values beyond the range of <code>int</code>, keeping their order.
+     */
+    static long[] toLongs(final int[] a) {
+        final long[] result = new long[a.length];
+
+        for (int i = 0; i < a.length; i++) {
+            result[i] = a[i] * 3000000000L;
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,251 @@
+package com.landawn.abacus.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Compares <code>N.bucketSort</code> with <code>Arrays.sort</code>. It's in the package of {@code Array} to turn on the parallel path by {@code Array.CPU_CORES}.
+ */
+public class RadixSortTest {
+    static final int[] SIZES = { 0, 1, 2, 100, RadixSort.MIN_RADIX_SORT_SIZE - 1, RadixSort.MIN_RADIX_SORT_SIZE, RadixSort.MIN_RADIX_SORT_SIZE_64, 10000,
+            100000 };
+
+    static final int PARALLEL_SIZE = RadixSort.MIN_PARALLEL_RADIX_SORT_SIZE + 17;
+
+    final Random rand = new Random(11);
+
+    @Test
+    public void test_char() {
+        for (int size : SIZES) {
+            for (int range : new int[] { 1, 2, 100, Character.MAX_VALUE + 1 }) {
+                final char[] a = new char[size];
+
+                for (int i = 0; i < size; i++) {
+                    a[i] = (char) rand.nextInt(range);
+                }
+
+                final char[] expected = a.clone();
+                Arrays.sort(expected);
+                N.bucketSort(a);
+
+                assertArrayEquals(expected, a);
+            }
+        }
+    }
+
+    @Test
+    public void test_byte() {
+        for (int size : SIZES) {
+            final byte[] a = new byte[size];
+            rand.nextBytes(a);
+
+            final byte[] expected = a.clone();
+            Arrays.sort(expected);
+            N.bucketSort(a);
+
+            assertArrayEquals(expected, a);
+        }
+    }
+
+    @Test
+    public void test_short() {
+        for (int size : SIZES) {
+            for (int range : new int[] { 1, 100, 1 << 16 }) {
+                final short[] a = new short[size];
+
+                for (int i = 0; i < size; i++) {
+                    a[i] = (short) (rand.nextInt(range) - range / 2);
+                }
+
+                final short[] expected = a.clone();
+                Arrays.sort(expected);
+                N.bucketSort(a);
+
+                assertArrayEquals(expected, a);
+            }
+        }
+    }
+
+    @Test
+    public void test_int() {
+        for (int size : SIZES) {
+            for (int[] a : ints(size)) {
+                final int[] expected = a.clone();
+                Arrays.sort(expected);
+                N.bucketSort(a);
+
+                assertArrayEquals(expected, a);
+            }
+        }
+    }
+
+    @Test
+    public void test_long() {
+        for (int size : SIZES) {
+            for (long[] a : longs(size)) {
+                final long[] expected = a.clone();
+                Arrays.sort(expected);
+                N.bucketSort(a);
+
+                assertArrayEquals(expected, a);
+            }
+        }
+    }
+
+    @Test
+    public void test_float() {
+        for (int size : SIZES) {
+            final float[] a = floats(size);
+            final float[] expected = a.clone();
+            Arrays.sort(expected);
+            N.bucketSort(a);
+
+            // Arrays.equals compares the bits, so -0.0 and 0.0 are different.
+            assertTrue(Arrays.equals(expected, a));
+        }
+    }
+
+    @Test
+    public void test_double() {
+        for (int size : SIZES) {
+            final double[] a = doubles(size);
+            final double[] expected = a.clone();
+            Arrays.sort(expected);
+            N.bucketSort(a);
+
+            assertTrue(Arrays.equals(expected, a));
+        }
+    }
+
+    @Test
+    public void test_range() {
+        final int size = 10000;
+        final int fromIndex = 123;
+        final int toIndex = size - 456;
+
+        final int[] a = ints(size)[0];
+        final int[] expected = a.clone();
+        Arrays.sort(expected, fromIndex, toIndex);
+        N.bucketSort(a, fromIndex, toIndex);
+        assertArrayEquals(expected, a);
+
+        final long[] b = longs(size)[0];
+        final long[] expected2 = b.clone();
+        Arrays.sort(expected2, fromIndex, toIndex);
+        N.bucketSort(b, fromIndex, toIndex);
+        assertArrayEquals(expected2, b);
+
+        final double[] c = doubles(size);
+        final double[] expected3 = c.clone();
+        Arrays.sort(expected3, fromIndex, toIndex);
+        N.bucketSort(c, fromIndex, toIndex);
+        assertTrue(Arrays.equals(expected3, c));
+
+        // empty range.
+        final int[] d = ints(100)[0];
+        final int[] expected4 = d.clone();
+        N.bucketSort(d, 50, 50);
+        assertArrayEquals(expected4, d);
+    }
+
+    @Test
+    public void test_parallel() {
+        final int cpuCores = Array.CPU_CORES;
+        Array.CPU_CORES = 4;
+
+        try {
+            for (int[] a : ints(PARALLEL_SIZE)) {
+                final int[] expected = a.clone();
+                Arrays.sort(expected);
+                N.bucketSort(a);
+
+                assertArrayEquals(expected, a);
+            }
+
+            for (long[] a : longs(PARALLEL_SIZE)) {
+                final long[] expected = a.clone();
+                Arrays.sort(expected);
+                N.bucketSort(a);
+
+                assertArrayEquals(expected, a);
+            }
+
+            final float[] b = floats(PARALLEL_SIZE);
+            final float[] expected = b.clone();
+            Arrays.sort(expected);
+            N.bucketSort(b);
+            assertTrue(Arrays.equals(expected, b));
+
+            final double[] c = doubles(PARALLEL_SIZE);
+            final double[] expected2 = c.clone();
+            Arrays.sort(expected2);
+            N.bucketSort(c);
+            assertTrue(Arrays.equals(expected2, c));
+        } finally {
+            Array.CPU_CORES = cpuCores;
+        }
+    }
+
+    /**
+     * Full range, small range (counting sort), negative only, sorted, reversed and all equal.
+     */
+    int[][] ints(final int size) {
+        final int[][] result = new int[6][size];
+
+        for (int i = 0; i < size; i++) {
+            result[0][i] = rand.nextInt();
+            result[1][i] = rand.nextInt(N.max(1, size / 2)) - size / 4;
+            result[2][i] = Integer.MIN_VALUE + rand.nextInt(1000000);
+            result[3][i] = i;
+            result[4][i] = size - i;
+            result[5][i] = 7;
+        }
+
+        return result;
+    }
+
+    long[][] longs(final int size) {
+        final long[][] result = new long[6][size];
+
+        for (int i = 0; i < size; i++) {
+            result[0][i] = rand.nextLong();
+            result[1][i] = rand.nextInt(N.max(1, size / 2)) - size / 4;
+            result[2][i] = Long.MIN_VALUE + rand.nextInt(1000000);
+            result[3][i] = i;
+            result[4][i] = Long.MAX_VALUE - i;
+            result[5][i] = 7;
+        }
+
+        return result;
+    }
+
+    /**
+     * Random values mixed with NaN, -0.0, 0.0 and the infinities.
+     */
+    float[] floats(final int size) {
+        final float[] special = { Float.NaN, -0.0f, 0.0f, Float.NEGATIVE_INFINITY, Float.POSITIVE_INFINITY, Float.MIN_VALUE, -Float.MAX_VALUE };
+        final float[] a = new float[size];
+
+        for (int i = 0; i < size; i++) {
+            a[i] = rand.nextInt(10) == 0 ? special[rand.nextInt(special.length)] : (rand.nextFloat() - 0.5f) * rand.nextInt(1000);
+        }
+
+        return a;
+    }
+
+    double[] doubles(final int size) {
+        final double[] special = { Double.NaN, -0.0d, 0.0d, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, Double.MIN_VALUE, -Double.MAX_VALUE };
+        final double[] a = new double[size];
+
+        for (int i = 0; i < size; i++) {
+            a[i] = rand.nextInt(10) == 0 ? special[rand.nextInt(special.length)] : (rand.nextDouble() - 0.5d) * rand.nextInt(1000);
+        }
+
+        return a;
+    }
+}